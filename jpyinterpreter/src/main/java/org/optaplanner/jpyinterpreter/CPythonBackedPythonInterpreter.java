@@ -20,6 +20,7 @@ import org.optaplanner.jpyinterpreter.types.errors.PythonTraceback;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 import org.optaplanner.jpyinterpreter.types.wrappers.PythonObjectWrapper;
+import org.optaplanner.jpyinterpreter.util.WeakValueLongMap;
 import org.optaplanner.jpyinterpreter.util.function.PentaFunction;
 import org.optaplanner.jpyinterpreter.util.function.QuadFunction;
 import org.optaplanner.jpyinterpreter.util.function.TriConsumer;
@@ -32,7 +33,13 @@ public class CPythonBackedPythonInterpreter implements PythonInterpreter {
 
     Map<ModuleSpec, PythonModule> moduleSpecToModuleMap = new HashMap<>();
 
-    public static Map<Number, Object> pythonObjectIdToConvertedObjectMap = new HashMap<>();
+    /**
+     * Maps the id of a CPython object to the Java object it was converted to. Values are weakly referenced,
+     * so conversions done for a solver run do not outlive it. Conversions use it through a
+     * {@link org.optaplanner.jpyinterpreter.util.ConversionInstanceMap}, so it only holds objects that keep their
+     * CPython object alive.
+     */
+    public static WeakValueLongMap<Object> pythonObjectIdToConvertedObjectMap = new WeakValueLongMap<>();
 
     public static Function<OpaquePythonReference, Number> lookupPythonReferenceIdPythonFunction;
 
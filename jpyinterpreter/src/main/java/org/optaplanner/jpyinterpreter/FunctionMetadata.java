@@ -2,9 +2,13 @@ package org.optaplanner.jpyinterpreter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.optaplanner.jpyinterpreter.dag.EscapeAnalysis;
+import org.optaplanner.jpyinterpreter.dag.FlowGraphOptimizer;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
 
 public class FunctionMetadata {
 
@@ -19,4 +23,36 @@ public class FunctionMetadata {
     public PythonCompiledFunction pythonCompiledFunction;
     public Map<Integer, Label> bytecodeCounterToLabelMap;
     public Map<Integer, List<Runnable>> bytecodeCounterToCodeArgumenterList;
+
+    /**
+     * Opcodes whose result is kept unboxed on the Java stack; see {@link EscapeAnalysis}.
+     */
+    public Set<Opcode> unboxedResultOpcodeSet = Set.of();
+
+    /**
+     * Opcodes whose result was computed at translation time, mapped to the index of the result in the
+     * function's constants; see {@link FlowGraphOptimizer}.
+     */
+    public Map<Opcode, Integer> foldedConstantIndexMap = Map.of();
+
+    /**
+     * Opcodes that compute an operand of a folded constant, and thus are not implemented; see {@link FlowGraphOptimizer}.
+     */
+    public Set<Opcode> foldedOperandOpcodeSet = Set.of();
+
+    /**
+     * Stores to local variables that are never read; see {@link FlowGraphOptimizer}.
+     */
+    public Set<Opcode> deadStoreOpcodeSet = Set.of();
+
+    /**
+     * Opcodes implemented by calling a static method on their operands, mapped to that method. The method
+     * also does the work of the opcodes in {@link #fusedOpcodeSet} that use the result; see {@link FlowGraphOptimizer}.
+     */
+    public Map<Opcode, MethodDescriptor> fusedMethodMap = Map.of();
+
+    /**
+     * Opcodes whose work is done by an opcode in {@link #fusedMethodMap}, and thus are not implemented.
+     */
+    public Set<Opcode> fusedOpcodeSet = Set.of();
 }
@@ -0,0 +1,246 @@
+package org.optaplanner.jpyinterpreter;
+
+import java.lang.reflect.Field;
+
+import org.objectweb.asm.Type;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeDict;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the parameter types a translated function is called with, and once the function has been called
+ * {@link InterpreterStartupOptions#typeSpecializationCallThreshold} times, retranslates it with its parameters
+ * typed as the observed classes. The specialized version guards each specialized parameter and falls back to
+ * (deoptimizes to) the generic version when the guard fails. After {@link #MAX_DEOPTIMIZATIONS} failed guards,
+ * the specialized version is discarded and the function stays generic. Parameter types are only recorded until
+ * the function is specialized or its specialization is abandoned.
+ * <p>
+ * The profile is stored in the {@link PythonBytecodeToJavaBytecodeTranslator#TYPE_PROFILE_STATIC_FIELD_NAME}
+ * static field of both the generic and specialized classes.
+ */
+public final class FunctionTypeProfile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FunctionTypeProfile.class);
+
+    /**
+     * How many times the guards of a specialized function can fail before the function stays generic.
+     */
+    public static final int MAX_DEOPTIMIZATIONS = 1000;
+
+    final PythonCompiledFunction pythonCompiledFunction;
+    final MethodDescriptor genericMethodDescriptor;
+    final String interfaceMethodDescriptor;
+    final Class<?> genericClass;
+
+    private final int callThreshold;
+    private final Class<?>[] declaredParameterTypes;
+    private final Class<?>[] observedParameterTypes;
+    private final boolean[] isPolymorphicParameter;
+
+    private int callCount;
+    private int deoptimizationCount;
+    private volatile Class<?> specializedClass;
+    private volatile boolean isSpecializationAbandoned;
+
+    FunctionTypeProfile(PythonCompiledFunction pythonCompiledFunction, MethodDescriptor genericMethodDescriptor,
+            String interfaceMethodDescriptor, Class<?> genericClass, int callThreshold) {
+        this.pythonCompiledFunction = pythonCompiledFunction;
+        this.genericMethodDescriptor = genericMethodDescriptor;
+        this.interfaceMethodDescriptor = interfaceMethodDescriptor;
+        this.genericClass = genericClass;
+        this.callThreshold = callThreshold;
+
+        Type[] parameterTypes = genericMethodDescriptor.getParameterTypes();
+        this.declaredParameterTypes = new Class<?>[parameterTypes.length];
+        this.observedParameterTypes = new Class<?>[parameterTypes.length];
+        this.isPolymorphicParameter = new boolean[parameterTypes.length];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            try {
+                declaredParameterTypes[i] = Class.forName(parameterTypes[i].getClassName(), false,
+                        genericClass.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                // Cannot specialize a parameter whose type cannot be loaded
+                isPolymorphicParameter[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Returns true if a function with the given method can be profiled; that is, it is a method of a
+     * Java interface that takes at least one parameter, and all of its parameters are objects.
+     */
+    static boolean isProfilable(MethodDescriptor methodDescriptor) {
+        if (InterpreterStartupOptions.typeSpecializationCallThreshold <= 0
+                || methodDescriptor.getParameterTypes().length == 0) {
+            return false;
+        }
+
+        for (Type parameterType : methodDescriptor.getParameterTypes()) {
+            if (parameterType.getSort() != Type.OBJECT) {
+                return false;
+            }
+        }
+
+        try {
+            return Class.forName(methodDescriptor.getDeclaringClassInternalName().replace('/', '.'), false,
+                    BuiltinTypes.asmClassLoader).isInterface();
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true while the function is still being profiled; that is, it has not been specialized yet and
+     * its specialization was not abandoned. The generic version of a function only records its parameter types
+     * while this is true, so a settled profile costs a single check per call.
+     */
+    public boolean isProfiling() {
+        return specializedClass == null && !isSpecializationAbandoned;
+    }
+
+    /**
+     * Called by the generic version of a function on each call, before the function has been specialized,
+     * for each of its parameters.
+     *
+     * @param parameterIndex The index of the parameter
+     * @param argument The argument the function was called with
+     */
+    public void recordParameterType(int parameterIndex, Object argument) {
+        if (isPolymorphicParameter[parameterIndex] || !isProfiling()) {
+            return;
+        }
+
+        Class<?> argumentType = (argument != null) ? argument.getClass() : null;
+        Class<?> previousType = observedParameterTypes[parameterIndex];
+        if (argumentType == null || (previousType != null && previousType != argumentType)) {
+            isPolymorphicParameter[parameterIndex] = true;
+            observedParameterTypes[parameterIndex] = null;
+        } else {
+            observedParameterTypes[parameterIndex] = argumentType;
+        }
+    }
+
+    /**
+     * Called by the generic version of a function on each call, before the function has been specialized,
+     * after its parameter types were recorded. Once the call threshold is reached, specializes the function
+     * and attaches the specialized version to {@code genericInstance}.
+     *
+     * @param genericInstance The instance of the generic version of the function that was called
+     */
+    public void recordCall(Object genericInstance) {
+        if (isSpecializationAbandoned) {
+            return;
+        }
+
+        if (specializedClass == null) {
+            callCount++;
+            if (callCount < callThreshold) {
+                return;
+            }
+            specialize();
+        }
+
+        if (specializedClass != null) {
+            attachSpecialization(genericInstance);
+        }
+    }
+
+    /**
+     * Called by the specialized version of a function when one of its guards fail. Once
+     * {@link #MAX_DEOPTIMIZATIONS} is reached, detaches the specialized version from {@code genericInstance}.
+     *
+     * @param genericInstance The instance of the generic version of the function the call is redirected to
+     */
+    public void recordDeoptimization(Object genericInstance) {
+        deoptimizationCount++;
+        if (deoptimizationCount >= MAX_DEOPTIMIZATIONS) {
+            isSpecializationAbandoned = true;
+            setField(genericInstance, PythonBytecodeToJavaBytecodeTranslator.SPECIALIZED_FUNCTION_INSTANCE_FIELD_NAME,
+                    null);
+        }
+    }
+
+    public boolean isSpecialized() {
+        return specializedClass != null && !isSpecializationAbandoned;
+    }
+
+    private synchronized void specialize() {
+        if (specializedClass != null || isSpecializationAbandoned) {
+            return;
+        }
+
+        Type[] specializedParameterTypes = genericMethodDescriptor.getParameterTypes();
+        boolean isAnyParameterSpecialized = false;
+        for (int i = 0; i < specializedParameterTypes.length; i++) {
+            Class<?> observedType = observedParameterTypes[i];
+            if (!isPolymorphicParameter[i] && observedType != null
+                    && PythonLikeObject.class.isAssignableFrom(observedType)
+                    && declaredParameterTypes[i].isAssignableFrom(observedType)
+                    && declaredParameterTypes[i] != observedType) {
+                specializedParameterTypes[i] = Type.getType(observedType);
+                isAnyParameterSpecialized = true;
+            }
+        }
+
+        if (!isAnyParameterSpecialized) {
+            isSpecializationAbandoned = true;
+            return;
+        }
+
+        try {
+            specializedClass = PythonBytecodeToJavaBytecodeTranslator.translateSpecializedPythonBytecodeToClass(this,
+                    specializedParameterTypes);
+        } catch (RuntimeException e) {
+            // The generic version is always correct, so a failed specialization is not fatal
+            LOGGER.warn("Unable to specialize function ({}); it will remain generic.",
+                    pythonCompiledFunction.qualifiedName, e);
+            isSpecializationAbandoned = true;
+        }
+    }
+
+    private void attachSpecialization(Object genericInstance) {
+        try {
+            Object specializedInstance = specializedClass.getConstructor(PythonLikeTuple.class,
+                    PythonLikeDict.class,
+                    PythonLikeDict.class,
+                    PythonLikeTuple.class,
+                    PythonString.class,
+                    PythonInterpreter.class).newInstance(
+                            getField(genericInstance,
+                                    PythonBytecodeToJavaBytecodeTranslator.DEFAULT_POSITIONAL_ARGS_INSTANCE_FIELD_NAME),
+                            getField(genericInstance,
+                                    PythonBytecodeToJavaBytecodeTranslator.DEFAULT_KEYWORD_ARGS_INSTANCE_FIELD_NAME),
+                            getField(genericInstance,
+                                    PythonBytecodeToJavaBytecodeTranslator.ANNOTATION_DIRECTORY_INSTANCE_FIELD_NAME),
+                            getField(genericInstance, PythonBytecodeToJavaBytecodeTranslator.CELLS_INSTANCE_FIELD_NAME),
+                            getField(genericInstance,
+                                    PythonBytecodeToJavaBytecodeTranslator.QUALIFIED_NAME_INSTANCE_FIELD_NAME),
+                            getField(genericInstance, PythonBytecodeToJavaBytecodeTranslator.INTERPRETER_INSTANCE_FIELD_NAME));
+            setField(specializedInstance, PythonBytecodeToJavaBytecodeTranslator.GENERIC_FUNCTION_INSTANCE_FIELD_NAME,
+                    genericInstance);
+            setField(genericInstance, PythonBytecodeToJavaBytecodeTranslator.SPECIALIZED_FUNCTION_INSTANCE_FIELD_NAME,
+                    specializedInstance);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Impossible State: Unable to create specialized instance of (" +
+                    genericClass + ").", e);
+        }
+    }
+
+    private static Object getField(Object instance, String fieldName) throws ReflectiveOperationException {
+        Field field = instance.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+
+    private static void setField(Object instance, String fieldName, Object value) {
+        try {
+            instance.getClass().getField(fieldName).set(instance, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Impossible State: generated class (" + instance.getClass() +
+                    ") does not have field \"" + fieldName + "\"", e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.optaplanner.jpyinterpreter.types.PythonCell;
+import org.optaplanner.jpyinterpreter.util.JavaIdentifierUtils;
 
 public class GeneratorLocalVariableHelper extends LocalVariableHelper {
 
@@ -38,16 +39,17 @@ public class GeneratorLocalVariableHelper extends LocalVariableHelper {
         slotToLocalTypeDescriptor = new HashMap<>();
 
         for (int i = 0; i < compiledFunction.co_varnames.size(); i++) {
-            slotToLocalName.put(i, compiledFunction.co_varnames.get(i));
+            slotToLocalName.put(i, JavaIdentifierUtils.sanitizeFieldName(compiledFunction.co_varnames.get(i)));
         }
 
         for (int i = 0; i < compiledFunction.co_cellvars.size(); i++) {
-            slotToLocalName.put(i + compiledFunction.co_varnames.size(), compiledFunction.co_cellvars.get(i));
+            slotToLocalName.put(i + compiledFunction.co_varnames.size(),
+                    JavaIdentifierUtils.sanitizeFieldName(compiledFunction.co_cellvars.get(i)));
         }
 
         for (int i = 0; i < compiledFunction.co_freevars.size(); i++) {
             slotToLocalName.put(i + compiledFunction.co_varnames.size() + compiledFunction.co_cellvars.size(),
-                    compiledFunction.co_freevars.get(i));
+                    JavaIdentifierUtils.sanitizeFieldName(compiledFunction.co_freevars.get(i)));
         }
 
         // Cannot use parameter types as the type descriptor, since the variables assigned to the
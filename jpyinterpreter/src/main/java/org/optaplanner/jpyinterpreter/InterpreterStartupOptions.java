@@ -11,4 +11,10 @@ public final class InterpreterStartupOptions {
      * Where to output class files; defaults to null (which cause not class files to not be written)
      */
     public static Path classOutputRootPath = null;
+
+    /**
+     * How many times a translated function is called before it is retranslated with its parameters typed as
+     * the classes it was called with (see {@link FunctionTypeProfile}); defaults to 0 (which disables profiling)
+     */
+    public static int typeSpecializationCallThreshold = 0;
 }
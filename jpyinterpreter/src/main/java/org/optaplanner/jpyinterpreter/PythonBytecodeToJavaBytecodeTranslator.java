@@ -19,10 +19,13 @@ import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
+import org.optaplanner.jpyinterpreter.dag.EscapeAnalysis;
 import org.optaplanner.jpyinterpreter.dag.FlowGraph;
+import org.optaplanner.jpyinterpreter.dag.FlowGraphOptimizer;
 import org.optaplanner.jpyinterpreter.implementors.CollectionImplementor;
 import org.optaplanner.jpyinterpreter.implementors.FunctionImplementor;
 import org.optaplanner.jpyinterpreter.implementors.JavaPythonTypeConversionImplementor;
+import org.optaplanner.jpyinterpreter.implementors.PythonConstantsImplementor;
 import org.optaplanner.jpyinterpreter.implementors.VariableImplementor;
 import org.optaplanner.jpyinterpreter.opcodes.Opcode;
 import org.optaplanner.jpyinterpreter.opcodes.OpcodeWithoutSource;
@@ -75,6 +78,14 @@ public class PythonBytecodeToJavaBytecodeTranslator {
     public static final String INTERPRETER_INSTANCE_FIELD_NAME = "__interpreter__";
 
     public static final String PYTHON_WRAPPER_FUNCTION_INSTANCE_FIELD_NAME = "__function__";
+
+    public static final String TYPE_PROFILE_STATIC_FIELD_NAME = "__type_profile__";
+
+    public static final String SPECIALIZED_FUNCTION_INSTANCE_FIELD_NAME = "__specialized__";
+
+    public static final String GENERIC_FUNCTION_INSTANCE_FIELD_NAME = "__generic__";
+
+    public static final String GENERIC_METHOD_SUFFIX = "$generic";
     public static final Map<String, Integer> classNameToSharedInstanceCount = new HashMap<>();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PythonBytecodeToJavaBytecodeTranslator.class);
@@ -218,6 +229,8 @@ public class PythonBytecodeToJavaBytecodeTranslator {
     @SuppressWarnings("unchecked")
     public static <T> Class<T> translatePythonBytecodeToClass(PythonCompiledFunction pythonCompiledFunction,
             MethodDescriptor methodDescriptor, boolean isVirtual) {
+        // Constants are folded into a copy of the constants, since a previous translation may be using them
+        pythonCompiledFunction = pythonCompiledFunction.copyForTranslation();
         String maybeClassName = USER_PACKAGE_BASE + pythonCompiledFunction.getGeneratedClassBaseName();
         int numberOfInstances = classNameToSharedInstanceCount.merge(maybeClassName, 1, Integer::sum);
         if (numberOfInstances > 1) {
@@ -235,11 +248,10 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         createFields(classWriter);
         createConstructor(classWriter, internalClassName);
 
-        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
-                methodDescriptor.methodName,
-                methodDescriptor.methodDescriptor,
-                null,
-                null);
+        final boolean isTypeProfiled = isTypeProfiled(pythonCompiledFunction, methodDescriptor, isPythonLikeFunction,
+                isVirtual);
+        MethodVisitor methodVisitor = visitFunctionMethod(classWriter, internalClassName, methodDescriptor,
+                methodDescriptor.methodDescriptor, isTypeProfiled);
 
         translatePythonBytecodeToMethod(methodDescriptor, internalClassName, methodVisitor, pythonCompiledFunction,
                 isPythonLikeFunction, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
@@ -251,6 +263,11 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         try {
             Class<T> compiledClass = (Class<T>) BuiltinTypes.asmClassLoader.loadClass(className);
             setStaticFields(compiledClass, pythonCompiledFunction);
+            if (isTypeProfiled) {
+                setTypeProfile(compiledClass, new FunctionTypeProfile(pythonCompiledFunction, methodDescriptor,
+                        methodDescriptor.methodDescriptor, compiledClass,
+                        InterpreterStartupOptions.typeSpecializationCallThreshold));
+            }
             return compiledClass;
         } catch (ClassNotFoundException e) {
             throw new IllegalStateException("Impossible State: Unable to load generated class (" +
@@ -262,6 +279,8 @@ public class PythonBytecodeToJavaBytecodeTranslator {
     public static <T> Class<T> translatePythonBytecodeToClass(PythonCompiledFunction pythonCompiledFunction,
             MethodDescriptor methodDescriptor, Method methodWithoutGenerics,
             boolean isVirtual) {
+        // Constants are folded into a copy of the constants, since a previous translation may be using them
+        pythonCompiledFunction = pythonCompiledFunction.copyForTranslation();
         String maybeClassName = USER_PACKAGE_BASE + pythonCompiledFunction.getGeneratedClassBaseName();
         int numberOfInstances = classNameToSharedInstanceCount.merge(maybeClassName, 1, Integer::sum);
         if (numberOfInstances > 1) {
@@ -279,34 +298,86 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         createFields(classWriter);
         createConstructor(classWriter, internalClassName);
 
-        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
-                methodDescriptor.methodName,
-                methodDescriptor.methodDescriptor,
-                null,
-                null);
+        String withoutGenericsSignature = Type.getMethodDescriptor(methodWithoutGenerics);
+        final boolean isTypeProfiled = isTypeProfiled(pythonCompiledFunction, methodDescriptor, isPythonLikeFunction,
+                isVirtual);
+        MethodVisitor methodVisitor = visitFunctionMethod(classWriter, internalClassName, methodDescriptor,
+                withoutGenericsSignature, isTypeProfiled);
 
         translatePythonBytecodeToMethod(methodDescriptor, internalClassName, methodVisitor, pythonCompiledFunction,
                 isPythonLikeFunction, Integer.MAX_VALUE, isVirtual); // TODO: Use actual python version
 
-        String withoutGenericsSignature = Type.getMethodDescriptor(methodWithoutGenerics);
         if (!withoutGenericsSignature.equals(methodDescriptor.methodDescriptor)) {
-            methodVisitor =
-                    classWriter.visitMethod(Modifier.PUBLIC, methodDescriptor.methodName, withoutGenericsSignature, null, null);
+            createBridgeMethod(classWriter, internalClassName, methodDescriptor, withoutGenericsSignature);
+        }
+        classWriter.visitEnd();
 
-            methodVisitor.visitCode();
-            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
-            for (int i = 0; i < methodWithoutGenerics.getParameterCount(); i++) {
-                Type parameterType = Type.getType(methodWithoutGenerics.getParameterTypes()[i]);
-                methodVisitor.visitVarInsn(parameterType.getOpcode(Opcodes.ILOAD), i + 1);
-                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, methodDescriptor.getParameterTypes()[i].getInternalName());
+        writeClassOutput(BuiltinTypes.classNameToBytecode, className, classWriter.toByteArray());
+
+        try {
+            Class<T> compiledClass = (Class<T>) BuiltinTypes.asmClassLoader.loadClass(className);
+            setStaticFields(compiledClass, pythonCompiledFunction);
+            if (isTypeProfiled) {
+                setTypeProfile(compiledClass, new FunctionTypeProfile(pythonCompiledFunction, methodDescriptor,
+                        withoutGenericsSignature, compiledClass,
+                        InterpreterStartupOptions.typeSpecializationCallThreshold));
             }
-            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, internalClassName, methodDescriptor.methodName,
-                    methodDescriptor.methodDescriptor, false);
-            methodVisitor.visitInsn(methodDescriptor.getReturnType().getOpcode(Opcodes.IRETURN));
+            return compiledClass;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Impossible State: Unable to load generated class (" +
+                    className + ") despite it being just generated.", e);
+        }
+    }
 
-            methodVisitor.visitMaxs(-1, -1);
-            methodVisitor.visitEnd();
+    /**
+     * Translates the function profiled by {@code typeProfile} with its parameters typed as
+     * {@code specializedParameterTypes}. The returned class implements the same interface as the generic
+     * class; its interface method checks each specialized parameter has exactly its specialized type,
+     * and calls the generic version of the function if it does not.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Class<T> translateSpecializedPythonBytecodeToClass(FunctionTypeProfile typeProfile,
+            Type[] specializedParameterTypes) {
+        // The generic class uses the constants of the profiled function, so fold into a copy of them
+        PythonCompiledFunction pythonCompiledFunction = typeProfile.pythonCompiledFunction.copyForTranslation();
+        MethodDescriptor genericMethodDescriptor = typeProfile.genericMethodDescriptor;
+        String genericInternalClassName = Type.getInternalName(typeProfile.genericClass);
+
+        String maybeClassName = typeProfile.genericClass.getName() + "$Specialized";
+        int numberOfInstances = classNameToSharedInstanceCount.merge(maybeClassName, 1, Integer::sum);
+        if (numberOfInstances > 1) {
+            maybeClassName = maybeClassName + "$$" + numberOfInstances;
         }
+        String className = maybeClassName;
+        String internalClassName = className.replace('.', '/');
+        ClassWriter classWriter = new JavaPythonClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        classWriter.visit(Opcodes.V11, Modifier.PUBLIC, internalClassName, null, Type.getInternalName(Object.class),
+                new String[] { genericMethodDescriptor.declaringClassInternalName });
+
+        createFields(classWriter);
+        createConstructor(classWriter, internalClassName);
+        classWriter.visitField(Modifier.PUBLIC | Modifier.STATIC,
+                TYPE_PROFILE_STATIC_FIELD_NAME, Type.getDescriptor(FunctionTypeProfile.class), null, null);
+        classWriter.visitField(Modifier.PUBLIC,
+                GENERIC_FUNCTION_INSTANCE_FIELD_NAME, "L" + genericInternalClassName + ";", null, null);
+
+        MethodDescriptor specializedMethodDescriptor = new MethodDescriptor(
+                genericMethodDescriptor.declaringClassInternalName,
+                genericMethodDescriptor.methodType,
+                genericMethodDescriptor.methodName,
+                Type.getMethodDescriptor(genericMethodDescriptor.getReturnType(), specializedParameterTypes));
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
+                specializedMethodDescriptor.methodName,
+                specializedMethodDescriptor.methodDescriptor,
+                null,
+                null);
+
+        translatePythonBytecodeToMethod(specializedMethodDescriptor, internalClassName, methodVisitor,
+                pythonCompiledFunction, false, Integer.MAX_VALUE, false); // TODO: Use actual python version
+
+        createGuardedSpecializedEntryMethod(classWriter, internalClassName, genericInternalClassName,
+                genericMethodDescriptor, specializedMethodDescriptor, typeProfile.interfaceMethodDescriptor);
         classWriter.visitEnd();
 
         writeClassOutput(BuiltinTypes.classNameToBytecode, className, classWriter.toByteArray());
@@ -314,6 +385,7 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         try {
             Class<T> compiledClass = (Class<T>) BuiltinTypes.asmClassLoader.loadClass(className);
             setStaticFields(compiledClass, pythonCompiledFunction);
+            setTypeProfile(compiledClass, typeProfile);
             return compiledClass;
         } catch (ClassNotFoundException e) {
             throw new IllegalStateException("Impossible State: Unable to load generated class (" +
@@ -321,6 +393,198 @@ public class PythonBytecodeToJavaBytecodeTranslator {
         }
     }
 
+    private static boolean isTypeProfiled(PythonCompiledFunction pythonCompiledFunction,
+            MethodDescriptor methodDescriptor, boolean isPythonLikeFunction, boolean isVirtual) {
+        return !isVirtual && !isPythonLikeFunction
+                && getFunctionType(pythonCompiledFunction) == PythonFunctionType.FUNCTION
+                && FunctionTypeProfile.isProfilable(methodDescriptor);
+    }
+
+    /**
+     * Visits the method the function body is translated into. If the function is type profiled, the interface
+     * method calls the specialized version of the function if there is one, and otherwise records the argument
+     * types before calling the generic version, which is the returned method.
+     */
+    private static MethodVisitor visitFunctionMethod(ClassWriter classWriter, String internalClassName,
+            MethodDescriptor methodDescriptor, String interfaceMethodDescriptor, boolean isTypeProfiled) {
+        if (!isTypeProfiled) {
+            return classWriter.visitMethod(Modifier.PUBLIC,
+                    methodDescriptor.methodName,
+                    methodDescriptor.methodDescriptor,
+                    null,
+                    null);
+        }
+
+        String interfaceDescriptor = "L" + methodDescriptor.declaringClassInternalName + ";";
+        classWriter.visitField(Modifier.PUBLIC | Modifier.STATIC,
+                TYPE_PROFILE_STATIC_FIELD_NAME, Type.getDescriptor(FunctionTypeProfile.class), null, null);
+        classWriter.visitField(Modifier.PUBLIC | Modifier.VOLATILE,
+                SPECIALIZED_FUNCTION_INSTANCE_FIELD_NAME, interfaceDescriptor, null, null);
+
+        Type[] parameterTypes = methodDescriptor.getParameterTypes();
+        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC,
+                methodDescriptor.methodName,
+                methodDescriptor.methodDescriptor,
+                null,
+                null);
+        methodVisitor.visitCode();
+
+        Label profile = new Label();
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalClassName, SPECIALIZED_FUNCTION_INSTANCE_FIELD_NAME,
+                interfaceDescriptor);
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitJumpInsn(Opcodes.IFNULL, profile);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+        }
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, methodDescriptor.declaringClassInternalName,
+                methodDescriptor.methodName, interfaceMethodDescriptor, true);
+        Type interfaceReturnType = Type.getReturnType(interfaceMethodDescriptor);
+        if (!interfaceReturnType.equals(methodDescriptor.getReturnType())) {
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, methodDescriptor.getReturnType().getInternalName());
+        }
+        methodVisitor.visitInsn(methodDescriptor.getReturnType().getOpcode(Opcodes.IRETURN));
+
+        methodVisitor.visitLabel(profile);
+        methodVisitor.visitInsn(Opcodes.POP);
+        Label recordCall = new Label();
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, internalClassName, TYPE_PROFILE_STATIC_FIELD_NAME,
+                Type.getDescriptor(FunctionTypeProfile.class));
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(FunctionTypeProfile.class),
+                "isProfiling", Type.getMethodDescriptor(Type.BOOLEAN_TYPE), false);
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, recordCall);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, internalClassName, TYPE_PROFILE_STATIC_FIELD_NAME,
+                    Type.getDescriptor(FunctionTypeProfile.class));
+            methodVisitor.visitLdcInsn(i);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(FunctionTypeProfile.class),
+                    "recordParameterType", Type.getMethodDescriptor(Type.VOID_TYPE, Type.INT_TYPE,
+                            Type.getType(Object.class)),
+                    false);
+        }
+        // Still called once the profile is settled, so other instances of the function get the specialized version
+        methodVisitor.visitLabel(recordCall);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, internalClassName, TYPE_PROFILE_STATIC_FIELD_NAME,
+                Type.getDescriptor(FunctionTypeProfile.class));
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(FunctionTypeProfile.class),
+                "recordCall", Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class)),
+                false);
+
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+        }
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, internalClassName,
+                methodDescriptor.methodName + GENERIC_METHOD_SUFFIX, methodDescriptor.methodDescriptor, false);
+        methodVisitor.visitInsn(methodDescriptor.getReturnType().getOpcode(Opcodes.IRETURN));
+
+        methodVisitor.visitMaxs(-1, -1);
+        methodVisitor.visitEnd();
+
+        return classWriter.visitMethod(Modifier.PUBLIC,
+                methodDescriptor.methodName + GENERIC_METHOD_SUFFIX,
+                methodDescriptor.methodDescriptor,
+                null,
+                null);
+    }
+
+    private static void createGuardedSpecializedEntryMethod(ClassWriter classWriter, String internalClassName,
+            String genericInternalClassName, MethodDescriptor genericMethodDescriptor,
+            MethodDescriptor specializedMethodDescriptor, String interfaceMethodDescriptor) {
+        Type[] interfaceParameterTypes = Type.getArgumentTypes(interfaceMethodDescriptor);
+        Type[] genericParameterTypes = genericMethodDescriptor.getParameterTypes();
+        Type[] specializedParameterTypes = specializedMethodDescriptor.getParameterTypes();
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Modifier.PUBLIC, genericMethodDescriptor.methodName,
+                interfaceMethodDescriptor, null, null);
+        methodVisitor.visitCode();
+
+        // Guards: each specialized parameter must be exactly its specialized type
+        Label deoptimize = new Label();
+        for (int i = 0; i < specializedParameterTypes.length; i++) {
+            if (specializedParameterTypes[i].equals(genericParameterTypes[i])) {
+                continue;
+            }
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+            methodVisitor.visitJumpInsn(Opcodes.IFNULL, deoptimize);
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(Object.class), "getClass",
+                    Type.getMethodDescriptor(Type.getType(Class.class)), false);
+            methodVisitor.visitLdcInsn(specializedParameterTypes[i]);
+            methodVisitor.visitJumpInsn(Opcodes.IF_ACMPNE, deoptimize);
+        }
+
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        for (int i = 0; i < specializedParameterTypes.length; i++) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+            if (!specializedParameterTypes[i].equals(interfaceParameterTypes[i])) {
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, specializedParameterTypes[i].getInternalName());
+            }
+        }
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, internalClassName, specializedMethodDescriptor.methodName,
+                specializedMethodDescriptor.methodDescriptor, false);
+        methodVisitor.visitInsn(genericMethodDescriptor.getReturnType().getOpcode(Opcodes.IRETURN));
+
+        methodVisitor.visitLabel(deoptimize);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, internalClassName, TYPE_PROFILE_STATIC_FIELD_NAME,
+                Type.getDescriptor(FunctionTypeProfile.class));
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalClassName, GENERIC_FUNCTION_INSTANCE_FIELD_NAME,
+                "L" + genericInternalClassName + ";");
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(FunctionTypeProfile.class),
+                "recordDeoptimization", Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class)),
+                false);
+
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalClassName, GENERIC_FUNCTION_INSTANCE_FIELD_NAME,
+                "L" + genericInternalClassName + ";");
+        for (int i = 0; i < genericParameterTypes.length; i++) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, i + 1);
+            if (!genericParameterTypes[i].equals(interfaceParameterTypes[i])) {
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, genericParameterTypes[i].getInternalName());
+            }
+        }
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, genericInternalClassName,
+                genericMethodDescriptor.methodName + GENERIC_METHOD_SUFFIX, genericMethodDescriptor.methodDescriptor,
+                false);
+        methodVisitor.visitInsn(genericMethodDescriptor.getReturnType().getOpcode(Opcodes.IRETURN));
+
+        methodVisitor.visitMaxs(-1, -1);
+        methodVisitor.visitEnd();
+    }
+
+    private static void createBridgeMethod(ClassWriter classWriter, String internalClassName,
+            MethodDescriptor methodDescriptor, String withoutGenericsSignature) {
+        MethodVisitor methodVisitor =
+                classWriter.visitMethod(Modifier.PUBLIC, methodDescriptor.methodName, withoutGenericsSignature, null, null);
+
+        methodVisitor.visitCode();
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        Type[] withoutGenericsParameterTypes = Type.getArgumentTypes(withoutGenericsSignature);
+        for (int i = 0; i < withoutGenericsParameterTypes.length; i++) {
+            methodVisitor.visitVarInsn(withoutGenericsParameterTypes[i].getOpcode(Opcodes.ILOAD), i + 1);
+            methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, methodDescriptor.getParameterTypes()[i].getInternalName());
+        }
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, internalClassName, methodDescriptor.methodName,
+                methodDescriptor.methodDescriptor, false);
+        methodVisitor.visitInsn(methodDescriptor.getReturnType().getOpcode(Opcodes.IRETURN));
+
+        methodVisitor.visitMaxs(-1, -1);
+        methodVisitor.visitEnd();
+    }
+
+    private static void setTypeProfile(Class<?> compiledClass, FunctionTypeProfile typeProfile) {
+        try {
+            compiledClass.getField(TYPE_PROFILE_STATIC_FIELD_NAME).set(null, typeProfile);
+        } catch (IllegalAccessException | NoSuchFieldException e) {
+            throw new IllegalStateException("Impossible state: generated class (" + compiledClass +
+                    ") does not have static field \"" + TYPE_PROFILE_STATIC_FIELD_NAME + "\"", e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> Class<T> translatePythonBytecodeToPythonWrapperClass(PythonCompiledFunction pythonCompiledFunction,
             OpaquePythonReference codeReference) {
@@ -875,6 +1139,13 @@ public class PythonBytecodeToJavaBytecodeTranslator {
 
     static void setStaticFields(Class<?> compiledClass, PythonCompiledFunction pythonCompiledFunction) {
         try {
+            // Names and string constants are compared and hashed often, so share one instance per value
+            List<PythonLikeObject> constantList = pythonCompiledFunction.co_constants;
+            for (int i = 0; i < constantList.size(); i++) {
+                if (constantList.get(i) instanceof PythonString) {
+                    constantList.set(i, PythonString.intern(((PythonString) constantList.get(i)).value));
+                }
+            }
             compiledClass.getField(CONSTANTS_STATIC_FIELD_NAME).set(null, pythonCompiledFunction.co_constants);
             compiledClass.getField(GLOBALS_MAP_STATIC_FIELD_NAME).set(null, pythonCompiledFunction.globalsMap);
             compiledClass.getField(ARGUMENT_SPEC_GETTER_STATIC_FIELD_NAME).set(null,
@@ -883,13 +1154,13 @@ public class PythonBytecodeToJavaBytecodeTranslator {
             // Need to convert co_names to python strings (used in __getattribute__)
             List<PythonString> pythonNameList = new ArrayList<>(pythonCompiledFunction.co_names.size());
             for (String name : pythonCompiledFunction.co_names) {
-                pythonNameList.add(PythonString.valueOf(name));
+                pythonNameList.add(PythonString.intern(name));
             }
             compiledClass.getField(NAMES_STATIC_FIELD_NAME).set(null, pythonNameList);
 
             List<PythonString> pythonVariableNameList = new ArrayList<>(pythonCompiledFunction.co_varnames.size());
             for (String name : pythonCompiledFunction.co_varnames) {
-                pythonVariableNameList.add(PythonString.valueOf(name));
+                pythonVariableNameList.add(PythonString.intern(name));
             }
             compiledClass.getField(VARIABLE_NAMES_STATIC_FIELD_NAME).set(null, pythonVariableNameList);
             // Class cell is set by PythonClassTranslator
@@ -1060,6 +1331,13 @@ public class PythonBytecodeToJavaBytecodeTranslator {
 
         FlowGraph flowGraph = FlowGraph.createFlowGraph(functionMetadata, initialStackMetadata, opcodeList);
         List<StackMetadata> stackMetadataForOpcodeIndex = flowGraph.getStackMetadataForOperations();
+        FlowGraphOptimizer.optimize(functionMetadata, flowGraph, opcodeList);
+        functionMetadata.unboxedResultOpcodeSet =
+                EscapeAnalysis.findUnboxedResultOpcodes(opcodeList, stackMetadataForOpcodeIndex);
+        // Folded constants are loaded boxed
+        functionMetadata.unboxedResultOpcodeSet.removeAll(functionMetadata.foldedConstantIndexMap.keySet());
+        functionMetadata.unboxedResultOpcodeSet.removeAll(functionMetadata.foldedOperandOpcodeSet);
+        functionMetadata.unboxedResultOpcodeSet.removeAll(functionMetadata.fusedMethodMap.keySet());
 
         for (int i = 0; i < opcodeList.size(); i++) {
             StackMetadata stackMetadata = stackMetadataForOpcodeIndex.get(i);
@@ -1075,7 +1353,30 @@ public class PythonBytecodeToJavaBytecodeTranslator {
             if (stackMetadata.isDeadCode()) {
                 continue;
             }
-            opcodeList.get(i).implement(functionMetadata, stackMetadata);
+            Opcode opcode = opcodeList.get(i);
+            if (functionMetadata.foldedOperandOpcodeSet.contains(opcode)
+                    || functionMetadata.fusedOpcodeSet.contains(opcode)) {
+                continue;
+            }
+            Integer foldedConstantIndex = functionMetadata.foldedConstantIndexMap.get(opcode);
+            MethodDescriptor fusedMethod = functionMetadata.fusedMethodMap.get(opcode);
+            if (foldedConstantIndex != null) {
+                PythonConstantsImplementor.loadConstant(methodVisitor, className, foldedConstantIndex);
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, pythonCompiledFunction.co_constants.get(foldedConstantIndex)
+                        .__getType().getJavaTypeInternalName());
+            } else if (fusedMethod != null) {
+                // Stack is left, right; the fused method takes them as its parameters
+                Type[] parameterTypes = fusedMethod.getParameterTypes();
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, parameterTypes[0].getInternalName());
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, parameterTypes[1].getInternalName());
+                fusedMethod.callMethod(methodVisitor);
+            } else if (functionMetadata.deadStoreOpcodeSet.contains(opcode)) {
+                methodVisitor.visitInsn(Opcodes.POP);
+            } else {
+                opcode.implement(functionMetadata, stackMetadata);
+            }
         }
 
         methodVisitor.visitLabel(end);
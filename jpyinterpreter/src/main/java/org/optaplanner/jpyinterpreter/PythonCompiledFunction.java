@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -42,6 +43,12 @@ public class PythonCompiledFunction {
      */
     public Map<String, PythonLikeObject> globalsMap;
 
+    /**
+     * The names of the globals of the function that its module annotated with {@code typing.Final}.
+     * They are never rebound, so their values can be used as constants.
+     */
+    public Set<String> finalGlobalNameSet = Set.of();
+
     /**
      * Type annotations for the parameters and return.
      * (return is stored under the "return" key).
@@ -127,6 +134,7 @@ public class PythonCompiledFunction {
                 .collect(Collectors.toCollection(ArrayList::new));
         out.closure = closure;
         out.globalsMap = globalsMap;
+        out.finalGlobalNameSet = finalGlobalNameSet;
         out.typeAnnotations = typeAnnotations;
         out.defaultPositionalArguments = defaultPositionalArguments;
         out.defaultKeywordArguments = defaultKeywordArguments;
@@ -143,6 +151,39 @@ public class PythonCompiledFunction {
         return out;
     }
 
+    /**
+     * Returns a copy of this function for a single translation. It has its own list of constants, so the translation
+     * can add constants (such as folded ones) without changing the constants of a class already translated from this
+     * function, which can be running on another thread.
+     */
+    public PythonCompiledFunction copyForTranslation() {
+        PythonCompiledFunction out = new PythonCompiledFunction();
+
+        out.module = module;
+        out.qualifiedName = qualifiedName;
+        out.instructionList = instructionList;
+        out.closure = closure;
+        out.globalsMap = globalsMap;
+        out.finalGlobalNameSet = finalGlobalNameSet;
+        out.typeAnnotations = typeAnnotations;
+        out.defaultPositionalArguments = defaultPositionalArguments;
+        out.defaultKeywordArguments = defaultKeywordArguments;
+        out.co_names = co_names;
+        out.co_varnames = co_varnames;
+        out.co_cellvars = co_cellvars;
+        out.co_freevars = co_freevars;
+        out.co_constants = new ArrayList<>(co_constants);
+        out.co_argcount = co_argcount;
+        out.co_kwonlyargcount = co_kwonlyargcount;
+        out.co_posonlyargcount = co_posonlyargcount;
+        out.supportExtraPositionalArgs = supportExtraPositionalArgs;
+        out.supportExtraKeywordsArgs = supportExtraKeywordsArgs;
+        out.pythonVersion = pythonVersion;
+        out.methodKind = methodKind;
+
+        return out;
+    }
+
     public List<PythonLikeType> getParameterTypes() {
         List<PythonLikeType> out = new ArrayList<>(totalArgCount());
         PythonLikeType defaultType = BuiltinTypes.BASE_TYPE;
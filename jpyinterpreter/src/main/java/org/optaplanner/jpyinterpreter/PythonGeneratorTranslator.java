@@ -41,6 +41,7 @@ import org.optaplanner.jpyinterpreter.types.PythonString;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeDict;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 import org.optaplanner.jpyinterpreter.types.errors.StopIteration;
+import org.optaplanner.jpyinterpreter.util.JavaIdentifierUtils;
 import org.optaplanner.jpyinterpreter.util.JavaPythonClassWriter;
 import org.optaplanner.jpyinterpreter.util.MethodVisitorAdapters;
 
@@ -110,17 +111,20 @@ public class PythonGeneratorTranslator {
             // Cannot use parameter types as the type descriptor, since the variables assigned to the
             // Python parameter can change types in the middle of code
             for (int variable = 0; variable < pythonCompiledFunction.co_varnames.size(); variable++) {
-                classWriter.visitField(Modifier.PRIVATE, pythonCompiledFunction.co_varnames.get(variable),
+                classWriter.visitField(Modifier.PRIVATE,
+                        JavaIdentifierUtils.sanitizeFieldName(pythonCompiledFunction.co_varnames.get(variable)),
                         Type.getDescriptor(PythonLikeObject.class),
                         null, null);
             }
             for (int i = 0; i < pythonCompiledFunction.co_cellvars.size(); i++) {
-                classWriter.visitField(Modifier.PRIVATE, pythonCompiledFunction.co_cellvars.get(i),
+                classWriter.visitField(Modifier.PRIVATE,
+                        JavaIdentifierUtils.sanitizeFieldName(pythonCompiledFunction.co_cellvars.get(i)),
                         Type.getDescriptor(PythonCell.class),
                         null, null);
             }
             for (int i = 0; i < pythonCompiledFunction.co_freevars.size(); i++) {
-                classWriter.visitField(Modifier.PRIVATE, pythonCompiledFunction.co_freevars.get(i),
+                classWriter.visitField(Modifier.PRIVATE,
+                        JavaIdentifierUtils.sanitizeFieldName(pythonCompiledFunction.co_freevars.get(i)),
                         Type.getDescriptor(PythonCell.class),
                         null, null);
             }
@@ -221,7 +225,7 @@ public class PythonGeneratorTranslator {
                 methodVisitor.visitInsn(Opcodes.DUP);
                 methodVisitor.visitVarInsn(Opcodes.ALOAD, parameter + 7);
                 methodVisitor.visitFieldInsn(Opcodes.PUTFIELD, internalClassName,
-                        pythonCompiledFunction.co_varnames.get(parameter),
+                        JavaIdentifierUtils.sanitizeFieldName(pythonCompiledFunction.co_varnames.get(parameter)),
                         Type.getDescriptor(PythonLikeObject.class));
             }
         }
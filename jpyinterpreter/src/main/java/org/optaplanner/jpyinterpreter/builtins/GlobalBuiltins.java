@@ -11,6 +11,7 @@ import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.FLOAT_TYPE;
 import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.FROZEN_SET_TYPE;
 import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.INT_TYPE;
 import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.LIST_TYPE;
+import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.MEMORY_VIEW_TYPE;
 import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.NONE_TYPE;
 import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.RANGE_TYPE;
 import static org.optaplanner.jpyinterpreter.types.BuiltinTypes.SET_TYPE;
@@ -33,7 +34,6 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
@@ -46,6 +46,7 @@ import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.Ellipsis;
 import org.optaplanner.jpyinterpreter.types.NotImplemented;
+import org.optaplanner.jpyinterpreter.types.PythonGenerator;
 import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonNone;
@@ -128,6 +129,15 @@ public class GlobalBuiltins {
     private final static StackWalker stackWalker = getStackWalkerInstance();
     private final static Map<String, PythonLikeObject> builtinConstantMap = new HashMap<>();
 
+    // Reducing builtins are kept in constants so translated code can check by identity
+    // that a global still refers to the builtin before calling its single argument variant
+    public final static PythonLikeFunction ALL_FUNCTION = GlobalBuiltins::all;
+    public final static PythonLikeFunction ANY_FUNCTION = GlobalBuiltins::any;
+    public final static PythonLikeFunction MIN_FUNCTION = GlobalBuiltins::min;
+    public final static PythonLikeFunction MAX_FUNCTION = GlobalBuiltins::max;
+    public final static PythonLikeFunction SORTED_FUNCTION = GlobalBuiltins::sorted;
+    public final static PythonLikeFunction SUM_FUNCTION = GlobalBuiltins::sum;
+
     static {
         loadBuiltinConstants();
     }
@@ -177,6 +187,7 @@ public class GlobalBuiltins {
         addBuiltinType(STRING_TYPE);
         addBuiltinType(BYTES_TYPE);
         addBuiltinType(BYTE_ARRAY_TYPE);
+        addBuiltinType(MEMORY_VIEW_TYPE);
 
         addBuiltinType(NONE_TYPE);
         addBuiltinType(RANGE_TYPE);
@@ -264,9 +275,9 @@ public class GlobalBuiltins {
             case "abs":
                 return UnaryDunderBuiltin.ABS;
             case "all":
-                return ((PythonLikeFunction) GlobalBuiltins::all);
+                return ALL_FUNCTION;
             case "any":
-                return ((PythonLikeFunction) GlobalBuiltins::any);
+                return ANY_FUNCTION;
             case "ascii":
                 return ((PythonLikeFunction) GlobalBuiltins::ascii);
             case "bin":
@@ -327,10 +338,12 @@ public class GlobalBuiltins {
                 return ((PythonLikeFunction) GlobalBuiltins::locals);
             case "map":
                 return ((PythonLikeFunction) GlobalBuiltins::map);
+            case "memoryview":
+                return MEMORY_VIEW_TYPE;
             case "min":
-                return ((PythonLikeFunction) GlobalBuiltins::min);
+                return MIN_FUNCTION;
             case "max":
-                return ((PythonLikeFunction) GlobalBuiltins::max);
+                return MAX_FUNCTION;
             case "next":
                 return UnaryDunderBuiltin.NEXT;
             case "object":
@@ -358,11 +371,11 @@ public class GlobalBuiltins {
             case "slice":
                 return PythonSlice.SLICE_TYPE;
             case "sorted":
-                return ((PythonLikeFunction) GlobalBuiltins::sorted);
+                return SORTED_FUNCTION;
             case "str":
                 return STRING_TYPE;
             case "sum":
-                return ((PythonLikeFunction) GlobalBuiltins::sum);
+                return SUM_FUNCTION;
             case "super":
                 return ((PythonLikeFunction) GlobalBuiltins::superOfCaller);
             case "tuple":
@@ -390,18 +403,21 @@ public class GlobalBuiltins {
 
     public static PythonBoolean all(List<PythonLikeObject> positionalArgs, Map<PythonString, PythonLikeObject> keywordArgs,
             PythonLikeObject instance) {
-        Iterator<PythonLikeObject> iterator;
-
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
-            iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(positionalArgs.get(0));
+            return allOf(positionalArgs.get(0));
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
                 && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
-            iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR
-                    .invoke(keywordArgs.get(PythonString.valueOf("iterable")));
+            return allOf(keywordArgs.get(PythonString.valueOf("iterable")));
         } else {
             throw new ValueError("all expects 1 argument, got " + positionalArgs.size());
         }
+    }
 
+    /**
+     * all(iterable); returns as soon as a falsy element is seen.
+     */
+    public static PythonBoolean allOf(PythonLikeObject iterable) {
+        Iterator<PythonLikeObject> iterator = iteratorOf(iterable);
         while (iterator.hasNext()) {
             PythonLikeObject element = iterator.next();
             if (!PythonBoolean.isTruthful(element)) {
@@ -414,18 +430,21 @@ public class GlobalBuiltins {
 
     public static PythonBoolean any(List<PythonLikeObject> positionalArgs, Map<PythonString, PythonLikeObject> keywordArgs,
             PythonLikeObject instance) {
-        Iterator<PythonLikeObject> iterator;
-
         if (positionalArgs.size() == 1 && keywordArgs.isEmpty()) {
-            iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(positionalArgs.get(0));
+            return anyOf(positionalArgs.get(0));
         } else if (positionalArgs.isEmpty() && keywordArgs.size() == 1
                 && keywordArgs.containsKey(PythonString.valueOf("iterable"))) {
-            iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR
-                    .invoke(keywordArgs.get(PythonString.valueOf("iterable")));
+            return anyOf(keywordArgs.get(PythonString.valueOf("iterable")));
         } else {
             throw new ValueError("any expects 1 argument, got " + positionalArgs.size());
         }
+    }
 
+    /**
+     * any(iterable); returns as soon as a truthy element is seen.
+     */
+    public static PythonBoolean anyOf(PythonLikeObject iterable) {
+        Iterator<PythonLikeObject> iterator = iteratorOf(iterable);
         while (iterator.hasNext()) {
             PythonLikeObject element = iterator.next();
             if (PythonBoolean.isTruthful(element)) {
@@ -436,6 +455,18 @@ public class GlobalBuiltins {
         return PythonBoolean.FALSE;
     }
 
+    /**
+     * Returns the iterator for {@code iterable}. Generators (and other iterators)
+     * are their own iterator, so {@code __iter__} is only looked up for other objects.
+     */
+    @SuppressWarnings("unchecked")
+    private static Iterator<PythonLikeObject> iteratorOf(PythonLikeObject iterable) {
+        if (iterable instanceof PythonGenerator) {
+            return (PythonGenerator) iterable;
+        }
+        return (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(iterable);
+    }
+
     public static PythonString ascii(List<PythonLikeObject> positionalArgs, Map<PythonString, PythonLikeObject> keywordArgs,
             PythonLikeObject instance) {
         PythonLikeObject object;
@@ -1154,20 +1185,7 @@ public class GlobalBuiltins {
             }
             return defaultValue;
         } else if (positionalArgs.size() == 1) {
-            Iterator<Comparable> iterator = (Iterator<Comparable>) ((PythonLikeFunction) (positionalArgs.get(0).__getType()
-                    .__getAttributeOrError("__iter__"))).$call(List.of(positionalArgs.get(0)),
-                            Map.of(), null);
-            Comparable min = null;
-            for (Iterator<Comparable> it = iterator; it.hasNext();) {
-                Comparable item = it.next();
-                if (min == null) {
-                    min = item;
-                } else {
-                    if (item.compareTo(min) < 0) {
-                        min = item;
-                    }
-                }
-            }
+            PythonLikeObject min = extremumOf(iteratorOf(positionalArgs.get(0)), false);
             if (min == null) {
                 PythonLikeObject defaultValue = keywordArgs.get(PythonString.valueOf("default"));
                 if (!keywordArgs.containsKey(PythonString.valueOf("default"))) {
@@ -1175,17 +1193,10 @@ public class GlobalBuiltins {
                 }
                 return defaultValue;
             } else {
-                return (PythonLikeObject) min;
+                return min;
             }
         } else {
-            Comparable min = (Comparable) positionalArgs.get(0);
-            for (PythonLikeObject item : positionalArgs) {
-                Comparable comparableItem = (Comparable) item;
-                if (comparableItem.compareTo(min) < 0) {
-                    min = comparableItem;
-                }
-            }
-            return (PythonLikeObject) min;
+            return extremumOf(positionalArgs.iterator(), false);
         }
     }
 
@@ -1198,20 +1209,7 @@ public class GlobalBuiltins {
             }
             return defaultValue;
         } else if (positionalArgs.size() == 1) {
-            Iterator<Comparable> iterator = (Iterator<Comparable>) ((PythonLikeFunction) (positionalArgs.get(0).__getType()
-                    .__getAttributeOrError("__iter__"))).$call(List.of(positionalArgs.get(0)),
-                            Map.of(), null);
-            Comparable max = null;
-            for (Iterator<Comparable> it = iterator; it.hasNext();) {
-                Comparable item = it.next();
-                if (max == null) {
-                    max = item;
-                } else {
-                    if (item.compareTo(max) > 0) {
-                        max = item;
-                    }
-                }
-            }
+            PythonLikeObject max = extremumOf(iteratorOf(positionalArgs.get(0)), true);
             if (max == null) {
                 PythonLikeObject defaultValue = keywordArgs.get(PythonString.valueOf("default"));
                 if (!keywordArgs.containsKey(PythonString.valueOf("default"))) {
@@ -1219,18 +1217,52 @@ public class GlobalBuiltins {
                 }
                 return defaultValue;
             } else {
-                return (PythonLikeObject) max;
+                return max;
             }
         } else {
-            Comparable max = (Comparable) positionalArgs.get(0);
-            for (PythonLikeObject item : positionalArgs) {
-                Comparable comparableItem = (Comparable) item;
-                if (comparableItem.compareTo(max) > 0) {
-                    max = comparableItem;
-                }
+            return extremumOf(positionalArgs.iterator(), true);
+        }
+    }
+
+    /**
+     * min(iterable) without a default; raises {@link ValueError} if the iterable is empty.
+     */
+    public static PythonLikeObject minOf(PythonLikeObject iterable) {
+        PythonLikeObject min = extremumOf(iteratorOf(iterable), false);
+        if (min == null) {
+            throw new ValueError("Iterable is empty, and no default was provided");
+        }
+        return min;
+    }
+
+    /**
+     * max(iterable) without a default; raises {@link ValueError} if the iterable is empty.
+     */
+    public static PythonLikeObject maxOf(PythonLikeObject iterable) {
+        PythonLikeObject max = extremumOf(iteratorOf(iterable), true);
+        if (max == null) {
+            throw new ValueError("Iterable is empty, and no default was provided");
+        }
+        return max;
+    }
+
+    /**
+     * Returns the first largest item of iterator if isMax, otherwise the first smallest item, or null if iterator has
+     * no items. Shared by min, max, minOf and maxOf.
+     */
+    private static PythonLikeObject extremumOf(Iterator<? extends PythonLikeObject> iterator, boolean isMax) {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Comparable out = (Comparable) iterator.next();
+        while (iterator.hasNext()) {
+            Comparable item = (Comparable) iterator.next();
+            int comparison = item.compareTo(out);
+            if (isMax ? comparison > 0 : comparison < 0) {
+                out = item;
             }
-            return (PythonLikeObject) max;
         }
+        return (PythonLikeObject) out;
     }
 
     public static PythonString oct(List<PythonLikeObject> positionalArgs,
@@ -1458,35 +1490,42 @@ public class GlobalBuiltins {
             isReversed = ((PythonBoolean) keywordArgs.get(PythonString.valueOf("reverse"))).getBooleanValue();
         }
 
+        PythonLikeFunction keyFunction = null;
+        PythonLikeObject key = keywordArgs.get(PythonString.valueOf("key"));
+        if (key != null && key != PythonNone.INSTANCE) {
+            keyFunction = (PythonLikeFunction) key;
+        }
+
+        return sortedList(iterable, keyFunction, isReversed);
+    }
+
+    /**
+     * sorted(iterable) with no key and in ascending order.
+     */
+    public static PythonLikeObject sortedOf(PythonLikeObject iterable) {
+        return sortedList(iterable, null, false);
+    }
+
+    /**
+     * Returns a new list with the items of iterable, sorted by keyFunction (or by the items themselves, if keyFunction
+     * is null). Shared by sorted and sortedOf.
+     */
+    private static PythonLikeList sortedList(PythonLikeObject iterable, PythonLikeFunction keyFunction,
+            boolean isReversed) {
         PythonLikeList out = new PythonLikeList();
         if (iterable instanceof Collection) {
             out.addAll((Collection) iterable);
         } else {
-            Iterator<PythonLikeObject> iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(iterable);
-            iterator.forEachRemaining(out::add);
+            iteratorOf(iterable).forEachRemaining(out::add);
         }
 
         Comparator keyComparator = isReversed ? Comparator.reverseOrder() : Comparator.naturalOrder();
-        List<KeyTuple> decoratedList = null;
-
-        if (keywordArgs.containsKey(PythonString.valueOf("key"))) {
-            PythonLikeObject key = keywordArgs.get(PythonString.valueOf("key"));
-            if (key != PythonNone.INSTANCE) {
-                final PythonLikeFunction keyFunction = (PythonLikeFunction) key;
-                final Function keyExtractor = item -> keyFunction.$call(List.of((PythonLikeObject) item), Map.of(), null);
-                decoratedList = new ArrayList<>(out.size());
-                for (int i = 0; i < out.size(); i++) {
-                    decoratedList.add(
-                            new KeyTuple((PythonLikeObject) keyExtractor.apply(out.get(i)), i, (PythonLikeObject) out.get(i)));
-                }
-            } else {
-                keyComparator = isReversed ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        if (keyFunction != null) {
+            List<KeyTuple> decoratedList = new ArrayList<>(out.size());
+            for (int i = 0; i < out.size(); i++) {
+                PythonLikeObject item = (PythonLikeObject) out.get(i);
+                decoratedList.add(new KeyTuple(keyFunction.$call(List.of(item), Map.of(), null), i, item));
             }
-        } else {
-            keyComparator = isReversed ? Comparator.reverseOrder() : Comparator.naturalOrder();
-        }
-
-        if (decoratedList != null) {
             Collections.sort(decoratedList, keyComparator);
             out.clear();
             for (KeyTuple keyTuple : decoratedList) {
@@ -1495,7 +1534,6 @@ public class GlobalBuiltins {
         } else {
             Collections.sort(out, keyComparator);
         }
-
         return out;
     }
 
@@ -1517,9 +1555,20 @@ public class GlobalBuiltins {
             throw new ValueError("sum() expects 1 or 2 arguments, got " + positionalArgs.size());
         }
 
+        return sumOf(iterable, start);
+    }
+
+    /**
+     * sum(iterable) with the default start of 0.
+     */
+    public static PythonLikeObject sumOf(PythonLikeObject iterable) {
+        return sumOf(iterable, PythonInteger.ZERO);
+    }
+
+    private static PythonLikeObject sumOf(PythonLikeObject iterable, PythonLikeObject start) {
         PythonLikeObject current = start;
 
-        Iterator<PythonLikeObject> iterator = (Iterator<PythonLikeObject>) UnaryDunderBuiltin.ITERATOR.invoke(iterable);
+        Iterator<PythonLikeObject> iterator = iteratorOf(iterable);
         while (iterator.hasNext()) {
             PythonLikeObject item = iterator.next();
             current = BinaryDunderBuiltin.ADD.invoke(current, item);
@@ -0,0 +1,203 @@
+package org.optaplanner.jpyinterpreter.dag;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
+import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.ValueSourceInfo;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
+import org.optaplanner.jpyinterpreter.opcodes.controlflow.PopJumpIfFalseOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.controlflow.PopJumpIfTrueOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.dunder.BinaryDunderOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.dunder.CompareOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.object.LoadAttrOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadConstantOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadDerefOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadFastOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadGlobalOpcode;
+import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDate;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDateTime;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonTimeDelta;
+
+/**
+ * Finds int and float arithmetic results that never escape the expression they are computed in.
+ * A result does not escape if the only opcode that uses it is another int or float arithmetic
+ * operation or comparison of the same type in the same basic block, and every opcode between the two only
+ * pushes values above it. Such results can be kept unboxed on the Java stack (as a double for floats
+ * and a {@link java.math.BigInteger} for ints), and are only boxed once the expression's final value
+ * escapes (i.e. is returned, stored in a variable or collection, or passed to a function).
+ * <p>
+ * Additionally, an int, float, date, datetime or timedelta comparison immediately followed by a conditional
+ * jump on its result never has its result boxed into a {@link org.optaplanner.jpyinterpreter.types.PythonBoolean};
+ * the jump branches directly on the result of the comparison.
+ */
+public class EscapeAnalysis {
+    private static final Set<PythonBinaryOperators> UNBOXABLE_OPERATOR_SET = Set.of(
+            PythonBinaryOperators.ADD,
+            PythonBinaryOperators.SUBTRACT,
+            PythonBinaryOperators.MULTIPLY,
+            PythonBinaryOperators.INPLACE_ADD,
+            PythonBinaryOperators.INPLACE_SUBTRACT,
+            PythonBinaryOperators.INPLACE_MULTIPLY);
+
+    private static final Set<PythonLikeType> COMPARE_TO_TYPE_SET = Set.of(
+            PythonDate.DATE_TYPE,
+            PythonDateTime.DATE_TIME_TYPE,
+            PythonTimeDelta.TIME_DELTA_TYPE);
+
+    private EscapeAnalysis() {
+    }
+
+    /**
+     * Returns the set of opcodes whose result does not escape and can be kept unboxed.
+     *
+     * @param opcodeList The opcodes of the function
+     * @param stackMetadataForOperations The stack metadata before each opcode, as computed by {@link FlowGraph}
+     */
+    public static Set<Opcode> findUnboxedResultOpcodes(List<Opcode> opcodeList,
+            List<StackMetadata> stackMetadataForOperations) {
+        Set<Opcode> out = new HashSet<>();
+
+        for (int consumerIndex = 0; consumerIndex < opcodeList.size(); consumerIndex++) {
+            Opcode consumer = opcodeList.get(consumerIndex);
+            PythonLikeType consumerType;
+            if (consumer instanceof CompareOpcode) {
+                consumerType = getUnboxableCompareType(stackMetadataForOperations.get(consumerIndex));
+                if ((consumerType != null || isCompareToComparison(stackMetadataForOperations.get(consumerIndex)))
+                        && isConsumedByConditionalJump(opcodeList, stackMetadataForOperations, consumerIndex)) {
+                    out.add(consumer);
+                }
+            } else {
+                consumerType = getUnboxableType(consumer, stackMetadataForOperations.get(consumerIndex));
+            }
+            if (consumerType == null) {
+                continue;
+            }
+
+            StackMetadata consumerStackMetadata = stackMetadataForOperations.get(consumerIndex);
+            for (int stackIndex = 0; stackIndex < 2; stackIndex++) {
+                Set<Opcode> producerSet =
+                        consumerStackMetadata.getValueSourceForStackIndex(stackIndex).getPossibleSourceOpcodeSet();
+                if (producerSet.size() != 1) {
+                    continue;
+                }
+
+                Opcode producer = producerSet.iterator().next();
+                if (!(producer instanceof BinaryDunderOpcode)) {
+                    continue;
+                }
+
+                int producerIndex = producer.getBytecodeIndex();
+                if (producerIndex < 0 || producerIndex >= consumerIndex || opcodeList.get(producerIndex) != producer) {
+                    continue;
+                }
+
+                if (consumerType.equals(getUnboxableType(producer, stackMetadataForOperations.get(producerIndex)))
+                        && onlyPushesAbove(opcodeList, stackMetadataForOperations, producerIndex, consumerIndex)) {
+                    out.add(producer);
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns true if the value described by {@code valueSource} was computed by an opcode in {@code unboxedResultOpcodeSet}
+     * (and is thus on the Java stack as an unboxed value).
+     */
+    public static boolean isUnboxed(Set<Opcode> unboxedResultOpcodeSet, ValueSourceInfo valueSource) {
+        Set<Opcode> sourceSet = valueSource.getPossibleSourceOpcodeSet();
+        return sourceSet.size() == 1 && unboxedResultOpcodeSet.contains(sourceSet.iterator().next());
+    }
+
+    /**
+     * Returns {@link BuiltinTypes#INT_TYPE} or {@link BuiltinTypes#FLOAT_TYPE} if {@code opcode} is an
+     * arithmetic operation on two operands of that exact type, null otherwise.
+     */
+    public static PythonLikeType getUnboxableType(Opcode opcode, StackMetadata stackMetadata) {
+        if (!(opcode instanceof BinaryDunderOpcode) || stackMetadata.isDeadCode()) {
+            return null;
+        }
+        if (!UNBOXABLE_OPERATOR_SET.contains(((BinaryDunderOpcode) opcode).getOperator())) {
+            return null;
+        }
+
+        return getUnboxableOperandType(stackMetadata);
+    }
+
+    /**
+     * Returns {@link BuiltinTypes#INT_TYPE} or {@link BuiltinTypes#FLOAT_TYPE} if a comparison
+     * compares two operands of that exact type using an ordering or equality operator, null otherwise.
+     */
+    public static PythonLikeType getUnboxableCompareType(StackMetadata stackMetadata) {
+        if (stackMetadata.isDeadCode()) {
+            return null;
+        }
+        return getUnboxableOperandType(stackMetadata);
+    }
+
+    /**
+     * Returns true if a comparison compares two dates, two datetimes or two timedeltas. Such a comparison is
+     * a single call to {@link Comparable#compareTo(Object)} or {@link Object#equals(Object)}, so its result
+     * can be unboxed (but its operands are not).
+     */
+    public static boolean isCompareToComparison(StackMetadata stackMetadata) {
+        if (stackMetadata.isDeadCode()) {
+            return false;
+        }
+        PythonLikeType leftType = stackMetadata.getTypeAtStackIndex(1);
+        return leftType != null && COMPARE_TO_TYPE_SET.contains(leftType)
+                && leftType.equals(stackMetadata.getTypeAtStackIndex(0));
+    }
+
+    private static PythonLikeType getUnboxableOperandType(StackMetadata stackMetadata) {
+        PythonLikeType leftType = stackMetadata.getTypeAtStackIndex(1);
+        PythonLikeType rightType = stackMetadata.getTypeAtStackIndex(0);
+        if ((BuiltinTypes.INT_TYPE.equals(leftType) || BuiltinTypes.FLOAT_TYPE.equals(leftType))
+                && leftType.equals(rightType)) {
+            return leftType;
+        }
+        return null;
+    }
+
+    private static boolean isConsumedByConditionalJump(List<Opcode> opcodeList,
+            List<StackMetadata> stackMetadataForOperations, int compareIndex) {
+        int jumpIndex = compareIndex + 1;
+        if (jumpIndex >= opcodeList.size()) {
+            return false;
+        }
+        Opcode jump = opcodeList.get(jumpIndex);
+        if (!(jump instanceof PopJumpIfFalseOpcode || jump instanceof PopJumpIfTrueOpcode)
+                || jump.isJumpTarget() || stackMetadataForOperations.get(jumpIndex).isDeadCode()) {
+            return false;
+        }
+        Set<Opcode> conditionSourceSet =
+                stackMetadataForOperations.get(jumpIndex).getTOSValueSource().getPossibleSourceOpcodeSet();
+        return conditionSourceSet.size() == 1 && conditionSourceSet.contains(opcodeList.get(compareIndex));
+    }
+
+    private static boolean onlyPushesAbove(List<Opcode> opcodeList, List<StackMetadata> stackMetadataForOperations,
+            int producerIndex, int consumerIndex) {
+        for (int i = producerIndex + 1; i <= consumerIndex; i++) {
+            Opcode opcode = opcodeList.get(i);
+            if (opcode.isJumpTarget() || stackMetadataForOperations.get(i).isDeadCode()) {
+                return false;
+            }
+            if (i == consumerIndex) {
+                break;
+            }
+            if (!(opcode instanceof LoadFastOpcode || opcode instanceof LoadConstantOpcode
+                    || opcode instanceof LoadGlobalOpcode || opcode instanceof LoadDerefOpcode
+                    || opcode instanceof LoadAttrOpcode
+                    || getUnboxableType(opcode, stackMetadataForOperations.get(i)) != null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
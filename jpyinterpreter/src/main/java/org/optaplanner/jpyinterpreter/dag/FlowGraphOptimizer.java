@@ -0,0 +1,319 @@
+package org.optaplanner.jpyinterpreter.dag;
+
+import static org.optaplanner.jpyinterpreter.types.datetime.PythonDate.DATE_TYPE;
+import static org.optaplanner.jpyinterpreter.types.datetime.PythonDateTime.DATE_TIME_TYPE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.optaplanner.jpyinterpreter.FunctionMetadata;
+import org.optaplanner.jpyinterpreter.MethodDescriptor;
+import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.opcodes.AbstractOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
+import org.optaplanner.jpyinterpreter.opcodes.dunder.BinaryDunderOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.function.CallMethodOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.function.LoadMethodOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.object.LoadAttrOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.DeleteFastOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadConstantOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadFastOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadGlobalOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.StoreFastOpcode;
+import org.optaplanner.jpyinterpreter.types.NotImplemented;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDate;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDateTime;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+/**
+ * Optimizes a function's opcodes before they are implemented:
+ *
+ * <ul>
+ * <li>Constant folding: int and float arithmetic whose operands are all constants is computed at translation time,
+ * and the result is added to the constants of the translation (a copy of the function's constants, see
+ * {@link PythonCompiledFunction#copyForTranslation()}). The opcodes that computed the operands are not implemented.</li>
+ * <li>Module constant propagation: a {@code LOAD_GLOBAL} of a name that its module annotated with
+ * {@code typing.Final}, bound to an int or float, is treated as a constant, so it can be folded. Other globals can be
+ * rebound at any time, so they are always loaded.</li>
+ * <li>Dead store elimination: a {@code STORE_FAST} to a local variable that is never read is replaced by a pop.</li>
+ * <li>Temporal difference fusion: {@code (a - b).total_seconds()} and {@code (a - b).days} on two datetimes,
+ * and {@code (a - b).days} on two dates, are computed by a single call that subtracts the operands'
+ * epoch values, without creating the intermediate timedelta.</li>
+ * </ul>
+ *
+ * The results are stored in {@link FunctionMetadata#foldedConstantIndexMap},
+ * {@link FunctionMetadata#foldedOperandOpcodeSet}, {@link FunctionMetadata#deadStoreOpcodeSet},
+ * {@link FunctionMetadata#fusedMethodMap} and {@link FunctionMetadata#fusedOpcodeSet}.
+ */
+public class FlowGraphOptimizer {
+    private static final Set<PythonBinaryOperators> FOLDABLE_OPERATOR_SET = Set.of(
+            PythonBinaryOperators.ADD,
+            PythonBinaryOperators.SUBTRACT,
+            PythonBinaryOperators.MULTIPLY,
+            PythonBinaryOperators.TRUE_DIVIDE,
+            PythonBinaryOperators.FLOOR_DIVIDE,
+            PythonBinaryOperators.MODULO,
+            PythonBinaryOperators.POWER,
+            PythonBinaryOperators.LSHIFT,
+            PythonBinaryOperators.RSHIFT,
+            PythonBinaryOperators.AND,
+            PythonBinaryOperators.OR,
+            PythonBinaryOperators.XOR);
+
+    /**
+     * Folded ints larger than this are not folded, so a constant expression such as {@code 2 ** 100000}
+     * is not stored in the class's constants.
+     */
+    private static final int MAX_FOLDED_INT_BIT_LENGTH = 128;
+
+    /**
+     * Names that let a function read its local variables without a {@code LOAD_FAST}.
+     */
+    private static final Set<String> LOCALS_READING_NAME_SET = Set.of("locals", "vars", "dir", "eval", "exec");
+
+    private static final MethodDescriptor DATE_TIME_DIFFERENCE_IN_SECONDS =
+            getHelperMethod(PythonDateTime.class, "differenceInSeconds");
+    private static final MethodDescriptor DATE_TIME_DIFFERENCE_IN_DAYS =
+            getHelperMethod(PythonDateTime.class, "differenceInDays");
+    private static final MethodDescriptor DATE_DIFFERENCE_IN_DAYS =
+            getHelperMethod(PythonDate.class, "differenceInDays");
+
+    private FlowGraphOptimizer() {
+    }
+
+    public static void optimize(FunctionMetadata functionMetadata, FlowGraph flowGraph, List<Opcode> opcodeList) {
+        foldConstants(functionMetadata, flowGraph);
+        eliminateDeadStores(functionMetadata, flowGraph, opcodeList);
+        fuseTemporalDifferences(functionMetadata, flowGraph, opcodeList);
+    }
+
+    private static void foldConstants(FunctionMetadata functionMetadata, FlowGraph flowGraph) {
+        PythonCompiledFunction pythonCompiledFunction = functionMetadata.pythonCompiledFunction;
+        Map<Opcode, Integer> foldedConstantIndexMap = new HashMap<>();
+        Set<Opcode> foldedOperandOpcodeSet = new HashSet<>();
+
+        for (BasicBlock basicBlock : flowGraph.basicBlockList) {
+            // The constants on top of the stack, and the opcodes that pushed each of them
+            Deque<PythonLikeObject> constantStack = new ArrayDeque<>();
+            Deque<List<Opcode>> constantSourcesStack = new ArrayDeque<>();
+
+            for (Opcode opcode : basicBlock.getBlockOpcodeList()) {
+                StackMetadata stackMetadata = flowGraph.stackMetadataForOperations.get(opcode.getBytecodeIndex());
+                if (stackMetadata.isDeadCode() || (opcode.isJumpTarget() && opcode != basicBlock.getLeader())) {
+                    constantStack.clear();
+                    constantSourcesStack.clear();
+                    continue;
+                }
+
+                PythonLikeObject constant = getConstant(pythonCompiledFunction, opcode);
+                if (constant != null) {
+                    constantStack.push(constant);
+                    constantSourcesStack.push(List.of(opcode));
+                    continue;
+                }
+
+                if (opcode instanceof BinaryDunderOpcode && constantStack.size() >= 2) {
+                    PythonLikeObject right = constantStack.pop();
+                    PythonLikeObject left = constantStack.pop();
+                    List<Opcode> rightSources = constantSourcesStack.pop();
+                    List<Opcode> leftSources = constantSourcesStack.pop();
+
+                    PythonLikeObject folded = fold(((BinaryDunderOpcode) opcode).getOperator(), left, right);
+                    if (folded != null) {
+                        foldedOperandOpcodeSet.addAll(leftSources);
+                        foldedOperandOpcodeSet.addAll(rightSources);
+                        foldedConstantIndexMap.put(opcode, getConstantIndex(pythonCompiledFunction, folded));
+
+                        List<Opcode> foldedSources = new ArrayList<>(leftSources.size() + rightSources.size() + 1);
+                        foldedSources.addAll(leftSources);
+                        foldedSources.addAll(rightSources);
+                        foldedSources.add(opcode);
+                        constantStack.push(folded);
+                        constantSourcesStack.push(foldedSources);
+                        continue;
+                    }
+                }
+
+                constantStack.clear();
+                constantSourcesStack.clear();
+            }
+        }
+
+        // A load that is not an operand of a fold is implemented as usual
+        for (Opcode foldedOperand : foldedOperandOpcodeSet) {
+            foldedConstantIndexMap.remove(foldedOperand);
+        }
+        functionMetadata.foldedConstantIndexMap = foldedConstantIndexMap;
+        functionMetadata.foldedOperandOpcodeSet = foldedOperandOpcodeSet;
+    }
+
+    private static void eliminateDeadStores(FunctionMetadata functionMetadata, FlowGraph flowGraph,
+            List<Opcode> opcodeList) {
+        for (String name : functionMetadata.pythonCompiledFunction.co_names) {
+            if (LOCALS_READING_NAME_SET.contains(name)) {
+                return;
+            }
+        }
+
+        Set<Integer> readLocalVariableSet = new HashSet<>();
+        for (Opcode opcode : opcodeList) {
+            if (opcode instanceof LoadFastOpcode || opcode instanceof DeleteFastOpcode) {
+                readLocalVariableSet.add(((AbstractOpcode) opcode).getInstruction().arg);
+            }
+        }
+
+        Set<Opcode> deadStoreOpcodeSet = new HashSet<>();
+        flowGraph.visitOperations(StoreFastOpcode.class, (opcode, stackMetadata) -> {
+            if (!readLocalVariableSet.contains(opcode.getInstruction().arg)) {
+                deadStoreOpcodeSet.add(opcode);
+            }
+        });
+        functionMetadata.deadStoreOpcodeSet = deadStoreOpcodeSet;
+    }
+
+    private static void fuseTemporalDifferences(FunctionMetadata functionMetadata, FlowGraph flowGraph,
+            List<Opcode> opcodeList) {
+        List<String> nameList = functionMetadata.pythonCompiledFunction.co_names;
+        Map<Opcode, MethodDescriptor> fusedMethodMap = new HashMap<>();
+        Set<Opcode> fusedOpcodeSet = new HashSet<>();
+
+        for (int i = 0; i < opcodeList.size() - 1; i++) {
+            Opcode opcode = opcodeList.get(i);
+            if (!(opcode instanceof BinaryDunderOpcode)
+                    || ((BinaryDunderOpcode) opcode).getOperator() != PythonBinaryOperators.SUBTRACT
+                    || functionMetadata.foldedConstantIndexMap.containsKey(opcode)
+                    || functionMetadata.foldedOperandOpcodeSet.contains(opcode)) {
+                continue;
+            }
+
+            StackMetadata stackMetadata = flowGraph.stackMetadataForOperations.get(i);
+            if (stackMetadata.isDeadCode()) {
+                continue;
+            }
+            PythonLikeType leftType = stackMetadata.getTypeAtStackIndex(1);
+            PythonLikeType rightType = stackMetadata.getTypeAtStackIndex(0);
+            boolean isDateTime = DATE_TIME_TYPE.equals(leftType) && DATE_TIME_TYPE.equals(rightType);
+            boolean isDate = DATE_TYPE.equals(leftType) && DATE_TYPE.equals(rightType);
+            if (!isDateTime && !isDate) {
+                continue;
+            }
+
+            Opcode next = opcodeList.get(i + 1);
+            if (next.isJumpTarget()) {
+                continue;
+            }
+
+            if (next instanceof LoadAttrOpcode
+                    && "days".equals(nameList.get(((LoadAttrOpcode) next).getInstruction().arg))) {
+                fusedMethodMap.put(opcode, isDateTime ? DATE_TIME_DIFFERENCE_IN_DAYS : DATE_DIFFERENCE_IN_DAYS);
+                fusedOpcodeSet.add(next);
+            } else if (isDateTime && next instanceof LoadMethodOpcode
+                    && "total_seconds".equals(nameList.get(((LoadMethodOpcode) next).getInstruction().arg))
+                    && i + 2 < opcodeList.size()) {
+                Opcode call = opcodeList.get(i + 2);
+                if (call instanceof CallMethodOpcode && !call.isJumpTarget()
+                        && ((CallMethodOpcode) call).getInstruction().arg == 0) {
+                    fusedMethodMap.put(opcode, DATE_TIME_DIFFERENCE_IN_SECONDS);
+                    fusedOpcodeSet.add(next);
+                    fusedOpcodeSet.add(call);
+                }
+            }
+        }
+
+        functionMetadata.fusedMethodMap = fusedMethodMap;
+        functionMetadata.fusedOpcodeSet = fusedOpcodeSet;
+    }
+
+    private static PythonLikeObject getConstant(PythonCompiledFunction pythonCompiledFunction, Opcode opcode) {
+        PythonLikeObject constant;
+        if (opcode instanceof LoadConstantOpcode) {
+            constant = pythonCompiledFunction.co_constants.get(((LoadConstantOpcode) opcode).getInstruction().arg);
+        } else if (opcode instanceof LoadGlobalOpcode) {
+            String name = pythonCompiledFunction.co_names.get(((LoadGlobalOpcode) opcode).getInstruction().arg);
+            if (!pythonCompiledFunction.finalGlobalNameSet.contains(name)) {
+                return null;
+            }
+            constant = pythonCompiledFunction.globalsMap.get(name);
+        } else {
+            return null;
+        }
+        return isFoldable(constant) ? constant : null;
+    }
+
+    private static boolean isFoldable(PythonLikeObject constant) {
+        // Exact classes only; bool is a subclass of int, and user classes may override the operators
+        return constant != null && (constant.getClass() == PythonInteger.class || constant.getClass() == PythonFloat.class);
+    }
+
+    private static PythonLikeObject fold(PythonBinaryOperators operator, PythonLikeObject left, PythonLikeObject right) {
+        if (!FOLDABLE_OPERATOR_SET.contains(operator.getFallbackOperation().orElse(operator))) {
+            return null;
+        }
+
+        PythonLikeObject result;
+        try {
+            result = callOperator(operator.getFallbackOperation().orElse(operator), left, right);
+        } catch (RuntimeException e) {
+            // The operation raises (ex: division by zero); it must raise at runtime instead
+            return null;
+        }
+
+        if (!isFoldable(result)) {
+            return null;
+        }
+        if (result instanceof PythonInteger
+                && ((PythonInteger) result).value.bitLength() > MAX_FOLDED_INT_BIT_LENGTH) {
+            return null;
+        }
+        return result;
+    }
+
+    private static PythonLikeObject callOperator(PythonBinaryOperators operator, PythonLikeObject left,
+            PythonLikeObject right) {
+        PythonLikeObject result = callDunderMethod(left, operator.getDunderMethod(), right);
+        if ((result == null || result == NotImplemented.INSTANCE) && operator.hasRightDunderMethod()) {
+            result = callDunderMethod(right, operator.getRightDunderMethod(), left);
+        }
+        return (result == NotImplemented.INSTANCE) ? null : result;
+    }
+
+    private static PythonLikeObject callDunderMethod(PythonLikeObject self, String methodName, PythonLikeObject other) {
+        PythonLikeObject method = self.__getType().__getAttributeOrNull(methodName);
+        if (!(method instanceof PythonLikeFunction)) {
+            return null;
+        }
+        return ((PythonLikeFunction) method).$call(List.of(self, other), Map.of(), null);
+    }
+
+    private static MethodDescriptor getHelperMethod(Class<?> operandClass, String methodName) {
+        try {
+            return new MethodDescriptor(operandClass.getMethod(methodName, operandClass, operandClass));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int getConstantIndex(PythonCompiledFunction pythonCompiledFunction, PythonLikeObject constant) {
+        List<PythonLikeObject> constantList = pythonCompiledFunction.co_constants;
+        for (int i = 0; i < constantList.size(); i++) {
+            PythonLikeObject existing = constantList.get(i);
+            if (existing != null && existing.getClass() == constant.getClass() && existing.equals(constant)) {
+                return i;
+            }
+        }
+        constantList.add(constant);
+        return constantList.size() - 1;
+    }
+}
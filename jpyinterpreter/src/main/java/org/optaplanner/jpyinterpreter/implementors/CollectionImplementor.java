@@ -19,6 +19,7 @@ import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonTernaryOperators;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.types.PythonRange;
 import org.optaplanner.jpyinterpreter.types.PythonSlice;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
@@ -52,6 +53,36 @@ public class CollectionImplementor {
 
         int[] storedStack = StackManipulationImplementor.storeStack(methodVisitor, stackMetadata);
 
+        // A range iterator counts with a primitive, and is checked for exhaustion without a StopIteration
+        Label genericNextLabel = new Label();
+        Label rangeHasNextLabel = new Label();
+        String rangeIteratorInternalName = Type.getInternalName(PythonRange.LongRangeIterator.class);
+
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.INSTANCEOF, rangeIteratorInternalName);
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, genericNextLabel);
+
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, rangeIteratorInternalName);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, rangeIteratorInternalName,
+                "hasNext", Type.getMethodDescriptor(Type.BOOLEAN_TYPE), false);
+        methodVisitor.visitJumpInsn(Opcodes.IFNE, rangeHasNextLabel);
+
+        // Leave the stack empty, like the StopIteration handler does, since the loop end restores it
+        for (int i = 0; i < stackMetadata.getStackSize(); i++) {
+            methodVisitor.visitInsn(Opcodes.POP);
+        }
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, loopEndLabel);
+
+        methodVisitor.visitLabel(rangeHasNextLabel);
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, rangeIteratorInternalName);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, rangeIteratorInternalName,
+                "nextInteger", Type.getMethodDescriptor(Type.getType(PythonInteger.class)), false);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, catchEndLabel);
+
+        methodVisitor.visitLabel(genericNextLabel);
+
         methodVisitor.visitTryCatchBlock(tryStartLabel, tryEndLabel, catchStartLabel,
                 Type.getInternalName(StopIteration.class));
 
@@ -1,5 +1,6 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
+import java.math.BigInteger;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -19,13 +20,18 @@ import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonTernaryOperators;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.dag.EscapeAnalysis;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
 import org.optaplanner.jpyinterpreter.types.NotImplemented;
 import org.optaplanner.jpyinterpreter.types.PythonKnownFunctionType;
 import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDate;
 import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 
 /**
  * Implementations of opcodes that delegate to dunder/magic methods.
@@ -112,6 +118,228 @@ public class DunderOperatorImplementor {
         binaryOperator(methodVisitor, stackMetadata, operator, true, true, false);
     }
 
+    /**
+     * Performs an int or float arithmetic operation (+, -, *) without boxing intermediate results
+     * (see {@link EscapeAnalysis}). Unboxed floats are doubles, and unboxed ints are {@link BigInteger}.
+     *
+     * @param isLeftUnboxed true if TOS1 is already unboxed
+     * @param isRightUnboxed true if TOS is already unboxed
+     * @param isResultUnboxed true if the result should be left unboxed
+     */
+    public static void unboxedBinaryOperator(MethodVisitor methodVisitor, StackMetadata stackMetadata,
+            PythonBinaryOperators operator, boolean isLeftUnboxed, boolean isRightUnboxed, boolean isResultUnboxed) {
+        PythonBinaryOperators actualOperator = operator.getFallbackOperation().orElse(operator);
+
+        boolean isFloat = BuiltinTypes.FLOAT_TYPE.equals(stackMetadata.getTypeAtStackIndex(0));
+        unboxOperands(methodVisitor, isFloat, isLeftUnboxed, isRightUnboxed);
+
+        if (isFloat) {
+            // Stack is now left as double, right as double
+            switch (actualOperator) {
+                case ADD:
+                    methodVisitor.visitInsn(Opcodes.DADD);
+                    break;
+                case SUBTRACT:
+                    methodVisitor.visitInsn(Opcodes.DSUB);
+                    break;
+                case MULTIPLY:
+                    methodVisitor.visitInsn(Opcodes.DMUL);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Cannot unbox operator (" + operator + ")");
+            }
+
+            if (!isResultUnboxed) {
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonFloat.class),
+                        "valueOf", Type.getMethodDescriptor(Type.getType(PythonFloat.class), Type.DOUBLE_TYPE),
+                        false);
+            }
+        } else {
+            // Stack is now left as BigInteger, right as BigInteger
+            String methodName;
+            switch (actualOperator) {
+                case ADD:
+                    methodName = "add";
+                    break;
+                case SUBTRACT:
+                    methodName = "subtract";
+                    break;
+                case MULTIPLY:
+                    methodName = "multiply";
+                    break;
+                default:
+                    throw new IllegalArgumentException("Cannot unbox operator (" + operator + ")");
+            }
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(BigInteger.class),
+                    methodName, Type.getMethodDescriptor(Type.getType(BigInteger.class), Type.getType(BigInteger.class)),
+                    false);
+
+            if (!isResultUnboxed) {
+                methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonInteger.class),
+                        "valueOf", Type.getMethodDescriptor(Type.getType(PythonInteger.class),
+                                Type.getType(BigInteger.class)),
+                        false);
+            }
+        }
+    }
+
+    /**
+     * Compares two ints or two floats without boxing them (see {@link EscapeAnalysis}).
+     * If the result is unboxed, it is left on the stack as an int that is negative, zero or positive
+     * when TOS1 is less than, equal to or greater than TOS; use {@link #getUnboxedCompareJumpOpcode(CompareOp)}
+     * to branch on it. For floats, NaN is ordered so that every comparison except != is false.
+     * Two dates, datetimes or timedeltas (see {@link EscapeAnalysis#isCompareToComparison(StackMetadata)})
+     * are compared by calling compareTo (or equals for == and !=) directly; they are never unboxed.
+     *
+     * @param isLeftUnboxed true if TOS1 is already unboxed
+     * @param isRightUnboxed true if TOS is already unboxed
+     * @param isResultUnboxed true if the result should be left as an int instead of a {@link PythonBoolean}
+     */
+    public static void unboxedCompareValues(MethodVisitor methodVisitor, StackMetadata stackMetadata, CompareOp op,
+            boolean isLeftUnboxed, boolean isRightUnboxed, boolean isResultUnboxed) {
+        boolean isFloat = BuiltinTypes.FLOAT_TYPE.equals(stackMetadata.getTypeAtStackIndex(0));
+
+        if (EscapeAnalysis.isCompareToComparison(stackMetadata)) {
+            compareToValues(methodVisitor, stackMetadata.getTypeAtStackIndex(0), op);
+        } else if (isFloat) {
+            unboxOperands(methodVisitor, true, isLeftUnboxed, isRightUnboxed);
+            switch (op) {
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUALS:
+                    // NaN compares as greater, so < and <= are false
+                    methodVisitor.visitInsn(Opcodes.DCMPG);
+                    break;
+                default:
+                    // NaN compares as less, so >, >= and == are false and != is true
+                    methodVisitor.visitInsn(Opcodes.DCMPL);
+                    break;
+            }
+        } else {
+            unboxOperands(methodVisitor, false, isLeftUnboxed, isRightUnboxed);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(BigInteger.class),
+                    "compareTo", Type.getMethodDescriptor(Type.INT_TYPE, Type.getType(BigInteger.class)),
+                    false);
+        }
+
+        if (!isResultUnboxed) {
+            Label isTrue = new Label();
+            Label done = new Label();
+            methodVisitor.visitJumpInsn(getUnboxedCompareJumpOpcode(op), isTrue);
+            PythonConstantsImplementor.loadFalse(methodVisitor);
+            methodVisitor.visitJumpInsn(Opcodes.GOTO, done);
+            methodVisitor.visitLabel(isTrue);
+            PythonConstantsImplementor.loadTrue(methodVisitor);
+            methodVisitor.visitLabel(done);
+        }
+    }
+
+    /**
+     * Compares TOS1 and TOS, which are both of the given type, leaving an int on the stack that is
+     * zero if and only if the comparison is an equality.
+     */
+    private static void compareToValues(MethodVisitor methodVisitor, PythonLikeType operandType, CompareOp op) {
+        String operandInternalName = operandType.getJavaTypeInternalName();
+        methodVisitor.visitInsn(Opcodes.SWAP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, operandInternalName);
+        methodVisitor.visitInsn(Opcodes.SWAP);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, operandInternalName);
+
+        switch (op) {
+            case EQUALS:
+            case NOT_EQUALS:
+                // Python's == is equals, which does not raise for aware and naive datetimes like compareTo does
+                methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(Object.class),
+                        "equals", Type.getMethodDescriptor(Type.BOOLEAN_TYPE, Type.getType(Object.class)),
+                        false);
+                methodVisitor.visitInsn(Opcodes.ICONST_1);
+                methodVisitor.visitInsn(Opcodes.IXOR);
+                break;
+            default:
+                if (PythonDate.DATE_TYPE.equals(operandType)) {
+                    // A date typed operand can be a datetime, which cannot be ordered against a date
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, operandInternalName,
+                            "compare", Type.getMethodDescriptor(Type.INT_TYPE, Type.getObjectType(operandInternalName),
+                                    Type.getObjectType(operandInternalName)),
+                            false);
+                } else {
+                    methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, operandInternalName,
+                            "compareTo", Type.getMethodDescriptor(Type.INT_TYPE, Type.getObjectType(operandInternalName)),
+                            false);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Returns the jump opcode that jumps when the int left by an unboxed comparison
+     * (see {@link #unboxedCompareValues}) means the comparison is true.
+     */
+    public static int getUnboxedCompareJumpOpcode(CompareOp op) {
+        switch (op) {
+            case LESS_THAN:
+                return Opcodes.IFLT;
+            case LESS_THAN_OR_EQUALS:
+                return Opcodes.IFLE;
+            case EQUALS:
+                return Opcodes.IFEQ;
+            case NOT_EQUALS:
+                return Opcodes.IFNE;
+            case GREATER_THAN:
+                return Opcodes.IFGT;
+            case GREATER_THAN_OR_EQUALS:
+                return Opcodes.IFGE;
+            default:
+                throw new IllegalStateException("Unhandled branch: " + op);
+        }
+    }
+
+    /**
+     * Unboxes TOS1 and TOS, which are either both floats (unboxed to doubles) or
+     * both ints (unboxed to {@link BigInteger}).
+     */
+    private static void unboxOperands(MethodVisitor methodVisitor, boolean isFloat, boolean isLeftUnboxed,
+            boolean isRightUnboxed) {
+        if (isFloat) {
+            if (!isLeftUnboxed && !isRightUnboxed) {
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                unboxFloat(methodVisitor);
+                methodVisitor.visitInsn(Opcodes.DUP2_X1);
+                methodVisitor.visitInsn(Opcodes.POP2);
+                unboxFloat(methodVisitor);
+            } else if (!isLeftUnboxed) {
+                // Stack is left, right; need to move right below left to unbox left
+                methodVisitor.visitInsn(Opcodes.DUP2_X1);
+                methodVisitor.visitInsn(Opcodes.POP2);
+                unboxFloat(methodVisitor);
+                methodVisitor.visitInsn(Opcodes.DUP2_X2);
+                methodVisitor.visitInsn(Opcodes.POP2);
+            } else if (!isRightUnboxed) {
+                unboxFloat(methodVisitor);
+            }
+        } else {
+            if (!isLeftUnboxed) {
+                methodVisitor.visitInsn(Opcodes.SWAP);
+                unboxInt(methodVisitor);
+                methodVisitor.visitInsn(Opcodes.SWAP);
+            }
+            if (!isRightUnboxed) {
+                unboxInt(methodVisitor);
+            }
+        }
+    }
+
+    private static void unboxFloat(MethodVisitor methodVisitor) {
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonFloat.class));
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, Type.getInternalName(PythonFloat.class), "value",
+                Type.DOUBLE_TYPE.getDescriptor());
+    }
+
+    private static void unboxInt(MethodVisitor methodVisitor) {
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(PythonInteger.class));
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, Type.getInternalName(PythonInteger.class), "value",
+                Type.getDescriptor(BigInteger.class));
+    }
+
     private static void binaryOperator(MethodVisitor methodVisitor, StackMetadata stackMetadata,
             PythonBinaryOperators operator, boolean isLeft, boolean leftCheckSuccessful,
             boolean forceFallback) {
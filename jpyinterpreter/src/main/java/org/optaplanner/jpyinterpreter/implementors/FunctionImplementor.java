@@ -5,6 +5,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -19,6 +21,12 @@ import org.optaplanner.jpyinterpreter.PythonInterpreter;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonVersion;
 import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.ValueSourceInfo;
+import org.optaplanner.jpyinterpreter.builtins.GlobalBuiltins;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
+import org.optaplanner.jpyinterpreter.opcodes.function.CallFunctionOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.function.MakeFunctionOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.variable.LoadGlobalOpcode;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
 import org.optaplanner.jpyinterpreter.types.PythonCode;
 import org.optaplanner.jpyinterpreter.types.PythonKnownFunctionType;
@@ -28,12 +36,16 @@ import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonString;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeDict;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
 
 /**
  * Implements opcodes related to functions
  */
 public class FunctionImplementor {
 
+    private static final Set<String> GENERATOR_EXPRESSION_REDUCER_NAME_SET =
+            Set.of("all", "any", "max", "min", "sorted", "sum");
+
     public static void callBinaryMethod(FunctionMetadata functionMetadata,
             StackMetadata stackMetadata,
             MethodVisitor methodVisitor, String methodName) {
@@ -319,6 +331,14 @@ public class FunctionImplementor {
     public static void callFunction(FunctionMetadata functionMetadata,
             StackMetadata stackMetadata,
             MethodVisitor methodVisitor, PythonBytecodeInstruction instruction) {
+        if (instruction.arg == 1) {
+            Optional<String> maybeReducerName = getGeneratorExpressionReducerName(functionMetadata, stackMetadata);
+            if (maybeReducerName.isPresent()) {
+                callGeneratorExpressionReducer(functionMetadata, stackMetadata, methodVisitor, maybeReducerName.get());
+                return;
+            }
+        }
+
         PythonLikeType functionType = stackMetadata.getTypeAtStackIndex(instruction.arg);
         if (functionType instanceof PythonLikeGenericType) {
             functionType = ((PythonLikeGenericType) functionType).getOrigin().getConstructorType().orElse(null);
@@ -337,6 +357,78 @@ public class FunctionImplementor {
         }
     }
 
+    /**
+     * Returns the name of the builtin reducer (sum, any, all, min, max, sorted) TOS1 is loaded from
+     * if TOS is the generator of a generator expression (i.e. {@code sum(x * x for x in values)}).
+     * Returns empty if the call does not match that pattern, or if the global
+     * is known to be shadowed by a module global.
+     */
+    private static Optional<String> getGeneratorExpressionReducerName(FunctionMetadata functionMetadata,
+            StackMetadata stackMetadata) {
+        Set<Opcode> functionSourceSet = stackMetadata.getValueSourceForStackIndex(1).getPossibleSourceOpcodeSet();
+        if (functionSourceSet.size() != 1) {
+            return Optional.empty();
+        }
+        Opcode functionSource = functionSourceSet.iterator().next();
+        if (!(functionSource instanceof LoadGlobalOpcode)) {
+            return Optional.empty();
+        }
+
+        String globalName = functionMetadata.pythonCompiledFunction.co_names
+                .get(((LoadGlobalOpcode) functionSource).getInstruction().arg);
+        if (!GENERATOR_EXPRESSION_REDUCER_NAME_SET.contains(globalName)
+                || functionMetadata.pythonCompiledFunction.globalsMap.containsKey(globalName)) {
+            return Optional.empty();
+        }
+
+        // The argument must be the result of calling a function created in this function
+        // (generator expressions are compiled to MAKE_FUNCTION followed by a call with the iterator)
+        ValueSourceInfo argumentSource = stackMetadata.getValueSourceForStackIndex(0);
+        boolean isGeneratorExpression = !argumentSource.getPossibleSourceOpcodeSet().isEmpty()
+                && argumentSource.getPossibleSourceOpcodeSet().stream()
+                        .allMatch(opcode -> opcode instanceof CallFunctionOpcode)
+                && argumentSource.getValueDependencySet().stream()
+                        .anyMatch(dependency -> !dependency.getPossibleSourceOpcodeSet().isEmpty() &&
+                                dependency.getPossibleSourceOpcodeSet().stream()
+                                        .allMatch(opcode -> opcode instanceof MakeFunctionOpcode));
+        return isGeneratorExpression ? Optional.of(globalName) : Optional.empty();
+    }
+
+    /**
+     * Calls a builtin reducer on a generator expression. TOS is the generator, TOS1 is the reducer.
+     * If TOS1 is still the builtin at runtime, the single argument variant in {@link GlobalBuiltins}
+     * is called directly, which iterates the generator without building an argument tuple
+     * (and stops early for any/all). Otherwise, TOS1 is called like any other function.
+     */
+    private static void callGeneratorExpressionReducer(FunctionMetadata functionMetadata, StackMetadata stackMetadata,
+            MethodVisitor methodVisitor, String reducerName) {
+        Label genericCall = new Label();
+        Label afterCall = new Label();
+
+        methodVisitor.visitInsn(Opcodes.SWAP);
+        methodVisitor.visitInsn(Opcodes.DUP);
+        methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(GlobalBuiltins.class),
+                reducerName.toUpperCase() + "_FUNCTION", Type.getDescriptor(PythonLikeFunction.class));
+
+        // Stack is generator, reducer, reducer, builtin
+        methodVisitor.visitJumpInsn(Opcodes.IF_ACMPNE, genericCall);
+        methodVisitor.visitInsn(Opcodes.POP);
+
+        Class<?> returnType = ("all".equals(reducerName) || "any".equals(reducerName)) ? PythonBoolean.class
+                : PythonLikeObject.class;
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(GlobalBuiltins.class),
+                reducerName + "Of", Type.getMethodDescriptor(Type.getType(returnType),
+                        Type.getType(PythonLikeObject.class)),
+                false);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, afterCall);
+
+        methodVisitor.visitLabel(genericCall);
+        methodVisitor.visitInsn(Opcodes.SWAP);
+        callGenericFunction(functionMetadata, stackMetadata, methodVisitor, 1);
+
+        methodVisitor.visitLabel(afterCall);
+    }
+
     public static void callGenericFunction(FunctionMetadata functionMetadata,
             StackMetadata stackMetadata,
             MethodVisitor methodVisitor, PythonBytecodeInstruction instruction) {
@@ -6,6 +6,7 @@ import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
+import org.optaplanner.jpyinterpreter.CompareOp;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.StackMetadata;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
@@ -50,6 +51,37 @@ public class JumpImplementor {
         methodVisitor.visitJumpInsn(Opcodes.IF_ACMPEQ, jumpLocation);
     }
 
+    /**
+     * TOS is the int left by an unboxed comparison (see {@link DunderOperatorImplementor#unboxedCompareValues}).
+     * Pops TOS. If the comparison result equals {@code jumpIfTrue}, set the bytecode counter
+     * to the {@code instruction} argument.
+     */
+    public static void popAndJumpIfUnboxedCompare(MethodVisitor methodVisitor, int jumpTarget, CompareOp compareOp,
+            boolean jumpIfTrue, Map<Integer, Label> bytecodeCounterToLabelMap) {
+        Label jumpLocation = bytecodeCounterToLabelMap.computeIfAbsent(jumpTarget, key -> new Label());
+        int jumpIfTrueOpcode = DunderOperatorImplementor.getUnboxedCompareJumpOpcode(compareOp);
+        methodVisitor.visitJumpInsn(jumpIfTrue ? jumpIfTrueOpcode : getNegatedJumpOpcode(jumpIfTrueOpcode), jumpLocation);
+    }
+
+    private static int getNegatedJumpOpcode(int jumpOpcode) {
+        switch (jumpOpcode) {
+            case Opcodes.IFEQ:
+                return Opcodes.IFNE;
+            case Opcodes.IFNE:
+                return Opcodes.IFEQ;
+            case Opcodes.IFLT:
+                return Opcodes.IFGE;
+            case Opcodes.IFGE:
+                return Opcodes.IFLT;
+            case Opcodes.IFGT:
+                return Opcodes.IFLE;
+            case Opcodes.IFLE:
+                return Opcodes.IFGT;
+            default:
+                throw new IllegalArgumentException("Not a comparison jump opcode: " + jumpOpcode);
+        }
+    }
+
     /**
      * TOS and TOS1 are an exception types. If TOS1 is not an instance of TOS, set the bytecode counter to the
      * {@code instruction} argument.
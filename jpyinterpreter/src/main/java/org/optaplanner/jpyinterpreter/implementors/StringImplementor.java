@@ -1,9 +1,15 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.StringConcatFactory;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -20,6 +26,64 @@ import org.optaplanner.jpyinterpreter.types.PythonString;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 
 public class StringImplementor {
+    /**
+     * The maximum number of arguments a {@link StringConcatFactory} call site can take.
+     */
+    private static final int MAX_CONCAT_ARGUMENTS = 200;
+
+    private static final Handle MAKE_CONCAT_WITH_CONSTANTS_HANDLE = new Handle(Opcodes.H_INVOKESTATIC,
+            Type.getInternalName(StringConcatFactory.class), "makeConcatWithConstants",
+            Type.getMethodDescriptor(Type.getType(CallSite.class),
+                    Type.getType(MethodHandles.Lookup.class),
+                    Type.getType(String.class),
+                    Type.getType(MethodType.class),
+                    Type.getType(String.class),
+                    Type.getType(Object[].class)),
+            false);
+
+    /**
+     * Constructs a string from the top {@code itemCount} on the stack, using a
+     * {@link StringConcatFactory#makeConcatWithConstants} call site, so the JVM can size the result
+     * in advance instead of growing a builder. Basically generate the following code:
+     *
+     * <code>
+     * <pre>
+     *     TOS' = PythonString.valueOf(TOS(itemCount - 1).toString() + ... + TOS1.toString() + TOS.toString())
+     * </pre>
+     * </code>
+     *
+     * If there are more items than a call site can take, falls back to
+     * {@link #buildStringWithBuilder(MethodVisitor, int)}.
+     *
+     * @param itemCount The number of items to put into collection from the stack
+     */
+    public static void buildString(MethodVisitor methodVisitor,
+            int itemCount) {
+        if (itemCount == 0) {
+            methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(PythonString.class), "EMPTY",
+                    Type.getDescriptor(PythonString.class));
+            return;
+        }
+
+        if (itemCount > MAX_CONCAT_ARGUMENTS) {
+            buildStringWithBuilder(methodVisitor, itemCount);
+            return;
+        }
+
+        Type[] argumentTypes = new Type[itemCount];
+        Arrays.fill(argumentTypes, Type.getType(Object.class));
+        // The recipe is one argument placeholder (char 1) per item
+        methodVisitor.visitInvokeDynamicInsn("buildString",
+                Type.getMethodDescriptor(Type.getType(String.class), argumentTypes),
+                MAKE_CONCAT_WITH_CONSTANTS_HANDLE,
+                "\u0001".repeat(itemCount));
+
+        methodVisitor.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(PythonString.class),
+                "valueOf",
+                Type.getMethodDescriptor(Type.getType(PythonString.class),
+                        Type.getType(String.class)),
+                false);
+    }
 
     /**
      * Constructs a string from the top {@code itemCount} on the stack.
@@ -38,7 +102,7 @@ public class StringImplementor {
      * 
      * @param itemCount The number of items to put into collection from the stack
      */
-    public static void buildString(MethodVisitor methodVisitor,
+    private static void buildStringWithBuilder(MethodVisitor methodVisitor,
             int itemCount) {
         methodVisitor.visitTypeInsn(Opcodes.NEW, Type.getInternalName(StringBuilder.class));
         methodVisitor.visitInsn(Opcodes.DUP);
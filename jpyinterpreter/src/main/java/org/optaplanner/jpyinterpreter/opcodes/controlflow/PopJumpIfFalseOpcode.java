@@ -6,7 +6,9 @@ import java.util.Map;
 import org.optaplanner.jpyinterpreter.FunctionMetadata;
 import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
 import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.dag.EscapeAnalysis;
 import org.optaplanner.jpyinterpreter.implementors.JumpImplementor;
+import org.optaplanner.jpyinterpreter.opcodes.dunder.CompareOpcode;
 
 public class PopJumpIfFalseOpcode extends AbstractControlFlowOpcode {
     int jumpTarget;
@@ -38,6 +40,13 @@ public class PopJumpIfFalseOpcode extends AbstractControlFlowOpcode {
 
     @Override
     public void implement(FunctionMetadata functionMetadata, StackMetadata stackMetadata) {
+        if (EscapeAnalysis.isUnboxed(functionMetadata.unboxedResultOpcodeSet, stackMetadata.getTOSValueSource())) {
+            CompareOpcode compareOpcode =
+                    (CompareOpcode) stackMetadata.getTOSValueSource().getPossibleSourceOpcodeSet().iterator().next();
+            JumpImplementor.popAndJumpIfUnboxedCompare(functionMetadata.methodVisitor, jumpTarget,
+                    compareOpcode.getCompareOp(), false, functionMetadata.bytecodeCounterToLabelMap);
+            return;
+        }
         JumpImplementor.popAndJumpIfFalse(functionMetadata.methodVisitor, jumpTarget,
                 stackMetadata, functionMetadata.bytecodeCounterToLabelMap);
     }
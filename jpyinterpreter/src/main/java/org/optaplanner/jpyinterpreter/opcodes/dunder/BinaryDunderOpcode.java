@@ -1,6 +1,7 @@
 package org.optaplanner.jpyinterpreter.opcodes.dunder;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.optaplanner.jpyinterpreter.FunctionMetadata;
 import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
@@ -8,8 +9,10 @@ import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
 import org.optaplanner.jpyinterpreter.PythonFunctionSignature;
 import org.optaplanner.jpyinterpreter.StackMetadata;
 import org.optaplanner.jpyinterpreter.ValueSourceInfo;
+import org.optaplanner.jpyinterpreter.dag.EscapeAnalysis;
 import org.optaplanner.jpyinterpreter.implementors.DunderOperatorImplementor;
 import org.optaplanner.jpyinterpreter.opcodes.AbstractOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
 import org.optaplanner.jpyinterpreter.types.PythonKnownFunctionType;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
@@ -23,6 +26,10 @@ public class BinaryDunderOpcode extends AbstractOpcode {
         this.operator = operator;
     }
 
+    public PythonBinaryOperators getOperator() {
+        return operator;
+    }
+
     @Override
     public StackMetadata getStackMetadataAfterInstruction(FunctionMetadata functionMetadata,
             StackMetadata stackMetadata) {
@@ -49,6 +56,16 @@ public class BinaryDunderOpcode extends AbstractOpcode {
 
     @Override
     public void implement(FunctionMetadata functionMetadata, StackMetadata stackMetadata) {
+        Set<Opcode> unboxedResultOpcodeSet = functionMetadata.unboxedResultOpcodeSet;
+        boolean isResultUnboxed = unboxedResultOpcodeSet.contains(this);
+        boolean isLeftUnboxed = EscapeAnalysis.isUnboxed(unboxedResultOpcodeSet, stackMetadata.getValueSourceForStackIndex(1));
+        boolean isRightUnboxed = EscapeAnalysis.isUnboxed(unboxedResultOpcodeSet, stackMetadata.getValueSourceForStackIndex(0));
+
+        if (isResultUnboxed || isLeftUnboxed || isRightUnboxed) {
+            DunderOperatorImplementor.unboxedBinaryOperator(functionMetadata.methodVisitor, stackMetadata, operator,
+                    isLeftUnboxed, isRightUnboxed, isResultUnboxed);
+            return;
+        }
         DunderOperatorImplementor.binaryOperator(functionMetadata.methodVisitor, stackMetadata, operator);
     }
 }
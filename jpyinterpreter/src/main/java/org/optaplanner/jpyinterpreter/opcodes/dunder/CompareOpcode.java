@@ -1,12 +1,16 @@
 package org.optaplanner.jpyinterpreter.opcodes.dunder;
 
+import java.util.Set;
+
 import org.optaplanner.jpyinterpreter.CompareOp;
 import org.optaplanner.jpyinterpreter.FunctionMetadata;
 import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
 import org.optaplanner.jpyinterpreter.StackMetadata;
 import org.optaplanner.jpyinterpreter.ValueSourceInfo;
+import org.optaplanner.jpyinterpreter.dag.EscapeAnalysis;
 import org.optaplanner.jpyinterpreter.implementors.DunderOperatorImplementor;
 import org.optaplanner.jpyinterpreter.opcodes.AbstractOpcode;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
 import org.optaplanner.jpyinterpreter.types.BuiltinTypes;
 
 public class CompareOpcode extends AbstractOpcode {
@@ -15,6 +19,10 @@ public class CompareOpcode extends AbstractOpcode {
         super(instruction);
     }
 
+    public CompareOp getCompareOp() {
+        return CompareOp.getOp(instruction.arg);
+    }
+
     @Override
     public StackMetadata getStackMetadataAfterInstruction(FunctionMetadata functionMetadata,
             StackMetadata stackMetadata) {
@@ -24,6 +32,16 @@ public class CompareOpcode extends AbstractOpcode {
 
     @Override
     public void implement(FunctionMetadata functionMetadata, StackMetadata stackMetadata) {
+        Set<Opcode> unboxedResultOpcodeSet = functionMetadata.unboxedResultOpcodeSet;
+        boolean isResultUnboxed = unboxedResultOpcodeSet.contains(this);
+        boolean isLeftUnboxed = EscapeAnalysis.isUnboxed(unboxedResultOpcodeSet, stackMetadata.getValueSourceForStackIndex(1));
+        boolean isRightUnboxed = EscapeAnalysis.isUnboxed(unboxedResultOpcodeSet, stackMetadata.getValueSourceForStackIndex(0));
+
+        if (isResultUnboxed || isLeftUnboxed || isRightUnboxed) {
+            DunderOperatorImplementor.unboxedCompareValues(functionMetadata.methodVisitor, stackMetadata, getCompareOp(),
+                    isLeftUnboxed, isRightUnboxed, isResultUnboxed);
+            return;
+        }
         DunderOperatorImplementor.compareValues(functionMetadata.methodVisitor, stackMetadata,
                 CompareOp.getOp(instruction.arg));
     }
@@ -30,6 +30,7 @@ import org.optaplanner.jpyinterpreter.types.errors.unicode.UnicodeDecodeError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.util.ByteCharSequence;
+import org.optaplanner.jpyinterpreter.util.ByteSearchUtils;
 import org.optaplanner.jpyinterpreter.util.StringFormatter;
 
 public class PythonByteArray extends AbstractPythonLikeObject implements PythonBytesLikeObject {
@@ -389,21 +390,8 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonBoolean containsSubsequence(PythonByteArray subsequence) {
-        if (subsequence.valueBuffer.limit() == 0) {
-            return PythonBoolean.TRUE;
-        }
-
-        if (subsequence.valueBuffer.limit() > valueBuffer.limit()) {
-            return PythonBoolean.FALSE;
-        }
-
-        for (int i = 0; i <= valueBuffer.limit() - subsequence.valueBuffer.limit(); i++) {
-            if (Arrays.equals(valueBuffer.array(), i, i + subsequence.valueBuffer.limit(),
-                    subsequence.valueBuffer.array(), 0, subsequence.valueBuffer.limit())) {
-                return PythonBoolean.TRUE;
-            }
-        }
-        return PythonBoolean.FALSE;
+        return PythonBoolean
+                .valueOf(ByteSearchUtils.indexOf(valueBuffer.array(), subsequence.asByteArray(), 0, valueBuffer.limit()) != -1);
     }
 
     public PythonByteArray concat(PythonByteArray other) {
@@ -440,13 +428,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonInteger countByte(byte query, int start, int end) {
-        int count = 0;
-        for (int i = start; i < end; i++) {
-            if (valueBuffer.get(i) == query) {
-                count++;
-            }
-        }
-        return PythonInteger.valueOf(count);
+        return PythonInteger.valueOf(ByteSearchUtils.count(valueBuffer.array(), query, start, end));
     }
 
     public PythonInteger count(PythonInteger byteAsInt) {
@@ -470,24 +452,11 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     private PythonInteger countSubsequence(byte[] query, int from, int to) {
-        int count = 0;
-
         if ((to - from) == 0 || query.length > (to - from)) {
             return PythonInteger.ZERO;
         }
 
-        if (query.length == 0) {
-            return PythonInteger.valueOf((to - from) + 1);
-        }
-
-        for (int i = from; i <= to - query.length; i++) {
-            if (Arrays.equals(valueBuffer.array(), i, i + query.length,
-                    query, 0, query.length)) {
-                count++;
-                i += query.length - 1;
-            }
-        }
-        return PythonInteger.valueOf(count);
+        return PythonInteger.valueOf(ByteSearchUtils.count(valueBuffer.array(), query, from, to));
     }
 
     public PythonInteger count(PythonByteArray bytes) {
@@ -887,27 +856,15 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     private PythonInteger find(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = start; i < end; i++) {
-            if (valueBuffer.get(i) == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.indexOf(valueBuffer.array(), query.asByte(), start, end));
     }
 
     private PythonInteger index(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = start; i < end; i++) {
-            if (valueBuffer.get(i) == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.indexOf(valueBuffer.array(), query.asByte(), start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger find(PythonInteger query) {
@@ -949,13 +906,7 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
             return (valueBuffer.limit() > 0) ? PythonInteger.ZERO : PythonInteger.valueOf(-1);
         }
 
-        for (int i = start; i <= end - queryBytes.length; i++) {
-            if (Arrays.equals(valueBuffer.array(), i, i + queryBytes.length, queryBytes, 0, queryBytes.length)) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.indexOf(valueBuffer.array(), queryBytes, start, end));
     }
 
     private PythonInteger index(PythonBytesLikeObject query, int start, int end) {
@@ -969,13 +920,11 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
             }
         }
 
-        for (int i = start; i <= end - queryBytes.length; i++) {
-            if (Arrays.equals(valueBuffer.array(), i, i + queryBytes.length, queryBytes, 0, queryBytes.length)) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.indexOf(valueBuffer.array(), queryBytes, start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger find(PythonByteArray query) {
@@ -1093,55 +1042,40 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonByteArray replace(PythonBytesLikeObject old, PythonBytesLikeObject replacement) {
-        byte[] oldBytes = old.asByteArray();
-        byte[] replacementBytes = replacement.asByteArray();
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        int lastReplacementEnd = 0;
-        for (int i = 0; i < valueBuffer.limit() - oldBytes.length; i++) {
-            if (!Arrays.equals(valueBuffer.array(), i, i + oldBytes.length,
-                    oldBytes, 0, oldBytes.length)) {
-                continue;
-            }
-
-            outputStream.write(valueBuffer.array(), lastReplacementEnd, i - lastReplacementEnd);
-            outputStream.writeBytes(replacementBytes);
-
-            i += oldBytes.length;
-            lastReplacementEnd = i;
-        }
-
-        outputStream.write(valueBuffer.array(), lastReplacementEnd, valueBuffer.limit() - lastReplacementEnd);
-        return new PythonByteArray(outputStream.toByteArray());
+        return replace(old, replacement, BigInteger.valueOf(-1));
     }
 
     public PythonByteArray replace(PythonBytesLikeObject old, PythonBytesLikeObject replacement, BigInteger count) {
         byte[] oldBytes = old.asByteArray();
         byte[] replacementBytes = replacement.asByteArray();
+        byte[] valueBytes = valueBuffer.array();
+        int length = valueBuffer.limit();
+        // A negative count means replace every occurrence
+        long remaining = (count.signum() < 0) ? Long.MAX_VALUE
+                : count.min(BigInteger.valueOf(Long.MAX_VALUE)).longValue();
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(length);
 
         int lastReplacementEnd = 0;
-        for (int i = 0; i < valueBuffer.limit() - oldBytes.length; i++) {
-            if (count.compareTo(BigInteger.ZERO) == 0) {
-                break;
+        if (oldBytes.length == 0) {
+            // The empty sequence occurs before every byte and at the end
+            for (int i = 0; i <= length && remaining > 0; i++, remaining--) {
+                outputStream.write(valueBytes, lastReplacementEnd, i - lastReplacementEnd);
+                outputStream.writeBytes(replacementBytes);
+                lastReplacementEnd = i;
             }
-
-            if (!Arrays.equals(valueBuffer.array(), i, i + oldBytes.length,
-                    oldBytes, 0, oldBytes.length)) {
-                continue;
+        } else {
+            int i = ByteSearchUtils.indexOf(valueBytes, oldBytes, 0, length);
+            while (i != -1 && remaining > 0) {
+                outputStream.write(valueBytes, lastReplacementEnd, i - lastReplacementEnd);
+                outputStream.writeBytes(replacementBytes);
+                lastReplacementEnd = i + oldBytes.length;
+                remaining--;
+                i = ByteSearchUtils.indexOf(valueBytes, oldBytes, lastReplacementEnd, length);
             }
-
-            outputStream.write(valueBuffer.array(), lastReplacementEnd, i - lastReplacementEnd);
-            outputStream.writeBytes(replacementBytes);
-
-            i += oldBytes.length;
-            lastReplacementEnd = i;
-            count = count.subtract(BigInteger.ONE);
         }
 
-        outputStream.write(valueBuffer.array(), lastReplacementEnd, valueBuffer.limit() - lastReplacementEnd);
+        outputStream.write(valueBytes, lastReplacementEnd, length - lastReplacementEnd);
         return new PythonByteArray(outputStream.toByteArray());
     }
 
@@ -1154,27 +1088,15 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     private PythonInteger rightFind(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = end - 1; i >= start; i--) {
-            if (valueBuffer.get(i) == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.lastIndexOf(valueBuffer.array(), query.asByte(), start, end));
     }
 
     private PythonInteger rightIndex(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = end - 1; i >= start; i--) {
-            if (valueBuffer.get(i) == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.lastIndexOf(valueBuffer.array(), query.asByte(), start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger rightFind(PythonInteger query) {
@@ -1210,41 +1132,15 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     private PythonInteger rightFind(PythonBytesLikeObject query, int start, int end) {
-        byte[] queryBytes = query.asByteArray();
-
-        for (int i = end - queryBytes.length; i >= start; i--) {
-            int j = 0;
-            for (; j < queryBytes.length; j++) {
-                if (valueBuffer.get(i + j) != queryBytes[j]) {
-                    break;
-                }
-            }
-
-            if (j == queryBytes.length) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.lastIndexOf(valueBuffer.array(), query.asByteArray(), start, end));
     }
 
     private PythonInteger rightIndex(PythonBytesLikeObject query, int start, int end) {
-        byte[] queryBytes = query.asByteArray();
-
-        for (int i = end - queryBytes.length; i >= start; i--) {
-            int j = 0;
-            for (; j < queryBytes.length; j++) {
-                if (valueBuffer.get(i + j) != queryBytes[j]) {
-                    break;
-                }
-            }
-
-            if (j == queryBytes.length) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.lastIndexOf(valueBuffer.array(), query.asByteArray(), start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger rightFind(PythonByteArray query) {
@@ -1636,66 +1532,34 @@ public class PythonByteArray extends AbstractPythonLikeObject implements PythonB
     }
 
     public PythonLikeList<PythonByteArray> split(PythonByteArray seperator) {
-        PythonLikeList<PythonByteArray> out = new PythonLikeList<>();
-        int start = 0;
-        int end = valueBuffer.limit();
-
-        int lastEnd = start;
-        while (start < end - seperator.valueBuffer.limit()) {
-            while (start < end - seperator.valueBuffer.limit() &&
-                    !Arrays.equals(valueBuffer.array(), start, start + seperator.valueBuffer.limit(),
-                            seperator.valueBuffer.array(), 0, seperator.valueBuffer.limit())) {
-                start++;
-            }
-            if (start != end - seperator.valueBuffer.limit()) {
-                out.add(new PythonByteArray(Arrays.copyOfRange(valueBuffer.array(), lastEnd, start)));
-                lastEnd = start + seperator.valueBuffer.limit();
-                start = lastEnd;
-            }
-        }
-
-        if (Arrays.equals(valueBuffer.array(), start, start + seperator.valueBuffer.limit(),
-                seperator.valueBuffer.array(), 0, seperator.valueBuffer.limit())) {
-            out.add(new PythonByteArray(Arrays.copyOfRange(valueBuffer.array(), lastEnd, start)));
-            lastEnd = start + seperator.valueBuffer.limit();
-        }
-
-        out.add(new PythonByteArray(Arrays.copyOfRange(valueBuffer.array(), lastEnd, end)));
-        return out;
+        return split(seperator, Long.MAX_VALUE);
     }
 
     public PythonLikeList<PythonByteArray> split(PythonByteArray seperator, PythonInteger maxSplits) {
-        if (maxSplits.equals(new PythonInteger(-1))) {
+        if (maxSplits.value.signum() < 0) {
             return split(seperator);
         }
+        return split(seperator, maxSplits.value.min(BigInteger.valueOf(Long.MAX_VALUE)).longValue());
+    }
 
-        PythonLikeList<PythonByteArray> out = new PythonLikeList<>();
-        int start = 0;
+    private PythonLikeList<PythonByteArray> split(PythonByteArray seperator, long maxSplits) {
+        byte[] valueBytes = valueBuffer.array();
+        byte[] seperatorBytes = seperator.asByteArray();
         int end = valueBuffer.limit();
-
-        int lastEnd = start;
-        while (start < end - seperator.valueBuffer.limit() && maxSplits.compareTo(PythonInteger.ONE) >= 0) {
-            while (start < end - seperator.valueBuffer.limit() &&
-                    !Arrays.equals(valueBuffer.array(), start, start + seperator.valueBuffer.limit(),
-                            seperator.valueBuffer.array(), 0, seperator.valueBuffer.limit())) {
-                start++;
-            }
-            if (start != end - seperator.valueBuffer.limit()) {
-                out.add(new PythonByteArray(Arrays.copyOfRange(valueBuffer.array(), lastEnd, start)));
-                lastEnd = start + seperator.valueBuffer.limit();
-                start = lastEnd;
-                maxSplits = maxSplits.subtract(PythonInteger.ONE);
-            }
+        if (seperatorBytes.length == 0) {
+            throw new ValueError("empty separator");
         }
 
-        if (maxSplits.compareTo(PythonInteger.ONE) >= 0 &&
-                Arrays.equals(valueBuffer.array(), start, start + seperator.valueBuffer.limit(),
-                        seperator.valueBuffer.array(), 0, seperator.valueBuffer.limit())) {
-            out.add(new PythonByteArray(Arrays.copyOfRange(valueBuffer.array(), lastEnd, start)));
-            lastEnd = start + seperator.valueBuffer.limit();
+        PythonLikeList<PythonByteArray> out = new PythonLikeList<>();
+        int lastEnd = 0;
+        int seperatorStart = ByteSearchUtils.indexOf(valueBytes, seperatorBytes, 0, end);
+        while (seperatorStart != -1 && out.size() < maxSplits) {
+            out.add(new PythonByteArray(Arrays.copyOfRange(valueBytes, lastEnd, seperatorStart)));
+            lastEnd = seperatorStart + seperatorBytes.length;
+            seperatorStart = ByteSearchUtils.indexOf(valueBytes, seperatorBytes, lastEnd, end);
         }
 
-        out.add(new PythonByteArray(Arrays.copyOfRange(valueBuffer.array(), lastEnd, end)));
+        out.add(new PythonByteArray(Arrays.copyOfRange(valueBytes, lastEnd, end)));
         return out;
     }
 
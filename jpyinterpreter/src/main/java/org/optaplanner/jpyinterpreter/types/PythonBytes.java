@@ -29,6 +29,7 @@ import org.optaplanner.jpyinterpreter.types.errors.unicode.UnicodeDecodeError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.util.ByteCharSequence;
+import org.optaplanner.jpyinterpreter.util.ByteSearchUtils;
 import org.optaplanner.jpyinterpreter.util.StringFormatter;
 
 public class PythonBytes extends AbstractPythonLikeObject implements PythonBytesLikeObject {
@@ -133,6 +134,10 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
                 PythonLikeObject arg = positionalArguments.get(0);
                 if (arg instanceof PythonInteger) {
                     return new PythonBytes(new byte[((PythonInteger) arg).value.intValueExact()]);
+                } else if (arg.getClass() == PythonBytes.class) {
+                    return arg;
+                } else if (arg instanceof PythonMemoryView) {
+                    return ((PythonMemoryView) arg).toBytes();
                 } else {
                     PythonIterator<?> iterator = (PythonIterator<?>) UnaryDunderBuiltin.ITERATOR.invoke(arg);
                     ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -408,6 +413,9 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
         if (step == 1) {
             if (stop <= start) {
                 return EMPTY;
+            } else if (start == 0 && stop == length) {
+                // bytes are immutable, so a full slice can share this instance
+                return this;
             } else {
                 return new PythonBytes(Arrays.copyOfRange(value, start, stop));
             }
@@ -421,21 +429,7 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     public PythonBoolean containsSubsequence(PythonBytes subsequence) {
-        if (subsequence.value.length == 0) {
-            return PythonBoolean.TRUE;
-        }
-
-        if (subsequence.value.length > value.length) {
-            return PythonBoolean.FALSE;
-        }
-
-        for (int i = 0; i <= value.length - subsequence.value.length; i++) {
-            if (Arrays.equals(value, i, i + subsequence.value.length,
-                    subsequence.value, 0, subsequence.value.length)) {
-                return PythonBoolean.TRUE;
-            }
-        }
-        return PythonBoolean.FALSE;
+        return PythonBoolean.valueOf(ByteSearchUtils.indexOf(value, subsequence.value, 0, value.length) != -1);
     }
 
     public PythonBytes concat(PythonBytes other) {
@@ -476,13 +470,7 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     public PythonInteger countByte(byte query, int start, int end) {
-        int count = 0;
-        for (int i = start; i < end; i++) {
-            if (value[i] == query) {
-                count++;
-            }
-        }
-        return PythonInteger.valueOf(count);
+        return PythonInteger.valueOf(ByteSearchUtils.count(value, query, start, end));
     }
 
     public PythonInteger count(PythonInteger byteAsInt) {
@@ -506,24 +494,11 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     private PythonInteger countSubsequence(byte[] query, int from, int to) {
-        int count = 0;
-
         if ((to - from) == 0 || query.length > (to - from)) {
             return PythonInteger.ZERO;
         }
 
-        if (query.length == 0) {
-            return PythonInteger.valueOf((to - from) + 1);
-        }
-
-        for (int i = from; i <= to - query.length; i++) {
-            if (Arrays.equals(value, i, i + query.length,
-                    query, 0, query.length)) {
-                count++;
-                i += query.length - 1;
-            }
-        }
-        return PythonInteger.valueOf(count);
+        return PythonInteger.valueOf(ByteSearchUtils.count(value, query, from, to));
     }
 
     public PythonInteger count(PythonBytes bytes) {
@@ -693,27 +668,15 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     private PythonInteger find(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = start; i < end; i++) {
-            if (value[i] == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.indexOf(value, query.asByte(), start, end));
     }
 
     private PythonInteger index(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = start; i < end; i++) {
-            if (value[i] == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.indexOf(value, query.asByte(), start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger find(PythonInteger query) {
@@ -755,13 +718,7 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
             return (value.length > 0) ? PythonInteger.ZERO : PythonInteger.valueOf(-1);
         }
 
-        for (int i = start; i <= end - queryBytes.length; i++) {
-            if (Arrays.equals(value, i, i + queryBytes.length, queryBytes, 0, queryBytes.length)) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.indexOf(value, queryBytes, start, end));
     }
 
     private PythonInteger index(PythonBytesLikeObject query, int start, int end) {
@@ -775,13 +732,11 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
             }
         }
 
-        for (int i = start; i <= end - queryBytes.length; i++) {
-            if (Arrays.equals(value, i, i + queryBytes.length, queryBytes, 0, queryBytes.length)) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.indexOf(value, queryBytes, start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger find(PythonBytes query) {
@@ -898,55 +853,39 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     public PythonBytes replace(PythonBytesLikeObject old, PythonBytesLikeObject replacement) {
-        byte[] oldBytes = old.asByteArray();
-        byte[] replacementBytes = replacement.asByteArray();
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        int lastReplacementEnd = 0;
-        for (int i = 0; i < value.length - oldBytes.length; i++) {
-            if (!Arrays.equals(value, i, i + oldBytes.length,
-                    oldBytes, 0, oldBytes.length)) {
-                continue;
-            }
-
-            outputStream.write(value, lastReplacementEnd, i - lastReplacementEnd);
-            outputStream.writeBytes(replacementBytes);
-
-            i += oldBytes.length;
-            lastReplacementEnd = i;
-        }
-
-        outputStream.write(value, lastReplacementEnd, value.length - lastReplacementEnd);
-        return new PythonBytes(outputStream.toByteArray());
+        return replace(old, replacement, BigInteger.valueOf(-1));
     }
 
     public PythonBytes replace(PythonBytesLikeObject old, PythonBytesLikeObject replacement, BigInteger count) {
         byte[] oldBytes = old.asByteArray();
         byte[] replacementBytes = replacement.asByteArray();
+        int length = value.length;
+        // A negative count means replace every occurrence
+        long remaining = (count.signum() < 0) ? Long.MAX_VALUE
+                : count.min(BigInteger.valueOf(Long.MAX_VALUE)).longValue();
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(length);
 
         int lastReplacementEnd = 0;
-        for (int i = 0; i < value.length - oldBytes.length; i++) {
-            if (count.compareTo(BigInteger.ZERO) == 0) {
-                break;
+        if (oldBytes.length == 0) {
+            // The empty sequence occurs before every byte and at the end
+            for (int i = 0; i <= length && remaining > 0; i++, remaining--) {
+                outputStream.write(value, lastReplacementEnd, i - lastReplacementEnd);
+                outputStream.writeBytes(replacementBytes);
+                lastReplacementEnd = i;
             }
-
-            if (!Arrays.equals(value, i, i + oldBytes.length,
-                    oldBytes, 0, oldBytes.length)) {
-                continue;
+        } else {
+            int i = ByteSearchUtils.indexOf(value, oldBytes, 0, length);
+            while (i != -1 && remaining > 0) {
+                outputStream.write(value, lastReplacementEnd, i - lastReplacementEnd);
+                outputStream.writeBytes(replacementBytes);
+                lastReplacementEnd = i + oldBytes.length;
+                remaining--;
+                i = ByteSearchUtils.indexOf(value, oldBytes, lastReplacementEnd, length);
             }
-
-            outputStream.write(value, lastReplacementEnd, i - lastReplacementEnd);
-            outputStream.writeBytes(replacementBytes);
-
-            i += oldBytes.length;
-            lastReplacementEnd = i;
-            count = count.subtract(BigInteger.ONE);
         }
 
-        outputStream.write(value, lastReplacementEnd, value.length - lastReplacementEnd);
+        outputStream.write(value, lastReplacementEnd, length - lastReplacementEnd);
         return new PythonBytes(outputStream.toByteArray());
     }
 
@@ -959,27 +898,15 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     private PythonInteger rightFind(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = end - 1; i >= start; i--) {
-            if (value[i] == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.lastIndexOf(value, query.asByte(), start, end));
     }
 
     private PythonInteger rightIndex(PythonInteger query, int start, int end) {
-        byte queryByte = query.asByte();
-
-        for (int i = end - 1; i >= start; i--) {
-            if (value[i] == queryByte) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.lastIndexOf(value, query.asByte(), start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger rightFind(PythonInteger query) {
@@ -1015,41 +942,15 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     private PythonInteger rightFind(PythonBytesLikeObject query, int start, int end) {
-        byte[] queryBytes = query.asByteArray();
-
-        for (int i = end - queryBytes.length; i >= start; i--) {
-            int j = 0;
-            for (; j < queryBytes.length; j++) {
-                if (value[i + j] != queryBytes[j]) {
-                    break;
-                }
-            }
-
-            if (j == queryBytes.length) {
-                return PythonInteger.valueOf(i);
-            }
-        }
-
-        return PythonInteger.valueOf(-1);
+        return PythonInteger.valueOf(ByteSearchUtils.lastIndexOf(value, query.asByteArray(), start, end));
     }
 
     private PythonInteger rightIndex(PythonBytesLikeObject query, int start, int end) {
-        byte[] queryBytes = query.asByteArray();
-
-        for (int i = end - queryBytes.length; i >= start; i--) {
-            int j = 0;
-            for (; j < queryBytes.length; j++) {
-                if (value[i + j] != queryBytes[j]) {
-                    break;
-                }
-            }
-
-            if (j == queryBytes.length) {
-                return PythonInteger.valueOf(i);
-            }
+        int index = ByteSearchUtils.lastIndexOf(value, query.asByteArray(), start, end);
+        if (index == -1) {
+            throw new ValueError("Subsequence not found");
         }
-
-        throw new ValueError("Subsequence not found");
+        return PythonInteger.valueOf(index);
     }
 
     public PythonInteger rightFind(PythonBytes query) {
@@ -1408,63 +1309,30 @@ public class PythonBytes extends AbstractPythonLikeObject implements PythonBytes
     }
 
     public PythonLikeList<PythonBytes> split(PythonBytes seperator) {
-        PythonLikeList<PythonBytes> out = new PythonLikeList<>();
-        int start = 0;
-        int end = value.length;
-
-        int lastEnd = start;
-        while (start < end - seperator.value.length) {
-            while (start < end - seperator.value.length &&
-                    !Arrays.equals(value, start, start + seperator.value.length,
-                            seperator.value, 0, seperator.value.length)) {
-                start++;
-            }
-            if (start != end - seperator.value.length) {
-                out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, start)));
-                lastEnd = start + seperator.value.length;
-                start = lastEnd;
-            }
-        }
-
-        if (Arrays.equals(value, start, start + seperator.value.length,
-                seperator.value, 0, seperator.value.length)) {
-            out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, start)));
-            lastEnd = start + seperator.value.length;
-        }
-
-        out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, end)));
-        return out;
+        return split(seperator, Long.MAX_VALUE);
     }
 
     public PythonLikeList<PythonBytes> split(PythonBytes seperator, PythonInteger maxSplits) {
-        if (maxSplits.equals(new PythonInteger(-1))) {
+        if (maxSplits.value.signum() < 0) {
             return split(seperator);
         }
+        return split(seperator, maxSplits.value.min(BigInteger.valueOf(Long.MAX_VALUE)).longValue());
+    }
 
-        PythonLikeList<PythonBytes> out = new PythonLikeList<>();
-        int start = 0;
+    private PythonLikeList<PythonBytes> split(PythonBytes seperator, long maxSplits) {
+        byte[] seperatorBytes = seperator.value;
         int end = value.length;
-
-        int lastEnd = start;
-        while (start < end - seperator.value.length && maxSplits.compareTo(PythonInteger.ONE) >= 0) {
-            while (start < end - seperator.value.length &&
-                    !Arrays.equals(value, start, start + seperator.value.length,
-                            seperator.value, 0, seperator.value.length)) {
-                start++;
-            }
-            if (start != end - seperator.value.length) {
-                out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, start)));
-                lastEnd = start + seperator.value.length;
-                start = lastEnd;
-                maxSplits = maxSplits.subtract(PythonInteger.ONE);
-            }
+        if (seperatorBytes.length == 0) {
+            throw new ValueError("empty separator");
         }
 
-        if (maxSplits.compareTo(PythonInteger.ONE) >= 0 &&
-                Arrays.equals(value, start, start + seperator.value.length,
-                        seperator.value, 0, seperator.value.length)) {
-            out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, start)));
-            lastEnd = start + seperator.value.length;
+        PythonLikeList<PythonBytes> out = new PythonLikeList<>();
+        int lastEnd = 0;
+        int seperatorStart = ByteSearchUtils.indexOf(value, seperatorBytes, 0, end);
+        while (seperatorStart != -1 && out.size() < maxSplits) {
+            out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, seperatorStart)));
+            lastEnd = seperatorStart + seperatorBytes.length;
+            seperatorStart = ByteSearchUtils.indexOf(value, seperatorBytes, lastEnd, end);
         }
 
         out.add(new PythonBytes(Arrays.copyOfRange(value, lastEnd, end)));
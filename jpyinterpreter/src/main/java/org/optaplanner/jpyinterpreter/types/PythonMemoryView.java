@@ -0,0 +1,303 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
+import org.optaplanner.jpyinterpreter.PythonTernaryOperators;
+import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
+import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.errors.lookup.IndexError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+/**
+ * A one-dimensional, unsigned byte (format 'B') view of a bytes-like object. The view shares the memory of the
+ * object it was created from: contiguous slices of a view are views of the same memory, so slicing
+ * never copies. Slices with a step other than 1 are copied into a new read-only view.
+ * <p>
+ * Views of a {@link PythonByteArray} are writable. Unlike CPython, resizing the bytearray while a view of it
+ * exists is not prevented; the view keeps seeing the memory the bytearray had when the view was created.
+ */
+public class PythonMemoryView extends AbstractPythonLikeObject implements PythonBytesLikeObject {
+    /**
+     * Has position 0 and limit equal to the length of this view; never moved, only accessed with absolute
+     * gets and puts.
+     */
+    private final ByteBuffer buffer;
+    private final PythonLikeObject obj;
+    private final boolean isReadOnly;
+
+    private static final PythonString FORMAT = PythonString.valueOf("B");
+    private static final PythonLikeTuple STRIDES = PythonLikeTuple.fromList(List.of(PythonInteger.ONE));
+
+    static {
+        PythonOverloadImplementor.deferDispatchesFor(PythonMemoryView::registerMethods);
+    }
+
+    private static PythonLikeType registerMethods() throws NoSuchMethodException {
+        BuiltinTypes.MEMORY_VIEW_TYPE.setConstructor(((positionalArguments, namedArguments, callerInstance) -> {
+            if (positionalArguments.size() != 1) {
+                throw new TypeError("memoryview takes exactly 1 argument, not " + positionalArguments.size());
+            }
+            return of(positionalArguments.get(0));
+        }));
+
+        // Unary
+        BuiltinTypes.MEMORY_VIEW_TYPE.addUnaryMethod(PythonUnaryOperator.LENGTH,
+                PythonMemoryView.class.getMethod("getLength"));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addUnaryMethod(PythonUnaryOperator.ITERATOR,
+                PythonMemoryView.class.getMethod("getIterator"));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addUnaryMethod(PythonUnaryOperator.REPRESENTATION,
+                PythonMemoryView.class.getMethod("repr"));
+
+        // Binary
+        BuiltinTypes.MEMORY_VIEW_TYPE.addBinaryMethod(PythonBinaryOperators.GET_ITEM,
+                PythonMemoryView.class.getMethod("getByte", PythonInteger.class));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addBinaryMethod(PythonBinaryOperators.GET_ITEM,
+                PythonMemoryView.class.getMethod("getSlice", PythonSlice.class));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addBinaryMethod(PythonBinaryOperators.EQUAL,
+                PythonMemoryView.class.getMethod("pythonEquals", PythonLikeObject.class));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addBinaryMethod(PythonBinaryOperators.NOT_EQUAL,
+                PythonMemoryView.class.getMethod("pythonNotEquals", PythonLikeObject.class));
+
+        // Ternary
+        BuiltinTypes.MEMORY_VIEW_TYPE.addTernaryMethod(PythonTernaryOperators.SET_ITEM,
+                PythonMemoryView.class.getMethod("setByte", PythonInteger.class, PythonInteger.class));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addTernaryMethod(PythonTernaryOperators.SET_ITEM,
+                PythonMemoryView.class.getMethod("setSlice", PythonSlice.class, PythonLikeObject.class));
+
+        // Other
+        BuiltinTypes.MEMORY_VIEW_TYPE.addMethod("tobytes", PythonMemoryView.class.getMethod("toBytes"));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addMethod("tolist", PythonMemoryView.class.getMethod("toList"));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addMethod("toreadonly", PythonMemoryView.class.getMethod("toReadOnly"));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addMethod("hex", PythonMemoryView.class.getMethod("hex"));
+        BuiltinTypes.MEMORY_VIEW_TYPE.addMethod("release", PythonMemoryView.class.getMethod("release"));
+
+        return BuiltinTypes.MEMORY_VIEW_TYPE;
+    }
+
+    private PythonMemoryView(PythonLikeObject obj, ByteBuffer buffer, boolean isReadOnly) {
+        super(BuiltinTypes.MEMORY_VIEW_TYPE);
+        this.obj = obj;
+        this.buffer = buffer;
+        this.isReadOnly = isReadOnly;
+    }
+
+    /**
+     * Creates a view of the memory of {@code object}, which must be bytes-like.
+     */
+    public static PythonMemoryView of(PythonLikeObject object) {
+        if (object instanceof PythonMemoryView) {
+            PythonMemoryView other = (PythonMemoryView) object;
+            return new PythonMemoryView(other.obj, other.buffer, other.isReadOnly);
+        } else if (object instanceof PythonByteArray) {
+            ByteBuffer valueBuffer = ((PythonByteArray) object).valueBuffer;
+            return new PythonMemoryView(object, slice(valueBuffer, 0, valueBuffer.limit()), false);
+        } else if (object instanceof PythonBytesLikeObject) {
+            return new PythonMemoryView(object, getContent((PythonBytesLikeObject) object), true);
+        } else {
+            throw new TypeError("memoryview: a bytes-like object is required, not '" +
+                    object.__getType().getTypeName() + "'");
+        }
+    }
+
+    /**
+     * The position of a {@link PythonBytesLikeObject#asByteBuffer()} is not always 0 (bytearray moves it),
+     * but its content is always from 0 to its limit.
+     */
+    private static ByteBuffer getContent(PythonBytesLikeObject object) {
+        ByteBuffer byteBuffer = object.asByteBuffer();
+        return slice(byteBuffer, 0, byteBuffer.limit());
+    }
+
+    private static byte[] toByteArray(PythonBytesLikeObject object) {
+        ByteBuffer content = getContent(object);
+        byte[] out = new byte[content.limit()];
+        content.get(out);
+        return out;
+    }
+
+    private static ByteBuffer slice(ByteBuffer byteBuffer, int start, int length) {
+        ByteBuffer out = byteBuffer.duplicate();
+        out.position(start);
+        out.limit(start + length);
+        return out.slice();
+    }
+
+    @Override
+    public PythonLikeObject __getAttributeOrNull(String name) {
+        switch (name) {
+            case "obj":
+                return obj;
+            case "readonly":
+                return PythonBoolean.valueOf(isReadOnly);
+            case "nbytes":
+                return getLength();
+            case "itemsize":
+            case "ndim":
+                return PythonInteger.ONE;
+            case "format":
+                return FORMAT;
+            case "shape":
+                return PythonLikeTuple.fromList(List.of(getLength()));
+            case "strides":
+                return STRIDES;
+            default:
+                return super.__getAttributeOrNull(name);
+        }
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+
+    public PythonInteger getLength() {
+        return PythonInteger.valueOf(buffer.limit());
+    }
+
+    public PythonIterator<PythonInteger> getIterator() {
+        return new PythonIterator<>(IntStream.range(0, buffer.limit())
+                .mapToObj(index -> PythonBytes.BYTE_TO_INT[buffer.get(index) & 0xFF])
+                .iterator());
+    }
+
+    private int getIndex(PythonInteger position) {
+        int index = PythonSlice.asIntIndexForLength(position, buffer.limit());
+        if (index < 0 || index >= buffer.limit()) {
+            throw new IndexError("index out of bounds on dimension 1");
+        }
+        return index;
+    }
+
+    public PythonInteger getByte(PythonInteger position) {
+        return PythonBytes.BYTE_TO_INT[buffer.get(getIndex(position)) & 0xFF];
+    }
+
+    public PythonMemoryView getSlice(PythonSlice slice) {
+        int length = buffer.limit();
+        if (slice.getStrideLength() == 1) {
+            int start = slice.getStartIndex(length);
+            int size = slice.getSliceSize(length);
+            return new PythonMemoryView(obj, slice(buffer, start, size), isReadOnly);
+        }
+
+        byte[] out = new byte[slice.getSliceSize(length)];
+        slice.iterate(length, (index, iteration) -> {
+            out[iteration] = buffer.get(index);
+        });
+        return new PythonMemoryView(obj, ByteBuffer.wrap(out), true);
+    }
+
+    private void checkWritable() {
+        if (isReadOnly) {
+            throw new TypeError("cannot modify read-only memory");
+        }
+    }
+
+    public PythonNone setByte(PythonInteger position, PythonInteger item) {
+        checkWritable();
+        buffer.put(getIndex(position), item.asByte());
+        return PythonNone.INSTANCE;
+    }
+
+    public PythonNone setSlice(PythonSlice slice, PythonLikeObject source) {
+        checkWritable();
+        if (!(source instanceof PythonBytesLikeObject)) {
+            throw new TypeError("a bytes-like object is required, not '" + source.__getType().getTypeName() + "'");
+        }
+        byte[] sourceBytes = toByteArray((PythonBytesLikeObject) source);
+        int length = buffer.limit();
+        if (sourceBytes.length != slice.getSliceSize(length)) {
+            throw new ValueError("memoryview assignment: lvalue and rvalue have different structures");
+        }
+        slice.iterate(length, (index, iteration) -> {
+            buffer.put(index, sourceBytes[iteration]);
+        });
+        return PythonNone.INSTANCE;
+    }
+
+    public PythonBytes toBytes() {
+        return new PythonBytes(toByteArray(this));
+    }
+
+    public PythonLikeList<PythonInteger> toList() {
+        PythonLikeList<PythonInteger> out = new PythonLikeList<>();
+        for (int i = 0; i < buffer.limit(); i++) {
+            out.add(PythonBytes.BYTE_TO_INT[buffer.get(i) & 0xFF]);
+        }
+        return out;
+    }
+
+    public PythonMemoryView toReadOnly() {
+        return new PythonMemoryView(obj, buffer, true);
+    }
+
+    public PythonString hex() {
+        StringBuilder out = new StringBuilder(buffer.limit() * 2);
+        for (int i = 0; i < buffer.limit(); i++) {
+            int item = buffer.get(i) & 0xFF;
+            out.append(Character.forDigit(item >> 4, 16));
+            out.append(Character.forDigit(item & 0xF, 16));
+        }
+        return PythonString.valueOf(out.toString());
+    }
+
+    public PythonNone release() {
+        // Views do not hold any resources
+        return PythonNone.INSTANCE;
+    }
+
+    public PythonString repr() {
+        return PythonString.valueOf("<memory at 0x" + Integer.toHexString(System.identityHashCode(this)) + ">");
+    }
+
+    public PythonBoolean pythonEquals(PythonLikeObject other) {
+        return PythonBoolean.valueOf(equals(other));
+    }
+
+    public PythonBoolean pythonNotEquals(PythonLikeObject other) {
+        return PythonBoolean.valueOf(!equals(other));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PythonBytesLikeObject)) {
+            return false;
+        }
+        return buffer.equals(getContent((PythonBytesLikeObject) o));
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as Arrays.hashCode, so a view has the same hash as the bytes it is equal to
+        int hash = 1;
+        for (int i = 0; i < buffer.limit(); i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public PythonInteger $method$__hash__() {
+        if (!isReadOnly) {
+            throw new ValueError("cannot hash writable memoryview object");
+        }
+        return PythonInteger.valueOf(hashCode());
+    }
+}
@@ -14,7 +14,9 @@ import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.builtins.UnaryDunderBuiltin;
 import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
+import org.optaplanner.jpyinterpreter.types.errors.StopIteration;
 import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.errors.lookup.IndexError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 
@@ -25,6 +27,11 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
     public final PythonInteger stop;
     public final PythonInteger step;
 
+    private final boolean isLongRange;
+    private final long longStart;
+    private final long longStep;
+    private final long longLength;
+
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonRange::registerMethods);
     }
@@ -88,6 +95,8 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
         // Unary methods
         BuiltinTypes.RANGE_TYPE.addUnaryMethod(PythonUnaryOperator.LENGTH, PythonRange.class.getMethod("getLength"));
         BuiltinTypes.RANGE_TYPE.addUnaryMethod(PythonUnaryOperator.ITERATOR, PythonRange.class.getMethod("getPythonIterator"));
+        BuiltinTypes.RANGE_TYPE.addUnaryMethod(PythonUnaryOperator.REVERSED,
+                PythonRange.class.getMethod("getReversedIterator"));
 
         // Binary methods
         BuiltinTypes.RANGE_TYPE.addBinaryMethod(PythonBinaryOperators.GET_ITEM,
@@ -100,59 +109,113 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
     public PythonRange(PythonInteger start, PythonInteger stop, PythonInteger step) {
         super(BuiltinTypes.RANGE_TYPE);
+        if (step.value.signum() == 0) {
+            throw new ValueError("range() arg 3 must not be zero");
+        }
+
         this.start = start;
         this.stop = stop;
         this.step = step;
 
+        // When start, stop and step all fit in 62 bits, so does stop - start, and every operation can
+        // be done on longs without overflow
+        isLongRange = start.value.bitLength() < Long.SIZE - 1 && stop.value.bitLength() < Long.SIZE - 1 &&
+                step.value.bitLength() < Long.SIZE - 1;
+        if (isLongRange) {
+            longStart = start.value.longValue();
+            longStep = step.value.longValue();
+            long distance = (longStep > 0) ? stop.value.longValue() - longStart : longStart - stop.value.longValue();
+            longLength = (distance > 0) ? (distance - 1) / Math.abs(longStep) + 1 : 0L;
+        } else {
+            longStart = 0L;
+            longStep = 0L;
+            longLength = -1L;
+        }
+
         __setAttribute("start", start);
         __setAttribute("stop", stop);
         __setAttribute("step", step);
     }
 
+    private BigInteger getBigLength() {
+        if (isLongRange) {
+            return BigInteger.valueOf(longLength);
+        }
+        BigInteger distance = (step.value.signum() > 0) ? stop.value.subtract(start.value)
+                : start.value.subtract(stop.value);
+        if (distance.signum() <= 0) {
+            return BigInteger.ZERO;
+        }
+        return distance.subtract(BigInteger.ONE).divide(step.value.abs()).add(BigInteger.ONE);
+    }
+
     @Override
     public int size() {
-        // Need to use ceil division
-        BigInteger[] divideAndRemainder = stop.value.subtract(start.value).divideAndRemainder(step.value);
-        if (divideAndRemainder[1].equals(BigInteger.ZERO)) {
-            return divideAndRemainder[0].intValueExact();
-        } else {
-            return divideAndRemainder[0].intValueExact() + 1;
+        if (isLongRange) {
+            return Math.toIntExact(longLength);
         }
+        return getBigLength().intValueExact();
     }
 
     public PythonInteger getLength() {
-        return PythonInteger.valueOf(size());
+        if (isLongRange) {
+            return PythonInteger.valueOf(longLength);
+        }
+        return PythonInteger.valueOf(getBigLength());
     }
 
     @Override
     public boolean isEmpty() {
-        return size() == 0;
+        if (isLongRange) {
+            return longLength == 0;
+        }
+        return getBigLength().signum() == 0;
     }
 
-    @Override
-    public boolean contains(Object o) {
-        if (!(o instanceof PythonInteger)) {
-            return false;
+    /**
+     * Returns start + step * index, without checking that index is in the range.
+     */
+    private PythonInteger getElementAt(long index) {
+        if (isLongRange) {
+            return PythonInteger.valueOf(longStart + longStep * index);
         }
-        PythonInteger query = (PythonInteger) o;
+        return PythonInteger.valueOf(start.value.add(step.value.multiply(BigInteger.valueOf(index))));
+    }
 
-        if (step.value.compareTo(BigInteger.ZERO) < 0) {
-            if (query.value.compareTo(stop.value) < 0) {
-                return false;
+    /**
+     * Returns the index of {@code query} in this range, or -1 if it is not in this range.
+     */
+    private long getIndexOf(PythonInteger query) {
+        if (isLongRange) {
+            if (query.value.bitLength() >= Long.SIZE - 1) {
+                // every element of a long range fits in 62 bits
+                return -1L;
             }
-        } else {
-            if (query.value.compareTo(stop.value) > 0) {
-                return false;
+            long relativeToStart = query.value.longValue() - longStart;
+            if (relativeToStart % longStep != 0) {
+                return -1L; // cannot be represented as start + step * i
             }
+            long index = relativeToStart / longStep;
+            return (index >= 0 && index < longLength) ? index : -1L;
         }
 
-        BigInteger relativeToStart = query.value.subtract(start.value);
-        BigInteger[] divisionAndRemainder = relativeToStart.divideAndRemainder(step.value);
+        BigInteger[] divisionAndRemainder = query.value.subtract(start.value).divideAndRemainder(step.value);
+        if (divisionAndRemainder[1].signum() != 0) {
+            return -1L; // cannot be represented as start + step * i
+        }
+        BigInteger index = divisionAndRemainder[0];
+        if (index.signum() < 0 || index.compareTo(getBigLength()) >= 0) {
+            return -1L;
+        }
+        return index.longValueExact();
+    }
 
-        if (!divisionAndRemainder[1].equals(BigInteger.ZERO)) {
-            return false; // cannot be represented as start + step * i
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof PythonInteger)) {
+            return false;
         }
-        return divisionAndRemainder[0].compareTo(BigInteger.ZERO) >= 0; // return true iff i is not negative
+        return getIndexOf((PythonInteger) o) != -1L;
     }
 
     public PythonBoolean isObjectInRange(PythonLikeObject query) {
@@ -161,13 +224,27 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
     @Override
     public Iterator<PythonInteger> iterator() {
+        if (isLongRange) {
+            return new LongRangeIterator(longStart, longStep, longLength);
+        }
         return new RangeIterator(start, stop, step, start, 0);
     }
 
     public PythonIterator getPythonIterator() {
+        if (isLongRange) {
+            return new LongRangeIterator(longStart, longStep, longLength);
+        }
         return new PythonIterator(iterator());
     }
 
+    public PythonIterator getReversedIterator() {
+        if (isLongRange) {
+            return new LongRangeIterator(longStart + longStep * (longLength - 1), -longStep, longLength);
+        }
+        BigInteger last = start.value.add(step.value.multiply(getBigLength().subtract(BigInteger.ONE)));
+        return new PythonRange(PythonInteger.valueOf(last), start.subtract(step), step.negative()).getPythonIterator();
+    }
+
     @Override
     public Object[] toArray() {
         PythonInteger[] out = new PythonInteger[size()];
@@ -209,38 +286,42 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
     @Override
     public PythonInteger get(int i) {
-        if (i < 0) {
-            throw new IndexOutOfBoundsException();
-        }
-
-        PythonInteger out = start.add(step.multiply(PythonInteger.valueOf(i)));
-        if (!contains(out)) {
+        if (i < 0 || i >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return out;
+        return getElementAt(i);
     }
 
     public PythonInteger getItem(PythonInteger index) {
-        if (index.value.compareTo(BigInteger.ZERO) < 0) {
-            throw new IndexOutOfBoundsException();
+        if (isLongRange) {
+            // the length of a long range fits in a long, so an index that does not is out of range
+            if (index.value.bitLength() >= Long.SIZE) {
+                throw new IndexError("range object index out of range");
+            }
+            long longIndex = index.value.longValue();
+            long actualIndex = (longIndex < 0) ? longIndex + longLength : longIndex;
+            if (actualIndex < 0 || actualIndex >= longLength) {
+                throw new IndexError("range object index out of range");
+            }
+            return getElementAt(actualIndex);
         }
-        PythonInteger out = start.add(step.multiply(index));
 
-        if (!contains(out)) {
-            throw new IndexOutOfBoundsException();
+        BigInteger length = getBigLength();
+        BigInteger actualIndex = (index.value.signum() < 0) ? index.value.add(length) : index.value;
+
+        if (actualIndex.signum() < 0 || actualIndex.compareTo(length) >= 0) {
+            throw new IndexError("range object index out of range");
         }
 
-        return out;
+        return getElementAt(actualIndex.longValueExact());
     }
 
     @Override
     public int indexOf(Object o) {
-        if (!contains(o)) {
+        if (!(o instanceof PythonInteger)) {
             return -1;
         }
-        PythonInteger query = (PythonInteger) o;
-        BigInteger relativeToStart = query.value.subtract(start.value);
-        return relativeToStart.divide(step.value).intValueExact();
+        return Math.toIntExact(getIndexOf((PythonInteger) o));
     }
 
     @Override
@@ -255,12 +336,12 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
 
     @Override
     public ListIterator<PythonInteger> listIterator(int i) {
-        return new RangeIterator(get(i), stop, step, get(i), i);
+        return new RangeIterator(getElementAt(i), stop, step, getElementAt(i), i);
     }
 
     @Override
     public List<PythonInteger> subList(int startIndexInclusive, int endIndexExclusive) {
-        return new PythonRange(get(startIndexInclusive), get(endIndexExclusive), step);
+        return new PythonRange(getElementAt(startIndexInclusive), getElementAt(endIndexExclusive), step);
     }
 
     @Override
@@ -313,6 +394,50 @@ public class PythonRange extends AbstractPythonLikeObject implements List<Python
         throw new UnsupportedOperationException("Cannot modify range");
     }
 
+    /**
+     * Iterates a range whose elements fit in a long by counting down the remaining elements, so
+     * iterating allocates nothing but the elements. The FOR_ITER opcode calls {@link #hasNext()}
+     * and {@link #nextInteger()} directly instead of waiting for a {@link StopIteration}.
+     */
+    public static class LongRangeIterator extends PythonIterator<PythonInteger> {
+        private final long step;
+        private long current;
+        private long remaining;
+
+        public LongRangeIterator(long start, long step, long length) {
+            // Every method of PythonIterator that reads the delegate is overridden
+            super(null);
+            this.step = step;
+            this.current = start;
+            this.remaining = length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        public PythonInteger nextInteger() {
+            PythonInteger out = PythonInteger.valueOf(current);
+            current += step;
+            remaining--;
+            return out;
+        }
+
+        @Override
+        public PythonInteger next() {
+            if (remaining <= 0) {
+                throw new StopIteration();
+            }
+            return nextInteger();
+        }
+
+        @Override
+        public PythonLikeObject nextPythonItem() {
+            return next();
+        }
+    }
+
     public static class RangeIterator implements ListIterator<PythonInteger> {
         final PythonInteger startValue;
         final PythonInteger stopValue;
@@ -10,6 +10,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -26,6 +27,7 @@ import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeDict;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.errors.AttributeError;
 import org.optaplanner.jpyinterpreter.types.errors.TypeError;
 import org.optaplanner.jpyinterpreter.types.errors.ValueError;
 import org.optaplanner.jpyinterpreter.types.errors.lookup.IndexError;
@@ -39,10 +41,37 @@ import org.optaplanner.jpyinterpreter.util.StringFormatter;
 import org.optaplanner.jpyinterpreter.util.arguments.ArgumentSpec;
 
 public class PythonString extends AbstractPythonLikeObject implements PythonLikeComparable<PythonString> {
+    private static final int LATIN_1_CHARACTER_COUNT = 256;
+    private static final byte UNKNOWN_CONTENT = 0;
+    private static final byte LATIN_1_CONTENT = 1;
+    private static final byte WIDE_CONTENT = 2;
+
+    /**
+     * Strings that came from a function's co_names, co_varnames or co_constants. Those are used as attribute
+     * names, dict keys and in equality checks, so sharing a single instance per value lets
+     * {@link #equals(Object)} succeed on identity.
+     */
+    private static final Map<String, PythonString> INTERNED_STRING_MAP = new ConcurrentHashMap<>();
+
+    private static final PythonString[] LATIN_1_CHARACTERS = new PythonString[LATIN_1_CHARACTER_COUNT];
+
     public final String value;
 
+    /**
+     * Either {@link #UNKNOWN_CONTENT}, {@link #LATIN_1_CONTENT} (every character is below 256, so each char
+     * is a whole code point) or {@link #WIDE_CONTENT}. Computed on first use; the race is benign.
+     */
+    private byte contentKind;
+    private PythonInteger pythonHash;
+
     public final static PythonString EMPTY = new PythonString("");
 
+    static {
+        for (int i = 0; i < LATIN_1_CHARACTER_COUNT; i++) {
+            LATIN_1_CHARACTERS[i] = new PythonString(Character.toString((char) i), LATIN_1_CONTENT);
+        }
+    }
+
     static {
         PythonOverloadImplementor.deferDispatchesFor(PythonString::registerMethods);
     }
@@ -260,14 +289,61 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonString(String value) {
-        super(BuiltinTypes.STRING_TYPE);
+        this(value, UNKNOWN_CONTENT);
+    }
+
+    private PythonString(String value, byte contentKind) {
+        // str instances do not have a __dict__, so they share an empty one
+        super(BuiltinTypes.STRING_TYPE, Map.of());
         this.value = value;
+        this.contentKind = contentKind;
     }
 
     public static PythonString valueOf(String value) {
         return new PythonString(value);
     }
 
+    /**
+     * Returns the single character string for {@code character}; characters in the Latin-1 range
+     * are shared instances.
+     */
+    public static PythonString valueOf(char character) {
+        if (character < LATIN_1_CHARACTER_COUNT) {
+            return LATIN_1_CHARACTERS[character];
+        }
+        return new PythonString(Character.toString(character), WIDE_CONTENT);
+    }
+
+    /**
+     * Returns the canonical instance for {@code value}. Only use this for strings that come from code
+     * objects (names and constants), since interned strings are never released.
+     */
+    public static PythonString intern(String value) {
+        return INTERNED_STRING_MAP.computeIfAbsent(value, PythonString::new);
+    }
+
+    /**
+     * Returns true if every character of this string is in the Latin-1 range. For such strings, char
+     * indices are code point indices, and single characters can be taken from a shared table.
+     */
+    public boolean isLatin1() {
+        if (contentKind == UNKNOWN_CONTENT) {
+            contentKind = LATIN_1_CONTENT;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= LATIN_1_CHARACTER_COUNT) {
+                    contentKind = WIDE_CONTENT;
+                    break;
+                }
+            }
+        }
+        return contentKind == LATIN_1_CONTENT;
+    }
+
+    @Override
+    public void __setAttribute(String attributeName, PythonLikeObject value) {
+        throw new AttributeError("'str' object has no attribute '" + attributeName + "'");
+    }
+
     public String getValue() {
         return value;
     }
@@ -374,7 +450,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
             throw new IndexError("position " + position + " is less than 0");
         }
 
-        return new PythonString(Character.toString(value.charAt(index)));
+        return PythonString.valueOf(value.charAt(index));
     }
 
     public PythonString getSubstring(PythonSlice slice) {
@@ -387,7 +463,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
             if (stop <= start) {
                 return PythonString.valueOf("");
             } else {
-                return PythonString.valueOf(value.substring(start, stop));
+                return (start == 0 && stop == length) ? this : PythonString.valueOf(value.substring(start, stop));
             }
         } else {
             StringBuilder out = new StringBuilder();
@@ -433,7 +509,7 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonIterator getIterator() {
-        return new PythonIterator(value.chars().mapToObj(charVal -> new PythonString(Character.toString(charVal)))
+        return new PythonIterator(value.chars().mapToObj(charVal -> PythonString.valueOf((char) charVal))
                 .iterator());
     }
 
@@ -551,23 +627,38 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
     }
 
     public PythonInteger count(PythonString sub) {
-        Matcher matcher = Pattern.compile(Pattern.quote(sub.value)).matcher(value);
-        return PythonInteger.valueOf(matcher.results().count());
+        return count(sub.value, 0, value.length());
     }
 
     public PythonInteger count(PythonString sub, PythonInteger start) {
         int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
 
-        Matcher matcher = Pattern.compile(Pattern.quote(sub.value)).matcher(value.substring(startIndex));
-        return PythonInteger.valueOf(matcher.results().count());
+        return count(sub.value, startIndex, value.length());
     }
 
     public PythonInteger count(PythonString sub, PythonInteger start, PythonInteger end) {
         int startIndex = PythonSlice.asValidStartIntIndexForLength(start, value.length());
         int endIndex = PythonSlice.asValidEndIntIndexForLength(end, value.length());
 
-        Matcher matcher = Pattern.compile(Pattern.quote(sub.value)).matcher(value.substring(startIndex, endIndex));
-        return PythonInteger.valueOf(matcher.results().count());
+        return count(sub.value, startIndex, endIndex);
+    }
+
+    private PythonInteger count(String sub, int startIndex, int endIndex) {
+        if (startIndex > endIndex) {
+            return PythonInteger.ZERO;
+        }
+        if (sub.isEmpty()) {
+            return PythonInteger.valueOf(endIndex - startIndex + 1);
+        }
+
+        // String.indexOf is intrinsic, and does not need a Pattern or a substring
+        int count = 0;
+        int index = value.indexOf(sub, startIndex);
+        while (index != -1 && index + sub.length() <= endIndex) {
+            count++;
+            index = value.indexOf(sub, index + sub.length());
+        }
+        return PythonInteger.valueOf(count);
     }
 
     // TODO: encode https://docs.python.org/3/library/stdtypes.html#str.encode
@@ -911,6 +1002,9 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
         if (value.isEmpty()) {
             return PythonBoolean.TRUE;
         }
+        if (!isLatin1()) {
+            return PythonBoolean.FALSE;
+        }
         return allCharactersHaveProperty(character -> character <= 127);
     }
 
@@ -1513,7 +1607,9 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
 
     @Override
     public boolean equals(Object o) {
-        if (o instanceof String) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof String) {
             return value.equals(o);
         } else if (o instanceof PythonString) {
             return ((PythonString) o).value.equals(value);
@@ -1529,6 +1625,11 @@ public class PythonString extends AbstractPythonLikeObject implements PythonLike
 
     @Override
     public PythonInteger $method$__hash__() {
-        return PythonInteger.valueOf(hashCode());
+        PythonInteger out = pythonHash;
+        if (out == null) {
+            out = PythonInteger.valueOf(hashCode());
+            pythonHash = out;
+        }
+        return out;
     }
 }
@@ -12,13 +12,16 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.IsoFields;
 import java.util.List;
+import java.util.Map;
 
 import org.optaplanner.jpyinterpreter.PythonBinaryOperators;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.types.AbstractPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.NotImplemented;
 import org.optaplanner.jpyinterpreter.types.PythonLikeComparable;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonNone;
 import org.optaplanner.jpyinterpreter.types.PythonString;
@@ -149,23 +152,36 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
                                 PythonInteger.class, PythonInteger.class, PythonInteger.class)));
     }
 
-    final LocalDate localDate;
-
-    public final PythonInteger year;
-    public final PythonInteger month;
-    public final PythonInteger day;
+    // Days since 1970-01-01; year, month and day are computed from it when requested
+    final long epochDay;
 
     public PythonDate(LocalDate localDate) {
         this(DATE_TYPE, localDate);
     }
 
     public PythonDate(PythonLikeType type, LocalDate localDate) {
+        this(type, localDate.toEpochDay());
+    }
+
+    PythonDate(PythonLikeType type, long epochDay) {
         super(type);
-        this.localDate = localDate;
+        this.epochDay = epochDay;
+    }
+
+    LocalDate getLocalDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
 
-        this.year = PythonInteger.valueOf(localDate.getYear());
-        this.month = PythonInteger.valueOf(localDate.getMonthValue());
-        this.day = PythonInteger.valueOf(localDate.getDayOfMonth());
+    public PythonInteger getYear() {
+        return PythonInteger.valueOf(getLocalDate().getYear());
+    }
+
+    public PythonInteger getMonth() {
+        return PythonInteger.valueOf(getLocalDate().getMonthValue());
+    }
+
+    public PythonInteger getDay() {
+        return PythonInteger.valueOf(getLocalDate().getDayOfMonth());
     }
 
     public static PythonDate of(PythonInteger year, PythonInteger month, PythonInteger day) {
@@ -186,11 +202,11 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
     public PythonLikeObject __getAttributeOrNull(String name) {
         switch (name) {
             case "year":
-                return year;
+                return getYear();
             case "month":
-                return month;
+                return getMonth();
             case "day":
-                return day;
+                return getDay();
             default:
                 return super.__getAttributeOrNull(name);
         }
@@ -292,28 +308,67 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
     }
 
     public PythonDate add_time_delta(PythonTimeDelta summand) {
-        return new PythonDate(localDate.plusDays(summand.duration.toDays()));
+        return new PythonDate(DATE_TYPE, epochDay + summand.duration.toDays());
     }
 
     public PythonDate subtract_time_delta(PythonTimeDelta subtrahend) {
-        return new PythonDate(localDate.minusDays(subtrahend.duration.toDays()));
+        return new PythonDate(DATE_TYPE, epochDay - subtrahend.duration.toDays());
     }
 
     public PythonTimeDelta subtract_date(PythonDate subtrahend) {
-        return new PythonTimeDelta(Duration.ofDays(localDate.toEpochDay() - subtrahend.localDate.toEpochDay()));
+        return new PythonTimeDelta(Duration.ofDays(epochDay - subtrahend.epochDay));
+    }
+
+    /**
+     * Returns {@code (minuend - subtrahend).days} without creating the intermediate timedelta.
+     * Translated code calls this instead of subtracting and then loading {@code days}.
+     * The operands are only known to be dates; if either is a datetime (or another subclass of date),
+     * they are subtracted as usual, since the difference then depends on their time.
+     */
+    public static PythonInteger differenceInDays(PythonDate<?> minuend, PythonDate<?> subtrahend) {
+        if (minuend.getClass() != PythonDate.class || subtrahend.getClass() != PythonDate.class) {
+            PythonLikeObject difference = subtract(minuend, subtrahend);
+            if (difference instanceof PythonTimeDelta) {
+                return ((PythonTimeDelta) difference).getDays();
+            }
+            return (PythonInteger) difference.__getAttributeOrError("days");
+        }
+        return PythonInteger.valueOf(minuend.epochDay - subtrahend.epochDay);
+    }
+
+    static PythonLikeObject subtract(PythonDate<?> minuend, PythonDate<?> subtrahend) {
+        PythonLikeObject subtract =
+                minuend.__getType().__getAttributeOrNull(PythonBinaryOperators.SUBTRACT.getDunderMethod());
+        if (subtract instanceof PythonLikeFunction) {
+            PythonLikeObject out = ((PythonLikeFunction) subtract).$call(List.of(minuend, subtrahend), Map.of(), null);
+            if (out != NotImplemented.INSTANCE) {
+                return out;
+            }
+        }
+        PythonLikeObject reflectedSubtract =
+                subtrahend.__getType().__getAttributeOrNull(PythonBinaryOperators.SUBTRACT.getRightDunderMethod());
+        if (reflectedSubtract instanceof PythonLikeFunction) {
+            PythonLikeObject out =
+                    ((PythonLikeFunction) reflectedSubtract).$call(List.of(subtrahend, minuend), Map.of(), null);
+            if (out != NotImplemented.INSTANCE) {
+                return out;
+            }
+        }
+        throw new TypeError("unsupported operand type(s) for -: '" + minuend.__getType().getTypeName() + "' and '"
+                + subtrahend.__getType().getTypeName() + "'");
     }
 
     public PythonDate replace(PythonInteger year, PythonInteger month, PythonInteger day) {
         if (year == null) {
-            year = this.year;
+            year = getYear();
         }
 
         if (month == null) {
-            month = this.month;
+            month = getMonth();
         }
 
         if (day == null) {
-            day = this.day;
+            day = getDay();
         }
 
         return new PythonDate(LocalDate.of(year.getValue().intValue(),
@@ -322,26 +377,30 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
     }
 
     public PythonLikeTuple timetuple() {
-        PythonInteger yday =
-                to_ordinal().subtract(PythonDate.of(year.value.intValueExact(), 1, 1).to_ordinal()).add(PythonInteger.ONE);
-        return PythonLikeTuple.fromList(List.of(year, month, day,
+        LocalDate localDate = getLocalDate();
+        PythonInteger yday = PythonInteger.valueOf(localDate.getDayOfYear());
+        return PythonLikeTuple.fromList(List.of(PythonInteger.valueOf(localDate.getYear()),
+                PythonInteger.valueOf(localDate.getMonthValue()),
+                PythonInteger.valueOf(localDate.getDayOfMonth()),
                 PythonInteger.ZERO, PythonInteger.ZERO, PythonInteger.ZERO,
                 weekday(), yday, PythonInteger.valueOf(-1)));
     }
 
     public PythonInteger to_ordinal() {
-        return PythonInteger.valueOf(localDate.toEpochDay() + EPOCH_ORDINAL_OFFSET);
+        return PythonInteger.valueOf(epochDay + EPOCH_ORDINAL_OFFSET);
     }
 
     public PythonInteger weekday() {
-        return PythonInteger.valueOf(localDate.getDayOfWeek().getValue() - 1);
+        // 1970-01-01 is a Thursday
+        return PythonInteger.valueOf(Math.floorMod(epochDay + 3, 7));
     }
 
     public PythonInteger iso_weekday() {
-        return PythonInteger.valueOf(localDate.getDayOfWeek().getValue());
+        return PythonInteger.valueOf(Math.floorMod(epochDay + 3, 7) + 1);
     }
 
     public PythonLikeTuple iso_calendar() {
+        LocalDate localDate = getLocalDate();
         PythonInteger year = PythonInteger.valueOf(IsoFields.WEEK_BASED_YEAR.getFrom(localDate));
         PythonInteger week = PythonInteger.valueOf(IsoFields.WEEK_OF_WEEK_BASED_YEAR.getFrom(localDate));
         PythonInteger day = PythonInteger.valueOf(localDate.getDayOfWeek().getValue());
@@ -350,7 +409,7 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
     }
 
     public PythonString iso_format() {
-        return new PythonString(localDate.toString());
+        return new PythonString(getLocalDate().toString());
     }
 
     public PythonString toPythonString() {
@@ -358,7 +417,7 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
     }
 
     public PythonString ctime() {
-        return new PythonString(localDate.atStartOfDay().format(C_TIME_FORMATTER).replaceAll("(\\D)\\.", "$1"));
+        return new PythonString(getLocalDate().atStartOfDay().format(C_TIME_FORMATTER).replaceAll("(\\D)\\.", "$1"));
     }
 
     public PythonString strftime(PythonString format) {
@@ -368,7 +427,27 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
 
     @Override
     public int compareTo(T date) {
-        return localDate.compareTo(date.localDate);
+        if (date instanceof PythonDateTime) {
+            // PythonDateTime overrides compareTo, so this is a date
+            throw new TypeError(MIXED_COMPARISON_MESSAGE);
+        }
+        return Long.compare(epochDay, date.epochDay);
+    }
+
+    private static final String MIXED_COMPARISON_MESSAGE = "can't compare datetime.datetime to datetime.date";
+
+    /**
+     * Returns {@code left.compareTo(right)} for translated code that orders two objects only known to be dates.
+     * Only exact dates are compared by their epoch day; a date and a datetime cannot be ordered, as in CPython.
+     */
+    public static int compare(PythonDate<?> left, PythonDate<?> right) {
+        if (left.getClass() == PythonDate.class && right.getClass() == PythonDate.class) {
+            return Long.compare(left.epochDay, right.epochDay);
+        }
+        if ((left instanceof PythonDateTime) != (right instanceof PythonDateTime)) {
+            throw new TypeError(MIXED_COMPARISON_MESSAGE);
+        }
+        return ((PythonDate) left).compareTo(right);
     }
 
     @Override
@@ -380,7 +459,7 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
             return false;
         }
         PythonDate<?> that = (PythonDate<?>) o;
-        return localDate.equals(that.localDate);
+        return epochDay == that.epochDay;
     }
 
     @Override
@@ -390,7 +469,7 @@ public class PythonDate<T extends PythonDate<?>> extends AbstractPythonLikeObjec
 
     @Override
     public int hashCode() {
-        return localDate.hashCode();
+        return Long.hashCode(epochDay);
     }
 
     @Override
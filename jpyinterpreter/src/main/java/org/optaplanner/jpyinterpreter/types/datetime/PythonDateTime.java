@@ -11,9 +11,10 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.TextStyle;
-import java.time.temporal.Temporal;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,12 +23,14 @@ import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.PythonOverloadImplementor;
 import org.optaplanner.jpyinterpreter.PythonUnaryOperator;
 import org.optaplanner.jpyinterpreter.types.PythonLikeComparable;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonNone;
 import org.optaplanner.jpyinterpreter.types.PythonString;
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
 import org.optaplanner.jpyinterpreter.types.errors.TypeError;
 import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.errors.arithmetic.OverflowError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonNumber;
@@ -209,15 +212,15 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
         // toordinal, weekday, isoweekday, isocalendar
     }
 
-    final Temporal dateTime;
+    static final long MICROS_PER_DAY = 86_400_000_000L;
+
+    // Microseconds since 1970-01-01T00:00 on the datetime's wall clock (i.e. in zoneId for aware datetimes);
+    // the other fields are computed from it when requested, so naive datetimes compare and subtract as longs
+    final long localEpochMicros;
     final ZoneId zoneId;
+    final int fold;
 
-    public final PythonInteger hour;
-    public final PythonInteger minute;
-    public final PythonInteger second;
-    public final PythonInteger microsecond;
-    public final PythonInteger fold;
-    public final PythonLikeObject tzinfo;
+    private PythonLikeObject tzinfo;
 
     public PythonDateTime(ZonedDateTime zonedDateTime) {
         this(zonedDateTime.toLocalDate(), zonedDateTime.toLocalTime(), zonedDateTime.getZone(),
@@ -243,21 +246,72 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
     }
 
     public PythonDateTime(LocalDate localDate, LocalTime localTime, ZoneId zoneId, int fold) {
-        super(DATE_TIME_TYPE, localDate);
+        this(toEpochMicros(localDate, localTime), zoneId, fold);
+    }
 
+    PythonDateTime(long localEpochMicros, ZoneId zoneId, int fold) {
+        super(DATE_TIME_TYPE, Math.floorDiv(localEpochMicros, MICROS_PER_DAY));
+
+        this.localEpochMicros = localEpochMicros;
         this.zoneId = zoneId;
-        if (zoneId == null) {
-            dateTime = LocalDateTime.of(localDate, localTime);
-        } else {
-            dateTime = ZonedDateTime.of(localDate, localTime, zoneId);
+        this.fold = fold;
+    }
+
+    private static long toEpochMicros(LocalDate localDate, LocalTime localTime) {
+        try {
+            return Math.addExact(Math.multiplyExact(localDate.toEpochDay(), MICROS_PER_DAY),
+                    localTime.toNanoOfDay() / 1000); // Micro = Nano // 1000
+        } catch (ArithmeticException e) {
+            throw new OverflowError(OverflowError.OVERFLOW_ERROR_TYPE, "date value out of range");
         }
+    }
+
+    private long getMicroOfDay() {
+        return Math.floorMod(localEpochMicros, MICROS_PER_DAY);
+    }
+
+    LocalTime getLocalTime() {
+        return LocalTime.ofNanoOfDay(getMicroOfDay() * 1000);
+    }
+
+    LocalDateTime getLocalDateTime() {
+        return LocalDateTime.of(getLocalDate(), getLocalTime());
+    }
+
+    ZonedDateTime getZonedDateTime() {
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(getLocalDateTime(), zoneId);
+        return (fold == 0) ? zonedDateTime : zonedDateTime.withLaterOffsetAtOverlap();
+    }
+
+    boolean isNaive() {
+        return zoneId == null;
+    }
+
+    public PythonInteger getHour() {
+        return PythonInteger.valueOf(getMicroOfDay() / PythonTime.MICROS_PER_HOUR);
+    }
+
+    public PythonInteger getMinute() {
+        return PythonInteger.valueOf((getMicroOfDay() % PythonTime.MICROS_PER_HOUR) / PythonTime.MICROS_PER_MINUTE);
+    }
+
+    public PythonInteger getSecond() {
+        return PythonInteger.valueOf((getMicroOfDay() % PythonTime.MICROS_PER_MINUTE) / PythonTime.MICROS_PER_SECOND);
+    }
+
+    public PythonInteger getMicrosecond() {
+        return PythonInteger.valueOf(getMicroOfDay() % PythonTime.MICROS_PER_SECOND);
+    }
+
+    public PythonInteger getFold() {
+        return PythonInteger.valueOf(fold);
+    }
 
-        hour = PythonInteger.valueOf(localTime.getHour());
-        minute = PythonInteger.valueOf(localTime.getMinute());
-        second = PythonInteger.valueOf(localTime.getSecond());
-        microsecond = PythonInteger.valueOf(localTime.getNano() / 1000); // Micro = Nano // 1000
-        tzinfo = zoneId == null ? PythonNone.INSTANCE : new PythonTzinfo(zoneId);
-        this.fold = PythonInteger.valueOf(fold);
+    public PythonLikeObject getTzinfo() {
+        if (tzinfo == null) {
+            tzinfo = zoneId == null ? PythonNone.INSTANCE : new PythonTzinfo(zoneId);
+        }
+        return tzinfo;
     }
 
     public static PythonDateTime of(PythonInteger year, PythonInteger month, PythonInteger day, PythonInteger hour,
@@ -303,17 +357,17 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
     public PythonLikeObject __getAttributeOrNull(String name) {
         switch (name) {
             case "hour":
-                return hour;
+                return getHour();
             case "minute":
-                return minute;
+                return getMinute();
             case "second":
-                return second;
+                return getSecond();
             case "microsecond":
-                return microsecond;
+                return getMicrosecond();
             case "fold":
-                return fold;
+                return getFold();
             case "tzinfo":
-                return tzinfo;
+                return getTzinfo();
             default:
                 return super.__getAttributeOrNull(name);
         }
@@ -412,10 +466,10 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
             throw new TypeError("Unknown datetime type " + type.getTypeName());
         }
         if (tzinfo == null) {
-            tzinfo = pythonTime.tzinfo;
+            tzinfo = pythonTime.getTzinfo();
         }
-        return new PythonDateTime(pythonDate.localDate, pythonTime.localTime, tzinfo,
-                pythonTime.fold.getValue().intValue());
+        return new PythonDateTime(pythonDate.getLocalDate(), pythonTime.getLocalTime(), tzinfo,
+                pythonTime.fold);
     }
 
     public static PythonDateTime from_iso_format(PythonString dateString) {
@@ -506,96 +560,147 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
     }
 
     public PythonDateTime add_time_delta(PythonTimeDelta summand) {
-        if (dateTime instanceof LocalDateTime) {
-            return new PythonDateTime(((LocalDateTime) dateTime).plus(summand.duration));
+        if (isNaive()) {
+            return new PythonDateTime(addMicros(localEpochMicros, summand.toMicroseconds()), null, 0);
         } else {
-            return new PythonDateTime(((ZonedDateTime) dateTime).plus(summand.duration));
+            return new PythonDateTime(getZonedDateTime().plus(summand.duration));
         }
     }
 
     public PythonDateTime subtract_time_delta(PythonTimeDelta subtrahend) {
-        if (dateTime instanceof LocalDateTime) {
-            return new PythonDateTime(((LocalDateTime) dateTime).minus(subtrahend.duration));
+        if (isNaive()) {
+            return new PythonDateTime(addMicros(localEpochMicros, -subtrahend.toMicroseconds()), null, 0);
         } else {
-            return new PythonDateTime(((ZonedDateTime) dateTime).minus(subtrahend.duration));
+            return new PythonDateTime(getZonedDateTime().minus(subtrahend.duration));
+        }
+    }
+
+    private static long addMicros(long epochMicros, long micros) {
+        try {
+            return Math.addExact(epochMicros, micros);
+        } catch (ArithmeticException e) {
+            throw new OverflowError(OverflowError.OVERFLOW_ERROR_TYPE, "date value out of range");
         }
     }
 
     public PythonTimeDelta subtract_date_time(PythonDateTime subtrahend) {
-        return new PythonTimeDelta(Duration.between(subtrahend.dateTime, dateTime));
+        if (isNaive() != subtrahend.isNaive()) {
+            throw new TypeError("can't subtract offset-naive and offset-aware datetimes");
+        }
+        if (isNaive()) {
+            return PythonTimeDelta.ofMicroseconds(localEpochMicros - subtrahend.localEpochMicros);
+        } else {
+            return new PythonTimeDelta(Duration.between(subtrahend.getZonedDateTime(), getZonedDateTime()));
+        }
+    }
+
+    /**
+     * Returns {@code (minuend - subtrahend).total_seconds()} without creating the intermediate timedelta.
+     * Translated code calls this instead of subtracting and then calling {@code total_seconds()}.
+     * If either operand is a subclass of datetime, they are subtracted as usual, since the subclass can
+     * override {@code __sub__}.
+     */
+    public static PythonFloat differenceInSeconds(PythonDateTime minuend, PythonDateTime subtrahend) {
+        if (!isExactDateTime(minuend) || !isExactDateTime(subtrahend)) {
+            PythonLikeObject difference = subtract(minuend, subtrahend);
+            if (difference instanceof PythonTimeDelta) {
+                return ((PythonTimeDelta) difference).total_seconds();
+            }
+            PythonLikeObject totalSeconds = difference.__getAttributeOrError("total_seconds");
+            return (PythonFloat) ((PythonLikeFunction) totalSeconds).$call(List.of(), Map.of(), null);
+        }
+        if (minuend.isNaive() && subtrahend.isNaive()) {
+            return PythonFloat.valueOf(PythonTimeDelta.toTotalSeconds(
+                    minuend.localEpochMicros - subtrahend.localEpochMicros));
+        }
+        return minuend.subtract_date_time(subtrahend).total_seconds();
+    }
+
+    /**
+     * Returns {@code (minuend - subtrahend).days} without creating the intermediate timedelta.
+     * Translated code calls this instead of subtracting and then loading {@code days}.
+     * If either operand is a subclass of datetime, they are subtracted as usual.
+     */
+    public static PythonInteger differenceInDays(PythonDateTime minuend, PythonDateTime subtrahend) {
+        if (!isExactDateTime(minuend) || !isExactDateTime(subtrahend)) {
+            PythonLikeObject difference = subtract(minuend, subtrahend);
+            if (difference instanceof PythonTimeDelta) {
+                return ((PythonTimeDelta) difference).getDays();
+            }
+            return (PythonInteger) difference.__getAttributeOrError("days");
+        }
+        if (minuend.isNaive() && subtrahend.isNaive()) {
+            return PythonInteger.valueOf(Math.floorDiv(minuend.localEpochMicros - subtrahend.localEpochMicros,
+                    MICROS_PER_DAY));
+        }
+        return minuend.subtract_date_time(subtrahend).getDays();
+    }
+
+    private static boolean isExactDateTime(PythonDateTime dateTime) {
+        return dateTime.getClass() == PythonDateTime.class;
     }
 
     @Override
     public int compareTo(PythonDateTime other) {
-        if (dateTime instanceof LocalDateTime) {
-            return ((LocalDateTime) dateTime).compareTo((LocalDateTime) other.dateTime);
+        if (isNaive() != other.isNaive()) {
+            throw new TypeError("can't compare offset-naive and offset-aware datetimes");
+        }
+        if (isNaive()) {
+            return Long.compare(localEpochMicros, other.localEpochMicros);
         } else {
-            return ((ZonedDateTime) dateTime).compareTo((ZonedDateTime) other.dateTime);
+            return getZonedDateTime().compareTo(other.getZonedDateTime());
         }
     }
 
     public PythonDate<PythonDate<?>> date() {
-        if (dateTime instanceof LocalDateTime) {
-            return new PythonDate<>(((LocalDateTime) dateTime).toLocalDate());
-        } else {
-            return new PythonDate<>(((ZonedDateTime) dateTime).toLocalDate());
-        }
+        return new PythonDate<>(DATE_TYPE, epochDay);
     }
 
     public PythonTime time() {
-        if (dateTime instanceof LocalDateTime) {
-            return new PythonTime(((LocalDateTime) dateTime).toLocalTime(), null, fold.getValue().intValue());
-        } else {
-            return new PythonTime(((ZonedDateTime) dateTime).toLocalTime(), null, fold.getValue().intValue());
-        }
+        return new PythonTime(getMicroOfDay(), null, fold);
     }
 
     public PythonTime timetz() {
-        if (dateTime instanceof LocalDateTime) {
-            return new PythonTime(((LocalDateTime) dateTime).toLocalTime(), null, fold.getValue().intValue());
-        } else {
-            ZonedDateTime zonedDateTime = (ZonedDateTime) dateTime;
-            return new PythonTime(zonedDateTime.toLocalTime(), zonedDateTime.getZone(), fold.getValue().intValue());
-        }
+        return new PythonTime(getMicroOfDay(), zoneId, fold);
     }
 
     public PythonDateTime replace(PythonInteger year, PythonInteger month, PythonInteger day,
             PythonInteger hour, PythonInteger minute, PythonInteger second,
             PythonInteger microsecond, PythonLikeObject tzinfo, PythonInteger fold) {
         if (year == null) {
-            year = this.year;
+            year = getYear();
         }
 
         if (month == null) {
-            month = this.month;
+            month = getMonth();
         }
 
         if (day == null) {
-            day = this.day;
+            day = getDay();
         }
 
         if (hour == null) {
-            hour = this.hour;
+            hour = getHour();
         }
 
         if (minute == null) {
-            minute = this.minute;
+            minute = getMinute();
         }
 
         if (second == null) {
-            second = this.second;
+            second = getSecond();
         }
 
         if (microsecond == null) {
-            microsecond = this.microsecond;
+            microsecond = getMicrosecond();
         }
 
         if (tzinfo == null) {
-            tzinfo = this.tzinfo;
+            tzinfo = getTzinfo();
         }
 
         if (fold == null) {
-            fold = this.fold;
+            fold = getFold();
         }
 
         return new PythonDateTime(LocalDate.of(year.getValue().intValue(),
@@ -618,38 +723,40 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
             return PythonNone.INSTANCE;
         }
         return new PythonTimeDelta(Duration.ofSeconds(
-                zoneId.getRules().getOffset(((ZonedDateTime) dateTime).toInstant()).getTotalSeconds()));
+                zoneId.getRules().getOffset(getZonedDateTime().toInstant()).getTotalSeconds()));
     }
 
     public PythonLikeObject dst() {
         if (zoneId == null) {
             return PythonNone.INSTANCE;
         }
-        return new PythonTimeDelta(zoneId.getRules().getDaylightSavings(((ZonedDateTime) dateTime).toInstant()));
+        return new PythonTimeDelta(zoneId.getRules().getDaylightSavings(getZonedDateTime().toInstant()));
     }
 
     public PythonLikeObject tzname() {
         if (zoneId == null) {
             return PythonNone.INSTANCE;
         }
-        return PythonString.valueOf(zoneId.getRules().getOffset(((ZonedDateTime) dateTime).toInstant())
+        return PythonString.valueOf(zoneId.getRules().getOffset(getZonedDateTime().toInstant())
                 .getDisplayName(TextStyle.FULL_STANDALONE, Locale.getDefault()));
     }
 
     @Override
     public PythonLikeTuple timetuple() {
-        PythonInteger yday =
-                to_ordinal().subtract(PythonDate.of(year.value.intValueExact(), 1, 1).to_ordinal()).add(PythonInteger.ONE);
+        LocalDate localDate = getLocalDate();
+        PythonInteger yday = PythonInteger.valueOf(localDate.getDayOfYear());
         PythonInteger dst;
         if (zoneId != null) {
-            dst = zoneId.getRules().isDaylightSavings(((ZonedDateTime) dateTime).toInstant()) ? PythonInteger.ONE
+            dst = zoneId.getRules().isDaylightSavings(getZonedDateTime().toInstant()) ? PythonInteger.ONE
                     : PythonInteger.ZERO;
         } else {
             dst = PythonInteger.valueOf(-1);
         }
         return PythonLikeTuple.fromList(List.of(
-                year, month, day,
-                hour, minute, second,
+                PythonInteger.valueOf(localDate.getYear()),
+                PythonInteger.valueOf(localDate.getMonthValue()),
+                PythonInteger.valueOf(localDate.getDayOfMonth()),
+                getHour(), getMinute(), getSecond(),
                 weekday(), yday, dst));
     }
 
@@ -657,20 +764,20 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
         if (zoneId == null) {
             return timetuple();
         } else {
-            ZonedDateTime utcDateTime = ((ZonedDateTime) dateTime).withZoneSameInstant(ZoneOffset.UTC);
+            ZonedDateTime utcDateTime = getZonedDateTime().withZoneSameInstant(ZoneOffset.UTC);
             return new PythonDateTime(utcDateTime.toLocalDateTime()).timetuple();
         }
     }
 
     public PythonFloat timestamp() {
-        if (dateTime instanceof LocalDateTime) {
-            LocalDateTime localDateTime = (LocalDateTime) dateTime;
+        if (isNaive()) {
+            LocalDateTime localDateTime = getLocalDateTime();
             return PythonFloat.valueOf(localDateTime.toInstant(ZoneId.systemDefault()
                     .getRules()
                     .getOffset(localDateTime))
                     .toEpochMilli() / 1000.0);
         } else {
-            return PythonFloat.valueOf(((ZonedDateTime) dateTime).toInstant().toEpochMilli() / 1000.0);
+            return PythonFloat.valueOf(getZonedDateTime().toInstant().toEpochMilli() / 1000.0);
         }
     }
 
@@ -679,7 +786,7 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
     }
 
     public PythonString iso_format(PythonString sep, PythonString timespec) {
-        return new PythonString(localDate.toString() + sep.value + time().isoformat(timespec).value);
+        return new PythonString(getLocalDate().toString() + sep.value + time().isoformat(timespec).value);
     }
 
     @Override
@@ -689,11 +796,7 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
 
     @Override
     public PythonString ctime() {
-        if (dateTime instanceof LocalDateTime) {
-            return new PythonString(((LocalDateTime) dateTime).format(C_TIME_FORMATTER).replaceAll("(\\D)\\.", "$1"));
-        } else {
-            return new PythonString(((ZonedDateTime) dateTime).format(C_TIME_FORMATTER).replaceAll("(\\D)\\.", "$1"));
-        }
+        return new PythonString(getLocalDateTime().format(C_TIME_FORMATTER).replaceAll("(\\D)\\.", "$1"));
     }
 
     @Override
@@ -711,12 +814,15 @@ public class PythonDateTime extends PythonDate<PythonDateTime> {
             return false;
         }
         PythonDateTime that = (PythonDateTime) o;
-        return dateTime.equals(that.dateTime);
+        if (isNaive()) {
+            return that.isNaive() && localEpochMicros == that.localEpochMicros;
+        }
+        return getZonedDateTime().equals(that.getZonedDateTime());
     }
 
     @Override
     public int hashCode() {
-        return dateTime.hashCode();
+        return Long.hashCode(localEpochMicros) ^ Objects.hashCode(zoneId);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package org.optaplanner.jpyinterpreter.types.datetime;
 
-import java.math.BigInteger;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalTime;
@@ -100,15 +99,16 @@ public class PythonTime extends AbstractPythonLikeObject {
 
     }
 
-    final LocalTime localTime;
+    static final long MICROS_PER_SECOND = 1_000_000L;
+    static final long MICROS_PER_MINUTE = 60 * MICROS_PER_SECOND;
+    static final long MICROS_PER_HOUR = 60 * MICROS_PER_MINUTE;
+
+    // Microseconds since midnight; the hour, minute, second and microsecond are computed from it when requested
+    final long microOfDay;
     final ZoneId zoneId;
+    final int fold;
 
-    public final PythonInteger hour;
-    public final PythonInteger minute;
-    public final PythonInteger second;
-    public final PythonInteger microsecond;
-    public final PythonInteger fold;
-    public final PythonLikeObject tzinfo;
+    private PythonLikeObject tzinfo;
 
     public PythonTime(LocalTime localTime) {
         this(localTime, null, 0);
@@ -119,34 +119,63 @@ public class PythonTime extends AbstractPythonLikeObject {
     }
 
     public PythonTime(LocalTime localTime, ZoneId zoneId, int fold) {
+        this(localTime.toNanoOfDay() / 1000, zoneId, fold); // Micro = Nano // 1000
+    }
+
+    PythonTime(long microOfDay, ZoneId zoneId, int fold) {
         super(TIME_TYPE);
 
-        this.localTime = localTime;
+        this.microOfDay = microOfDay;
         this.zoneId = zoneId;
+        this.fold = fold;
+    }
+
+    LocalTime getLocalTime() {
+        return LocalTime.ofNanoOfDay(microOfDay * 1000);
+    }
+
+    public PythonInteger getHour() {
+        return PythonInteger.valueOf(microOfDay / MICROS_PER_HOUR);
+    }
+
+    public PythonInteger getMinute() {
+        return PythonInteger.valueOf((microOfDay % MICROS_PER_HOUR) / MICROS_PER_MINUTE);
+    }
+
+    public PythonInteger getSecond() {
+        return PythonInteger.valueOf((microOfDay % MICROS_PER_MINUTE) / MICROS_PER_SECOND);
+    }
+
+    public PythonInteger getMicrosecond() {
+        return PythonInteger.valueOf(microOfDay % MICROS_PER_SECOND);
+    }
 
-        hour = PythonInteger.valueOf(localTime.getHour());
-        minute = PythonInteger.valueOf(localTime.getMinute());
-        second = PythonInteger.valueOf(localTime.getSecond());
-        microsecond = PythonInteger.valueOf(localTime.getNano() / 1000); // Micro = Nano // 1000
-        tzinfo = zoneId == null ? PythonNone.INSTANCE : new PythonTzinfo(zoneId);
-        this.fold = PythonInteger.valueOf(fold);
+    public PythonInteger getFold() {
+        return PythonInteger.valueOf(fold);
+    }
+
+    public PythonLikeObject getTzinfo() {
+        if (tzinfo == null) {
+            tzinfo = zoneId == null ? PythonNone.INSTANCE : new PythonTzinfo(zoneId);
+        }
+        return tzinfo;
     }
 
     @Override
     public PythonLikeObject __getAttributeOrNull(String name) {
         switch (name) {
             case "hour":
-                return hour;
+                return getHour();
             case "minute":
-                return minute;
+                return getMinute();
             case "second":
-                return second;
+                return getSecond();
             case "microsecond":
-                return microsecond;
+                return getMicrosecond();
             case "tzinfo":
-                return tzinfo;
+                return getTzinfo();
             case "fold":
-                return fold;
+                return getFold();
             default:
                 return super.__getAttributeOrNull(name);
         }
@@ -245,27 +274,27 @@ public class PythonTime extends AbstractPythonLikeObject {
     public PythonTime replace(PythonInteger hour, PythonInteger minute, PythonInteger second,
             PythonInteger microsecond, PythonLikeObject tzinfo, PythonInteger fold) {
         if (hour == null) {
-            hour = this.hour;
+            hour = getHour();
         }
 
         if (minute == null) {
-            minute = this.minute;
+            minute = getMinute();
         }
 
         if (second == null) {
-            second = this.second;
+            second = getSecond();
         }
 
         if (microsecond == null) {
-            microsecond = this.microsecond;
+            microsecond = getMicrosecond();
         }
 
         if (tzinfo == null) {
-            tzinfo = (zoneId != null) ? new PythonTzinfo(zoneId) : PythonNone.INSTANCE;
+            tzinfo = getTzinfo();
         }
 
         if (fold == null) {
-            fold = this.fold;
+            fold = getFold();
         }
 
         return of(hour, minute, second, microsecond, tzinfo, fold);
@@ -294,9 +323,10 @@ public class PythonTime extends AbstractPythonLikeObject {
 
     public PythonString isoformat(PythonString formatSpec) {
         final String result;
+        LocalTime localTime = getLocalTime();
         switch (formatSpec.value) {
             case "auto":
-                if (microsecond.value.equals(BigInteger.ZERO)) {
+                if (microOfDay % MICROS_PER_SECOND == 0) {
                     result = String.format("%02d:%02d:%02d", localTime.getHour(), localTime.getMinute(), localTime.getSecond());
                 } else {
                     result = String.format("%02d:%02d:%02d.%06d", localTime.getHour(), localTime.getMinute(),
@@ -328,12 +358,12 @@ public class PythonTime extends AbstractPythonLikeObject {
     }
 
     public PythonString toPythonString() {
-        return new PythonString(localTime.toString());
+        return new PythonString(toString());
     }
 
     @Override
     public String toString() {
-        return localTime.toString();
+        return getLocalTime().toString();
     }
 
     @Override
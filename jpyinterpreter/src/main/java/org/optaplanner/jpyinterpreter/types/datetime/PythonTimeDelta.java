@@ -14,6 +14,7 @@ import org.optaplanner.jpyinterpreter.types.PythonLikeComparable;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonString;
 import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.errors.arithmetic.OverflowError;
 import org.optaplanner.jpyinterpreter.types.errors.arithmetic.ZeroDivisionError;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
@@ -25,7 +26,8 @@ import org.optaplanner.jpyinterpreter.util.arguments.ArgumentSpec;
  * Python docs: <a href="https://docs.python.org/3/library/datetime.html#timedelta-objects">timedelta-objects</a>
  */
 public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonLikeComparable<PythonTimeDelta> {
-    private static final int NANOS_IN_SECOND = 1_000_000_000;
+    private static final int NANOS_IN_MICROSECOND = 1000;
+    private static final long MICROSECONDS_IN_SECOND = 1_000_000L;
     private static final int SECONDS_IN_DAY = 86400; // 24 * 60 * 60
 
     public static PythonLikeType TIME_DELTA_TYPE = new PythonLikeType("timedelta",
@@ -108,44 +110,58 @@ public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonL
 
     final Duration duration;
 
-    public final PythonInteger days;
-    public final PythonInteger seconds;
-    public final PythonInteger microseconds;
-
     public PythonTimeDelta(Duration duration) {
         super(TIME_DELTA_TYPE);
         this.duration = duration;
+    }
 
-        if (duration.isNegative()) {
-            if (duration.getSeconds() % SECONDS_IN_DAY != 0 ||
-                    duration.getNano() != 0) {
-                days = PythonInteger.valueOf(duration.toDays() - 1);
-                seconds = PythonInteger.valueOf((SECONDS_IN_DAY + (duration.toSeconds() % SECONDS_IN_DAY) % SECONDS_IN_DAY));
-            } else {
-                days = PythonInteger.valueOf(duration.toDays());
-                seconds = PythonInteger.valueOf(Math.abs(duration.toSeconds() % SECONDS_IN_DAY));
-            }
-        } else {
-            days = PythonInteger.valueOf(duration.toDays());
-            seconds = PythonInteger.valueOf(Math.abs(duration.toSeconds() % SECONDS_IN_DAY));
-        }
-        microseconds = PythonInteger.valueOf(duration.toNanosPart() / 1000);
+    // days, seconds and microseconds are normalized like in Python:
+    // 0 <= seconds < 86400, 0 <= microseconds < 1000000, and days holds the sign
+    public PythonInteger getDays() {
+        return PythonInteger.valueOf(Math.floorDiv(duration.getSeconds(), SECONDS_IN_DAY));
+    }
+
+    public PythonInteger getSeconds() {
+        return PythonInteger.valueOf(Math.floorMod(duration.getSeconds(), SECONDS_IN_DAY));
+    }
+
+    public PythonInteger getMicroseconds() {
+        return PythonInteger.valueOf(duration.getNano() / NANOS_IN_MICROSECOND);
     }
 
     @Override
     public PythonLikeObject __getAttributeOrNull(String name) {
         switch (name) {
             case "days":
-                return days;
+                return getDays();
             case "seconds":
-                return seconds;
+                return getSeconds();
             case "microseconds":
-                return microseconds;
+                return getMicroseconds();
             default:
                 return super.__getAttributeOrNull(name);
         }
     }
 
+    public static PythonTimeDelta ofMicroseconds(long microseconds) {
+        return new PythonTimeDelta(Duration.of(microseconds, ChronoUnit.MICROS));
+    }
+
+    /**
+     * Returns the length of this timedelta in microseconds.
+     *
+     * @throws OverflowError if the length does not fit in a long (which can only happen if the timedelta
+     *         is longer than about 290,000 years).
+     */
+    long toMicroseconds() {
+        try {
+            return Math.addExact(Math.multiplyExact(duration.getSeconds(), MICROSECONDS_IN_SECOND),
+                    duration.getNano() / NANOS_IN_MICROSECOND);
+        } catch (ArithmeticException e) {
+            throw new OverflowError(OverflowError.OVERFLOW_ERROR_TYPE, "date value out of range");
+        }
+    }
+
     public static PythonTimeDelta of(int days, int seconds, int microseconds) {
         return new PythonTimeDelta(Duration.ofDays(days).plusSeconds(seconds)
                 .plusNanos(microseconds * 1000L));
@@ -182,7 +198,14 @@ public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonL
     }
 
     public PythonFloat total_seconds() {
-        return PythonFloat.valueOf((double) duration.toNanos() / NANOS_IN_SECOND);
+        // Computed as a double, since the number of microseconds might not fit in a long
+        return PythonFloat.valueOf(toTotalSeconds(duration.getSeconds() * (double) MICROSECONDS_IN_SECOND
+                + duration.getNano() / NANOS_IN_MICROSECOND));
+    }
+
+    // Like Python, total_seconds is microseconds / 10**6
+    static double toTotalSeconds(double microseconds) {
+        return microseconds / (double) MICROSECONDS_IN_SECOND;
     }
 
     public PythonTimeDelta add_time_delta(PythonTimeDelta other) {
@@ -308,17 +331,21 @@ public class PythonTimeDelta extends AbstractPythonLikeObject implements PythonL
     }
 
     public PythonString toPythonRepr() {
+        long days = Math.floorDiv(duration.getSeconds(), SECONDS_IN_DAY);
+        long seconds = Math.floorMod(duration.getSeconds(), SECONDS_IN_DAY);
+        int microseconds = duration.getNano() / NANOS_IN_MICROSECOND;
+
         StringBuilder out = new StringBuilder("datetime.timedelta(");
-        if (!days.value.equals(BigInteger.ZERO)) {
+        if (days != 0) {
             out.append("days=").append(days);
         }
-        if (!seconds.value.equals(BigInteger.ZERO)) {
+        if (seconds != 0) {
             if (out.charAt(out.length() - 1) != '(') {
                 out.append(", ");
             }
             out.append("seconds=").append(seconds);
         }
-        if (!microseconds.value.equals(BigInteger.ZERO)) {
+        if (microseconds != 0) {
             if (out.charAt(out.length() - 1) != '(') {
                 out.append(", ");
             }
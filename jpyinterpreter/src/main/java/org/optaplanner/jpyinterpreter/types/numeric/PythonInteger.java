@@ -765,6 +765,11 @@ public class PythonInteger extends AbstractPythonLikeObject implements PythonNum
         } else {
             throw new TypeError("__format__ argument 0 has incorrect type (expecting str or None)");
         }
+
+        if (spec.value.isEmpty()) {
+            // f"{value}"; same as str(value)
+            return $method$__format__();
+        }
         DefaultFormatSpec formatSpec = DefaultFormatSpec.fromSpec(spec);
 
         StringBuilder out = new StringBuilder();
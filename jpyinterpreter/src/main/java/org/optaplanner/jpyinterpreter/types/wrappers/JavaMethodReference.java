@@ -1,6 +1,8 @@
 package org.optaplanner.jpyinterpreter.types.wrappers;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.List;
@@ -9,60 +11,177 @@ import java.util.Map;
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.implementors.JavaPythonTypeConversionImplementor;
 import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
 import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 
 public class JavaMethodReference implements PythonLikeFunction {
+    private static final MethodHandle CONVERT_ARGUMENT;
+    private static final MethodHandle UNWRAP_RECEIVER;
+    private static final MethodHandle WRAP_RESULT;
+    private static final Map<Class<?>, MethodHandle> PRIMITIVE_TYPE_TO_CONVERTER_MAP;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            CONVERT_ARGUMENT = lookup.findStatic(JavaPythonTypeConversionImplementor.class,
+                    "convertPythonObjectToJavaType",
+                    MethodType.methodType(Object.class, Class.class, PythonLikeObject.class));
+            UNWRAP_RECEIVER = lookup.findStatic(JavaMethodReference.class, "unwrapReceiver",
+                    MethodType.methodType(Object.class, Object.class));
+            WRAP_RESULT = lookup.findStatic(JavaPythonTypeConversionImplementor.class, "wrapJavaObject",
+                    MethodType.methodType(PythonLikeObject.class, Object.class));
+            PRIMITIVE_TYPE_TO_CONVERTER_MAP = Map.of(
+                    int.class, lookup.findStatic(JavaMethodReference.class, "toInt",
+                            MethodType.methodType(int.class, PythonLikeObject.class)),
+                    long.class, lookup.findStatic(JavaMethodReference.class, "toLong",
+                            MethodType.methodType(long.class, PythonLikeObject.class)),
+                    double.class, lookup.findStatic(JavaMethodReference.class, "toDouble",
+                            MethodType.methodType(double.class, PythonLikeObject.class)),
+                    boolean.class, lookup.findStatic(JavaMethodReference.class, "toBoolean",
+                            MethodType.methodType(boolean.class, PythonLikeObject.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private final Method method;
     private final Map<String, Integer> parameterNameToIndexMap;
+    private final boolean isStatic;
+
+    /**
+     * Takes the arguments (self first, unless the method is static) as an Object[] of PythonLikeObject,
+     * converts each of them to its parameter type, calls the method and wraps the result.
+     * Created on the first call, since most methods of a wrapped Java type are never called.
+     */
+    private MethodHandle invoker;
 
     public JavaMethodReference(Method method, Map<String, Integer> parameterNameToIndexMap) {
         this.method = method;
         this.parameterNameToIndexMap = parameterNameToIndexMap;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
     }
 
     @Override
     public PythonLikeObject $call(List<PythonLikeObject> positionalArguments,
             Map<PythonString, PythonLikeObject> namedArguments, PythonLikeObject callerInstance) {
-        Object self;
-        Object[] args;
-        if (Modifier.isStatic(method.getModifiers())) {
-            self = null;
-            args = unwrapPrimitiveArguments(positionalArguments, namedArguments);
-        } else {
-            self = positionalArguments.get(0);
-            if (self instanceof JavaObjectWrapper) { // unwrap wrapped Java Objects
-                self = ((JavaObjectWrapper) self).getWrappedObject();
+        MethodHandle methodInvoker = invoker;
+        if (methodInvoker == null) {
+            methodInvoker = createInvoker();
+            invoker = methodInvoker;
+        }
+
+        Object[] args = new Object[method.getParameterCount() + (isStatic ? 0 : 1)];
+        if (positionalArguments.size() > args.length) {
+            throw new TypeError(method.getName() + "() takes " + args.length + " positional arguments but "
+                    + positionalArguments.size() + " were given");
+        }
+        positionalArguments.toArray(args);
+
+        if (namedArguments != null && !namedArguments.isEmpty()) {
+            int parameterOffset = isStatic ? 0 : 1;
+            for (Map.Entry<PythonString, PythonLikeObject> entry : namedArguments.entrySet()) {
+                args[parameterNameToIndexMap.get(entry.getKey().value) + parameterOffset] = entry.getValue();
             }
-            args = unwrapPrimitiveArguments(positionalArguments.subList(1, positionalArguments.size()), namedArguments);
         }
+
         try {
-            return JavaPythonTypeConversionImplementor.wrapJavaObject(method.invoke(self, args));
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Method (" + method + ") is not accessible.", e);
-        } catch (InvocationTargetException e) {
-            throw (RuntimeException) e.getCause();
-        } catch (RuntimeException e) {
+            return (PythonLikeObject) methodInvoker.invokeExact(args);
+        } catch (RuntimeException | Error e) {
             throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
         }
     }
 
-    private Object[] unwrapPrimitiveArguments(List<PythonLikeObject> positionalArguments,
-            Map<PythonString, PythonLikeObject> namedArguments) {
-        namedArguments = (namedArguments != null) ? namedArguments : Map.of();
-        Object[] out = new Object[method.getParameterCount()];
+    private MethodHandle createInvoker() {
+        MethodHandle out;
+        try {
+            out = MethodHandles.lookup().unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Method (" + method + ") is not accessible.", e);
+        }
+
+        // Convert each argument with the cheapest conversion for its parameter type
         Class<?>[] parameterTypes = method.getParameterTypes();
+        int parameterOffset = isStatic ? 0 : 1;
+        MethodHandle[] argumentFilters = new MethodHandle[parameterTypes.length + parameterOffset];
+        if (!isStatic) {
+            argumentFilters[0] = UNWRAP_RECEIVER.asType(MethodType.methodType(method.getDeclaringClass(), Object.class));
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            argumentFilters[i + parameterOffset] = getArgumentConverter(parameterTypes[i]);
+        }
+        out = MethodHandles.filterArguments(out, 0, argumentFilters);
 
-        for (int i = 0; i < positionalArguments.size(); i++) {
-            PythonLikeObject argument = positionalArguments.get(i);
-            out[i] = JavaPythonTypeConversionImplementor.convertPythonObjectToJavaType(parameterTypes[i], argument);
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            out = MethodHandles.filterReturnValue(out,
+                    MethodHandles.constant(PythonLikeObject.class, PythonNone.INSTANCE));
+        } else {
+            // Even a PythonLikeObject result is wrapped, since null must become None
+            out = MethodHandles.filterReturnValue(out,
+                    WRAP_RESULT.asType(MethodType.methodType(PythonLikeObject.class, returnType)));
+        }
+
+        return out.asSpreader(Object[].class, argumentFilters.length)
+                .asType(MethodType.methodType(PythonLikeObject.class, Object[].class));
+    }
+
+    /**
+     * Returns a handle that converts a PythonLikeObject to {@code parameterType}, or null if no conversion
+     * is needed.
+     */
+    private static MethodHandle getArgumentConverter(Class<?> parameterType) {
+        if (parameterType.isAssignableFrom(PythonLikeObject.class)) {
+            // Object or PythonLikeObject: every argument is passed as is
+            return null;
+        }
+
+        MethodHandle primitiveConverter = PRIMITIVE_TYPE_TO_CONVERTER_MAP.get(parameterType);
+        if (primitiveConverter != null) {
+            return primitiveConverter;
+        }
+
+        return MethodHandles.insertArguments(CONVERT_ARGUMENT, 0, parameterType)
+                .asType(MethodType.methodType(parameterType, PythonLikeObject.class));
+    }
+
+    private static Object unwrapReceiver(Object self) {
+        if (self instanceof JavaObjectWrapper) { // unwrap wrapped Java Objects
+            return ((JavaObjectWrapper) self).getWrappedObject();
+        }
+        return self;
+    }
+
+    private static int toInt(PythonLikeObject argument) {
+        if (argument instanceof PythonInteger) {
+            return ((PythonInteger) argument).value.intValue();
+        }
+        return JavaPythonTypeConversionImplementor.<Integer> convertPythonObjectToJavaType(int.class, argument);
+    }
+
+    private static long toLong(PythonLikeObject argument) {
+        if (argument instanceof PythonInteger) {
+            return ((PythonInteger) argument).value.longValue();
         }
+        return JavaPythonTypeConversionImplementor.<Long> convertPythonObjectToJavaType(long.class, argument);
+    }
 
-        for (PythonString key : namedArguments.keySet()) {
-            int index = parameterNameToIndexMap.get(key.value);
-            PythonLikeObject argument = namedArguments.get(key);
-            out[index] = JavaPythonTypeConversionImplementor.convertPythonObjectToJavaType(parameterTypes[index], argument);
+    private static double toDouble(PythonLikeObject argument) {
+        if (argument instanceof PythonFloat) {
+            return ((PythonFloat) argument).value;
         }
+        return JavaPythonTypeConversionImplementor.<Double> convertPythonObjectToJavaType(double.class, argument);
+    }
 
-        return out;
+    private static boolean toBoolean(PythonLikeObject argument) {
+        if (argument instanceof PythonBoolean) {
+            return ((PythonBoolean) argument).getBooleanValue();
+        }
+        return JavaPythonTypeConversionImplementor.<Boolean> convertPythonObjectToJavaType(boolean.class, argument);
     }
 }
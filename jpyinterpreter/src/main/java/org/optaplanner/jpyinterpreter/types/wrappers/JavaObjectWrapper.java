@@ -1,31 +1,56 @@
 package org.optaplanner.jpyinterpreter.types.wrappers;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.implementors.JavaPythonTypeConversionImplementor;
+import org.optaplanner.jpyinterpreter.types.BoundPythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 
 public class JavaObjectWrapper implements PythonLikeObject, Comparable<JavaObjectWrapper> {
 
     final static Map<Class<?>, PythonLikeType> classToPythonTypeMap = new HashMap<>();
-    final static Map<Class<?>, Map<String, List<Member>>> classToAttributeNameToMemberListMap = new HashMap<>();
+    final static Map<Class<?>, Map<String, List<Member>>> classToAttributeNameToMemberListMap =
+            new ConcurrentHashMap<>();
+    final static Map<Class<?>, Map<String, FieldAccessor>> classToAttributeNameToFieldAccessorMap =
+            new ConcurrentHashMap<>();
 
     private final PythonLikeType type;
 
     private final Object wrappedObject;
     private final Class<?> objectClass;
     private final Map<String, List<Member>> attributeNameToMemberListMap;
+    private final Map<String, FieldAccessor> attributeNameToFieldAccessorMap;
+
+    /**
+     * Gets and sets a field, either directly if it is public or through its getter and setter.
+     * The handles are adapted to (Object)Object and (Object, Object)void, so they can be invoked exactly without
+     * knowing the class; a null handle means the field cannot be read or written.
+     */
+    static final class FieldAccessor {
+        final Field field;
+        final MethodHandle getter;
+        final MethodHandle setter;
+
+        FieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
 
     private static Stream<Member> getDeclaredMembersStream(Class<?> baseClass) {
         Stream<Field> fieldStream = Stream.of(baseClass.getDeclaredFields()).filter((field) -> !field.isSynthetic());
@@ -49,44 +74,55 @@ public class JavaObjectWrapper implements PythonLikeObject, Comparable<JavaObjec
                                 Collectors.toList())));
     }
 
-    private Method getGetterMethod(Field field) {
+    private static String getPropertyMethodName(String prefix, Field field) {
         String propertyName = field.getName();
         String capitalizedName =
                 propertyName.isEmpty() ? "" : propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-        String getterName = "get" + capitalizedName;
-
-        if (attributeNameToMemberListMap.containsKey(getterName)) {
-            List<Member> candidates = attributeNameToMemberListMap.get(getterName);
-            for (Member candidate : candidates) {
-                if (candidate instanceof Method) {
-                    Method method = (Method) candidate;
-                    if (method.getParameterCount() == 0) {
-                        return method;
-                    }
-                }
-            }
+        return prefix + capitalizedName;
+    }
+
+    /**
+     * Static members do not take the object, but their accessors are called with it anyway.
+     */
+    private static MethodHandle withReceiver(MethodHandle handle, Member member) {
+        if (Modifier.isStatic(member.getModifiers())) {
+            return MethodHandles.dropArguments(handle, 0, Object.class);
         }
-        throw new IllegalArgumentException("Cannot get attribute '" + field.getName() + "' on type '" + objectClass + "'");
+        return handle;
     }
 
-    private Method getSetterMethod(Field field) {
-        String propertyName = field.getName();
-        String capitalizedName =
-                propertyName.isEmpty() ? "" : propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-        String setterName = "set" + capitalizedName;
-
-        if (attributeNameToMemberListMap.containsKey(setterName)) {
-            List<Member> candidates = attributeNameToMemberListMap.get(setterName);
-            for (Member candidate : candidates) {
-                if (candidate instanceof Method) {
-                    Method method = (Method) candidate;
-                    if (method.getParameterCount() == 1 && method.getParameterTypes()[0].equals(field.getType())) {
-                        return method;
-                    }
+    private static FieldAccessor createFieldAccessor(Class<?> objectClass, Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+
+        if (Modifier.isPublic(field.getModifiers())) {
+            try {
+                getter = withReceiver(lookup.unreflectGetter(field), field);
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    setter = withReceiver(lookup.unreflectSetter(field), field);
                 }
+            } catch (IllegalAccessException e) {
+                // field is in an inaccessible class; every access will fail
+            }
+        } else {
+            try {
+                Method getterMethod = objectClass.getMethod(getPropertyMethodName("get", field));
+                getter = withReceiver(lookup.unreflect(getterMethod), getterMethod);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // no accessible getter; getting the attribute will fail
+            }
+            try {
+                Method setterMethod = objectClass.getMethod(getPropertyMethodName("set", field), field.getType());
+                setter = withReceiver(lookup.unreflect(setterMethod), setterMethod);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // no accessible setter; setting the attribute will fail
             }
         }
-        throw new IllegalArgumentException("Cannot get attribute '" + field.getName() + "' on type '" + objectClass + "'");
+
+        return new FieldAccessor(field,
+                (getter != null) ? getter.asType(MethodType.methodType(Object.class, Object.class)) : null,
+                (setter != null) ? setter.asType(MethodType.methodType(void.class, Object.class, Object.class)) : null);
     }
 
     public JavaObjectWrapper(Object wrappedObject) {
@@ -94,6 +130,8 @@ public class JavaObjectWrapper implements PythonLikeObject, Comparable<JavaObjec
         this.objectClass = wrappedObject.getClass();
         this.attributeNameToMemberListMap =
                 classToAttributeNameToMemberListMap.computeIfAbsent(objectClass, JavaObjectWrapper::getAllFields);
+        this.attributeNameToFieldAccessorMap =
+                classToAttributeNameToFieldAccessorMap.computeIfAbsent(objectClass, ignored -> new ConcurrentHashMap<>());
         this.type = getPythonTypeForClass(objectClass);
     }
 
@@ -115,73 +153,84 @@ public class JavaObjectWrapper implements PythonLikeObject, Comparable<JavaObjec
         return wrappedObject;
     }
 
+    /**
+     * Returns the accessor for the field named {@code attributeName}, null if there is no such field,
+     * or throws if the name is ambiguous.
+     */
+    private FieldAccessor getFieldAccessor(String attributeName) {
+        // The accessor maps are shared by every wrapper of the class, which may be on different threads
+        return attributeNameToFieldAccessorMap.computeIfAbsent(attributeName, ignored -> {
+            List<Member> candidates = attributeNameToMemberListMap.get(attributeName);
+            if (candidates == null) {
+                return null;
+            }
+            if (candidates.size() != 1) {
+                // TODO
+                throw new IllegalStateException("Ambiguous attribute for type '" + objectClass
+                        + "': multiple candidates match '" + attributeName + "': (" + candidates + ").");
+            }
+            // getAllFields only collects fields
+            return createFieldAccessor(objectClass, (Field) candidates.get(0));
+        });
+    }
+
     @Override
     public PythonLikeObject __getAttributeOrNull(String attributeName) {
-        List<Member> candidates = attributeNameToMemberListMap.get(attributeName);
-        if (candidates == null) {
-            return null;
+        FieldAccessor fieldAccessor = getFieldAccessor(attributeName);
+        if (fieldAccessor == null) {
+            return getBoundMethod(attributeName);
         }
-        if (candidates.size() == 1) {
-            Member candidate = candidates.get(0);
-            if (candidate instanceof Field) {
-                Field field = (Field) candidate;
-                try {
-                    Object result;
-                    if (Modifier.isPublic(field.getModifiers())) {
-                        result = field.get(wrappedObject);
-                    } else {
-                        Method getterMethod = getGetterMethod(field);
-                        result = getterMethod.invoke(wrappedObject);
-                    }
-                    return JavaPythonTypeConversionImplementor.wrapJavaObject(result);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new IllegalArgumentException(
-                            "Cannot modify attribute '" + attributeName + "' on type '" + objectClass + "'");
-                }
-            } else if (candidate instanceof Method) {
-                Method method = (Method) candidate;
-                return new JavaMethodReference(method, Map.of());
-            } else {
-                throw new IllegalStateException("Unknown member type (" + candidate.getClass() + ")");
-            }
-        } else {
-            // TODO
-            throw new IllegalStateException("Ambiguous attribute for type '" + objectClass + "': multiple candidates match '"
-                    + attributeName + "': (" + candidates + ").");
+        if (fieldAccessor.getter == null) {
+            throw new IllegalArgumentException("Cannot get attribute '" + attributeName + "' on type '" + objectClass + "'");
+        }
+
+        Object result;
+        try {
+            result = fieldAccessor.getter.invokeExact(wrappedObject);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        return JavaPythonTypeConversionImplementor.wrapJavaObject(result);
+    }
+
+    /**
+     * Returns the method named {@code attributeName} bound to this object, or null if the type has no such method.
+     * The unbound method is shared by every wrapper of the class through its type; a wrapper is created for each
+     * conversion, so only the small bound method is created per access.
+     */
+    private PythonLikeObject getBoundMethod(String attributeName) {
+        PythonLikeObject typeAttribute = type.__dir__.get(attributeName);
+        if (!(typeAttribute instanceof JavaMethodReference)) {
+            return null;
         }
+        return new BoundPythonLikeFunction(this, (JavaMethodReference) typeAttribute);
     }
 
     @Override
     public void __setAttribute(String attributeName, PythonLikeObject value) {
-        List<Member> candidates = attributeNameToMemberListMap.get(attributeName);
-        if (candidates == null) {
-            throw new IllegalArgumentException("type '" + objectClass + "' does not have attribute '" + attributeName + "'");
-        }
-        if (candidates.size() == 1) {
-            Member candidate = candidates.get(0);
-            if (candidate instanceof Field) {
-                Field field = (Field) candidate;
-                Object javaValue = JavaPythonTypeConversionImplementor.convertPythonObjectToJavaType(field.getType(), value);
-                try {
-                    if (Modifier.isPublic(field.getModifiers())) {
-                        field.set(wrappedObject, javaValue);
-                    } else {
-                        Method setterMethod = getSetterMethod(field);
-                        setterMethod.invoke(wrappedObject, javaValue);
-                    }
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new IllegalArgumentException(
-                            "Cannot modify attribute '" + attributeName + "' on type '" + objectClass + "'");
-                }
-            } else if (candidate instanceof Method) {
+        FieldAccessor fieldAccessor = getFieldAccessor(attributeName);
+        if (fieldAccessor == null) {
+            if (type.__dir__.get(attributeName) instanceof JavaMethodReference) {
                 throw new IllegalArgumentException(
                         "Cannot modify attribute '" + attributeName + "' on type '" + objectClass + "'");
-            } else {
-                throw new IllegalStateException("Unknown member type (" + candidate.getClass() + ")");
             }
-        } else {
+            throw new IllegalArgumentException("type '" + objectClass + "' does not have attribute '" + attributeName + "'");
+        }
+        if (fieldAccessor.setter == null) {
             throw new IllegalArgumentException("Cannot modify attribute '" + attributeName + "' on type '" + objectClass + "'");
         }
+
+        Object javaValue =
+                JavaPythonTypeConversionImplementor.convertPythonObjectToJavaType(fieldAccessor.field.getType(), value);
+        try {
+            fieldAccessor.setter.invokeExact(wrappedObject, javaValue);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
@@ -195,21 +244,12 @@ public class JavaObjectWrapper implements PythonLikeObject, Comparable<JavaObjec
     }
 
     @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public int compareTo(JavaObjectWrapper javaObjectWrapper) {
-        List<Member> compareToMembers = attributeNameToMemberListMap.get("compareTo");
-        for (Member member : compareToMembers) {
-            if (member instanceof Method) {
-                Method method = (Method) member;
-                if (method.getDeclaringClass().equals(Comparable.class)) {
-                    try {
-                        return (int) method.invoke(wrappedObject, javaObjectWrapper.wrappedObject);
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        throw new IllegalStateException(e);
-                    }
-                }
-            }
+        if (!(wrappedObject instanceof Comparable)) {
+            throw new IllegalStateException("Class " + objectClass + " does not implement Comparable");
         }
-        throw new IllegalStateException("Class " + objectClass + " does not implement Comparable");
+        return ((Comparable) wrappedObject).compareTo(javaObjectWrapper.wrappedObject);
     }
 
     @Override
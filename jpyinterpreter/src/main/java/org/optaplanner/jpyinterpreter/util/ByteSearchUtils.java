@@ -0,0 +1,169 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Searches and counts in byte arrays eight bytes at a time, by reading a long from the array and testing all
+ * of its bytes at once (SIMD within a register). The trailing bytes that do not fill a long are checked one
+ * at a time. Used by bytes and bytearray.
+ */
+public final class ByteSearchUtils {
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long EVERY_BYTE = 0x0101010101010101L;
+
+    private ByteSearchUtils() {
+    }
+
+    /**
+     * Returns a long that has the high bit of a byte set exactly when that byte of {@code word} is zero, and
+     * every other bit clear. Unlike the usual (word - 0x01...) & ~word trick, there are no false positives
+     * from borrows, so the result can be scanned from either end and counted.
+     */
+    private static long zeroByteMask(long word) {
+        long highBitSetIfLowBitsNonZero = (word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        return ~(highBitSetIfLowBitsNonZero | word | LOW_SEVEN_BITS);
+    }
+
+    private static long matchMask(byte[] array, int index, long pattern) {
+        return zeroByteMask((long) LONG_VIEW.get(array, index) ^ pattern);
+    }
+
+    private static long broadcast(byte query) {
+        return (query & 0xFFL) * EVERY_BYTE;
+    }
+
+    /**
+     * Returns the first index in [from, to) of {@code array} that contains {@code query}, or -1 if there is none.
+     */
+    public static int indexOf(byte[] array, byte query, int from, int to) {
+        long pattern = broadcast(query);
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            long mask = matchMask(array, i, pattern);
+            if (mask != 0) {
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == query) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the last index in [from, to) of {@code array} that contains {@code query}, or -1 if there is none.
+     */
+    public static int lastIndexOf(byte[] array, byte query, int from, int to) {
+        long pattern = broadcast(query);
+        int i = to;
+        for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+            long mask = matchMask(array, i - Long.BYTES, pattern);
+            if (mask != 0) {
+                return i - 1 - (Long.numberOfLeadingZeros(mask) >>> 3);
+            }
+        }
+        for (i--; i >= from; i--) {
+            if (array[i] == query) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many indices in [from, to) of {@code array} contain {@code query}.
+     */
+    public static int count(byte[] array, byte query, int from, int to) {
+        long pattern = broadcast(query);
+        int count = 0;
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            count += Long.bitCount(matchMask(array, i, pattern));
+        }
+        for (; i < to; i++) {
+            if (array[i] == query) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first index i in [from, to - query.length] such that {@code query} is at i in {@code array},
+     * or -1 if there is none. Candidates are found by searching for the first byte of {@code query}.
+     */
+    public static int indexOf(byte[] array, byte[] query, int from, int to) {
+        if (query.length == 0) {
+            return (from <= to) ? from : -1;
+        }
+
+        int lastStart = to - query.length;
+        byte first = query[0];
+        int i = from;
+        while (i <= lastStart) {
+            i = indexOf(array, first, i, lastStart + 1);
+            if (i == -1) {
+                return -1;
+            }
+            if (Arrays.equals(array, i + 1, i + query.length, query, 1, query.length)) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the last index i in [from, to - query.length] such that {@code query} is at i in {@code array},
+     * or -1 if there is none.
+     */
+    public static int lastIndexOf(byte[] array, byte[] query, int from, int to) {
+        if (query.length == 0) {
+            return (from <= to) ? to : -1;
+        }
+
+        byte first = query[0];
+        int end = to - query.length + 1;
+        while (end > from) {
+            int i = lastIndexOf(array, first, from, end);
+            if (i == -1) {
+                return -1;
+            }
+            if (Arrays.equals(array, i + 1, i + query.length, query, 1, query.length)) {
+                return i;
+            }
+            end = i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many non-overlapping occurrences of {@code query} are in [from, to) of
+     * {@code array}, searching left to right.
+     */
+    public static int count(byte[] array, byte[] query, int from, int to) {
+        if (query.length == 0) {
+            // Like Python, the empty sequence occurs before and after every byte
+            return (from <= to) ? to - from + 1 : 0;
+        }
+        if (query.length == 1) {
+            return count(array, query[0], from, to);
+        }
+
+        int count = 0;
+        int i = indexOf(array, query, from, to);
+        while (i != -1) {
+            count++;
+            i = indexOf(array, query, i + query.length, to);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,99 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.PythonModule;
+
+/**
+ * The instance map of a single conversion of CPython objects to Java, on top of a {@link WeakValueLongMap} shared by
+ * every conversion. Lookups check the objects converted by this conversion first, then the shared map.
+ * <p>
+ * CPython reuses the id of an object once it is freed, so the shared map only gets the converted objects that keep
+ * their CPython object alive (and so their id from being reused) for as long as they are in the map:
+ * {@link CPythonBackedPythonLikeObject} and {@link PythonModule}. Other converted objects (ints, strs, lists, ...)
+ * only go in the map of this conversion.
+ */
+public class ConversionInstanceMap<Value_> extends AbstractMap<Number, Value_> implements LongKeyedMap<Value_> {
+    private final WeakValueLongMap<Value_> sharedMap;
+    private final LongObjectHashMap<Value_> conversionMap = new LongObjectHashMap<>();
+
+    public ConversionInstanceMap(WeakValueLongMap<Value_> sharedMap) {
+        this.sharedMap = sharedMap;
+    }
+
+    /**
+     * Returns true if value keeps the CPython object it was converted from alive.
+     */
+    public static boolean isKeepingPythonObjectAlive(Object value) {
+        if (value instanceof CPythonBackedPythonLikeObject) {
+            return ((CPythonBackedPythonLikeObject) value).$getCPythonReference() != null;
+        }
+        return value instanceof PythonModule && ((PythonModule) value).getPythonReference() != null;
+    }
+
+    @Override
+    public Value_ get(long key) {
+        Value_ out = conversionMap.get(key);
+        return (out != null) ? out : sharedMap.get(key);
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Value_ put(long key, Value_ value) {
+        Value_ old = conversionMap.put(key, value);
+        if (isKeepingPythonObjectAlive(value)) {
+            sharedMap.put(key, value);
+        }
+        return old;
+    }
+
+    @Override
+    public Value_ remove(long key) {
+        return conversionMap.remove(key);
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        return (key instanceof Number) ? get(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key instanceof Number) && containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public Value_ put(Number key, Value_ value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        return (key instanceof Number) ? remove(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Number, ? extends Value_> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public void clear() {
+        conversionMap.clear();
+    }
+
+    /**
+     * The entries of this conversion; entries of the shared map are not included.
+     */
+    @Override
+    public Set<Entry<Number, Value_>> entrySet() {
+        return conversionMap.entrySet();
+    }
+}
@@ -1,6 +1,9 @@
 package org.optaplanner.jpyinterpreter.util;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,6 +30,14 @@ public class DefaultFormatSpec {
             TYPE;
     final static Pattern DEFAULT_FORMAT_SPEC_PATTERN = Pattern.compile(DEFAULT_FORMAT_SPEC);
 
+    /**
+     * Format specs almost always come from f-string or str.format constants, so there are few distinct
+     * ones; parse each once. Stop adding entries past this size, in case specs are built dynamically.
+     */
+    final static int MAX_CACHED_FORMAT_SPECS = 1024;
+    private final static Map<String, DefaultFormatSpec> FORMAT_SPEC_CACHE = new ConcurrentHashMap<>();
+    private final static Map<String, DefaultFormatSpec> STRING_FORMAT_SPEC_CACHE = new ConcurrentHashMap<>();
+
     /**
      * The character to use for padding
      */
@@ -80,6 +91,31 @@ public class DefaultFormatSpec {
     }
 
     public static DefaultFormatSpec fromSpec(PythonString formatSpec) {
+        return getCachedFormatSpec(FORMAT_SPEC_CACHE, formatSpec, DefaultFormatSpec::parseSpec);
+    }
+
+    /**
+     * For use by {@link PythonString}, where since Python 3.10, 0 before width do not affect default alignment
+     * of strings.
+     */
+    public static DefaultFormatSpec fromStringSpec(PythonString formatSpec) {
+        return getCachedFormatSpec(STRING_FORMAT_SPEC_CACHE, formatSpec, DefaultFormatSpec::parseStringSpec);
+    }
+
+    private static DefaultFormatSpec getCachedFormatSpec(Map<String, DefaultFormatSpec> cache, PythonString formatSpec,
+            Function<PythonString, DefaultFormatSpec> parser) {
+        DefaultFormatSpec out = cache.get(formatSpec.value);
+        if (out == null) {
+            // Parse outside the map, so an invalid spec throws without leaving an entry behind
+            out = parser.apply(formatSpec);
+            if (cache.size() < MAX_CACHED_FORMAT_SPECS) {
+                cache.putIfAbsent(formatSpec.value, out);
+            }
+        }
+        return out;
+    }
+
+    private static DefaultFormatSpec parseSpec(PythonString formatSpec) {
         Matcher matcher = DEFAULT_FORMAT_SPEC_PATTERN.matcher(formatSpec.value);
 
         if (!matcher.matches()) {
@@ -100,11 +136,7 @@ public class DefaultFormatSpec {
                 Optional.ofNullable(matcher.group("type")).map(ConversionType::fromString));
     }
 
-    /**
-     * For use by {@link PythonString}, where since Python 3.10, 0 before width do not affect default alignment
-     * of strings.
-     */
-    public static DefaultFormatSpec fromStringSpec(PythonString formatSpec) {
+    private static DefaultFormatSpec parseStringSpec(PythonString formatSpec) {
         Matcher matcher = DEFAULT_FORMAT_SPEC_PATTERN.matcher(formatSpec.value);
 
         if (!matcher.matches()) {
@@ -0,0 +1,18 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import java.util.Map;
+
+/**
+ * A map keyed by CPython object ids, that can be used without boxing the ids. The {@link Number} keyed
+ * {@link Map} methods are equivalent to the long keyed methods with the key's {@link Number#longValue()}.
+ * Null values are not supported.
+ */
+public interface LongKeyedMap<Value_> extends Map<Number, Value_> {
+    Value_ get(long key);
+
+    boolean containsKey(long key);
+
+    Value_ put(long key, Value_ value);
+
+    Value_ remove(long key);
+}
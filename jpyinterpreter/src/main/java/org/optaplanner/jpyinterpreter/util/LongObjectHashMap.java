@@ -0,0 +1,277 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map from long keys (CPython object ids) to values. Keys are stored unboxed in an open-addressing table with
+ * linear probing, so lookups do not allocate. Putting a null value removes the key.
+ * <p>
+ * Not thread-safe.
+ */
+public class LongObjectHashMap<Value_> extends AbstractMap<Number, Value_> implements LongKeyedMap<Value_> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    /**
+     * A slot is empty if and only if its value is null.
+     */
+    private Object[] values;
+    private int size;
+    private int modCount;
+
+    /**
+     * Receives the entries of the map in {@link #forEachEntry(EntryConsumer)}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<Value_> {
+        void accept(long key, Value_ value);
+    }
+
+    public LongObjectHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a map that can hold expectedSize entries without resizing.
+     */
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity *= 2;
+        }
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int hash(long key) {
+        // CPython ids are addresses, so the low bits are mostly zero; spread the high bits down
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        values[index] = null;
+        size--;
+        modCount++;
+
+        // Shift later entries of the probe sequence back, so no lookup stops early at the new hole
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry if its home is not cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                values[next] = null;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new Object[newCapacity];
+        int mask = newCapacity - 1;
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Value_ get(long key) {
+        int index = indexOf(key);
+        return (index != -1) ? (Value_) values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Value_ put(long key, Value_ value) {
+        if (value == null) {
+            // A null value would look like an empty slot
+            return remove(key);
+        }
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                Value_ old = (Value_) values[index];
+                values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        modCount++;
+        // Keep the load factor at most 1/2, so probe sequences stay short
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Value_ remove(long key) {
+        int index = indexOf(key);
+        if (index == -1) {
+            return null;
+        }
+        Value_ old = (Value_) values[index];
+        removeAt(index);
+        return old;
+    }
+
+    /**
+     * Calls consumer with every entry of the map, without boxing the keys. The map must not be modified by
+     * consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachEntry(EntryConsumer<? super Value_> consumer) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (Value_) values[i]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        return (key instanceof Number) ? get(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key instanceof Number) && containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public Value_ put(Number key, Value_ value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        return (key instanceof Number) ? remove(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Number, ? extends Value_> map) {
+        if (map instanceof LongObjectHashMap) {
+            ((LongObjectHashMap<? extends Value_>) map).forEachEntry(this::put);
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        keys = new long[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of the entries; its iterator does not support removal.
+     */
+    @Override
+    public Set<Entry<Number, Value_>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Number, Value_>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Number, Value_>> {
+        private final int expectedModCount = modCount;
+        private int nextIndex = findNextIndex(0);
+
+        private int findNextIndex(int from) {
+            for (int i = from; i < values.length; i++) {
+                if (values[i] != null) {
+                    return i;
+                }
+            }
+            return values.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<Number, Value_> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<Number, Value_> out = new SimpleImmutableEntry<>(keys[nextIndex], (Value_) values[nextIndex]);
+            nextIndex = findNextIndex(nextIndex + 1);
+            return out;
+        }
+    }
+}
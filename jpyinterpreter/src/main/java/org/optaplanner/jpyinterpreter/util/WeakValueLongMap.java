@@ -0,0 +1,241 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A map from long keys (CPython object ids) to weakly referenced values, so an entry goes away once nothing
+ * else uses its value. Keys are stored unboxed in an open-addressing table with linear probing; the
+ * {@link Number} keyed {@link java.util.Map} methods exist for Python code and unbox the key.
+ * <p>
+ * All methods are synchronized, since the map is shared by every solver run.
+ */
+public class WeakValueLongMap<Value_> extends AbstractMap<Number, Value_> implements LongKeyedMap<Value_> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReferenceQueue<Value_> collectedValueQueue = new ReferenceQueue<>();
+
+    private long[] keys;
+    /**
+     * A slot is empty if and only if its value is null; a value whose referent was collected still occupies
+     * its slot until it is taken off {@link #collectedValueQueue}.
+     */
+    private KeyedReference<Value_>[] values;
+    private int size;
+
+    private static final class KeyedReference<Value_> extends WeakReference<Value_> {
+        final long key;
+
+        KeyedReference(long key, Value_ value, ReferenceQueue<Value_> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    public WeakValueLongMap() {
+        keys = new long[INITIAL_CAPACITY];
+        values = newValueArray(INITIAL_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Value_> KeyedReference<Value_>[] newValueArray(int capacity) {
+        return new KeyedReference[capacity];
+    }
+
+    private static int hash(long key) {
+        // CPython ids are addresses, so the low bits are mostly zero; spread the high bits down
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entries whose values were garbage collected.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeCollectedValues() {
+        KeyedReference<Value_> collected;
+        while ((collected = (KeyedReference<Value_>) collectedValueQueue.poll()) != null) {
+            int index = indexOf(collected.key);
+            // The key may have been given a new value since
+            if (index != -1 && values[index] == collected) {
+                removeAt(index);
+            }
+        }
+    }
+
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        values[index] = null;
+        size--;
+
+        // Shift later entries of the probe sequence back, so no lookup stops early at the new hole
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(keys[next]) & mask;
+            // Move the entry if its home is not cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                values[next] = null;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        KeyedReference<Value_>[] oldValues = values;
+        keys = new long[newCapacity];
+        values = newValueArray(newCapacity);
+        int mask = newCapacity - 1;
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    public synchronized Value_ get(long key) {
+        expungeCollectedValues();
+        int index = indexOf(key);
+        return (index != -1) ? values[index].get() : null;
+    }
+
+    public synchronized boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public synchronized Value_ put(long key, Value_ value) {
+        if (value == null) {
+            // A null value would look like an empty slot
+            return remove(key);
+        }
+        expungeCollectedValues();
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                Value_ old = values[index].get();
+                values[index] = new KeyedReference<>(key, value, collectedValueQueue);
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = new KeyedReference<>(key, value, collectedValueQueue);
+        size++;
+        // Keep the load factor at most 1/2, so probe sequences stay short
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    public synchronized Value_ remove(long key) {
+        expungeCollectedValues();
+        int index = indexOf(key);
+        if (index == -1) {
+            return null;
+        }
+        Value_ old = values[index].get();
+        removeAt(index);
+        return old;
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        return (key instanceof Number) ? get(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key instanceof Number) && containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public Value_ put(Number key, Value_ value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        return (key instanceof Number) ? remove(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        values = newValueArray(INITIAL_CAPACITY);
+        size = 0;
+        // References already queued are for entries that no longer exist
+        while (collectedValueQueue.poll() != null) {
+            // discard
+        }
+    }
+
+    /**
+     * The number of entries, which can include entries whose values were collected, but not yet expunged.
+     */
+    @Override
+    public synchronized int size() {
+        expungeCollectedValues();
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the entries whose values are still reachable.
+     */
+    @Override
+    public Set<Entry<Number, Value_>> entrySet() {
+        List<Entry<Number, Value_>> entries = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    Value_ value = values[i].get();
+                    if (value != null) {
+                        entries.add(new SimpleImmutableEntry<>(keys[i], value));
+                    }
+                }
+            }
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Number, Value_>> iterator() {
+                return entries.iterator();
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+}
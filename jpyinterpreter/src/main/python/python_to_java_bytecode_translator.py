@@ -180,6 +180,19 @@ def put_in_instance_map(instance_map, python_object, java_object):
     instance_map.put(id(python_object), java_object)
 
 
+def get_conversion_instance_map(instance_map):
+    """Returns the instance map to use for a conversion given instance_map. If instance_map is the shared map of
+    the interpreter, a map of its own is returned, so only converted objects that keep their Python object alive
+    (and so their id from being reused) are put in the shared map"""
+    from java.util import HashMap
+    from org.optaplanner.jpyinterpreter.util import ConversionInstanceMap, WeakValueLongMap
+    if instance_map is None:
+        return HashMap()
+    if isinstance(instance_map, WeakValueLongMap):
+        return ConversionInstanceMap(instance_map)
+    return instance_map
+
+
 class CodeWrapper:
     def __init__(self, wrapped):
         self.wrapped = wrapped
@@ -194,14 +207,12 @@ class CodeWrapper:
 def convert_object_to_java_python_like_object(value, instance_map=None):
     import datetime
     from java.lang import Object
-    from java.util import HashMap
     from org.optaplanner.jpyinterpreter import CPythonBackedPythonInterpreter
     from org.optaplanner.jpyinterpreter.types import PythonLikeType, AbstractPythonLikeObject, CPythonBackedPythonLikeObject
     from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference, CPythonType, JavaObjectWrapper, PythonLikeFunctionWrapper
     from org.optaplanner.jpyinterpreter.types.datetime import PythonDate, PythonDateTime, PythonTime, PythonTimeDelta
 
-    if instance_map is None:
-        instance_map = HashMap()
+    instance_map = get_conversion_instance_map(instance_map)
 
     if isinstance(value, Object):
         out = JavaObjectWrapper(value)
@@ -315,7 +326,6 @@ def is_banned_module(module: str):
 
 
 def convert_to_java_python_like_object(value, instance_map=None):
-    from java.util import HashMap
     from java.math import BigInteger
     from types import ModuleType
     from org.optaplanner.jpyinterpreter import PythonLikeObject, CPythonBackedPythonInterpreter
@@ -328,11 +338,12 @@ def convert_to_java_python_like_object(value, instance_map=None):
 
     global type_to_compiled_java_class
 
-    if instance_map is None:
-        instance_map = HashMap()
+    instance_map = get_conversion_instance_map(instance_map)
 
-    if instance_map.containsKey(JLong(id(value))):
-        return instance_map.get(JLong(id(value)))
+    # A single get, since the instance map can drop an entry between containsKey and get
+    existing_value = instance_map.get(JLong(id(value)))
+    if existing_value is not None:
+        return existing_value
     elif isinstance(value, PythonLikeObject):
         put_in_instance_map(instance_map, value, value)
         return value
@@ -597,33 +608,33 @@ def unwrap_python_like_builtin_module_object(python_like_object):
     import datetime
 
     if isinstance(python_like_object, PythonDateTime):
-        return datetime.datetime(unwrap_python_like_object(python_like_object.year),
-                                 unwrap_python_like_object(python_like_object.month),
-                                 unwrap_python_like_object(python_like_object.day),
-                                 unwrap_python_like_object(python_like_object.hour),
-                                 unwrap_python_like_object(python_like_object.minute),
-                                 unwrap_python_like_object(python_like_object.second),
-                                 unwrap_python_like_object(python_like_object.microsecond),
+        return datetime.datetime(unwrap_python_like_object(python_like_object.getYear()),
+                                 unwrap_python_like_object(python_like_object.getMonth()),
+                                 unwrap_python_like_object(python_like_object.getDay()),
+                                 unwrap_python_like_object(python_like_object.getHour()),
+                                 unwrap_python_like_object(python_like_object.getMinute()),
+                                 unwrap_python_like_object(python_like_object.getSecond()),
+                                 unwrap_python_like_object(python_like_object.getMicrosecond()),
                                  tzinfo=None,  # TODO: Support timezones
-                                 fold=unwrap_python_like_object(python_like_object.fold))
+                                 fold=unwrap_python_like_object(python_like_object.getFold()))
 
     if isinstance(python_like_object, PythonDate):
-        return datetime.date(unwrap_python_like_object(python_like_object.year),
-                             unwrap_python_like_object(python_like_object.month),
-                             unwrap_python_like_object(python_like_object.day))
+        return datetime.date(unwrap_python_like_object(python_like_object.getYear()),
+                             unwrap_python_like_object(python_like_object.getMonth()),
+                             unwrap_python_like_object(python_like_object.getDay()))
 
     if isinstance(python_like_object, PythonTime):
-        return datetime.time(unwrap_python_like_object(python_like_object.hour),
-                             unwrap_python_like_object(python_like_object.minute),
-                             unwrap_python_like_object(python_like_object.second),
-                             unwrap_python_like_object(python_like_object.microsecond),
+        return datetime.time(unwrap_python_like_object(python_like_object.getHour()),
+                             unwrap_python_like_object(python_like_object.getMinute()),
+                             unwrap_python_like_object(python_like_object.getSecond()),
+                             unwrap_python_like_object(python_like_object.getMicrosecond()),
                              tzinfo=None,  # TODO: Support timezones
-                             fold=unwrap_python_like_object(python_like_object.fold))
+                             fold=unwrap_python_like_object(python_like_object.getFold()))
 
     if isinstance(python_like_object, PythonTimeDelta):
-        return datetime.timedelta(unwrap_python_like_object(python_like_object.days),
-                                  unwrap_python_like_object(python_like_object.seconds),
-                                  unwrap_python_like_object(python_like_object.microseconds))
+        return datetime.timedelta(unwrap_python_like_object(python_like_object.getDays()),
+                                  unwrap_python_like_object(python_like_object.getSeconds()),
+                                  unwrap_python_like_object(python_like_object.getMicroseconds()))
 
     return None
 
@@ -746,6 +757,28 @@ def copy_globals(globals_dict, co_names):
     return out
 
 
+def get_final_global_names(globals_dict, co_names):
+    """Returns the names in co_names that the module of globals_dict annotated with typing.Final
+    (for instance, ``MINUTES_PER_DAY: Final = 24 * 60``); they are never rebound, so their values are constants"""
+    from java.util import HashSet
+    from typing import Final, get_origin
+
+    out = HashSet()
+    module_annotations = globals_dict.get('__annotations__', {})
+    for name in co_names:
+        annotation = module_annotations.get(name)
+        if annotation is None:
+            continue
+        if isinstance(annotation, str):
+            # from __future__ import annotations; ex: 'Final', 'typing.Final[int]'
+            is_final = annotation.split('[', 1)[0].strip() in ('Final', 'typing.Final')
+        else:
+            is_final = annotation is Final or get_origin(annotation) is Final
+        if is_final:
+            out.add(name)
+    return out
+
+
 def find_globals_dict_for_java_map(java_globals):
     for python_global_id in global_dict_to_instance:
         if global_dict_to_instance[python_global_id] == java_globals:
@@ -792,6 +825,8 @@ def get_function_bytecode_object(python_function):
     python_compiled_function.co_kwonlyargcount = python_function.__code__.co_kwonlyargcount
     python_compiled_function.closure = copy_closure(python_function.__closure__)
     python_compiled_function.globalsMap = copy_globals(python_function.__globals__, python_function.__code__.co_names)
+    python_compiled_function.finalGlobalNameSet = get_final_global_names(python_function.__globals__,
+                                                                         python_function.__code__.co_names)
     python_compiled_function.typeAnnotations = copy_type_annotations(python_function.__annotations__,
                                                                      get_default_args(python_function),
                                                                      inspect.getfullargspec(python_function).varargs,
@@ -1171,5 +1206,6 @@ def translate_python_class_to_java_class(python_class):
     out = PythonClassTranslator.translatePythonClass(python_compiled_class)
     type_to_compiled_java_class[python_class] = out
     PythonClassTranslator.setSelfStaticInstances(python_compiled_class, out.getJavaClass(), out,
-                                                 CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap)
+                                                 get_conversion_instance_map(
+                                                     CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap))
     return out
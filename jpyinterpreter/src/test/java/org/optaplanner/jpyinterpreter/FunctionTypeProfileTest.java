@@ -0,0 +1,116 @@
+package org.optaplanner.jpyinterpreter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class FunctionTypeProfileTest {
+    private static final int CALL_THRESHOLD = 10;
+
+    private static BiFunction translateProfiledAddFunction() {
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        int oldThreshold = InterpreterStartupOptions.typeSpecializationCallThreshold;
+        try {
+            InterpreterStartupOptions.typeSpecializationCallThreshold = CALL_THRESHOLD;
+            return PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction,
+                    BiFunction.class);
+        } finally {
+            InterpreterStartupOptions.typeSpecializationCallThreshold = oldThreshold;
+        }
+    }
+
+    private static FunctionTypeProfile getTypeProfile(Object function) throws ReflectiveOperationException {
+        return (FunctionTypeProfile) function.getClass()
+                .getField(PythonBytecodeToJavaBytecodeTranslator.TYPE_PROFILE_STATIC_FIELD_NAME)
+                .get(null);
+    }
+
+    private static Object getSpecializedFunction(Object function) throws ReflectiveOperationException {
+        return function.getClass()
+                .getField(PythonBytecodeToJavaBytecodeTranslator.SPECIALIZED_FUNCTION_INSTANCE_FIELD_NAME)
+                .get(function);
+    }
+
+    @Test
+    public void testSpecializeMonomorphicFunction() throws ReflectiveOperationException {
+        BiFunction javaFunction = translateProfiledAddFunction();
+        FunctionTypeProfile typeProfile = getTypeProfile(javaFunction);
+
+        for (int i = 0; i < CALL_THRESHOLD; i++) {
+            assertThat(typeProfile.isSpecialized()).isFalse();
+            assertThat(javaFunction.apply(PythonInteger.valueOf(i), PythonInteger.valueOf(1)))
+                    .isEqualTo(PythonInteger.valueOf(i + 1));
+        }
+
+        assertThat(typeProfile.isSpecialized()).isTrue();
+        assertThat(typeProfile.isProfiling()).isFalse();
+        assertThat(getSpecializedFunction(javaFunction)).isNotNull();
+        assertThat(javaFunction.apply(PythonInteger.valueOf(2), PythonInteger.valueOf(3)))
+                .isEqualTo(PythonInteger.valueOf(5));
+
+        // Guards fail, so the generic version is used
+        assertThat(javaFunction.apply(PythonFloat.valueOf(1.5), PythonFloat.valueOf(2.0)))
+                .isEqualTo(PythonFloat.valueOf(3.5));
+        assertThat(javaFunction.apply(1L, 2L)).isEqualTo(3L);
+        assertThat(typeProfile.isSpecialized()).isTrue();
+    }
+
+    @Test
+    public void testDoNotSpecializePolymorphicFunction() throws ReflectiveOperationException {
+        BiFunction javaFunction = translateProfiledAddFunction();
+        FunctionTypeProfile typeProfile = getTypeProfile(javaFunction);
+
+        for (int i = 0; i < CALL_THRESHOLD; i++) {
+            if (i % 2 == 0) {
+                assertThat(javaFunction.apply(PythonInteger.valueOf(i), PythonInteger.valueOf(1)))
+                        .isEqualTo(PythonInteger.valueOf(i + 1));
+            } else {
+                assertThat(javaFunction.apply(PythonFloat.valueOf(i), PythonFloat.valueOf(1)))
+                        .isEqualTo(PythonFloat.valueOf(i + 1));
+            }
+        }
+
+        assertThat(typeProfile.isSpecialized()).isFalse();
+        assertThat(typeProfile.isProfiling()).isFalse();
+        assertThat(getSpecializedFunction(javaFunction)).isNull();
+
+        // The abandoned profile no longer records calls, but the function still works
+        assertThat(javaFunction.apply(PythonInteger.valueOf(2), PythonInteger.valueOf(3)))
+                .isEqualTo(PythonInteger.valueOf(5));
+        assertThat(typeProfile.isProfiling()).isFalse();
+    }
+
+    @Test
+    public void testDeoptimizeAfterTooManyGuardFailures() throws ReflectiveOperationException {
+        BiFunction javaFunction = translateProfiledAddFunction();
+        FunctionTypeProfile typeProfile = getTypeProfile(javaFunction);
+
+        for (int i = 0; i < CALL_THRESHOLD; i++) {
+            javaFunction.apply(PythonInteger.valueOf(i), PythonInteger.valueOf(1));
+        }
+        assertThat(typeProfile.isSpecialized()).isTrue();
+
+        for (int i = 0; i < FunctionTypeProfile.MAX_DEOPTIMIZATIONS; i++) {
+            assertThat(javaFunction.apply(PythonFloat.valueOf(i), PythonFloat.valueOf(1)))
+                    .isEqualTo(PythonFloat.valueOf(i + 1));
+        }
+
+        assertThat(typeProfile.isSpecialized()).isFalse();
+        assertThat(typeProfile.isProfiling()).isFalse();
+        assertThat(getSpecializedFunction(javaFunction)).isNull();
+        assertThat(javaFunction.apply(PythonInteger.valueOf(2), PythonInteger.valueOf(3)))
+                .isEqualTo(PythonInteger.valueOf(5));
+    }
+}
@@ -0,0 +1,320 @@
+package org.optaplanner.jpyinterpreter.dag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.FunctionMetadata;
+import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
+import org.optaplanner.jpyinterpreter.PythonBytecodeInstruction;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.PythonVersion;
+import org.optaplanner.jpyinterpreter.StackMetadata;
+import org.optaplanner.jpyinterpreter.ValueSourceInfo;
+import org.optaplanner.jpyinterpreter.opcodes.Opcode;
+import org.optaplanner.jpyinterpreter.opcodes.OpcodeWithoutSource;
+import org.optaplanner.jpyinterpreter.types.PythonLikeType;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDate;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDateTime;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class FlowGraphOptimizerTest {
+
+    private static FunctionMetadata optimize(PythonCompiledFunction function, int locals) {
+        return optimize(function, FlowGraphTest.getInitialStackMetadata(locals, 0));
+    }
+
+    private static FunctionMetadata optimize(PythonCompiledFunction function, PythonLikeType... parameterTypes) {
+        StackMetadata initialStackMetadata = FlowGraphTest.getInitialStackMetadata(parameterTypes.length, 0);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            initialStackMetadata.localVariableValueSources.set(i,
+                    ValueSourceInfo.of(new OpcodeWithoutSource(), parameterTypes[i]));
+        }
+        return optimize(function, initialStackMetadata);
+    }
+
+    private static FunctionMetadata optimize(PythonCompiledFunction function, StackMetadata initialStackMetadata) {
+        FunctionMetadata functionMetadata = FlowGraphTest.getFunctionMetadata(function);
+        List<Opcode> opcodeList = new ArrayList<>(function.instructionList.size());
+        for (PythonBytecodeInstruction instruction : function.instructionList) {
+            opcodeList.add(Opcode.lookupOpcodeForInstruction(instruction, PythonVersion.PYTHON_3_10));
+        }
+        FlowGraph flowGraph = FlowGraph.createFlowGraph(functionMetadata, initialStackMetadata, opcodeList);
+        FlowGraphOptimizer.optimize(functionMetadata, flowGraph, opcodeList);
+        return functionMetadata;
+    }
+
+    public interface DateTimeDifferenceFunction {
+        PythonLikeObject apply(PythonDateTime a, PythonDateTime b);
+    }
+
+    public interface DateDifferenceFunction {
+        PythonLikeObject apply(PythonDate a, PythonDate b);
+    }
+
+    @Test
+    public void testFoldConstantChain() {
+        // return 60 * 60 * 24
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(60)
+                .loadConstant(60)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .loadConstant(24)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 0);
+        assertThat(functionMetadata.foldedConstantIndexMap.size()).isEqualTo(1);
+        assertThat(functionMetadata.foldedOperandOpcodeSet.size()).isEqualTo(4);
+
+        Supplier javaFunction = translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(javaFunction.get()).isEqualTo(PythonInteger.valueOf(86400));
+    }
+
+    @Test
+    public void testFoldModuleConstant() {
+        // SECONDS: Final = 30
+        // return SECONDS * 2 + x
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("x")
+                .usingGlobalsMap(Map.of("SECONDS", PythonInteger.valueOf(30)))
+                .usingFinalGlobals("SECONDS")
+                .loadGlobalVariable("SECONDS")
+                .loadConstant(2)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .loadParameter("x")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 1);
+        assertThat(functionMetadata.foldedConstantIndexMap.size()).isEqualTo(1);
+        assertThat(functionMetadata.foldedOperandOpcodeSet.size()).isEqualTo(2);
+
+        Function javaFunction = translatePythonBytecode(pythonCompiledFunction, Function.class);
+        assertThat(javaFunction.apply(PythonInteger.valueOf(1))).isEqualTo(PythonInteger.valueOf(61));
+        assertThat(javaFunction.apply(PythonFloat.valueOf(0.5))).isEqualTo(PythonFloat.valueOf(60.5));
+    }
+
+    @Test
+    public void testDoNotFoldVariableGlobal() {
+        // return seconds * 2
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .usingGlobalsMap(Map.of("seconds", PythonInteger.valueOf(30)))
+                .loadGlobalVariable("seconds")
+                .loadConstant(2)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 0);
+        assertThat(functionMetadata.foldedConstantIndexMap.isEmpty()).isTrue();
+        assertThat(functionMetadata.foldedOperandOpcodeSet.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testDoNotFoldGlobalThatIsNotFinal() {
+        // SECONDS = 30
+        // return SECONDS * 2
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .usingGlobalsMap(Map.of("SECONDS", PythonInteger.valueOf(30)))
+                .loadGlobalVariable("SECONDS")
+                .loadConstant(2)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 0);
+        assertThat(functionMetadata.foldedConstantIndexMap.isEmpty()).isTrue();
+        assertThat(functionMetadata.foldedOperandOpcodeSet.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testFoldIntoConstantsOfTranslation() {
+        // return 60 * 60
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(60)
+                .loadConstant(60)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+        List<PythonLikeObject> constantList = List.copyOf(pythonCompiledFunction.co_constants);
+
+        // Each translation folds into its own copy of the constants; a class translated before may be using them
+        Supplier javaFunction = translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        Supplier otherJavaFunction = translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(javaFunction.get()).isEqualTo(PythonInteger.valueOf(3600));
+        assertThat(otherJavaFunction.get()).isEqualTo(PythonInteger.valueOf(3600));
+        assertThat(pythonCompiledFunction.co_constants).isEqualTo(constantList);
+    }
+
+    @Test
+    public void testDoNotFoldRaisingOperation() {
+        // return 1 // 0
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .loadConstant(1)
+                .loadConstant(0)
+                .op(OpcodeIdentifier.BINARY_FLOOR_DIVIDE)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 0);
+        assertThat(functionMetadata.foldedConstantIndexMap.isEmpty()).isTrue();
+        assertThat(functionMetadata.foldedOperandOpcodeSet.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testEliminateDeadStore() {
+        // unused = x * 2; used = x + 1; return used
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("x")
+                .loadParameter("x")
+                .loadConstant(2)
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .storeVariable("unused")
+                .loadParameter("x")
+                .loadConstant(1)
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .storeVariable("used")
+                .loadVariable("used")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 3);
+        assertThat(functionMetadata.deadStoreOpcodeSet.size()).isEqualTo(1);
+        assertThat(functionMetadata.deadStoreOpcodeSet.iterator().next().getBytecodeIndex()).isEqualTo(3);
+
+        Function javaFunction = translatePythonBytecode(pythonCompiledFunction, Function.class);
+        assertThat(javaFunction.apply(PythonInteger.valueOf(1))).isEqualTo(PythonInteger.valueOf(2));
+    }
+
+    @Test
+    public void testFuseDateTimeDifferenceInSeconds() {
+        // return (a - b).total_seconds()
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .loadMethod("total_seconds")
+                .callMethod(0)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction,
+                PythonDateTime.DATE_TIME_TYPE, PythonDateTime.DATE_TIME_TYPE);
+        assertThat(functionMetadata.fusedMethodMap.size()).isEqualTo(1);
+        assertThat(functionMetadata.fusedOpcodeSet.size()).isEqualTo(2);
+
+        DateTimeDifferenceFunction javaFunction =
+                translatePythonBytecode(pythonCompiledFunction, DateTimeDifferenceFunction.class);
+        PythonDateTime start = new PythonDateTime(LocalDateTime.of(2000, 1, 1, 8, 0, 0));
+        PythonDateTime end = new PythonDateTime(LocalDateTime.of(2000, 1, 2, 10, 30, 0, 500_000_000));
+        assertThat(javaFunction.apply(end, start)).isEqualTo(PythonFloat.valueOf(95400.5));
+        assertThat(javaFunction.apply(start, end)).isEqualTo(PythonFloat.valueOf(-95400.5));
+        assertThat(javaFunction.apply(end, start)).isEqualTo(end.subtract_date_time(start).total_seconds());
+
+        PythonDateTime awareStart = new PythonDateTime(ZonedDateTime.of(2000, 1, 1, 8, 0, 0, 0, ZoneOffset.ofHours(1)));
+        PythonDateTime awareEnd = new PythonDateTime(ZonedDateTime.of(2000, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(javaFunction.apply(awareEnd, awareStart)).isEqualTo(PythonFloat.valueOf(3600.0));
+    }
+
+    @Test
+    public void testFuseDateTimeDifferenceInDays() {
+        // return (a - b).days
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .getAttribute("days")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction,
+                PythonDateTime.DATE_TIME_TYPE, PythonDateTime.DATE_TIME_TYPE);
+        assertThat(functionMetadata.fusedMethodMap.size()).isEqualTo(1);
+        assertThat(functionMetadata.fusedOpcodeSet.size()).isEqualTo(1);
+
+        DateTimeDifferenceFunction javaFunction =
+                translatePythonBytecode(pythonCompiledFunction, DateTimeDifferenceFunction.class);
+        PythonDateTime start = new PythonDateTime(LocalDateTime.of(2000, 1, 1, 8, 0, 0));
+        PythonDateTime end = new PythonDateTime(LocalDateTime.of(2000, 1, 3, 7, 0, 0));
+        assertThat(javaFunction.apply(end, start)).isEqualTo(PythonInteger.valueOf(1));
+        assertThat(javaFunction.apply(start, end)).isEqualTo(PythonInteger.valueOf(-2));
+    }
+
+    @Test
+    public void testFuseDateDifferenceInDays() {
+        // return (a - b).days
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .getAttribute("days")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction,
+                PythonDate.DATE_TYPE, PythonDate.DATE_TYPE);
+        assertThat(functionMetadata.fusedMethodMap.size()).isEqualTo(1);
+
+        DateDifferenceFunction javaFunction =
+                translatePythonBytecode(pythonCompiledFunction, DateDifferenceFunction.class);
+        assertThat(javaFunction.apply(new PythonDate(LocalDate.of(2000, 3, 1)), new PythonDate(LocalDate.of(2000, 2, 1))))
+                .isEqualTo(PythonInteger.valueOf(29));
+    }
+
+    @Test
+    public void testFusedDateDifferenceOfDateTimes() {
+        // def f(a: date, b: date): return (a - b).days
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .getAttribute("days")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction,
+                PythonDate.DATE_TYPE, PythonDate.DATE_TYPE);
+        assertThat(functionMetadata.fusedMethodMap.size()).isEqualTo(1);
+
+        // datetime is a subclass of date, so the hints allow datetimes, whose difference depends on their time
+        DateDifferenceFunction javaFunction =
+                translatePythonBytecode(pythonCompiledFunction, DateDifferenceFunction.class);
+        PythonDateTime start = new PythonDateTime(LocalDateTime.of(2000, 1, 1, 8, 0, 0));
+        PythonDateTime end = new PythonDateTime(LocalDateTime.of(2000, 1, 3, 7, 0, 0));
+        assertThat(javaFunction.apply(end, start)).isEqualTo(PythonInteger.valueOf(1));
+        assertThat(javaFunction.apply(start, end)).isEqualTo(PythonInteger.valueOf(-2));
+        assertThat(javaFunction.apply(new PythonDate(LocalDate.of(2000, 1, 3)), new PythonDate(LocalDate.of(2000, 1, 1))))
+                .isEqualTo(PythonInteger.valueOf(2));
+    }
+
+    @Test
+    public void testDoNotFuseUntypedDifference() {
+        // return (a - b).days
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .getAttribute("days")
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        FunctionMetadata functionMetadata = optimize(pythonCompiledFunction, 2);
+        assertThat(functionMetadata.fusedMethodMap.isEmpty()).isTrue();
+        assertThat(functionMetadata.fusedOpcodeSet.isEmpty()).isTrue();
+    }
+}
@@ -3,6 +3,7 @@ package org.optaplanner.jpyinterpreter.implementors;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode;
 
+import java.math.BigInteger;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 
@@ -11,6 +12,8 @@ import org.optaplanner.jpyinterpreter.CompareOp;
 import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
 import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -131,4 +134,58 @@ public class DunderOperatorImplementorTest {
         javaFunction = getMathFunction(OpcodeIdentifier.BINARY_FLOOR_DIVIDE);
         assertThat(javaFunction.apply(3L, 2L)).isEqualTo(1L);
     }
+
+    public interface FloatTriFunction {
+        PythonFloat apply(PythonFloat a, PythonFloat b, PythonFloat c);
+    }
+
+    public interface IntTriFunction {
+        PythonInteger apply(PythonInteger a, PythonInteger b, PythonInteger c);
+    }
+
+    private static PythonCompiledFunction createArithmeticExpressionFunction() {
+        // (a * b + c) - (c - a * b) * a
+        return PythonFunctionBuilder.newFunction("a", "b", "c")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .loadParameter("c")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .loadParameter("c")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .loadParameter("a")
+                .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                .op(OpcodeIdentifier.BINARY_SUBTRACT)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+    }
+
+    @Test
+    public void testUnboxedFloatArithmetic() {
+        FloatTriFunction javaFunction = translatePythonBytecode(createArithmeticExpressionFunction(), FloatTriFunction.class);
+
+        assertThat(javaFunction.apply(PythonFloat.valueOf(1.5), PythonFloat.valueOf(2.0), PythonFloat.valueOf(4.0)))
+                .isEqualTo(PythonFloat.valueOf(5.5));
+        assertThat(javaFunction.apply(PythonFloat.valueOf(0.0), PythonFloat.valueOf(2.0), PythonFloat.valueOf(4.0)))
+                .isEqualTo(PythonFloat.valueOf(4.0));
+    }
+
+    @Test
+    public void testUnboxedIntArithmetic() {
+        IntTriFunction javaFunction = translatePythonBytecode(createArithmeticExpressionFunction(), IntTriFunction.class);
+
+        assertThat(javaFunction.apply(PythonInteger.valueOf(3), PythonInteger.valueOf(5), PythonInteger.valueOf(7)))
+                .isEqualTo(PythonInteger.valueOf(46));
+
+        // Intermediate results do not fit in a long
+        BigInteger a = BigInteger.TEN.pow(12);
+        BigInteger b = BigInteger.TEN.pow(12);
+        BigInteger c = BigInteger.ONE;
+        BigInteger expected = a.multiply(b).add(c).subtract(c.subtract(a.multiply(b)).multiply(a));
+        assertThat(javaFunction.apply(PythonInteger.valueOf(a), PythonInteger.valueOf(b), PythonInteger.valueOf(c)))
+                .isEqualTo(PythonInteger.valueOf(expected));
+    }
 }
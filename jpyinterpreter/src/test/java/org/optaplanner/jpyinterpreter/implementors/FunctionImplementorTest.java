@@ -1,9 +1,11 @@
 package org.optaplanner.jpyinterpreter.implementors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecodeToClass;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -15,9 +17,14 @@ import org.optaplanner.jpyinterpreter.MyObject;
 import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
 import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
 import org.optaplanner.jpyinterpreter.types.PythonCode;
 import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
 import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
+import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.types.wrappers.JavaMethodReference;
 import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
 
@@ -321,4 +328,97 @@ public class FunctionImplementorTest {
 
         PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(dirFunction, Function.class);
     }
+
+    private static PythonCode createSquaresGeneratorExpression() {
+        // (x * x for x in .0)
+        PythonCompiledFunction generatorExpression = PythonFunctionBuilder.newFunction(".0")
+                .op(OpcodeIdentifier.GEN_START)
+                .loadParameter(".0")
+                .loop(loopBuilder -> {
+                    loopBuilder.storeVariable("x")
+                            .loadVariable("x")
+                            .loadVariable("x")
+                            .op(OpcodeIdentifier.BINARY_MULTIPLY)
+                            .op(OpcodeIdentifier.YIELD_VALUE)
+                            .op(OpcodeIdentifier.POP_TOP);
+                })
+                .loadConstant(null)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+        return new PythonCode(translatePythonBytecodeToClass(generatorExpression, PythonLikeFunction.class));
+    }
+
+    private static PythonCompiledFunction createReducerOfGeneratorExpression(String reducer,
+            Map<String, PythonLikeObject> globalsMap) {
+        return PythonFunctionBuilder.newFunction("values")
+                .usingGlobalsMap(globalsMap)
+                .loadGlobalVariable(reducer)
+                .loadConstant(createSquaresGeneratorExpression())
+                .loadConstant("function.<locals>.<genexpr>")
+                .op(OpcodeIdentifier.MAKE_FUNCTION, 0)
+                .loadParameter("values")
+                .op(OpcodeIdentifier.GET_ITER)
+                .callFunction(1)
+                .callFunction(1)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+    }
+
+    @Test
+    public void testReducerOfGeneratorExpression() {
+        PythonLikeList<PythonInteger> values = new PythonLikeList<>();
+        values.add(PythonInteger.valueOf(3));
+        values.add(PythonInteger.valueOf(1));
+        values.add(PythonInteger.valueOf(2));
+
+        PythonLikeList<PythonInteger> empty = new PythonLikeList<>();
+
+        Function sumFunction = translatePythonBytecode(createReducerOfGeneratorExpression("sum", new HashMap<>()),
+                Function.class);
+        assertThat(sumFunction.apply(values)).isEqualTo(PythonInteger.valueOf(14));
+        assertThat(sumFunction.apply(empty)).isEqualTo(PythonInteger.valueOf(0));
+
+        Function anyFunction = translatePythonBytecode(createReducerOfGeneratorExpression("any", new HashMap<>()),
+                Function.class);
+        assertThat(anyFunction.apply(values)).isEqualTo(PythonBoolean.TRUE);
+        assertThat(anyFunction.apply(empty)).isEqualTo(PythonBoolean.FALSE);
+
+        Function allFunction = translatePythonBytecode(createReducerOfGeneratorExpression("all", new HashMap<>()),
+                Function.class);
+        assertThat(allFunction.apply(values)).isEqualTo(PythonBoolean.TRUE);
+        assertThat(allFunction.apply(empty)).isEqualTo(PythonBoolean.TRUE);
+
+        Function maxFunction = translatePythonBytecode(createReducerOfGeneratorExpression("max", new HashMap<>()),
+                Function.class);
+        assertThat(maxFunction.apply(values)).isEqualTo(PythonInteger.valueOf(9));
+
+        Function minFunction = translatePythonBytecode(createReducerOfGeneratorExpression("min", new HashMap<>()),
+                Function.class);
+        assertThat(minFunction.apply(values)).isEqualTo(PythonInteger.valueOf(1));
+        assertThatCode(() -> minFunction.apply(empty)).isInstanceOf(ValueError.class);
+
+        Function sortedFunction = translatePythonBytecode(createReducerOfGeneratorExpression("sorted", new HashMap<>()),
+                Function.class);
+        PythonLikeList<PythonInteger> expectedSorted = new PythonLikeList<>();
+        expectedSorted.add(PythonInteger.valueOf(1));
+        expectedSorted.add(PythonInteger.valueOf(4));
+        expectedSorted.add(PythonInteger.valueOf(9));
+        assertThat(sortedFunction.apply(values)).isEqualTo(expectedSorted);
+    }
+
+    @Test
+    public void testReducerOfGeneratorExpressionShadowedAtRuntime() {
+        Map<String, PythonLikeObject> globalsMap = new HashMap<>();
+        Function sumFunction = translatePythonBytecode(createReducerOfGeneratorExpression("sum", globalsMap),
+                Function.class);
+
+        PythonLikeList<PythonInteger> values = new PythonLikeList<>();
+        values.add(PythonInteger.valueOf(3));
+
+        assertThat(sumFunction.apply(values)).isEqualTo(PythonInteger.valueOf(9));
+
+        globalsMap.put("sum", (PythonLikeFunction) (positionalArguments, keywordArguments, callerInstance) -> PythonString
+                .valueOf("shadowed"));
+        assertThat(sumFunction.apply(values)).isEqualTo(PythonString.valueOf("shadowed"));
+    }
 }
@@ -3,6 +3,8 @@ package org.optaplanner.jpyinterpreter.implementors;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode;
 
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -10,7 +12,10 @@ import org.optaplanner.jpyinterpreter.CompareOp;
 import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
 import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.types.datetime.PythonDateTime;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
 
 @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -92,4 +97,138 @@ public class JumpImplementorTest {
         assertThat(javaFunction.apply(1L)).isEqualTo(PythonBoolean.TRUE);
         assertThat(javaFunction.apply(10L)).isEqualTo(PythonBoolean.FALSE);
     }
+
+    public interface FloatCompareFunction {
+        PythonInteger apply(PythonFloat a, PythonFloat b);
+    }
+
+    public interface IntCompareFunction {
+        PythonInteger apply(PythonInteger a, PythonInteger b);
+    }
+
+    public interface DateTimeCompareFunction {
+        PythonInteger apply(PythonDateTime a, PythonDateTime b);
+    }
+
+    public interface IntSumCompareFunction {
+        PythonInteger apply(PythonInteger a, PythonInteger b, PythonInteger c);
+    }
+
+    private static PythonCompiledFunction createCompareBranchFunction(CompareOp compareOp, boolean branchIfTrue) {
+        // if a <op> b: return 1 else: return 0 (or the inverse for ifFalse)
+        PythonFunctionBuilder builder = PythonFunctionBuilder.newFunction("a", "b")
+                .loadParameter("a")
+                .loadParameter("b")
+                .compare(compareOp);
+        Consumer<PythonFunctionBuilder> block = ifBlock -> {
+            ifBlock.loadConstant(branchIfTrue ? 1 : 0);
+            ifBlock.op(OpcodeIdentifier.RETURN_VALUE);
+        };
+        if (branchIfTrue) {
+            builder.ifTrue(block);
+        } else {
+            builder.ifFalse(block);
+        }
+        return builder.loadConstant(branchIfTrue ? 0 : 1)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+    }
+
+    private static boolean expectedCompare(CompareOp compareOp, double a, double b) {
+        switch (compareOp) {
+            case LESS_THAN:
+                return a < b;
+            case LESS_THAN_OR_EQUALS:
+                return a <= b;
+            case EQUALS:
+                return a == b;
+            case NOT_EQUALS:
+                return a != b;
+            case GREATER_THAN:
+                return a > b;
+            case GREATER_THAN_OR_EQUALS:
+                return a >= b;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    @Test
+    public void testUnboxedFloatCompareBranch() {
+        double[] valueList = { 1.0, 2.0, 3.0, Double.NaN };
+        for (CompareOp compareOp : CompareOp.values()) {
+            for (boolean branchIfTrue : new boolean[] { true, false }) {
+                FloatCompareFunction javaFunction = translatePythonBytecode(
+                        createCompareBranchFunction(compareOp, branchIfTrue), FloatCompareFunction.class);
+                for (double a : valueList) {
+                    for (double b : valueList) {
+                        assertThat(javaFunction.apply(PythonFloat.valueOf(a), PythonFloat.valueOf(b)))
+                                .as(a + " " + compareOp + " " + b)
+                                .isEqualTo(PythonInteger.valueOf(expectedCompare(compareOp, a, b) ? 1 : 0));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnboxedDateTimeCompareBranch() {
+        int[] hourList = { 1, 2, 3 };
+        for (CompareOp compareOp : CompareOp.values()) {
+            for (boolean branchIfTrue : new boolean[] { true, false }) {
+                DateTimeCompareFunction javaFunction = translatePythonBytecode(
+                        createCompareBranchFunction(compareOp, branchIfTrue), DateTimeCompareFunction.class);
+                for (int a : hourList) {
+                    for (int b : hourList) {
+                        assertThat(javaFunction.apply(new PythonDateTime(LocalDateTime.of(2000, 1, 1, a, 0)),
+                                new PythonDateTime(LocalDateTime.of(2000, 1, 1, b, 0))))
+                                        .as(a + " " + compareOp + " " + b)
+                                        .isEqualTo(PythonInteger.valueOf(expectedCompare(compareOp, a, b) ? 1 : 0));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnboxedIntCompareBranch() {
+        long[] valueList = { -1, 2, 3 };
+        for (CompareOp compareOp : CompareOp.values()) {
+            for (boolean branchIfTrue : new boolean[] { true, false }) {
+                IntCompareFunction javaFunction = translatePythonBytecode(
+                        createCompareBranchFunction(compareOp, branchIfTrue), IntCompareFunction.class);
+                for (long a : valueList) {
+                    for (long b : valueList) {
+                        assertThat(javaFunction.apply(PythonInteger.valueOf(a), PythonInteger.valueOf(b)))
+                                .as(a + " " + compareOp + " " + b)
+                                .isEqualTo(PythonInteger.valueOf(expectedCompare(compareOp, a, b) ? 1 : 0));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnboxedArithmeticCompareBranch() {
+        // if a + b < c: return 1 else: return 0
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b", "c")
+                .loadParameter("a")
+                .loadParameter("b")
+                .op(OpcodeIdentifier.BINARY_ADD)
+                .loadParameter("c")
+                .compare(CompareOp.LESS_THAN)
+                .ifTrue(block -> {
+                    block.loadConstant(1);
+                    block.op(OpcodeIdentifier.RETURN_VALUE);
+                })
+                .loadConstant(0)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        IntSumCompareFunction javaFunction = translatePythonBytecode(pythonCompiledFunction, IntSumCompareFunction.class);
+        assertThat(javaFunction.apply(PythonInteger.valueOf(1), PythonInteger.valueOf(2), PythonInteger.valueOf(4)))
+                .isEqualTo(PythonInteger.valueOf(1));
+        assertThat(javaFunction.apply(PythonInteger.valueOf(2), PythonInteger.valueOf(2), PythonInteger.valueOf(4)))
+                .isEqualTo(PythonInteger.valueOf(0));
+    }
 }
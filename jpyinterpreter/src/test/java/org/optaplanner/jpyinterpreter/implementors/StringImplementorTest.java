@@ -37,6 +37,56 @@ public class StringImplementorTest {
         assertThat(javaFunction.get()).isEqualTo("My name is awesome!");
     }
 
+    @Test
+    public void testBuildEmptyString() {
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction()
+                .op(OpcodeIdentifier.BUILD_STRING, 0)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(javaFunction.get()).isEqualTo("");
+    }
+
+    @Test
+    public void testBuildFormattedString() {
+        // f"{name} costs {price:.2f}"
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("name", "price")
+                .loadParameter("name")
+                .op(OpcodeIdentifier.FORMAT_VALUE, 0)
+                .loadConstant(" costs ")
+                .loadParameter("price")
+                .loadConstant(".2f")
+                .op(OpcodeIdentifier.FORMAT_VALUE, 4)
+                .op(OpcodeIdentifier.BUILD_STRING, 3)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        BiFunction javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, BiFunction.class);
+        assertThat(javaFunction.apply("Apple", 1.5)).isEqualTo("Apple costs 1.50");
+        assertThat(javaFunction.apply(10, 2.0)).isEqualTo("10 costs 2.00");
+    }
+
+    @Test
+    public void testBuildStringWithManyItems() {
+        PythonFunctionBuilder builder = PythonFunctionBuilder.newFunction();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            builder.loadConstant(Integer.toString(i));
+            expected.append(i);
+        }
+        PythonCompiledFunction pythonCompiledFunction = builder
+                .op(OpcodeIdentifier.BUILD_STRING, 250)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Supplier javaFunction =
+                PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction, Supplier.class);
+        assertThat(javaFunction.get()).isEqualTo(expected.toString());
+    }
+
     @Test
     public void testFormat() {
         PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("item", "format")
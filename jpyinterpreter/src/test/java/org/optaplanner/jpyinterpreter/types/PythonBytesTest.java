@@ -0,0 +1,59 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class PythonBytesTest {
+    private static PythonBytes bytes(String value) {
+        return new PythonBytes(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static PythonByteArray byteArray(String value) {
+        return new PythonByteArray(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testFindAndCount() {
+        PythonBytes value = bytes("the quick brown fox jumps over the lazy dog");
+        assertThat(value.find(bytes("the"))).isEqualTo(PythonInteger.ZERO);
+        assertThat(value.rightFind(bytes("the"))).isEqualTo(PythonInteger.valueOf(31));
+        assertThat(value.find(bytes("dog"))).isEqualTo(PythonInteger.valueOf(40));
+        assertThat(value.find(bytes("cat"))).isEqualTo(PythonInteger.valueOf(-1));
+        assertThat(value.find(PythonInteger.valueOf('z'))).isEqualTo(PythonInteger.valueOf(37));
+        assertThat(value.count(bytes("o"))).isEqualTo(PythonInteger.valueOf(4));
+        assertThat(value.containsSubsequence(bytes("lazy"))).isEqualTo(PythonBoolean.TRUE);
+        assertThat(value.containsSubsequence(bytes("crazy"))).isEqualTo(PythonBoolean.FALSE);
+        assertThatCode(() -> value.index(bytes("cat"))).isInstanceOf(ValueError.class);
+    }
+
+    @Test
+    public void testReplace() {
+        assertThat(bytes("aaa").replace(bytes("a"), bytes("b"))).isEqualTo(bytes("bbb"));
+        assertThat(bytes("abcabc").replace(bytes("bc"), bytes("x"))).isEqualTo(bytes("axax"));
+        assertThat(bytes("abcabc").replace(bytes("bc"), bytes("x"), BigInteger.ONE)).isEqualTo(bytes("axabc"));
+        assertThat(bytes("ab").replace(bytes(""), bytes("-"))).isEqualTo(bytes("-a-b-"));
+        assertThat(byteArray("aaa").replace(bytes("aa"), bytes("b"))).isEqualTo(byteArray("ba"));
+    }
+
+    @Test
+    public void testSplit() {
+        assertThat(bytes("a,b,,c,").split(bytes(","))).isEqualTo(
+                List.of(bytes("a"), bytes("b"), bytes(""), bytes("c"), bytes("")));
+        assertThat(bytes("a::b::c").split(bytes("::"), PythonInteger.ONE)).isEqualTo(
+                List.of(bytes("a"), bytes("b::c")));
+        assertThat(bytes("a,b").split(bytes(","), PythonInteger.valueOf(-2))).isEqualTo(
+                List.of(bytes("a"), bytes("b")));
+        assertThat(byteArray("a,b").split(byteArray(","))).isEqualTo(
+                List.of(byteArray("a"), byteArray("b")));
+        assertThatCode(() -> bytes("ab").split(bytes(""))).isInstanceOf(ValueError.class);
+    }
+}
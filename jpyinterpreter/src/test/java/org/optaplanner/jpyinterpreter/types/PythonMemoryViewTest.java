@@ -0,0 +1,118 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
+import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.types.collections.PythonLikeTuple;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.errors.lookup.IndexError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class PythonMemoryViewTest {
+    private static PythonSlice slice(int start, int stop) {
+        return new PythonSlice(PythonInteger.valueOf(start), PythonInteger.valueOf(stop), PythonNone.INSTANCE);
+    }
+
+    @Test
+    public void testIndexAndSlice() {
+        PythonMemoryView view = PythonMemoryView.of(new PythonBytes(new byte[] { 1, 2, 3, (byte) 200, 5 }));
+
+        assertThat(view.getLength()).isEqualTo(PythonInteger.valueOf(5));
+        assertThat(view.getByte(PythonInteger.valueOf(3))).isEqualTo(PythonInteger.valueOf(200));
+        assertThat(view.getByte(PythonInteger.valueOf(-1))).isEqualTo(PythonInteger.valueOf(5));
+        assertThatCode(() -> view.getByte(PythonInteger.valueOf(5))).isInstanceOf(IndexError.class);
+
+        PythonMemoryView subview = view.getSlice(slice(1, 4));
+        assertThat(subview.getLength()).isEqualTo(PythonInteger.valueOf(3));
+        assertThat(subview.getByte(PythonInteger.valueOf(0))).isEqualTo(PythonInteger.valueOf(2));
+        assertThat(subview.toBytes()).isEqualTo(new PythonBytes(new byte[] { 2, 3, (byte) 200 }));
+        assertThat(subview.getSlice(slice(1, 2)).toList()).isEqualTo(List.of(PythonInteger.valueOf(3)));
+        assertThat(subview.hex()).isEqualTo(PythonString.valueOf("0203c8"));
+
+        PythonMemoryView reversed = view.getSlice(new PythonSlice(PythonNone.INSTANCE, PythonNone.INSTANCE,
+                PythonInteger.valueOf(-2)));
+        assertThat(reversed.toBytes()).isEqualTo(new PythonBytes(new byte[] { 5, 3, 1 }));
+    }
+
+    @Test
+    public void testBytesViewIsReadOnly() {
+        PythonMemoryView view = PythonMemoryView.of(new PythonBytes(new byte[] { 1, 2, 3 }));
+        assertThat(view.isReadOnly()).isTrue();
+        assertThat(view.__getAttributeOrNull("readonly")).isEqualTo(PythonBoolean.TRUE);
+        assertThatCode(() -> view.setByte(PythonInteger.ZERO, PythonInteger.ONE)).isInstanceOf(TypeError.class);
+        assertThat(view.$method$__hash__()).isEqualTo(view.getSlice(slice(0, 3)).$method$__hash__());
+        assertThat(view.$method$__hash__()).isEqualTo(new PythonBytes(new byte[] { 1, 2, 3 }).$method$__hash__());
+    }
+
+    @Test
+    public void testAttributes() {
+        PythonBytes bytes = new PythonBytes(new byte[] { 1, 2, 3 });
+        PythonMemoryView view = PythonMemoryView.of(bytes);
+        assertThat(view.__getAttributeOrNull("obj")).isSameAs(bytes);
+        assertThat(view.__getAttributeOrNull("nbytes")).isEqualTo(PythonInteger.valueOf(3));
+        assertThat(view.__getAttributeOrNull("itemsize")).isEqualTo(PythonInteger.ONE);
+        assertThat(view.__getAttributeOrNull("ndim")).isEqualTo(PythonInteger.ONE);
+        assertThat(view.__getAttributeOrNull("format")).isEqualTo(PythonString.valueOf("B"));
+        assertThat(view.__getAttributeOrNull("shape"))
+                .isEqualTo(PythonLikeTuple.fromList(List.of(PythonInteger.valueOf(3))));
+        assertThat(view.__getAttributeOrNull("strides")).isEqualTo(PythonLikeTuple.fromList(List.of(PythonInteger.ONE)));
+    }
+
+    @Test
+    public void testByteArrayViewSharesMemory() {
+        PythonByteArray byteArray = new PythonByteArray(new byte[] { 1, 2, 3, 4 });
+        PythonMemoryView view = PythonMemoryView.of(byteArray);
+        assertThat(view.isReadOnly()).isFalse();
+
+        PythonMemoryView subview = view.getSlice(slice(2, 4));
+        subview.setByte(PythonInteger.ZERO, PythonInteger.valueOf(30));
+        subview.setSlice(slice(1, 2), new PythonBytes(new byte[] { 40 }));
+        assertThat(byteArray).isEqualTo(new PythonByteArray(new byte[] { 1, 2, 30, 40 }));
+
+        byteArray.setByte(PythonInteger.ZERO, PythonInteger.valueOf(10));
+        assertThat(view.getByte(PythonInteger.ZERO)).isEqualTo(PythonInteger.valueOf(10));
+        assertThat(view.toReadOnly().isReadOnly()).isTrue();
+    }
+
+    @Test
+    public void testEquals() {
+        PythonMemoryView view = PythonMemoryView.of(new PythonBytes(new byte[] { 0, 1, 2, 3 }));
+        assertThat(view.getSlice(slice(1, 3))).isEqualTo(PythonMemoryView.of(new PythonBytes(new byte[] { 1, 2 })));
+        assertThat(view.getSlice(slice(1, 3)).pythonEquals(new PythonBytes(new byte[] { 1, 2 })))
+                .isEqualTo(PythonBoolean.TRUE);
+        assertThat(view.pythonEquals(new PythonBytes(new byte[] { 1, 2 }))).isEqualTo(PythonBoolean.FALSE);
+    }
+
+    @Test
+    public void testMemoryViewBuiltin() {
+        // return bytes(memoryview(data)[1:3])
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("data")
+                .loadGlobalVariable("bytes")
+                .loadGlobalVariable("memoryview")
+                .loadParameter("data")
+                .callFunction(1)
+                .loadConstant(1)
+                .loadConstant(3)
+                .op(OpcodeIdentifier.BUILD_SLICE, 2)
+                .op(OpcodeIdentifier.BINARY_SUBSCR)
+                .callFunction(1)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Function javaFunction = PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction,
+                Function.class);
+        assertThat(javaFunction.apply(new PythonBytes(new byte[] { 9, 8, 7, 6 })))
+                .isEqualTo(new PythonBytes(new byte[] { 8, 7 }));
+        assertThatCode(() -> javaFunction.apply(PythonInteger.ONE)).isInstanceOf(TypeError.class);
+    }
+}
@@ -0,0 +1,142 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
+import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.types.collections.PythonIterator;
+import org.optaplanner.jpyinterpreter.types.errors.ValueError;
+import org.optaplanner.jpyinterpreter.types.errors.lookup.IndexError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class PythonRangeTest {
+    private static PythonRange range(long start, long stop, long step) {
+        return new PythonRange(PythonInteger.valueOf(start), PythonInteger.valueOf(stop), PythonInteger.valueOf(step));
+    }
+
+    private static List<PythonInteger> toList(PythonIterator<?> iterator) {
+        List<PythonInteger> out = new ArrayList<>();
+        while (iterator.hasNext()) {
+            out.add((PythonInteger) iterator.next());
+        }
+        return out;
+    }
+
+    private static List<PythonInteger> expected(long... values) {
+        List<PythonInteger> out = new ArrayList<>();
+        for (long value : values) {
+            out.add(PythonInteger.valueOf(value));
+        }
+        return out;
+    }
+
+    @Test
+    public void testLength() {
+        assertThat(range(0, 10, 1).getLength()).isEqualTo(PythonInteger.valueOf(10));
+        assertThat(range(0, 10, 3).getLength()).isEqualTo(PythonInteger.valueOf(4));
+        assertThat(range(10, 0, -3).getLength()).isEqualTo(PythonInteger.valueOf(4));
+        assertThat(range(10, 0, 1).getLength()).isEqualTo(PythonInteger.ZERO);
+        assertThat(range(0, 10, -1).getLength()).isEqualTo(PythonInteger.ZERO);
+        assertThat(new PythonRange(PythonInteger.ZERO, PythonInteger.valueOf(BigInteger.ONE.shiftLeft(70)),
+                PythonInteger.valueOf(BigInteger.ONE.shiftLeft(68))).getLength()).isEqualTo(PythonInteger.valueOf(4));
+        assertThatCode(() -> range(0, 10, 0)).isInstanceOf(ValueError.class);
+    }
+
+    @Test
+    public void testContains() {
+        PythonRange range = range(2, 11, 3);
+        assertThat(range.contains(PythonInteger.valueOf(2))).isTrue();
+        assertThat(range.contains(PythonInteger.valueOf(8))).isTrue();
+        assertThat(range.contains(PythonInteger.valueOf(11))).isFalse();
+        assertThat(range.contains(PythonInteger.valueOf(14))).isFalse();
+        assertThat(range.contains(PythonInteger.valueOf(-1))).isFalse();
+        assertThat(range.contains(PythonInteger.valueOf(3))).isFalse();
+        assertThat(range(0, 5, 1).contains(PythonInteger.valueOf(5))).isFalse();
+        assertThat(range(5, 0, -1).contains(PythonInteger.valueOf(0))).isFalse();
+        assertThat(range(5, 0, -1).contains(PythonInteger.valueOf(5))).isTrue();
+        assertThat(range(0, 5, 1).contains(PythonInteger.valueOf(BigInteger.ONE.shiftLeft(64)))).isFalse();
+        assertThat(range(0, 5, 1).contains(PythonString.valueOf("1"))).isFalse();
+    }
+
+    @Test
+    public void testGetItem() {
+        PythonRange range = range(2, 11, 3);
+        assertThat(range.getItem(PythonInteger.ZERO)).isEqualTo(PythonInteger.valueOf(2));
+        assertThat(range.getItem(PythonInteger.valueOf(2))).isEqualTo(PythonInteger.valueOf(8));
+        assertThat(range.getItem(PythonInteger.valueOf(-1))).isEqualTo(PythonInteger.valueOf(8));
+        assertThat(range.indexOf(PythonInteger.valueOf(5))).isEqualTo(1);
+        assertThatCode(() -> range.getItem(PythonInteger.valueOf(3))).isInstanceOf(IndexError.class);
+        assertThatCode(() -> range.getItem(PythonInteger.valueOf(-4))).isInstanceOf(IndexError.class);
+        assertThatCode(() -> range.getItem(PythonInteger.valueOf(Long.MIN_VALUE))).isInstanceOf(IndexError.class);
+        assertThatCode(() -> range.getItem(PythonInteger.valueOf(BigInteger.ONE.shiftLeft(64))))
+                .isInstanceOf(IndexError.class);
+
+        BigInteger big = BigInteger.ONE.shiftLeft(64);
+        PythonRange bigRange = new PythonRange(PythonInteger.valueOf(big), PythonInteger.valueOf(big.add(BigInteger.TEN)),
+                PythonInteger.valueOf(4));
+        assertThat(bigRange.getItem(PythonInteger.valueOf(-1)))
+                .isEqualTo(PythonInteger.valueOf(big.add(BigInteger.valueOf(8))));
+        assertThatCode(() -> bigRange.getItem(PythonInteger.valueOf(3))).isInstanceOf(IndexError.class);
+    }
+
+    @Test
+    public void testIteration() {
+        assertThat(toList(range(2, 11, 3).getPythonIterator())).isEqualTo(expected(2, 5, 8));
+        assertThat(toList(range(2, 11, 3).getReversedIterator())).isEqualTo(expected(8, 5, 2));
+        assertThat(toList(range(3, 0, -1).getPythonIterator())).isEqualTo(expected(3, 2, 1));
+        assertThat(toList(range(3, 0, 1).getReversedIterator())).isEqualTo(expected());
+
+        BigInteger big = BigInteger.ONE.shiftLeft(64);
+        PythonRange bigRange = new PythonRange(PythonInteger.valueOf(big), PythonInteger.valueOf(big.add(BigInteger.TEN)),
+                PythonInteger.valueOf(4));
+        assertThat(toList(bigRange.getReversedIterator())).isEqualTo(List.of(
+                PythonInteger.valueOf(big.add(BigInteger.valueOf(8))),
+                PythonInteger.valueOf(big.add(BigInteger.valueOf(4))),
+                PythonInteger.valueOf(big)));
+    }
+
+    @Test
+    public void testForLoop() {
+        // return ("sum", sum(x for x in range(a, b)))
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("a", "b")
+                .loadConstant(0)
+                .storeVariable("sum")
+                .loadConstant("sum")
+                .loadGlobalVariable("range")
+                .loadParameter("a")
+                .loadParameter("b")
+                .callFunction(2)
+                .op(OpcodeIdentifier.GET_ITER)
+                .loop(block -> {
+                    block.loadVariable("sum");
+                    block.op(OpcodeIdentifier.BINARY_ADD);
+                    block.storeVariable("sum");
+                })
+                .loadVariable("sum")
+                .tuple(2)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        BiFunction javaFunction = PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction,
+                BiFunction.class);
+        assertThat(javaFunction.apply(PythonInteger.valueOf(1), PythonInteger.valueOf(5)))
+                .isEqualTo(List.of(PythonString.valueOf("sum"), PythonInteger.valueOf(10)));
+        assertThat(javaFunction.apply(PythonInteger.valueOf(5), PythonInteger.valueOf(1)))
+                .isEqualTo(List.of(PythonString.valueOf("sum"), PythonInteger.ZERO));
+
+        BigInteger big = BigInteger.ONE.shiftLeft(64);
+        assertThat(javaFunction.apply(PythonInteger.valueOf(big), PythonInteger.valueOf(big.add(BigInteger.TWO))))
+                .isEqualTo(List.of(PythonString.valueOf("sum"),
+                        PythonInteger.valueOf(big.add(big).add(BigInteger.ONE))));
+    }
+}
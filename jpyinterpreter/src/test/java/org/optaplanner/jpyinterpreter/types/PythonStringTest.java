@@ -0,0 +1,84 @@
+package org.optaplanner.jpyinterpreter.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
+import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.PythonCompiledFunction;
+import org.optaplanner.jpyinterpreter.types.errors.AttributeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.util.PythonFunctionBuilder;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class PythonStringTest {
+    @Test
+    public void testLatin1Content() {
+        assertThat(PythonString.valueOf("").isLatin1()).isTrue();
+        assertThat(PythonString.valueOf("café").isLatin1()).isTrue();
+        assertThat(PythonString.valueOf("€10").isLatin1()).isFalse();
+
+        assertThat(PythonString.valueOf("café").isAscii()).isEqualTo(PythonBoolean.FALSE);
+        assertThat(PythonString.valueOf("cafe").isAscii()).isEqualTo(PythonBoolean.TRUE);
+        assertThat(PythonString.valueOf("€10").isAscii()).isEqualTo(PythonBoolean.FALSE);
+    }
+
+    @Test
+    public void testSingleCharactersAreShared() {
+        PythonString string = PythonString.valueOf("ab€");
+        assertThat(string.getCharAt(PythonInteger.valueOf(0))).isSameAs(PythonString.valueOf('a'));
+        assertThat(string.getCharAt(PythonInteger.valueOf(-3))).isSameAs(PythonString.valueOf('a'));
+        assertThat(string.getCharAt(PythonInteger.valueOf(2))).isEqualTo(PythonString.valueOf("€"));
+        assertThat(string.getIterator().next()).isSameAs(PythonString.valueOf('a'));
+    }
+
+    @Test
+    public void testHash() {
+        PythonString string = PythonString.valueOf("skill");
+        assertThat(string.$method$__hash__()).isSameAs(string.$method$__hash__());
+        assertThat(string.$method$__hash__()).isEqualTo(PythonString.valueOf("skill").$method$__hash__());
+    }
+
+    @Test
+    public void testIntern() {
+        assertThat(PythonString.intern("name")).isSameAs(PythonString.intern("name"));
+        assertThat(PythonString.intern("name")).isEqualTo(PythonString.valueOf("name"));
+    }
+
+    @Test
+    public void testConstantsAreInterned() {
+        PythonCompiledFunction pythonCompiledFunction = PythonFunctionBuilder.newFunction("value")
+                .loadConstant("Kitchen")
+                .loadParameter("value")
+                .tuple(2)
+                .op(OpcodeIdentifier.RETURN_VALUE)
+                .build();
+
+        Function javaFunction = PythonBytecodeToJavaBytecodeTranslator.translatePythonBytecode(pythonCompiledFunction,
+                Function.class);
+        Object first = ((List<?>) javaFunction.apply(PythonInteger.ONE)).get(0);
+        assertThat(first).isSameAs(PythonString.intern("Kitchen"));
+    }
+
+    @Test
+    public void testCount() {
+        PythonString string = PythonString.valueOf("banana");
+        assertThat(string.count(PythonString.valueOf("an"))).isEqualTo(PythonInteger.valueOf(2));
+        assertThat(string.count(PythonString.valueOf("ana"))).isEqualTo(PythonInteger.ONE);
+        assertThat(string.count(PythonString.valueOf("an"), PythonInteger.valueOf(1), PythonInteger.valueOf(4)))
+                .isEqualTo(PythonInteger.ONE);
+        assertThat(string.count(PythonString.valueOf(""))).isEqualTo(PythonInteger.valueOf(7));
+        assertThat(string.count(PythonString.valueOf("a."))).isEqualTo(PythonInteger.ZERO);
+    }
+
+    @Test
+    public void testCannotSetAttribute() {
+        assertThatCode(() -> PythonString.valueOf("a").__setAttribute("x", PythonInteger.ONE))
+                .isInstanceOf(AttributeError.class);
+    }
+}
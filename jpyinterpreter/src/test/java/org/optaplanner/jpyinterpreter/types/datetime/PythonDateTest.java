@@ -1,11 +1,14 @@
 package org.optaplanner.jpyinterpreter.types.datetime;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
 
 public class PythonDateTest {
     @Test
@@ -52,4 +55,16 @@ public class PythonDateTest {
         assertThat(a.equals(b)).isFalse();
         assertThat(a.equals(a)).isTrue();
     }
+
+    @Test
+    public void testCompareDateToDateTime() {
+        PythonDate date = new PythonDate(LocalDate.of(2000, 1, 1));
+        PythonDateTime dateTime = new PythonDateTime(LocalDateTime.of(2000, 1, 3, 0, 0, 0));
+        assertThatCode(() -> date.compareTo(dateTime)).isInstanceOf(TypeError.class);
+        assertThatCode(() -> PythonDate.compare(date, dateTime)).isInstanceOf(TypeError.class);
+        assertThatCode(() -> PythonDate.compare(dateTime, date)).isInstanceOf(TypeError.class);
+        assertThat(PythonDate.compare(date, new PythonDate(LocalDate.of(2000, 1, 3)))).isLessThan(0);
+        assertThat(PythonDate.compare(dateTime, new PythonDateTime(LocalDateTime.of(2000, 1, 1, 0, 0, 0))))
+                .isGreaterThan(0);
+    }
 }
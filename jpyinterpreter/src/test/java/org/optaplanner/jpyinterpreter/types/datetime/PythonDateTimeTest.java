@@ -1,11 +1,17 @@
 package org.optaplanner.jpyinterpreter.types.datetime;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 
 import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 
 public class PythonDateTimeTest {
     @Test
@@ -59,4 +65,38 @@ public class PythonDateTimeTest {
         assertThat(a.equals(b)).isFalse();
         assertThat(a.equals(a)).isTrue();
     }
+
+    @Test
+    public void testFieldsBeforeEpoch() {
+        PythonDateTime pythonDateTime = new PythonDateTime(LocalDateTime.of(1969, 12, 31, 23, 59, 58, 250_000_000));
+        assertThat(pythonDateTime.__getAttributeOrNull("year")).isEqualTo(PythonInteger.valueOf(1969));
+        assertThat(pythonDateTime.__getAttributeOrNull("month")).isEqualTo(PythonInteger.valueOf(12));
+        assertThat(pythonDateTime.__getAttributeOrNull("day")).isEqualTo(PythonInteger.valueOf(31));
+        assertThat(pythonDateTime.__getAttributeOrNull("hour")).isEqualTo(PythonInteger.valueOf(23));
+        assertThat(pythonDateTime.__getAttributeOrNull("minute")).isEqualTo(PythonInteger.valueOf(59));
+        assertThat(pythonDateTime.__getAttributeOrNull("second")).isEqualTo(PythonInteger.valueOf(58));
+        assertThat(pythonDateTime.__getAttributeOrNull("microsecond")).isEqualTo(PythonInteger.valueOf(250_000));
+        assertThat(pythonDateTime.weekday()).isEqualTo(PythonInteger.valueOf(2));
+    }
+
+    @Test
+    public void testCompareAwareDateTime() {
+        PythonDateTime a = new PythonDateTime(ZonedDateTime.of(2000, 1, 1, 12, 0, 0, 0, ZoneOffset.ofHours(2)));
+        PythonDateTime b = new PythonDateTime(ZonedDateTime.of(2000, 1, 1, 11, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(a.compareTo(b)).isLessThan(0);
+        assertThat(b.subtract_date_time(a)).isEqualTo(new PythonTimeDelta(Duration.ofHours(1L)));
+
+        PythonDateTime naive = new PythonDateTime(LocalDateTime.of(2000, 1, 1, 12, 0, 0));
+        assertThatCode(() -> a.compareTo(naive)).isInstanceOf(TypeError.class);
+        assertThatCode(() -> a.subtract_date_time(naive)).isInstanceOf(TypeError.class);
+    }
+
+    @Test
+    public void testDifferenceOfSubclass() {
+        PythonDateTime a = new PythonDateTime(LocalDateTime.of(2000, 1, 1, 0, 0, 0)) {
+        };
+        PythonDateTime b = new PythonDateTime(LocalDateTime.of(2000, 1, 2, 2, 0, 0));
+        assertThat(PythonDateTime.differenceInSeconds(b, a)).isEqualTo(PythonFloat.valueOf(93600.0));
+        assertThat(PythonDateTime.differenceInDays(b, a)).isEqualTo(PythonInteger.valueOf(1));
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.optaplanner.jpyinterpreter.CompareOp;
 import org.optaplanner.jpyinterpreter.OpcodeIdentifier;
 import org.optaplanner.jpyinterpreter.PythonBytecodeToJavaBytecodeTranslator;
+import org.optaplanner.jpyinterpreter.types.PythonString;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
 import org.optaplanner.jpyinterpreter.types.numeric.PythonNumber;
@@ -204,4 +205,14 @@ public class PythonTimeDeltaTest {
         assertThat(lessThan.test(new PythonTimeDelta(Duration.ofDays(1)), new PythonTimeDelta(Duration.ofDays(1)))).isTrue();
         assertThat(lessThan.test(new PythonTimeDelta(Duration.ofDays(1)), new PythonTimeDelta(Duration.ofDays(2)))).isFalse();
     }
+
+    @Test
+    public void testNormalizedFields() {
+        PythonTimeDelta timeDelta = new PythonTimeDelta(Duration.ofDays(-1L).minusSeconds(1L).plusNanos(500_000));
+        assertThat(timeDelta.__getAttributeOrNull("days")).isEqualTo(PythonInteger.valueOf(-2));
+        assertThat(timeDelta.__getAttributeOrNull("seconds")).isEqualTo(PythonInteger.valueOf(86399));
+        assertThat(timeDelta.__getAttributeOrNull("microseconds")).isEqualTo(PythonInteger.valueOf(500));
+        assertThat(timeDelta.toPythonRepr()).isEqualTo(PythonString.valueOf(
+                "datetime.timedelta(days=-2, seconds=86399, microseconds=500)"));
+    }
 }
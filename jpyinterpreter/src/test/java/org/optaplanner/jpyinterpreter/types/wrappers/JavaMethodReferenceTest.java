@@ -0,0 +1,102 @@
+package org.optaplanner.jpyinterpreter.types.wrappers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.PythonNone;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.errors.TypeError;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonBoolean;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonFloat;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class JavaMethodReferenceTest {
+    public static class Counter {
+        private long total;
+
+        public void add(long amount) {
+            total += amount;
+        }
+
+        public String describe(String prefix, boolean withTotal) {
+            return withTotal ? prefix + total : prefix;
+        }
+
+        public String nothing() {
+            return null;
+        }
+
+        public PythonLikeObject identity(PythonLikeObject object) {
+            return object;
+        }
+    }
+
+    public static double scale(double value, int factor) {
+        return value * factor;
+    }
+
+    private static JavaMethodReference reference(Class<?> declaringClass, String name, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        return new JavaMethodReference(declaringClass.getMethod(name, parameterTypes), Map.of());
+    }
+
+    @Test
+    public void testStaticMethod() throws NoSuchMethodException {
+        JavaMethodReference scale = reference(JavaMethodReferenceTest.class, "scale", double.class, int.class);
+        assertThat(scale.$call(List.of(PythonFloat.valueOf(1.5), PythonInteger.valueOf(4)), Map.of(), null))
+                .isEqualTo(PythonFloat.valueOf(6.0));
+        // int arguments are converted to double
+        assertThat(scale.$call(List.of(PythonInteger.valueOf(2), PythonInteger.valueOf(4)), Map.of(), null))
+                .isEqualTo(PythonFloat.valueOf(8.0));
+        assertThatCode(() -> scale.$call(List.of(PythonString.valueOf("a"), PythonInteger.ONE), Map.of(), null))
+                .isInstanceOf(TypeError.class);
+    }
+
+    @Test
+    public void testInstanceMethod() throws NoSuchMethodException {
+        Counter counter = new Counter();
+        JavaObjectWrapper wrapper = new JavaObjectWrapper(counter);
+
+        JavaMethodReference add = reference(Counter.class, "add", long.class);
+        assertThat(add.$call(List.of(wrapper, PythonInteger.valueOf(5)), Map.of(), null)).isEqualTo(PythonNone.INSTANCE);
+        assertThat(add.$call(List.of(wrapper, PythonInteger.valueOf(2)), null, null)).isEqualTo(PythonNone.INSTANCE);
+
+        JavaMethodReference describe = new JavaMethodReference(
+                Counter.class.getMethod("describe", String.class, boolean.class), Map.of("prefix", 0, "withTotal", 1));
+        assertThat(describe.$call(List.of(wrapper, PythonString.valueOf("Total: "), PythonBoolean.TRUE), Map.of(), null))
+                .isEqualTo(PythonString.valueOf("Total: 7"));
+        assertThat(describe.$call(List.of(wrapper),
+                Map.of(PythonString.valueOf("withTotal"), PythonBoolean.FALSE,
+                        PythonString.valueOf("prefix"), PythonString.valueOf("None")),
+                null))
+                        .isEqualTo(PythonString.valueOf("None"));
+
+        assertThat(reference(Counter.class, "nothing").$call(List.of(wrapper), Map.of(), null))
+                .isEqualTo(PythonNone.INSTANCE);
+        assertThat(reference(Counter.class, "identity", PythonLikeObject.class)
+                .$call(List.of(wrapper, PythonInteger.TWO), Map.of(), null))
+                        .isEqualTo(PythonInteger.TWO);
+    }
+
+    @Test
+    public void testTooManyPositionalArguments() throws NoSuchMethodException {
+        Counter counter = new Counter();
+        JavaObjectWrapper wrapper = new JavaObjectWrapper(counter);
+
+        JavaMethodReference add = reference(Counter.class, "add", long.class);
+        assertThatCode(() -> add.$call(List.of(wrapper, PythonInteger.ONE, PythonInteger.TWO), Map.of(), null))
+                .isInstanceOf(TypeError.class)
+                .hasMessageContaining("takes 2 positional arguments but 3 were given");
+        assertThat(add.$call(List.of(wrapper, PythonInteger.ONE), Map.of(), null)).isEqualTo(PythonNone.INSTANCE);
+
+        JavaMethodReference scale = reference(JavaMethodReferenceTest.class, "scale", double.class, int.class);
+        assertThatCode(() -> scale.$call(List.of(PythonFloat.valueOf(1.5), PythonInteger.ONE, PythonInteger.TWO),
+                Map.of(), null))
+                        .isInstanceOf(TypeError.class);
+    }
+}
@@ -0,0 +1,105 @@
+package org.optaplanner.jpyinterpreter.types.wrappers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.BoundPythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonLikeFunction;
+import org.optaplanner.jpyinterpreter.types.PythonString;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+
+public class JavaObjectWrapperTest {
+    public static class Room implements Comparable<Room> {
+        public static int created = 0;
+
+        public String name;
+        public final int floor;
+        private int capacity;
+        private int hidden;
+
+        public Room(String name, int floor, int capacity) {
+            this.name = name;
+            this.floor = floor;
+            this.capacity = capacity;
+            created++;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int scaledCapacity(int factor) {
+            return capacity * factor;
+        }
+
+        @Override
+        public int compareTo(Room other) {
+            return Integer.compare(capacity, other.capacity);
+        }
+    }
+
+    @Test
+    public void testPublicField() {
+        Room room = new Room("A", 1, 10);
+        JavaObjectWrapper wrapper = new JavaObjectWrapper(room);
+
+        assertThat(wrapper.__getAttributeOrNull("name")).isEqualTo(PythonString.valueOf("A"));
+        wrapper.__setAttribute("name", PythonString.valueOf("B"));
+        assertThat(room.name).isEqualTo("B");
+
+        assertThat(wrapper.__getAttributeOrNull("floor")).isEqualTo(PythonInteger.ONE);
+        assertThatCode(() -> wrapper.__setAttribute("floor", PythonInteger.TWO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(wrapper.__getAttributeOrNull("created")).isEqualTo(PythonInteger.valueOf(Room.created));
+    }
+
+    @Test
+    public void testPrivateFieldUsesGetterAndSetter() {
+        Room room = new Room("A", 1, 10);
+        JavaObjectWrapper wrapper = new JavaObjectWrapper(room);
+
+        assertThat(wrapper.__getAttributeOrNull("capacity")).isEqualTo(PythonInteger.valueOf(10));
+        wrapper.__setAttribute("capacity", PythonInteger.valueOf(20));
+        assertThat(room.getCapacity()).isEqualTo(20);
+
+        assertThatCode(() -> wrapper.__getAttributeOrNull("hidden")).isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> wrapper.__setAttribute("missing", PythonInteger.ONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(wrapper.__getAttributeOrNull("missing")).isNull();
+    }
+
+    @Test
+    public void testBoundMethod() {
+        JavaObjectWrapper wrapper = new JavaObjectWrapper(new Room("A", 1, 10));
+
+        PythonLikeObject method = wrapper.__getAttributeOrNull("scaledCapacity");
+        assertThat(method).isInstanceOf(BoundPythonLikeFunction.class);
+        assertThat(((BoundPythonLikeFunction) method).getInstance()).isSameAs(wrapper);
+        // The unbound method is shared by every wrapper of the class
+        assertThat(new JavaObjectWrapper(new Room("B", 1, 20)).__getType().__dir__.get("scaledCapacity"))
+                .isSameAs(wrapper.__getType().__dir__.get("scaledCapacity"));
+        assertThat(((PythonLikeFunction) method).$call(List.of(PythonInteger.valueOf(3)), Map.of(), null))
+                .isEqualTo(PythonInteger.valueOf(30));
+        assertThatCode(() -> wrapper.__setAttribute("scaledCapacity", PythonInteger.ONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testCompareTo() {
+        JavaObjectWrapper small = new JavaObjectWrapper(new Room("A", 1, 10));
+        JavaObjectWrapper large = new JavaObjectWrapper(new Room("B", 1, 20));
+        assertThat(small.compareTo(large)).isEqualTo(-1);
+        assertThat(large.compareTo(small)).isEqualTo(1);
+        assertThatCode(() -> new JavaObjectWrapper(new Object()).compareTo(small))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteSearchUtilsTest {
+    private static int naiveIndexOf(byte[] array, byte[] query, int from, int to) {
+        for (int i = from; i <= to - query.length; i++) {
+            if (Arrays.equals(array, i, i + query.length, query, 0, query.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int naiveLastIndexOf(byte[] array, byte[] query, int from, int to) {
+        for (int i = to - query.length; i >= from; i--) {
+            if (Arrays.equals(array, i, i + query.length, query, 0, query.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int naiveCount(byte[] array, byte[] query, int from, int to) {
+        int count = 0;
+        for (int i = from; i <= to - query.length; i++) {
+            if (Arrays.equals(array, i, i + query.length, query, 0, query.length)) {
+                count++;
+                i += query.length - 1;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testByteMatchesNaiveSearch() {
+        Random random = new Random(0);
+        // Few distinct values, including negative bytes, so there are many matches at every position
+        byte[] alphabet = { 0, 1, (byte) 0x80, (byte) 0xFF, 0x7F };
+        for (int length = 0; length < 40; length++) {
+            byte[] array = new byte[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            for (int from = 0; from <= length; from++) {
+                for (int to = from; to <= length; to++) {
+                    for (byte query : alphabet) {
+                        byte[] queryArray = { query };
+                        String description = Arrays.toString(array) + "[" + from + ":" + to + "] " + query;
+                        assertThat(ByteSearchUtils.indexOf(array, query, from, to)).as(description)
+                                .isEqualTo(naiveIndexOf(array, queryArray, from, to));
+                        assertThat(ByteSearchUtils.lastIndexOf(array, query, from, to)).as(description)
+                                .isEqualTo(naiveLastIndexOf(array, queryArray, from, to));
+                        assertThat(ByteSearchUtils.count(array, query, from, to)).as(description)
+                                .isEqualTo(naiveCount(array, queryArray, from, to));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubsequenceMatchesNaiveSearch() {
+        Random random = new Random(1);
+        byte[][] queries = { { 0, 0 }, { 1, 0 }, { (byte) 0x80, 1, (byte) 0x80 }, { 0, 1, 0, 1, 0, 1, 0, 1, 0 } };
+        for (int length = 0; length < 40; length++) {
+            byte[] array = new byte[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = (byte) ((random.nextInt(2) == 0) ? random.nextInt(2) : 0x80);
+            }
+            for (int from = 0; from <= length; from++) {
+                for (int to = from; to <= length; to++) {
+                    for (byte[] query : queries) {
+                        String description = Arrays.toString(array) + "[" + from + ":" + to + "] "
+                                + Arrays.toString(query);
+                        assertThat(ByteSearchUtils.indexOf(array, query, from, to)).as(description)
+                                .isEqualTo(naiveIndexOf(array, query, from, to));
+                        assertThat(ByteSearchUtils.lastIndexOf(array, query, from, to)).as(description)
+                                .isEqualTo(naiveLastIndexOf(array, query, from, to));
+                        assertThat(ByteSearchUtils.count(array, query, from, to)).as(description)
+                                .isEqualTo(naiveCount(array, query, from, to));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyQuery() {
+        byte[] array = { 1, 2, 3 };
+        byte[] empty = {};
+        assertThat(ByteSearchUtils.indexOf(array, empty, 1, 3)).isEqualTo(1);
+        assertThat(ByteSearchUtils.lastIndexOf(array, empty, 1, 3)).isEqualTo(3);
+        assertThat(ByteSearchUtils.count(array, empty, 0, 3)).isEqualTo(4);
+    }
+}
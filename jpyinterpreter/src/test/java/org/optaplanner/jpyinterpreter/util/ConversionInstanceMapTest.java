@@ -0,0 +1,51 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.PythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.CPythonBackedPythonLikeObject;
+import org.optaplanner.jpyinterpreter.types.numeric.PythonInteger;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+
+public class ConversionInstanceMapTest {
+    @Test
+    public void testOnlyObjectsKeepingTheirPythonObjectAliveAreShared() {
+        WeakValueLongMap<PythonLikeObject> sharedMap = new WeakValueLongMap<>();
+        ConversionInstanceMap<PythonLikeObject> conversionMap = new ConversionInstanceMap<>(sharedMap);
+
+        PythonInteger converted = PythonInteger.valueOf(1);
+        CPythonBackedPythonLikeObject wrapper = new CPythonBackedPythonLikeObject(
+                CPythonBackedPythonLikeObject.CPYTHON_BACKED_OBJECT_TYPE, new OpaquePythonReference() {
+                });
+        CPythonBackedPythonLikeObject wrapperWithoutReference = new CPythonBackedPythonLikeObject(
+                CPythonBackedPythonLikeObject.CPYTHON_BACKED_OBJECT_TYPE);
+
+        conversionMap.put(1L, converted);
+        conversionMap.put(2L, wrapper);
+        conversionMap.put(3L, wrapperWithoutReference);
+
+        assertThat(conversionMap.get(1L)).isSameAs(converted);
+        assertThat(conversionMap.get(2L)).isSameAs(wrapper);
+        assertThat(conversionMap.get(3L)).isSameAs(wrapperWithoutReference);
+
+        // A converted int does not keep its Python object alive, so its id can be reused by another object
+        assertThat(sharedMap.get(1L)).isNull();
+        assertThat(sharedMap.get(2L)).isSameAs(wrapper);
+        assertThat(sharedMap.get(3L)).isNull();
+
+        // Later conversions see the shared objects, but not the objects of other conversions
+        ConversionInstanceMap<PythonLikeObject> otherConversionMap = new ConversionInstanceMap<>(sharedMap);
+        assertThat(otherConversionMap.get(1L)).isNull();
+        assertThat(otherConversionMap.get(2L)).isSameAs(wrapper);
+    }
+
+    @Test
+    public void testNewObjectsHaveTheirOwnInstanceMap() {
+        CPythonBackedPythonLikeObject a = new CPythonBackedPythonLikeObject(
+                CPythonBackedPythonLikeObject.CPYTHON_BACKED_OBJECT_TYPE);
+        CPythonBackedPythonLikeObject b = new CPythonBackedPythonLikeObject(
+                CPythonBackedPythonLikeObject.CPYTHON_BACKED_OBJECT_TYPE);
+        assertThat(a.$getInstanceMap()).isNotSameAs(b.$getInstanceMap());
+    }
+}
@@ -0,0 +1,71 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LongObjectHashMapTest {
+    @Test
+    public void testMatchesHashMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Addresses are multiples of 16, and few distinct keys means many collisions and removals
+            long key = 0x7F0000000000L + 16L * random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "value" + i;
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey().longValue())).isEqualTo(entry.getValue());
+            assertThat(map.get((Object) entry.getKey())).isEqualTo(entry.getValue());
+            assertThat(map.containsKey(entry.getKey().longValue())).isTrue();
+        }
+        assertThat(map).isEqualTo(expected);
+    }
+
+    @Test
+    public void testNumberKeys() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(Integer.valueOf(1), "a");
+
+        // Keys are compared by their long value, regardless of their boxed type
+        assertThat(map.get(Long.valueOf(1L))).isEqualTo("a");
+        assertThat(map.containsKey((Object) 1L)).isTrue();
+        assertThat(map.get("1")).isNull();
+        assertThat(map.remove(Long.valueOf(1L))).isEqualTo("a");
+        assertThat(map).isEmpty();
+    }
+
+    @Test
+    public void testForEachEntryAndPutAll() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(100);
+        for (long key = 0; key < 100; key++) {
+            map.put(key, "value" + key);
+        }
+
+        Map<Long, String> visited = new HashMap<>();
+        map.forEachEntry(visited::put);
+        assertThat(visited).hasSize(100);
+        assertThat(visited.get(42L)).isEqualTo("value42");
+
+        LongObjectHashMap<String> copy = new LongObjectHashMap<>();
+        copy.putAll(map);
+        assertThat(copy).isEqualTo(map);
+
+        copy.clear();
+        assertThat(copy).isEmpty();
+        assertThat(copy.get(42L)).isNull();
+    }
+}
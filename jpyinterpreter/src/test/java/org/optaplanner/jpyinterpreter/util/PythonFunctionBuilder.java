@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.optaplanner.jpyinterpreter.CompareOp;
@@ -54,6 +55,8 @@ public class PythonFunctionBuilder {
 
     Map<String, PythonLikeObject> globalsMap = new HashMap<>();
 
+    Set<String> finalGlobalNameSet = Set.of();
+
     Map<String, PythonLikeType> typeAnnotations = new HashMap<>();
 
     int co_argcount = 0;
@@ -88,6 +91,7 @@ public class PythonFunctionBuilder {
         out.instructionList = instructionList;
         out.typeAnnotations = typeAnnotations;
         out.globalsMap = globalsMap;
+        out.finalGlobalNameSet = finalGlobalNameSet;
         out.co_constants = co_consts;
         out.co_varnames = co_varnames;
         out.co_names = co_names;
@@ -741,6 +745,14 @@ public class PythonFunctionBuilder {
         return this;
     }
 
+    /**
+     * Marks the given globals as annotated with {@code typing.Final} in their module
+     */
+    public PythonFunctionBuilder usingFinalGlobals(String... names) {
+        this.finalGlobalNameSet = Set.of(names);
+        return this;
+    }
+
     /**
      * Loads a global variable
      *
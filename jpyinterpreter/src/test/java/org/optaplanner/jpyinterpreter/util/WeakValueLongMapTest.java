@@ -0,0 +1,62 @@
+package org.optaplanner.jpyinterpreter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class WeakValueLongMapTest {
+    @Test
+    public void testMatchesHashMap() {
+        WeakValueLongMap<String> map = new WeakValueLongMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(0);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Addresses are multiples of 16, and few distinct keys means many collisions and removals
+            long key = 0x7F0000000000L + 16L * random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                String value = "value" + i;
+                assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey().longValue())).isEqualTo(entry.getValue());
+            assertThat(map.get((Object) entry.getKey())).isEqualTo(entry.getValue());
+        }
+        assertThat(map.entrySet().size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    public void testCollectedValuesAreRemoved() throws InterruptedException {
+        WeakValueLongMap<Object> map = new WeakValueLongMap<>();
+        List<Object> kept = new ArrayList<>();
+        for (long key = 0; key < 100; key++) {
+            Object value = new Object();
+            if (key % 2 == 0) {
+                kept.add(value);
+            }
+            map.put(key, value);
+        }
+
+        for (int attempt = 0; attempt < 50 && map.size() > kept.size(); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(map.size()).isEqualTo(kept.size());
+        for (long key = 0; key < 100; key += 2) {
+            assertThat(map.get(key)).isSameAs(kept.get((int) key / 2));
+        }
+        assertThat(map.get(1L)).isNull();
+    }
+}
@@ -312,3 +312,13 @@ def test_ctime():
     verifier = verifier_for(function)
 
     verifier.verify(date(2002, 12, 4), expected_result='Wed Dec  4 00:00:00 2002')
+
+
+def test_unwrap_round_trip():
+    import jpyinterpreter
+
+    for value in (date(2000, 1, 1), date(2003, 12, 29)):
+        java_value = jpyinterpreter.convert_to_java_python_like_object(value)
+        unwrapped = jpyinterpreter.unwrap_python_like_object(java_value)
+        assert type(unwrapped) is date
+        assert unwrapped == value
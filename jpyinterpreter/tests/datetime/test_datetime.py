@@ -414,3 +414,13 @@ def test_ctime():
     verifier = verifier_for(function)
 
     verifier.verify(datetime(2002, 12, 4), expected_result='Wed Dec  4 00:00:00 2002')
+
+
+def test_unwrap_round_trip():
+    import jpyinterpreter
+
+    for value in (datetime(2000, 1, 1), datetime(2003, 12, 29, 1, 2, 3, 4), datetime(2004, 1, 4, fold=1)):
+        java_value = jpyinterpreter.convert_to_java_python_like_object(value)
+        unwrapped = jpyinterpreter.unwrap_python_like_object(java_value)
+        assert type(unwrapped) is datetime
+        assert unwrapped == value
@@ -171,3 +171,13 @@ def test_str():
 
 
 # TODO: strftime, __format__, utcoffset, dst, tzname
+
+
+def test_unwrap_round_trip():
+    import jpyinterpreter
+
+    for value in (time(), time(1, 2, 3, 4), time(1, fold=1)):
+        java_value = jpyinterpreter.convert_to_java_python_like_object(value)
+        unwrapped = jpyinterpreter.unwrap_python_like_object(java_value)
+        assert type(unwrapped) is time
+        assert unwrapped == value
@@ -294,3 +294,13 @@ def test_repr():
     verifier.verify(timedelta(seconds=10, microseconds=123456),
                     expected_result='datetime.timedelta(seconds=10, microseconds=123456)')
     verifier.verify(timedelta(weeks=1, hours=16, minutes=30), expected_result='datetime.timedelta(days=7, seconds=59400)')
+
+
+def test_unwrap_round_trip():
+    import jpyinterpreter
+
+    for value in (timedelta(), timedelta(1, 2, 3), timedelta(days=-1, microseconds=5)):
+        java_value = jpyinterpreter.convert_to_java_python_like_object(value)
+        unwrapped = jpyinterpreter.unwrap_python_like_object(java_value)
+        assert type(unwrapped) is timedelta
+        assert unwrapped == value
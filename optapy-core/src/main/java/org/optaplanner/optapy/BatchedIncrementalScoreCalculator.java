@@ -0,0 +1,186 @@
+package org.optaplanner.optapy;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.calculator.ConstraintMatchAwareIncrementalScoreCalculator;
+import org.optaplanner.core.api.score.calculator.IncrementalScoreCalculator;
+import org.optaplanner.core.api.score.constraint.ConstraintMatchTotal;
+import org.optaplanner.core.api.score.constraint.Indictment;
+
+/**
+ * An incremental score calculator that buffers the entity and variable events of a Python incremental score
+ * calculator, and delivers them to it in a single call before the score is calculated, instead of calling into
+ * Python once per event.
+ * <p>
+ * An event is an int: its kind in the lowest {@link #EVENT_KIND_BITS} bits, and, for variable events, the index of
+ * the variable name in the variable name array above them.
+ */
+@SuppressWarnings("unused")
+public class BatchedIncrementalScoreCalculator<Solution_, Score_ extends Score<Score_>>
+        implements IncrementalScoreCalculator<Solution_, Score_> {
+    public static final int BEFORE_ENTITY_ADDED = 0;
+    public static final int AFTER_ENTITY_ADDED = 1;
+    public static final int BEFORE_VARIABLE_CHANGED = 2;
+    public static final int AFTER_VARIABLE_CHANGED = 3;
+    public static final int BEFORE_ENTITY_REMOVED = 4;
+    public static final int AFTER_ENTITY_REMOVED = 5;
+
+    public static final int EVENT_KIND_BITS = 3;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Implemented by the Python incremental score calculator, to receive the buffered events.
+     */
+    public interface EventProcessor {
+        /**
+         * Delivers the first eventCount events, in the order they happened. entities[i] is the entity of events[i].
+         */
+        void processEvents(Object[] entities, int[] events, String[] variableNames, int eventCount);
+    }
+
+    protected final IncrementalScoreCalculator<Solution_, Score_> delegate;
+    private final EventProcessor eventProcessor;
+
+    private Object[] entities = new Object[INITIAL_CAPACITY];
+    private int[] events = new int[INITIAL_CAPACITY];
+    private int eventCount = 0;
+
+    private String[] variableNames = new String[0];
+    private final Map<String, Integer> variableNameToIndexMap = new HashMap<>();
+
+    public BatchedIncrementalScoreCalculator(IncrementalScoreCalculator<Solution_, Score_> delegate) {
+        this.delegate = delegate;
+        this.eventProcessor = (EventProcessor) delegate;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static IncrementalScoreCalculator<?, ?> of(IncrementalScoreCalculator<?, ?> delegate) {
+        if (delegate instanceof ConstraintMatchAwareIncrementalScoreCalculator) {
+            return new ConstraintMatchAware((ConstraintMatchAwareIncrementalScoreCalculator) delegate);
+        }
+        return new BatchedIncrementalScoreCalculator(delegate);
+    }
+
+    private int getVariableIndex(String variableName) {
+        Integer index = variableNameToIndexMap.get(variableName);
+        if (index != null) {
+            return index;
+        }
+        int newIndex = variableNames.length;
+        variableNames = Arrays.copyOf(variableNames, newIndex + 1);
+        variableNames[newIndex] = variableName;
+        variableNameToIndexMap.put(variableName, newIndex);
+        return newIndex;
+    }
+
+    private void addEvent(Object entity, int event) {
+        if (eventCount == events.length) {
+            entities = Arrays.copyOf(entities, eventCount * 2);
+            events = Arrays.copyOf(events, eventCount * 2);
+        }
+        entities[eventCount] = entity;
+        events[eventCount] = event;
+        eventCount++;
+    }
+
+    private void addVariableEvent(Object entity, String variableName, int kind) {
+        addEvent(entity, (getVariableIndex(variableName) << EVENT_KIND_BITS) | kind);
+    }
+
+    /**
+     * Delivers the buffered events, if there are any.
+     */
+    protected void flushEvents() {
+        if (eventCount == 0) {
+            return;
+        }
+        int count = eventCount;
+        eventCount = 0;
+        eventProcessor.processEvents(entities, events, variableNames, count);
+        Arrays.fill(entities, 0, count, null);
+    }
+
+    protected void discardEvents() {
+        Arrays.fill(entities, 0, eventCount, null);
+        eventCount = 0;
+    }
+
+    @Override
+    public void resetWorkingSolution(Solution_ workingSolution) {
+        // The events are about the previous working solution
+        discardEvents();
+        delegate.resetWorkingSolution(workingSolution);
+    }
+
+    @Override
+    public void beforeEntityAdded(Object entity) {
+        addEvent(entity, BEFORE_ENTITY_ADDED);
+    }
+
+    @Override
+    public void afterEntityAdded(Object entity) {
+        addEvent(entity, AFTER_ENTITY_ADDED);
+    }
+
+    @Override
+    public void beforeVariableChanged(Object entity, String variableName) {
+        addVariableEvent(entity, variableName, BEFORE_VARIABLE_CHANGED);
+    }
+
+    @Override
+    public void afterVariableChanged(Object entity, String variableName) {
+        addVariableEvent(entity, variableName, AFTER_VARIABLE_CHANGED);
+    }
+
+    @Override
+    public void beforeEntityRemoved(Object entity) {
+        addEvent(entity, BEFORE_ENTITY_REMOVED);
+    }
+
+    @Override
+    public void afterEntityRemoved(Object entity) {
+        addEvent(entity, AFTER_ENTITY_REMOVED);
+    }
+
+    @Override
+    public Score_ calculateScore() {
+        flushEvents();
+        return delegate.calculateScore();
+    }
+
+    public static class ConstraintMatchAware<Solution_, Score_ extends Score<Score_>>
+            extends BatchedIncrementalScoreCalculator<Solution_, Score_>
+            implements ConstraintMatchAwareIncrementalScoreCalculator<Solution_, Score_> {
+
+        public ConstraintMatchAware(ConstraintMatchAwareIncrementalScoreCalculator<Solution_, Score_> delegate) {
+            super(delegate);
+        }
+
+        private ConstraintMatchAwareIncrementalScoreCalculator<Solution_, Score_> getConstraintMatchAwareDelegate() {
+            return (ConstraintMatchAwareIncrementalScoreCalculator<Solution_, Score_>) delegate;
+        }
+
+        @Override
+        public void resetWorkingSolution(Solution_ workingSolution, boolean constraintMatchEnabled) {
+            discardEvents();
+            getConstraintMatchAwareDelegate().resetWorkingSolution(workingSolution, constraintMatchEnabled);
+        }
+
+        @Override
+        public Collection<ConstraintMatchTotal<Score_>> getConstraintMatchTotals() {
+            flushEvents();
+            return getConstraintMatchAwareDelegate().getConstraintMatchTotals();
+        }
+
+        @Override
+        public Map<Object, Indictment<Score_>> getIndictmentMap() {
+            flushEvents();
+            return getConstraintMatchAwareDelegate().getIndictmentMap();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.optaplanner.optapy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.optaplanner.core.api.domain.variable.VariableListener;
+import org.optaplanner.core.api.score.director.ScoreDirector;
+
+/**
+ * A variable listener that coalesces the notifications for a Python variable listener.
+ * <p>
+ * OptaPlanner calls the before methods as soon as a variable changes, but only calls the after methods once the
+ * move is done, when the variable listeners are triggered. The before notifications are buffered, with duplicates
+ * (same kind, same entity) removed, and delivered in a single call just before the first after notification.
+ * The after notifications cannot be buffered, since nothing tells the listener that the trigger is done, but
+ * duplicates are dropped until the next before notification, and the Python objects are updated from the
+ * working solution once per trigger instead of once per after notification.
+ */
+@SuppressWarnings("unused")
+public class BatchedVariableListener<Solution_, Entity_> implements VariableListener<Solution_, Entity_> {
+    public static final int ENTITY_ADDED = 0;
+    public static final int VARIABLE_CHANGED = 1;
+    public static final int ENTITY_REMOVED = 2;
+
+    private static final int EVENT_KIND_COUNT = 3;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Implemented by the Python variable listener, to receive the buffered before notifications.
+     */
+    public interface EventProcessor {
+        /**
+         * Delivers the first eventCount before notifications, in the order they happened.
+         * entities[i] is the entity of the notification of kind kinds[i].
+         */
+        void processBeforeEvents(ScoreDirector<?> scoreDirector, Object[] entities, int[] kinds, int eventCount);
+    }
+
+    private final VariableListener<Solution_, Entity_> delegate;
+    private final EventProcessor eventProcessor;
+
+    private Object[] beforeEntities = new Object[INITIAL_CAPACITY];
+    private int[] beforeKinds = new int[INITIAL_CAPACITY];
+    private int beforeEventCount = 0;
+
+    private final Set<Object>[] kindToBeforeEntitySet = newEntitySets();
+    private final Set<Object>[] kindToAfterEntitySet = newEntitySets();
+
+    /**
+     * False between a before notification and the first after notification that follows it.
+     */
+    private boolean isPythonSolutionUpdated = true;
+
+    public BatchedVariableListener(VariableListener<Solution_, Entity_> delegate) {
+        this.delegate = delegate;
+        this.eventProcessor = (EventProcessor) delegate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Object>[] newEntitySets() {
+        Set<Object>[] out = new Set[EVENT_KIND_COUNT];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        return out;
+    }
+
+    private static void clearEntitySets(Set<Object>[] entitySets) {
+        for (Set<Object> entitySet : entitySets) {
+            if (!entitySet.isEmpty()) {
+                entitySet.clear();
+            }
+        }
+    }
+
+    private void addBeforeEvent(Entity_ entity, int kind) {
+        if (isPythonSolutionUpdated) {
+            // A new change started, so the previous after notifications are no longer duplicates
+            isPythonSolutionUpdated = false;
+            clearEntitySets(kindToAfterEntitySet);
+        }
+        if (!kindToBeforeEntitySet[kind].add(entity)) {
+            return;
+        }
+        if (beforeEventCount == beforeKinds.length) {
+            beforeEntities = Arrays.copyOf(beforeEntities, beforeEventCount * 2);
+            beforeKinds = Arrays.copyOf(beforeKinds, beforeEventCount * 2);
+        }
+        beforeEntities[beforeEventCount] = entity;
+        beforeKinds[beforeEventCount] = kind;
+        beforeEventCount++;
+    }
+
+    /**
+     * Delivers the buffered before notifications and updates the Python objects, if this is the first after
+     * notification since a before notification. Returns false if the after notification is a duplicate.
+     */
+    private boolean prepareAfterEvent(ScoreDirector<Solution_> scoreDirector, Entity_ entity, int kind) {
+        if (!isPythonSolutionUpdated) {
+            if (beforeEventCount != 0) {
+                int count = beforeEventCount;
+                beforeEventCount = 0;
+                eventProcessor.processBeforeEvents(scoreDirector, beforeEntities, beforeKinds, count);
+                Arrays.fill(beforeEntities, 0, count, null);
+            }
+            clearEntitySets(kindToBeforeEntitySet);
+
+            Solution_ workingSolution = scoreDirector.getWorkingSolution();
+            if (workingSolution instanceof PythonObject) {
+                ((PythonObject) workingSolution).forceUpdate();
+            }
+            isPythonSolutionUpdated = true;
+        }
+        return kindToAfterEntitySet[kind].add(entity);
+    }
+
+    private void discardEvents() {
+        Arrays.fill(beforeEntities, 0, beforeEventCount, null);
+        beforeEventCount = 0;
+        clearEntitySets(kindToBeforeEntitySet);
+        clearEntitySets(kindToAfterEntitySet);
+        isPythonSolutionUpdated = true;
+    }
+
+    @Override
+    public void beforeEntityAdded(ScoreDirector<Solution_> scoreDirector, Entity_ entity) {
+        addBeforeEvent(entity, ENTITY_ADDED);
+    }
+
+    @Override
+    public void afterEntityAdded(ScoreDirector<Solution_> scoreDirector, Entity_ entity) {
+        if (prepareAfterEvent(scoreDirector, entity, ENTITY_ADDED)) {
+            delegate.afterEntityAdded(scoreDirector, entity);
+        }
+    }
+
+    @Override
+    public void beforeVariableChanged(ScoreDirector<Solution_> scoreDirector, Entity_ entity) {
+        addBeforeEvent(entity, VARIABLE_CHANGED);
+    }
+
+    @Override
+    public void afterVariableChanged(ScoreDirector<Solution_> scoreDirector, Entity_ entity) {
+        if (prepareAfterEvent(scoreDirector, entity, VARIABLE_CHANGED)) {
+            delegate.afterVariableChanged(scoreDirector, entity);
+        }
+    }
+
+    @Override
+    public void beforeEntityRemoved(ScoreDirector<Solution_> scoreDirector, Entity_ entity) {
+        addBeforeEvent(entity, ENTITY_REMOVED);
+    }
+
+    @Override
+    public void afterEntityRemoved(ScoreDirector<Solution_> scoreDirector, Entity_ entity) {
+        if (prepareAfterEvent(scoreDirector, entity, ENTITY_REMOVED)) {
+            delegate.afterEntityRemoved(scoreDirector, entity);
+        }
+    }
+
+    @Override
+    public boolean requiresUniqueEntityEvents() {
+        return delegate.requiresUniqueEntityEvents();
+    }
+
+    @Override
+    public void resetWorkingSolution(ScoreDirector<Solution_> scoreDirector) {
+        discardEvents();
+        delegate.resetWorkingSolution(scoreDirector);
+    }
+
+    @Override
+    public void close() {
+        discardEvents();
+        delegate.close();
+    }
+}
@@ -0,0 +1,292 @@
+package org.optaplanner.optapy;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
+import org.optaplanner.core.api.domain.solution.PlanningEntityProperty;
+import org.optaplanner.core.api.domain.variable.AnchorShadowVariable;
+import org.optaplanner.core.api.domain.variable.CustomShadowVariable;
+import org.optaplanner.core.api.domain.variable.IndexShadowVariable;
+import org.optaplanner.core.api.domain.variable.InverseRelationShadowVariable;
+import org.optaplanner.core.api.domain.variable.PlanningListVariable;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+
+/**
+ * Finds the entities that were added or removed, and the genuine and shadow variables that changed, between
+ * consecutive best solutions, so only those have to be sent to Python. Entities are matched by their planning id,
+ * and values that are planning objects are compared by their planning id (or identity, if they do not have one),
+ * since each best solution is a new planning clone. Entities are added and removed by problem changes.
+ * New values that are planning objects with a planning id are reported as their planning id.
+ * <p>
+ * Not thread-safe; use one tracker per solver job.
+ */
+@SuppressWarnings("unused")
+public class BestSolutionChangeTracker {
+    private static final List<Class<? extends Annotation>> VARIABLE_ANNOTATION_LIST = List.of(
+            PlanningVariable.class,
+            PlanningListVariable.class,
+            CustomShadowVariable.class,
+            InverseRelationShadowVariable.class,
+            AnchorShadowVariable.class,
+            IndexShadowVariable.class);
+
+    private final Map<Class<?>, List<MethodHandle>> solutionClassToEntityGetterListMap = new HashMap<>();
+    private final Map<Class<?>, EntityAccessor> entityClassToAccessorMap = new HashMap<>();
+    private final Map<Class<?>, Optional<MethodHandle>> classToPlanningIdGetterMap = new HashMap<>();
+
+    /**
+     * The variable values of each entity in the previous best solution, by entity class and planning id.
+     */
+    private Map<Class<?>, Map<Object, Object[]>> entityClassToPlanningIdToValuesMap = new HashMap<>();
+
+    private static final class EntityAccessor {
+        final MethodHandle planningIdGetter;
+        final String[] variableNames;
+        final MethodHandle[] variableGetters;
+
+        EntityAccessor(MethodHandle planningIdGetter, String[] variableNames, MethodHandle[] variableGetters) {
+            this.planningIdGetter = planningIdGetter;
+            this.variableNames = variableNames;
+            this.variableGetters = variableGetters;
+        }
+    }
+
+    /**
+     * The planning ids of the entities that were added and removed, and the variables that changed, in parallel
+     * arrays: the variable named variableNames[i] of the entity with planning id planningIds[i] now has the value
+     * newValues[i]. Every variable of an added entity is a changed variable. A new value that is a planning object
+     * with a planning id (or a list of them) is given as that planning id.
+     */
+    public static final class ChangeSet {
+        public final Object[] addedPlanningIds;
+        public final Object[] removedPlanningIds;
+        public final Object[] planningIds;
+        public final String[] variableNames;
+        public final Object[] newValues;
+
+        ChangeSet(List<Object> addedPlanningIdList, List<Object> removedPlanningIdList, List<Object> planningIdList,
+                List<String> variableNameList, List<Object> newValueList) {
+            this.addedPlanningIds = addedPlanningIdList.toArray();
+            this.removedPlanningIds = removedPlanningIdList.toArray();
+            this.planningIds = planningIdList.toArray();
+            this.variableNames = variableNameList.toArray(new String[0]);
+            this.newValues = newValueList.toArray();
+        }
+    }
+
+    /**
+     * Returns the entities and variables of bestSolution that are different from the previous best solution passed to
+     * this method. On the first call, every entity is added.
+     */
+    public ChangeSet getChangeSet(Object bestSolution) {
+        List<Object> addedPlanningIdList = new ArrayList<>();
+        List<Object> removedPlanningIdList = new ArrayList<>();
+        List<Object> planningIdList = new ArrayList<>();
+        List<String> variableNameList = new ArrayList<>();
+        List<Object> newValueList = new ArrayList<>();
+        Map<Class<?>, Map<Object, Object[]>> newEntityClassToPlanningIdToValuesMap = new HashMap<>();
+
+        for (MethodHandle entityGetter : getEntityGetterList(bestSolution.getClass())) {
+            Object entityOrEntities = invoke(entityGetter, bestSolution);
+            if (entityOrEntities instanceof Collection) {
+                for (Object entity : (Collection<?>) entityOrEntities) {
+                    visitEntity(entity, newEntityClassToPlanningIdToValuesMap, addedPlanningIdList, planningIdList,
+                            variableNameList, newValueList);
+                }
+            } else if (entityOrEntities instanceof Object[]) {
+                for (Object entity : (Object[]) entityOrEntities) {
+                    visitEntity(entity, newEntityClassToPlanningIdToValuesMap, addedPlanningIdList, planningIdList,
+                            variableNameList, newValueList);
+                }
+            } else if (entityOrEntities != null) {
+                visitEntity(entityOrEntities, newEntityClassToPlanningIdToValuesMap, addedPlanningIdList,
+                        planningIdList, variableNameList, newValueList);
+            }
+        }
+
+        entityClassToPlanningIdToValuesMap.forEach((entityClass, planningIdToValuesMap) -> {
+            Map<Object, Object[]> newPlanningIdToValuesMap =
+                    newEntityClassToPlanningIdToValuesMap.getOrDefault(entityClass, Map.of());
+            for (Object planningId : planningIdToValuesMap.keySet()) {
+                if (!newPlanningIdToValuesMap.containsKey(planningId)) {
+                    removedPlanningIdList.add(planningId);
+                }
+            }
+        });
+
+        entityClassToPlanningIdToValuesMap = newEntityClassToPlanningIdToValuesMap;
+        return new ChangeSet(addedPlanningIdList, removedPlanningIdList, planningIdList, variableNameList,
+                newValueList);
+    }
+
+    private void visitEntity(Object entity, Map<Class<?>, Map<Object, Object[]>> newEntityClassToPlanningIdToValuesMap,
+            List<Object> addedPlanningIdList, List<Object> planningIdList, List<String> variableNameList,
+            List<Object> newValueList) {
+        if (entity == null) {
+            return;
+        }
+        Class<?> entityClass = entity.getClass();
+        EntityAccessor entityAccessor = entityClassToAccessorMap.computeIfAbsent(entityClass,
+                BestSolutionChangeTracker::createEntityAccessor);
+
+        Object planningId = invoke(entityAccessor.planningIdGetter, entity);
+        Object[] values = new Object[entityAccessor.variableGetters.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = invoke(entityAccessor.variableGetters[i], entity);
+        }
+        newEntityClassToPlanningIdToValuesMap.computeIfAbsent(entityClass, ignored -> new HashMap<>())
+                .put(planningId, values);
+
+        Object[] oldValues = entityClassToPlanningIdToValuesMap.getOrDefault(entityClass, Map.of()).get(planningId);
+        if (oldValues == null) {
+            addedPlanningIdList.add(planningId);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (oldValues == null || !isSameValue(oldValues[i], values[i])) {
+                planningIdList.add(planningId);
+                variableNameList.add(entityAccessor.variableNames[i]);
+                newValueList.add(toChangeValue(values[i]));
+            }
+        }
+    }
+
+    private List<MethodHandle> getEntityGetterList(Class<?> solutionClass) {
+        return solutionClassToEntityGetterListMap.computeIfAbsent(solutionClass, ignored -> {
+            List<MethodHandle> out = new ArrayList<>();
+            for (Method method : solutionClass.getMethods()) {
+                if (method.getParameterCount() == 0 &&
+                        (method.isAnnotationPresent(PlanningEntityCollectionProperty.class) ||
+                                method.isAnnotationPresent(PlanningEntityProperty.class))) {
+                    out.add(unreflect(method));
+                }
+            }
+            return out;
+        });
+    }
+
+    private static EntityAccessor createEntityAccessor(Class<?> entityClass) {
+        MethodHandle planningIdGetter = null;
+        List<String> variableNameList = new ArrayList<>();
+        List<MethodHandle> variableGetterList = new ArrayList<>();
+        for (Method method : entityClass.getMethods()) {
+            if (method.getParameterCount() != 0 || !method.getName().startsWith("get")) {
+                continue;
+            }
+            if (method.isAnnotationPresent(PlanningId.class)) {
+                planningIdGetter = unreflect(method);
+            }
+            for (Class<? extends Annotation> variableAnnotation : VARIABLE_ANNOTATION_LIST) {
+                if (method.isAnnotationPresent(variableAnnotation)) {
+                    String propertyName = method.getName().substring(3);
+                    variableNameList.add(Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1));
+                    variableGetterList.add(unreflect(method));
+                    break;
+                }
+            }
+        }
+        if (planningIdGetter == null) {
+            throw new IllegalStateException("The planning entity class (" + entityClass
+                    + ") does not have a planning id, so its changes cannot be tracked. "
+                    + "Add a @planning_id to it.");
+        }
+        return new EntityAccessor(planningIdGetter, variableNameList.toArray(new String[0]),
+                variableGetterList.toArray(new MethodHandle[0]));
+    }
+
+    private static MethodHandle unreflect(Method getter) {
+        try {
+            return MethodHandles.publicLookup().unreflect(getter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(MethodHandle getter, Object object) {
+        try {
+            return getter.invoke(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the planning id of value if it is a planning object with one, otherwise null.
+     */
+    private Object getPlanningIdOrNull(Object value) {
+        Optional<MethodHandle> planningIdGetter = classToPlanningIdGetterMap.computeIfAbsent(value.getClass(),
+                BestSolutionChangeTracker::findPlanningIdGetter);
+        return planningIdGetter.map(getter -> invoke(getter, value)).orElse(null);
+    }
+
+    private static Optional<MethodHandle> findPlanningIdGetter(Class<?> objectClass) {
+        for (Method method : objectClass.getMethods()) {
+            if (method.getParameterCount() == 0 && method.isAnnotationPresent(PlanningId.class)) {
+                return Optional.of(unreflect(method));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the planning id of value if it is a planning object with one, so Python does not have to unwrap the
+     * planning clone, otherwise value itself.
+     */
+    private Object toChangeValue(Object value) {
+        if (value instanceof PythonObject) {
+            Object planningId = getPlanningIdOrNull(value);
+            return (planningId != null) ? planningId : value;
+        }
+        if (value instanceof List) {
+            List<Object> out = new ArrayList<>(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                out.add(toChangeValue(item));
+            }
+            return out;
+        }
+        return value;
+    }
+
+    private boolean isSameValue(Object oldValue, Object newValue) {
+        if (oldValue == newValue) {
+            return true;
+        }
+        if (oldValue == null || newValue == null) {
+            return false;
+        }
+        if (oldValue instanceof PythonObject || newValue instanceof PythonObject) {
+            if (oldValue.getClass() != newValue.getClass()) {
+                return false;
+            }
+            // Planning objects without a planning id are problem facts shared by every clone
+            Object oldPlanningId = getPlanningIdOrNull(oldValue);
+            return oldPlanningId != null && oldPlanningId.equals(getPlanningIdOrNull(newValue));
+        }
+        if (oldValue instanceof List && newValue instanceof List) {
+            List<?> oldList = (List<?>) oldValue;
+            List<?> newList = (List<?>) newValue;
+            if (oldList.size() != newList.size()) {
+                return false;
+            }
+            for (int i = 0; i < oldList.size(); i++) {
+                if (!isSameValue(oldList.get(i), newList.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(oldValue, newValue);
+    }
+}
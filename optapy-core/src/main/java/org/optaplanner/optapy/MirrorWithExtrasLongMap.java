@@ -0,0 +1,123 @@
+package org.optaplanner.optapy;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections4.set.CompositeSet;
+import org.optaplanner.jpyinterpreter.util.LongKeyedMap;
+import org.optaplanner.jpyinterpreter.util.LongObjectHashMap;
+
+/**
+ * A map that mirrors another map keyed by CPython object ids, and keeps the entries put into it separately, so the
+ * mirrored map is never modified. The new entries are kept in a {@link LongObjectHashMap}, and lookups do not box the
+ * ids if the mirrored map is a {@link LongKeyedMap}.
+ *
+ * @param <Value_>
+ */
+public class MirrorWithExtrasLongMap<Value_> extends AbstractMap<Number, Value_> implements LongKeyedMap<Value_> {
+    private final Map<Number, Value_> delegateMap;
+    private final LongKeyedMap<Value_> longKeyedDelegateMap;
+    private final LongObjectHashMap<Value_> extraEntriesMap = new LongObjectHashMap<>();
+
+    public MirrorWithExtrasLongMap(Map<Number, Value_> delegateMap) {
+        this.delegateMap = delegateMap;
+        this.longKeyedDelegateMap = (delegateMap instanceof LongKeyedMap) ? (LongKeyedMap<Value_>) delegateMap : null;
+    }
+
+    private Value_ getFromDelegate(long key) {
+        return (longKeyedDelegateMap != null) ? longKeyedDelegateMap.get(key) : delegateMap.get(key);
+    }
+
+    private boolean delegateContainsKey(long key) {
+        return (longKeyedDelegateMap != null) ? longKeyedDelegateMap.containsKey(key) : delegateMap.containsKey(key);
+    }
+
+    @Override
+    public Value_ get(long key) {
+        Value_ out = extraEntriesMap.get(key);
+        if (out == null) {
+            return getFromDelegate(key);
+        }
+        return out;
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return extraEntriesMap.containsKey(key) || delegateContainsKey(key);
+    }
+
+    @Override
+    public Value_ put(long key, Value_ value) {
+        if (delegateContainsKey(key)) {
+            throw new IllegalArgumentException("Cannot set value for key (" + key + ") because it is a mirrored from "
+                    + " map (" + delegateMap + ").");
+        }
+        return extraEntriesMap.put(key, value);
+    }
+
+    @Override
+    public Value_ remove(long key) {
+        return extraEntriesMap.remove(key);
+    }
+
+    @Override
+    public Value_ get(Object key) {
+        return (key instanceof Number) ? get(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key instanceof Number) && containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public Value_ put(Number key, Value_ value) {
+        return put(key.longValue(), value);
+    }
+
+    @Override
+    public Value_ remove(Object key) {
+        return (key instanceof Number) ? remove(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Number, ? extends Value_> map) {
+        if (map instanceof LongObjectHashMap) {
+            // Does not box the keys
+            ((LongObjectHashMap<? extends Value_>) map).forEachEntry((key, value) -> checkNotMirrored(key, map));
+        } else {
+            for (Number key : map.keySet()) {
+                checkNotMirrored(key.longValue(), map);
+            }
+        }
+        extraEntriesMap.putAll(map);
+    }
+
+    private void checkNotMirrored(long key, Map<? extends Number, ? extends Value_> map) {
+        if (delegateContainsKey(key)) {
+            throw new IllegalArgumentException("Cannot put all entries for map (" + map + ") because it shares "
+                    + " some keys with the mirrored map (" + delegateMap + ").");
+        }
+    }
+
+    @Override
+    public void clear() {
+        extraEntriesMap.clear();
+    }
+
+    @Override
+    public int size() {
+        return delegateMap.size() + extraEntriesMap.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegateMap.isEmpty() && extraEntriesMap.isEmpty();
+    }
+
+    @Override
+    public Set<Entry<Number, Value_>> entrySet() {
+        return new CompositeSet<>(delegateMap.entrySet(), extraEntriesMap.entrySet());
+    }
+}
@@ -0,0 +1,212 @@
+package org.optaplanner.optapy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
+import org.optaplanner.core.api.domain.solution.PlanningEntityProperty;
+import org.optaplanner.core.api.domain.solution.ProblemFactCollectionProperty;
+import org.optaplanner.core.api.domain.solution.ProblemFactProperty;
+
+/**
+ * Maps the class and planning id of the planning entities and problem facts of a working solution to them, so a
+ * problem change can look up the working object of an external object without wrapping the external object (which
+ * reads all of its fields from Python). Objects are matched by their exact class; an external object that is not in
+ * the index is looked up by OptaPlanner as before.
+ * <p>
+ * The index of a working solution is kept in a field of the generated planning solution class. It is built the first
+ * time a problem change looks up an object, and kept up to date when problem changes add or remove entities and
+ * problem facts. Not thread-safe; problem changes are done on the solver thread.
+ */
+@SuppressWarnings("unused")
+public class PlanningIdIndex {
+    private static final Map<Class<?>, Optional<Method>> classToPlanningIdGetterMap = new HashMap<>();
+    private static final Map<Class<?>, List<Method>> solutionClassToFactAndEntityGetterListMap = new HashMap<>();
+
+    private final Map<Class<?>, Map<Object, Object>> classToPlanningIdToWorkingObjectMap = new HashMap<>();
+
+    private PlanningIdIndex() {
+    }
+
+    /**
+     * Returns the index of the given working solution, building it if it was not built yet.
+     */
+    public static PlanningIdIndex of(PythonObject workingSolution) {
+        Field indexField = getIndexField(workingSolution);
+        try {
+            PlanningIdIndex out = (PlanningIdIndex) indexField.get(workingSolution);
+            if (out == null) {
+                out = new PlanningIdIndex();
+                out.addFactsAndEntities(workingSolution);
+                indexField.set(workingSolution, out);
+            }
+            return out;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds a working object that a problem change added to the working solution, if the index of the working solution
+     * was built.
+     */
+    public static void addToIndexOf(PythonObject workingSolution, Object workingObject) {
+        PlanningIdIndex index = getIndexOrNull(workingSolution);
+        if (index != null) {
+            index.add(workingObject);
+        }
+    }
+
+    /**
+     * Removes a working object that a problem change removed from the working solution, if the index of the working
+     * solution was built.
+     */
+    public static void removeFromIndexOf(PythonObject workingSolution, Object workingObject) {
+        PlanningIdIndex index = getIndexOrNull(workingSolution);
+        if (index != null) {
+            index.remove(workingObject);
+        }
+    }
+
+    private static Field getIndexField(PythonObject workingSolution) {
+        try {
+            return workingSolution.getClass().getField(PythonWrapperGenerator.PLANNING_ID_INDEX_FIELD_NAME);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("The object (" + workingSolution + ") is not a planning solution.", e);
+        }
+    }
+
+    private static PlanningIdIndex getIndexOrNull(PythonObject workingSolution) {
+        try {
+            return (PlanningIdIndex) getIndexField(workingSolution).get(workingSolution);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the working object of the given class with the given planning id, or null if there is no such object in
+     * the index.
+     *
+     * @param objectClass The generated class of the external object
+     * @param planningId The planning id of the external object, as read by the generated planning id getter
+     */
+    public Object lookUp(Class<?> objectClass, Object planningId) {
+        Map<Object, Object> planningIdToWorkingObjectMap = classToPlanningIdToWorkingObjectMap.get(objectClass);
+        if (planningIdToWorkingObjectMap == null || planningId == null) {
+            return null;
+        }
+        return planningIdToWorkingObjectMap.get(normalizePlanningId(planningId));
+    }
+
+    /**
+     * Returns the working object with the same class and planning id as the given wrapped external object, or null if
+     * there is no such object in the index.
+     */
+    public Object lookUp(PythonObject externalObject) {
+        Object planningId = getPlanningIdOrNull(externalObject);
+        return (planningId != null) ? lookUp(externalObject.getClass(), planningId) : null;
+    }
+
+    public void add(Object workingObject) {
+        Object planningId = getPlanningIdOrNull(workingObject);
+        if (planningId != null) {
+            classToPlanningIdToWorkingObjectMap.computeIfAbsent(workingObject.getClass(), ignored -> new HashMap<>())
+                    .put(normalizePlanningId(planningId), workingObject);
+        }
+    }
+
+    public void remove(Object workingObject) {
+        Object planningId = getPlanningIdOrNull(workingObject);
+        Map<Object, Object> planningIdToWorkingObjectMap =
+                classToPlanningIdToWorkingObjectMap.get(workingObject.getClass());
+        if (planningId != null && planningIdToWorkingObjectMap != null) {
+            planningIdToWorkingObjectMap.remove(normalizePlanningId(planningId), workingObject);
+        }
+    }
+
+    private void addFactsAndEntities(PythonObject workingSolution) {
+        for (Method getter : getFactAndEntityGetterList(workingSolution.getClass())) {
+            Object factOrFacts = invoke(getter, workingSolution);
+            if (factOrFacts instanceof Collection) {
+                for (Object fact : (Collection<?>) factOrFacts) {
+                    addIfPythonObject(fact);
+                }
+            } else if (factOrFacts instanceof Object[]) {
+                for (Object fact : (Object[]) factOrFacts) {
+                    addIfPythonObject(fact);
+                }
+            } else {
+                addIfPythonObject(factOrFacts);
+            }
+        }
+    }
+
+    private void addIfPythonObject(Object fact) {
+        if (fact instanceof PythonObject) {
+            add(fact);
+        }
+    }
+
+    /**
+     * Python ints are read as Longs, but a planning id getter with an int return type gives Integers.
+     */
+    private static Object normalizePlanningId(Object planningId) {
+        if (planningId instanceof Integer || planningId instanceof Short || planningId instanceof Byte) {
+            return ((Number) planningId).longValue();
+        }
+        return planningId;
+    }
+
+    private static List<Method> getFactAndEntityGetterList(Class<?> solutionClass) {
+        synchronized (solutionClassToFactAndEntityGetterListMap) {
+            return solutionClassToFactAndEntityGetterListMap.computeIfAbsent(solutionClass, ignored -> {
+                List<Method> out = new ArrayList<>();
+                for (Method method : solutionClass.getMethods()) {
+                    if (method.getParameterCount() == 0 &&
+                            (method.isAnnotationPresent(ProblemFactCollectionProperty.class) ||
+                                    method.isAnnotationPresent(ProblemFactProperty.class) ||
+                                    method.isAnnotationPresent(PlanningEntityCollectionProperty.class) ||
+                                    method.isAnnotationPresent(PlanningEntityProperty.class))) {
+                        out.add(method);
+                    }
+                }
+                return out;
+            });
+        }
+    }
+
+    private static Object getPlanningIdOrNull(Object object) {
+        Optional<Method> planningIdGetter;
+        synchronized (classToPlanningIdGetterMap) {
+            planningIdGetter = classToPlanningIdGetterMap.computeIfAbsent(object.getClass(),
+                    PlanningIdIndex::findPlanningIdGetter);
+        }
+        return planningIdGetter.map(getter -> invoke(getter, object)).orElse(null);
+    }
+
+    private static Optional<Method> findPlanningIdGetter(Class<?> objectClass) {
+        for (Method method : objectClass.getMethods()) {
+            if (method.getParameterCount() == 0 && method.isAnnotationPresent(PlanningId.class)) {
+                return Optional.of(method);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Object invoke(Method getter, Object object) {
+        try {
+            return getter.invoke(object);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.optaplanner.optapy;
+
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.optaplanner.core.api.domain.valuerange.CountableValueRange;
+import org.optaplanner.core.api.domain.valuerange.ValueRangeFactory;
+import org.optaplanner.core.impl.domain.valuerange.buildin.collection.ListValueRange;
+import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+import org.optaplanner.jpyinterpreter.util.WeakValueLongMap;
+
+/**
+ * A countable value range implemented in Python. The values of the range are copied into a Java value range the
+ * first time the range is used, so the selectors do not call into Python for every value they select. An ascending
+ * arithmetic progression of ints or longs becomes an int or long value range that computes its values, and anything
+ * else becomes a list value range. Ranges with more than {@link #MAX_MATERIALIZED_VALUE_RANGE_SIZE} values are not
+ * copied, and keep calling Python.
+ * <p>
+ * Every wrapper that reads the same Python range gets the same instance (see {@link #of(OpaquePythonReference)}), so
+ * a range is copied at most once, no matter how many times the fields of its wrapper are read.
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class PythonCountableValueRange<T> implements CountableValueRange<T> {
+    /**
+     * Copying a range reads all of its values up front, so it only pays off if the selectors go through the values
+     * of the range at least once, which is what a change move selector or a construction heuristic does for a range of
+     * this size. Bigger ranges are typically sampled with random selection, which only reads the values it selects;
+     * copying them would cost more time and memory (a boxed value per value) than it saves.
+     */
+    static final long MAX_MATERIALIZED_VALUE_RANGE_SIZE = 10_000L;
+
+    private static Function<OpaquePythonReference, List<Object>> getPythonValueRangeValues;
+
+    // Keyed by the id of the Python range; the values hold the Python range, so its id is not reused while they exist
+    private static final WeakValueLongMap<PythonCountableValueRange> pythonIdToValueRangeMap =
+            new WeakValueLongMap<>();
+
+    private final CountableValueRange<T> pythonValueRange;
+    private final OpaquePythonReference pythonReference;
+    private volatile CountableValueRange<T> materializedValueRange;
+
+    private PythonCountableValueRange(OpaquePythonReference pythonReference) {
+        this.pythonReference = pythonReference;
+        this.pythonValueRange = (CountableValueRange<T>) Proxy.newProxyInstance(
+                pythonReference.getClass().getClassLoader(),
+                new Class[] { CountableValueRange.class },
+                Proxy.getInvocationHandler(pythonReference));
+    }
+
+    public static void setGetPythonValueRangeValues(Function<OpaquePythonReference, List<Object>> function) {
+        PythonCountableValueRange.getPythonValueRangeValues = function;
+    }
+
+    /**
+     * Returns the value range of the given Python range, creating it if no other wrapper uses that Python range.
+     */
+    public static PythonCountableValueRange of(OpaquePythonReference pythonReference) {
+        long id = PythonWrapperGenerator.pythonObjectToId.apply(pythonReference).longValue();
+        synchronized (pythonIdToValueRangeMap) {
+            PythonCountableValueRange out = pythonIdToValueRangeMap.get(id);
+            if (out == null) {
+                out = new PythonCountableValueRange(pythonReference);
+                pythonIdToValueRangeMap.put(id, out);
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Returns the Java value range the values of this range were copied into, copying them if they were not copied
+     * yet, or the Python range if it is too big to copy.
+     */
+    public CountableValueRange<T> getMaterializedValueRange() {
+        CountableValueRange<T> out = materializedValueRange;
+        if (out == null) {
+            synchronized (this) {
+                out = materializedValueRange;
+                if (out == null) {
+                    out = materialize();
+                    materializedValueRange = out;
+                }
+            }
+        }
+        return out;
+    }
+
+    private CountableValueRange<T> materialize() {
+        if (pythonValueRange.getSize() > MAX_MATERIALIZED_VALUE_RANGE_SIZE) {
+            return pythonValueRange;
+        }
+        // Read in a single call
+        List<Object> valueList = getPythonValueRangeValues.apply(pythonReference);
+        CountableValueRange numericValueRange = getNumericValueRange(valueList);
+        if (numericValueRange != null) {
+            return numericValueRange;
+        }
+        return new ListValueRange(valueList);
+    }
+
+    /**
+     * Returns an int or long value range with the values of valueList if they are all ints (or all longs) in
+     * ascending order with a constant increment; otherwise returns null.
+     */
+    public static CountableValueRange<?> getNumericValueRange(List<Object> valueList) {
+        if (valueList.size() < 2) {
+            return null;
+        }
+        Object first = valueList.get(0);
+        if (first == null) {
+            return null;
+        }
+        Class<?> valueClass = first.getClass();
+        if (valueClass != Integer.class && valueClass != Long.class) {
+            return null;
+        }
+
+        long from = ((Number) first).longValue();
+        long incrementUnit = ((Number) valueList.get(1)).longValue() - from;
+        if (incrementUnit <= 0) {
+            return null;
+        }
+        for (int i = 1; i < valueList.size(); i++) {
+            Object value = valueList.get(i);
+            if (value == null || value.getClass() != valueClass
+                    || ((Number) value).longValue() != from + i * incrementUnit) {
+                return null;
+            }
+        }
+
+        long to = from + valueList.size() * incrementUnit;
+        if (valueClass == Integer.class) {
+            if (to > Integer.MAX_VALUE) {
+                return null;
+            }
+            return ValueRangeFactory.createIntValueRange((int) from, (int) to, (int) incrementUnit);
+        }
+        return ValueRangeFactory.createLongValueRange(from, to, incrementUnit);
+    }
+
+    @Override
+    public long getSize() {
+        return getMaterializedValueRange().getSize();
+    }
+
+    @Override
+    public T get(long index) {
+        return getMaterializedValueRange().get(index);
+    }
+
+    @Override
+    public Iterator<T> createOriginalIterator() {
+        return getMaterializedValueRange().createOriginalIterator();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getMaterializedValueRange().isEmpty();
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return getMaterializedValueRange().contains(value);
+    }
+
+    @Override
+    public Iterator<T> createRandomIterator(Random workingRandom) {
+        return getMaterializedValueRange().createRandomIterator(workingRandom);
+    }
+}
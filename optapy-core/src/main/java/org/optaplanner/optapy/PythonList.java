@@ -1,11 +1,13 @@
 package org.optaplanner.optapy;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -16,6 +18,16 @@ import org.optaplanner.jpyinterpreter.implementors.JavaPythonTypeConversionImple
 import org.optaplanner.jpyinterpreter.types.collections.PythonLikeList;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 
+/**
+ * A Java List view of a Python list. Items are read from Python and wrapped the first time they are accessed
+ * (through either the Java List methods or the PythonLikeList methods), so a list that is only partly used is only
+ * partly wrapped.
+ * <p>
+ * The items are read, published and refreshed while holding the lock of the list, so a list can be read by several
+ * threads. The items of a list of a shared problem fact (see {@link SharedProblemFactCache}) are all read when the
+ * list is created, since the reference map of shared wrappers is used by several solver jobs at once; other lists
+ * wrap their items into the reference map of their solver job, which only that job uses.
+ */
 public class PythonList<T> extends PythonLikeList<T> implements PythonObject, List<T> {
     private static Function<OpaquePythonReference, Object> clearPythonList;
     private static Function<OpaquePythonReference, Integer> getPythonListLength;
@@ -27,6 +39,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
     private static BiFunction<OpaquePythonReference, Integer, Boolean> removeItemAtIndexFromPythonList;
     private static BiFunction<OpaquePythonReference, Object, Boolean> doesPythonListContainItem;
     private static TriFunction<OpaquePythonReference, Integer, Integer, OpaquePythonReference> slicePythonList;
+    private static Function<OpaquePythonReference, Object> getPythonListContents;
 
     public static void setClearPythonList(Function<OpaquePythonReference, Object> clearPythonList) {
         PythonList.clearPythonList = clearPythonList;
@@ -75,37 +88,144 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         PythonList.slicePythonList = slicePythonList;
     }
 
+    public static void setGetPythonListContents(Function<OpaquePythonReference, Object> getPythonListContents) {
+        PythonList.getPythonListContents = getPythonListContents;
+    }
+
+    /**
+     * Returns every item of a Python list in a single call, as a long[] if every item is an int, a double[] if every
+     * item is a float, and otherwise an Object[] of the ids of the items (a long[]), the items (an Object[]), and
+     * the Java classes of the items (an Object[]). In that Object[], ints, floats, strs, bools and None are passed as
+     * is, and other items as an {@link OpaquePythonReference}. Returns null if an int does not fit in a Java long.
+     */
+    static Object getPythonListContents(OpaquePythonReference pythonList) {
+        return getPythonListContents.apply(pythonList);
+    }
+
     private OpaquePythonReference pythonListOpaqueReference;
     private Map<Number, Object> idMap;
 
     private TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter;
 
+    /**
+     * Guards cachedObjectList and cachedPythonLikeObjectList; shared with the sublists of this list, which use the
+     * same caches.
+     */
+    private final Object lock;
     private final List<Object> cachedObjectList;
     private final List<PythonLikeObject> cachedPythonLikeObjectList;
 
+    /**
+     * The PythonLikeList delegate of a PythonList, which reads the items that were not read yet from the
+     * PythonList, so Python code never sees an item that was not read yet.
+     */
+    private static final class LazyItemList extends AbstractList<PythonLikeObject> implements RandomAccess {
+        private final List<PythonLikeObject> items;
+        private PythonList<?> owner;
+
+        LazyItemList(int capacity) {
+            this.items = new ArrayList<>(capacity);
+        }
+
+        @Override
+        public PythonLikeObject get(int index) {
+            synchronized (owner.lock) {
+                PythonLikeObject out = items.get(index);
+                if (out == null) {
+                    owner.get(index);
+                    out = items.get(index);
+                }
+                return out;
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (owner.lock) {
+                return items.size();
+            }
+        }
+
+        @Override
+        public Iterator<PythonLikeObject> iterator() {
+            owner.readAllItems();
+            return super.iterator();
+        }
+
+        @Override
+        public ListIterator<PythonLikeObject> listIterator(int index) {
+            owner.readAllItems();
+            return super.listIterator(index);
+        }
+
+        @Override
+        public PythonLikeObject set(int index, PythonLikeObject item) {
+            synchronized (owner.lock) {
+                return items.set(index, item);
+            }
+        }
+
+        @Override
+        public void add(int index, PythonLikeObject item) {
+            synchronized (owner.lock) {
+                modCount++;
+                items.add(index, item);
+            }
+        }
+
+        @Override
+        public PythonLikeObject remove(int index) {
+            synchronized (owner.lock) {
+                modCount++;
+                return items.remove(index);
+            }
+        }
+
+        @Override
+        public void clear() {
+            synchronized (owner.lock) {
+                modCount++;
+                items.clear();
+            }
+        }
+    }
+
     public PythonList(OpaquePythonReference pythonListOpaqueReference, Number id, Map<Number, Object> idMap,
             TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
+        this(pythonListOpaqueReference, idMap, pythonSetter, getPythonListLength.apply(pythonListOpaqueReference));
+    }
+
+    private PythonList(OpaquePythonReference pythonListOpaqueReference, Map<Number, Object> idMap,
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter, int size) {
+        super(new LazyItemList(size));
         this.pythonListOpaqueReference = pythonListOpaqueReference;
         this.idMap = idMap;
         this.pythonSetter = pythonSetter;
-        int size = getPythonListLength.apply(pythonListOpaqueReference);
+        this.lock = new Object();
         this.cachedObjectList = new ArrayList<>(size);
         this.cachedPythonLikeObjectList = getDelegate();
-        for (int i = 0; i < size; i++) {
-            cachedObjectList.add(null);
-            cachedPythonLikeObjectList.add(null);
-        }
-        for (int i = 0; i < size; i++) {
-            get(i); // use side-effect of populating cachedObjectList
+        ((LazyItemList) cachedPythonLikeObjectList).owner = this;
+        readItemsFromPythonList(size);
+        if (SharedProblemFactCache.isSharedWrapperMap(idMap)) {
+            // Items must not be wrapped into the shared map later, by the solver jobs using the list
+            readAllItems();
         }
     }
 
     public PythonList(OpaquePythonReference pythonListOpaqueReference, Number id, Map<Number, Object> idMap,
             TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter, List cachedObjectList,
             List cachedPythonLikeObjectList) {
+        this(pythonListOpaqueReference, idMap, pythonSetter, new Object(), cachedObjectList,
+                cachedPythonLikeObjectList);
+    }
+
+    private PythonList(OpaquePythonReference pythonListOpaqueReference, Map<Number, Object> idMap,
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter, Object lock,
+            List cachedObjectList, List cachedPythonLikeObjectList) {
         this.pythonListOpaqueReference = pythonListOpaqueReference;
         this.idMap = idMap;
         this.pythonSetter = pythonSetter;
+        this.lock = lock;
         this.cachedObjectList = cachedObjectList;
         this.cachedPythonLikeObjectList = cachedPythonLikeObjectList;
     }
@@ -122,8 +242,13 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public void forceUpdate() {
+        List<Object> items;
+        synchronized (lock) {
+            readAllItems();
+            items = new ArrayList<>(cachedObjectList);
+        }
         clearPythonList.apply(pythonListOpaqueReference);
-        for (Object o : cachedObjectList) {
+        for (Object o : items) {
             if (o instanceof OpaquePythonReference) {
                 addItemToPythonList.apply(pythonListOpaqueReference, o);
             } else if (o instanceof PythonObject) {
@@ -149,23 +274,134 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     }
 
+    /**
+     * Reads the items of the Python list again, since it was changed from Python
+     * (for instance, by the consumer of a problem change). Items that were already wrapped are reused.
+     */
+    public void refreshFromPythonList() {
+        int size = getPythonListLength.apply(pythonListOpaqueReference);
+        synchronized (lock) {
+            cachedObjectList.clear();
+            cachedPythonLikeObjectList.clear();
+            readItemsFromPythonList(size);
+            if (SharedProblemFactCache.isSharedWrapperMap(idMap)) {
+                readAllItems();
+            }
+        }
+    }
+
+    /**
+     * Makes room for the size items of the Python list; each is read by {@link #get(int)} the first time it is
+     * accessed.
+     */
+    private void readItemsFromPythonList(int size) {
+        for (int i = 0; i < size; i++) {
+            cachedObjectList.add(null);
+            cachedPythonLikeObjectList.add(null);
+        }
+    }
+
+    /**
+     * Reads the items that were not read yet, for the methods that use every item. If several items were not
+     * read yet, they are all read from Python in a single call.
+     */
+    private void readAllItems() {
+        synchronized (lock) {
+            readAllItemsLocked();
+        }
+    }
+
+    private void readAllItemsLocked() {
+        int size = cachedObjectList.size();
+        int unreadCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (cachedObjectList.get(i) == null) {
+                unreadCount++;
+            }
+        }
+        if (unreadCount == 0 || (unreadCount > 1 && readUnreadItemsInBulk())) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (cachedObjectList.get(i) == null) {
+                readItem(i);
+            }
+        }
+    }
+
+    /**
+     * Reads the items that were not read yet from the contents of the Python list (see
+     * {@link #getPythonListContents(OpaquePythonReference)}). Returns false if the contents could not be read in
+     * bulk, or the Python list no longer has the same size.
+     */
+    private boolean readUnreadItemsInBulk() {
+        Object contents = getPythonListContents(pythonListOpaqueReference);
+        int size = cachedObjectList.size();
+        if (contents instanceof long[]) {
+            long[] values = (long[]) contents;
+            if (values.length != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (cachedObjectList.get(i) == null) {
+                    cacheItem(i, values[i], null, null);
+                }
+            }
+            return true;
+        }
+        if (contents instanceof double[]) {
+            double[] values = (double[]) contents;
+            if (values.length != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (cachedObjectList.get(i) == null) {
+                    cacheItem(i, values[i], null, null);
+                }
+            }
+            return true;
+        }
+        if (contents instanceof Object[]) {
+            Object[] packedContents = (Object[]) contents;
+            long[] ids = (long[]) packedContents[0];
+            Object[] items = (Object[]) packedContents[1];
+            Object[] javaClasses = (Object[]) packedContents[2];
+            if (items.length != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (cachedObjectList.get(i) == null) {
+                    cacheItem(i, items[i], ids[i], (Class<?>) javaClasses[i]);
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public int size() {
-        return cachedObjectList.size();
+        synchronized (lock) {
+            return cachedObjectList.size();
+        }
     }
 
     @Override
     public boolean isEmpty() {
-        return cachedObjectList.isEmpty();
+        return size() == 0;
     }
 
     @Override
     public boolean contains(Object o) {
-        return cachedObjectList.contains(o);
+        synchronized (lock) {
+            readAllItems();
+            return cachedObjectList.contains(o);
+        }
     }
 
     @Override
     public Iterator iterator() {
+        readAllItems();
         return new Iterator() {
             int index = 0;
             final int length = size();
@@ -186,6 +422,7 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public Object[] toArray() {
+        readAllItems();
         int length = size();
         Object[] out = new Object[length];
         for (int i = 0; i < length; i++) {
@@ -209,8 +446,10 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public boolean add(Object t) {
-        cachedObjectList.add(t);
-        cachedPythonLikeObjectList.add(JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+        synchronized (lock) {
+            cachedPythonLikeObjectList.add(JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+            cachedObjectList.add(t);
+        }
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             if (t instanceof OpaquePythonReference) {
@@ -226,8 +465,16 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public boolean remove(Object t) {
-        boolean out = cachedObjectList.remove(t);
-        cachedPythonLikeObjectList.remove(JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+        boolean out;
+        synchronized (lock) {
+            readAllItems();
+            int index = cachedObjectList.indexOf(t);
+            out = index != -1;
+            if (out) {
+                cachedObjectList.remove(index);
+                cachedPythonLikeObjectList.remove(index);
+            }
+        }
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             if (t instanceof OpaquePythonReference) {
@@ -292,8 +539,10 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public void clear() {
-        cachedObjectList.clear();
-        cachedPythonLikeObjectList.clear();
+        synchronized (lock) {
+            cachedObjectList.clear();
+            cachedPythonLikeObjectList.clear();
+        }
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             clearPythonList.apply(pythonListOpaqueReference);
@@ -302,47 +551,69 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public T get(int i) {
-        if (i < 0 || i >= cachedObjectList.size()) {
-            throw new IndexOutOfBoundsException();
-        }
+        synchronized (lock) {
+            if (i < 0 || i >= cachedObjectList.size()) {
+                throw new IndexOutOfBoundsException();
+            }
 
-        Object maybeResult = cachedObjectList.get(i);
-        if (maybeResult != null) {
-            return (T) maybeResult;
+            Object maybeResult = cachedObjectList.get(i);
+            if (maybeResult != null) {
+                return (T) maybeResult;
+            }
+            return readItem(i);
         }
+    }
 
-        Object out = getItemAtIndexInPythonList.apply(pythonListOpaqueReference, i);
+    /**
+     * Reads and wraps the item at index i of the Python list. Must hold the lock.
+     */
+    private T readItem(int i) {
+        return cacheItem(i, getItemAtIndexInPythonList.apply(pythonListOpaqueReference, i), null, null);
+    }
 
+    /**
+     * Caches out, the item at index i of the Python list, wrapping it if it is a Python object.
+     * If they are null, the id and Java class of a Python object are looked up. Must hold the lock; the item is
+     * published in cachedPythonLikeObjectList before cachedObjectList, since a non-null item in cachedObjectList
+     * means the item was read.
+     */
+    private T cacheItem(int i, Object out, Number id, Class<?> javaClass) {
         if (out instanceof Number || out instanceof Boolean || out instanceof String) {
+            cachedPythonLikeObjectList.set(i, JavaPythonTypeConversionImplementor.wrapJavaObject(out));
             if (out instanceof Long) {
                 cachedObjectList.set(i, ((Long) out).intValue());
             } else {
                 cachedObjectList.set(i, out);
             }
-            cachedPythonLikeObjectList.set(i, JavaPythonTypeConversionImplementor.wrapJavaObject(out));
             return (T) out;
         }
 
         if (out instanceof PythonLikeObject) {
-            cachedObjectList.set(i, out);
             cachedPythonLikeObjectList.set(i, (PythonLikeObject) out);
+            cachedObjectList.set(i, out);
             return (T) out;
         }
 
         // Different proxies of the same object are different objects according to IdentityHashMap,
         // so wrap it (which will return the same Proxy if it was already created)
-        Object wrapped_out = PythonWrapperGenerator.wrap(PythonWrapperGenerator.getJavaClass((OpaquePythonReference) out),
-                (OpaquePythonReference) out, idMap, pythonSetter);
-        cachedObjectList.set(i, wrapped_out);
+        OpaquePythonReference reference = (OpaquePythonReference) out;
+        Class<?> referenceClass = (javaClass != null) ? javaClass : PythonWrapperGenerator.getJavaClass(reference);
+        Object wrapped_out = (id != null)
+                ? PythonWrapperGenerator.wrap(referenceClass, reference, id, idMap, pythonSetter)
+                : PythonWrapperGenerator.wrap(referenceClass, reference, idMap, pythonSetter);
         cachedPythonLikeObjectList.set(i, (PythonLikeObject) wrapped_out);
+        cachedObjectList.set(i, wrapped_out);
         return (T) wrapped_out;
     }
 
     @Override
     public Object set(int i, Object t) {
-        Object old = get(i);
-        cachedObjectList.set(i, t);
-        cachedPythonLikeObjectList.set(i, JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+        Object old;
+        synchronized (lock) {
+            old = get(i);
+            cachedPythonLikeObjectList.set(i, JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+            cachedObjectList.set(i, t);
+        }
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             if (t instanceof OpaquePythonReference) {
@@ -356,10 +627,24 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
         return old;
     }
 
+    /**
+     * Reads the items that were not read yet before an item is inserted or removed, if the change is not made to the
+     * Python list too: the unread items would otherwise be read from their old index in the Python list. Must hold
+     * the lock.
+     */
+    private void readAllItemsBeforeStructuralChange() {
+        if (pythonSetter == PythonWrapperGenerator.NONE_PYTHON_SETTER) {
+            readAllItemsLocked();
+        }
+    }
+
     @Override
     public void add(int i, Object t) {
-        cachedObjectList.add(i, t);
-        cachedPythonLikeObjectList.add(i, JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+        synchronized (lock) {
+            readAllItemsBeforeStructuralChange();
+            cachedPythonLikeObjectList.add(i, JavaPythonTypeConversionImplementor.wrapJavaObject(t));
+            cachedObjectList.add(i, t);
+        }
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             if (t instanceof OpaquePythonReference) {
@@ -374,9 +659,13 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public T remove(int i) {
-        T out = get(i);
-        cachedObjectList.remove(i);
-        cachedPythonLikeObjectList.remove(i);
+        T out;
+        synchronized (lock) {
+            out = get(i);
+            readAllItemsBeforeStructuralChange();
+            cachedObjectList.remove(i);
+            cachedPythonLikeObjectList.remove(i);
+        }
 
         if (pythonSetter != PythonWrapperGenerator.NONE_PYTHON_SETTER) {
             removeItemAtIndexFromPythonList.apply(pythonListOpaqueReference, i);
@@ -418,8 +707,14 @@ public class PythonList<T> extends PythonLikeList<T> implements PythonObject, Li
 
     @Override
     public List subList(int start, int end) {
-        return new PythonList(slicePythonList.apply(pythonListOpaqueReference, start, end), null, null, pythonSetter,
-                cachedObjectList.subList(start, end), cachedPythonLikeObjectList.subList(start, end));
+        // The sublist shares the caches (and so the lock) of this list, so its items must be read by this list
+        synchronized (lock) {
+            for (int i = start; i < end; i++) {
+                get(i);
+            }
+            return new PythonList(slicePythonList.apply(pythonListOpaqueReference, start, end), null, pythonSetter,
+                    lock, cachedObjectList.subList(start, end), cachedPythonLikeObjectList.subList(start, end));
+        }
     }
 
     @Override
@@ -1,7 +1,6 @@
 package org.optaplanner.optapy;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -9,11 +8,18 @@ import java.util.function.Function;
 import org.optaplanner.core.api.domain.solution.cloner.SolutionCloner;
 import org.optaplanner.core.api.function.TriFunction;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
+import org.optaplanner.jpyinterpreter.util.LongKeyedMap;
+import org.optaplanner.jpyinterpreter.util.LongObjectHashMap;
 
 public class PythonPlanningSolutionCloner implements SolutionCloner<Object> {
     // A function in python that deep clones a given OpaquePythonReference
     private static Function<PythonObject, OpaquePythonReference> deepClonePythonObject;
 
+    /**
+     * The number of ids visited in the previous clone, so the id maps of the next clone do not need to be resized.
+     */
+    private int lastVisitedIdCount = 16;
+
     @SuppressWarnings("unused")
     public static void setDeepClonePythonObject(Function<PythonObject, OpaquePythonReference> cloner) {
         deepClonePythonObject = cloner;
@@ -41,20 +47,24 @@ public class PythonPlanningSolutionCloner implements SolutionCloner<Object> {
                 (PythonObject) PythonWrapperGenerator.wrap(o.getClass(), planningClone, toClone.get__optapy_reference_map(),
                         pythonSetter);
 
-        Map<Number, Object> oldIdMap = new HashMap<>();
-        Map<Number, Object> newIdMap = new HashMap<>();
+        Map<Number, Object> referenceMap = toClone.get__optapy_reference_map();
+        LongObjectHashMap<Object> oldIdMap = new LongObjectHashMap<>(lastVisitedIdCount);
+        LongObjectHashMap<Object> newIdMap = new LongObjectHashMap<>(lastVisitedIdCount);
         toClone.visitIds(oldIdMap);
         out.visitIds(newIdMap);
+        lastVisitedIdCount = Math.max(oldIdMap.size(), newIdMap.size());
 
-        for (Number id : oldIdMap.keySet()) {
-            if (!newIdMap.containsKey(id)) {
-                toClone.get__optapy_reference_map().remove(id);
-            } else {
-                newIdMap.remove(id);
+        oldIdMap.forEachEntry((id, oldObject) -> {
+            if (newIdMap.remove(id) == null) {
+                if (referenceMap instanceof LongKeyedMap) {
+                    ((LongKeyedMap<Object>) referenceMap).remove(id);
+                } else {
+                    referenceMap.remove(id);
+                }
             }
-        }
+        });
 
-        toClone.get__optapy_reference_map().putAll(newIdMap);
+        referenceMap.putAll(newIdMap);
 
         // Mirror the reference map (not pass a reference to it)
         // so Score + list variables can be safely garbage collected in Python
@@ -63,7 +73,7 @@ public class PythonPlanningSolutionCloner implements SolutionCloner<Object> {
         //  Python Object can have the same id, leading to the old value in the map being returned,
         //  causing an exception (or worse, a subtle bug))
         out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>()),
-                new MirrorWithExtrasMap<>(out.get__optapy_reference_map()));
+                new MirrorWithExtrasLongMap<>(out.get__optapy_reference_map()));
         return out;
     }
 }
@@ -16,11 +16,23 @@ public class PythonSolver {
     public static boolean onlyUseJavaSetters = false;
 
     public static Object wrapProblem(Class<?> solutionClass, OpaquePythonReference problem) {
+        return wrapProblem(solutionClass, problem, null);
+    }
+
+    /**
+     * Wraps problem, reusing the problem fact wrappers in sharedProblemFactCache (if it is not null)
+     * and adding the problem facts wrapped for this problem to it.
+     */
+    public static Object wrapProblem(Class<?> solutionClass, OpaquePythonReference problem,
+            SharedProblemFactCache sharedProblemFactCache) {
         try {
             final boolean onlyUseJavaSettersForThisInstance = onlyUseJavaSetters;
             onlyUseJavaSetters = false;
+            if (sharedProblemFactCache != null) {
+                sharedProblemFactCache.startWrapping();
+            }
             PythonObject out = (PythonObject) PythonWrapperGenerator.wrap(solutionClass, problem,
-                    new MirrorWithExtrasMap<>(CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap),
+                    new MirrorWithExtrasLongMap<>(CPythonBackedPythonInterpreter.pythonObjectIdToConvertedObjectMap),
                     onlyUseJavaSettersForThisInstance ? PythonWrapperGenerator.NONE_PYTHON_SETTER
                             : PythonWrapperGenerator.pythonObjectIdAndAttributeSetter);
             out.visitIds(out.get__optapy_reference_map());
@@ -32,7 +44,7 @@ public class PythonSolver {
             //  Python Object can have the same id, leading to the old value in the map being returned,
             //  causing an exception (or worse, a subtle bug))
             out.readFromPythonObject(Collections.newSetFromMap(new IdentityHashMap<>()),
-                    new MirrorWithExtrasMap<>(out.get__optapy_reference_map()));
+                    new MirrorWithExtrasLongMap<>(out.get__optapy_reference_map()));
             return out;
         } catch (Throwable t) {
             throw new OptaPyException("A problem occurred when wrapping the python problem (" +
@@ -40,6 +52,8 @@ public class PythonSolver {
                     "). Maybe an annotation was passed an incorrect type " +
                     "(for example, @problem_fact_collection_property(str) " +
                     " on a function that return a list of int).", t);
+        } finally {
+            SharedProblemFactCache.stopWrapping();
         }
     }
 }
@@ -58,6 +58,7 @@ import org.optaplanner.jpyinterpreter.types.PythonLikeType;
 import org.optaplanner.jpyinterpreter.types.PythonNone;
 import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference;
 import org.optaplanner.jpyinterpreter.types.wrappers.PythonObjectWrapper;
+import org.optaplanner.jpyinterpreter.util.LongKeyedMap;
 
 import io.quarkus.gizmo.AnnotationCreator;
 import io.quarkus.gizmo.AssignableResultHandle;
@@ -226,6 +227,71 @@ public class PythonWrapperGenerator {
         throw new IllegalArgumentException("Unable to find variable (" + variableName + ") on entity (" + object + ").");
     }
 
+    /**
+     * Reads the fields of a wrapped object again from its Python object, which was changed from Python (for instance,
+     * by the consumer of a problem change). Objects it refers to that were already wrapped are reused, and its lists
+     * and arrays are read again, so only this object (and any object it now refers to for the first time) is read from
+     * Python.
+     */
+    @SuppressWarnings({ "unused", "unchecked" })
+    public static void refreshFromPythonObject(PythonObject object) {
+        if (SharedProblemFactCache.isSharedWrapper(object)) {
+            throw new IllegalArgumentException("The problem fact (" + object + ") is shared by the solver jobs of a "
+                    + "SolverManager, so it cannot be changed.");
+        }
+        if (object instanceof PythonList) {
+            ((PythonList<?>) object).refreshFromPythonList();
+            return;
+        }
+        TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter;
+        try {
+            pythonSetter = (TriFunction<OpaquePythonReference, String, Object, Object>) object.getClass()
+                    .getField(PYTHON_SETTER_FIELD_NAME).get(object);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        List<Field> fieldList = new ArrayList<>();
+        for (Class<?> declaringClass = object.getClass(); declaringClass != null;
+                declaringClass = declaringClass.getSuperclass()) {
+            for (Field field : declaringClass.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && field.getName().endsWith("$field")) {
+                    field.setAccessible(true);
+                    fieldList.add(field);
+                }
+            }
+        }
+
+        // $setFields reuses the arrays that were already wrapped, which may have changed, so they are wrapped again
+        Map<Number, Object> referenceMap = object.get__optapy_reference_map();
+        for (Field field : fieldList) {
+            if (field.getType().isArray()) {
+                String getterName = field.getName().substring(0, field.getName().length() - 6);
+                Object pythonArray = getValueFromPythonObject(object.get__optapy_Id(), getterName);
+                if (pythonArray instanceof OpaquePythonReference) {
+                    referenceMap.remove(pythonObjectToId.apply((OpaquePythonReference) pythonArray));
+                }
+            }
+        }
+
+        object.$setFields(object.get__optapy_Id(), getPythonObjectId(object), referenceMap, pythonSetter);
+
+        // $setFields also reuses the lists that were already wrapped
+        for (Field field : fieldList) {
+            if (!List.class.isAssignableFrom(field.getType())) {
+                continue;
+            }
+            Object value;
+            try {
+                value = field.get(object);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            if (value instanceof PythonList) {
+                ((PythonList<?>) value).refreshFromPythonList();
+            }
+        }
+    }
+
     @SuppressWarnings("unused")
     public static Class<?> getJavaClass(OpaquePythonReference object) {
         return pythonGetJavaClass.apply(object);
@@ -284,14 +350,41 @@ public class PythonWrapperGenerator {
     static final String PYTHON_LIKE_VALUE_MAP_FIELD_NAME = "__optaplannerPythonLikeValueCacheMap";
     static final String PYTHON_LIKE_TYPE_FIELD_NAME = "$TYPE";
 
+    // Holds the PlanningIdIndex of a working solution
+    static final String PLANNING_ID_INDEX_FIELD_NAME = "__optapyPlanningIdIndex";
+
     static final TriFunction<OpaquePythonReference, String, Object, Object> NONE_PYTHON_SETTER = (a, b, c) -> null;
 
     private static <T> T wrapArray(Class<T> javaClass, OpaquePythonReference object, Number id, Map<Number, Object> map,
             TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
         // If the class is an array, we need to extract
         // its elements from the OpaquePythonReference
-        if (Comparable.class.isAssignableFrom(javaClass.getComponentType()) ||
-                Number.class.isAssignableFrom(javaClass.getComponentType())) {
+        Class<?> componentType = javaClass.getComponentType();
+        if (componentType == Integer.class || componentType == Long.class || componentType == Double.class) {
+            // Python ints and floats are read in a single call
+            Object contents = PythonList.getPythonListContents(object);
+            if (contents instanceof long[]) {
+                long[] values = (long[]) contents;
+                Object out = Array.newInstance(componentType, values.length);
+                map.put(id, out);
+                for (int i = 0; i < values.length; i++) {
+                    Array.set(out, i, toNumberOfType(componentType, values[i]));
+                }
+                return (T) out;
+            }
+            if (contents instanceof double[] && componentType == Double.class) {
+                double[] values = (double[]) contents;
+                Object out = Array.newInstance(componentType, values.length);
+                map.put(id, out);
+                for (int i = 0; i < values.length; i++) {
+                    Array.set(out, i, values[i]);
+                }
+                return (T) out;
+            }
+        }
+
+        if (Comparable.class.isAssignableFrom(componentType) ||
+                Number.class.isAssignableFrom(componentType)) {
             List<Object> items = pythonArrayToJavaList.apply(object);
             int length = items.size();
             Object out = Array.newInstance(javaClass.getComponentType(), length);
@@ -309,6 +402,34 @@ public class PythonWrapperGenerator {
             }
             return (T) out;
         }
+
+        Object contents = PythonList.getPythonListContents(object);
+        if (contents instanceof Object[]) {
+            // Wrap the items with the ids that came with them, instead of getting the id of each item from Python
+            Object[] packedContents = (Object[]) contents;
+            long[] ids = (long[]) packedContents[0];
+            Object[] items = (Object[]) packedContents[1];
+            boolean canUseItems = true;
+            for (Object item : items) {
+                if (item != null && !(item instanceof OpaquePythonReference) && !componentType.isInstance(item)) {
+                    canUseItems = false;
+                    break;
+                }
+            }
+            if (canUseItems) {
+                Object out = Array.newInstance(componentType, items.length);
+                map.put(id, out);
+                for (int i = 0; i < items.length; i++) {
+                    Object item = items[i];
+                    if (item instanceof OpaquePythonReference) {
+                        item = wrap(componentType, (OpaquePythonReference) item, ids[i], map, pythonSetter);
+                    }
+                    Array.set(out, i, item);
+                }
+                return (T) out;
+            }
+        }
+
         List<OpaquePythonReference> itemIds = pythonArrayIdToIdArray.apply(object);
         int length = itemIds.size();
         Object out = Array.newInstance(javaClass.getComponentType(), length);
@@ -323,6 +444,16 @@ public class PythonWrapperGenerator {
         return (T) out;
     }
 
+    private static Object toNumberOfType(Class<?> numberType, long value) {
+        if (numberType == Integer.class) {
+            return (int) value;
+        }
+        if (numberType == Double.class) {
+            return (double) value;
+        }
+        return value;
+    }
+
     public static <T> T wrapCollection(OpaquePythonReference object, Number id, Map<Number, Object> map,
             TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
         PythonList out = new PythonList(object, id, map, pythonSetter);
@@ -330,6 +461,17 @@ public class PythonWrapperGenerator {
         return (T) out;
     }
 
+    /**
+     * Returns the object in referenceMap for the Python object with the given id, without boxing the id if
+     * referenceMap is a {@link LongKeyedMap}.
+     */
+    static Object getReference(Map<Number, Object> referenceMap, long id) {
+        if (referenceMap instanceof LongKeyedMap) {
+            return ((LongKeyedMap<Object>) referenceMap).get(id);
+        }
+        return referenceMap.get(id);
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T wrap(Class<T> javaClass, OpaquePythonReference object, Map<Number, Object> map,
             TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
@@ -337,10 +479,23 @@ public class PythonWrapperGenerator {
             return null;
         }
 
-        // Check to see if we already created the object
-        Number id = pythonObjectToId.apply(object);
-        if (map.containsKey(id)) {
-            return (T) map.get(id);
+        return wrap(javaClass, object, pythonObjectToId.apply(object), map, pythonSetter);
+    }
+
+    /**
+     * Same as {@link #wrap(Class, OpaquePythonReference, Map, TriFunction)}, for a Python object whose id is known.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> T wrap(Class<T> javaClass, OpaquePythonReference object, Number id, Map<Number, Object> map,
+            TriFunction<OpaquePythonReference, String, Object, Object> pythonSetter) {
+        if (object == null) {
+            return null;
+        }
+
+        // Check to see if we already created the object (wrappers are never null, so a single lookup suffices)
+        Object existingWrapper = getReference(map, id.longValue());
+        if (existingWrapper != null) {
+            return (T) existingWrapper;
         }
 
         try {
@@ -352,6 +507,23 @@ public class PythonWrapperGenerator {
                 // Don't wrap OpaquePythonReference if it is a pointer to an OpaquePythonReference
                 return (T) object;
             } else {
+                T sharedWrapper = SharedProblemFactCache.getSharedWrapper(javaClass, id);
+                if (sharedWrapper != null) {
+                    map.put(id, sharedWrapper);
+                    return sharedWrapper;
+                }
+                Map<Number, Object> sharedWrapperMap = SharedProblemFactCache.getSharedWrapperMap(javaClass, map);
+                if (sharedWrapperMap != null) {
+                    // A shared wrapper does not belong to this job, so it gets the map of the cache, and never
+                    // writes to its Python object. readFromPythonObject skips it, so it is read here, once.
+                    T out = javaClass.getConstructor(OpaquePythonReference.class, Number.class, Map.class,
+                            TriFunction.class).newInstance(object, id, sharedWrapperMap, NONE_PYTHON_SETTER);
+                    CPythonBackedPythonLikeObject pythonLikeObject = (CPythonBackedPythonLikeObject) out;
+                    pythonLikeObject.$setInstanceMap((Map) new MirrorWithExtrasLongMap<>(sharedWrapperMap));
+                    pythonLikeObject.$readFieldsFromCPythonReference();
+                    map.put(id, out);
+                    return out;
+                }
                 // Create a new instance of the Java Class. Its constructor will put the instance into the map
                 return javaClass.getConstructor(OpaquePythonReference.class, Number.class, Map.class,
                         TriFunction.class).newInstance(object, id, map, pythonSetter);
@@ -438,16 +610,23 @@ public class PythonWrapperGenerator {
         }
     }
 
-    public static ValueRange getValueRangeProxy(Object proxy) {
-        return (ValueRange) Proxy.newProxyInstance(proxy.getClass().getClassLoader(),
+    public static ValueRange getValueRange(Object valueRange) {
+        if (valueRange instanceof ValueRange && !Proxy.isProxyClass(valueRange.getClass())) {
+            // Created by ValueRangeFactory in Python, so it is already a Java value range
+            return (ValueRange) valueRange;
+        }
+        return (ValueRange) Proxy.newProxyInstance(valueRange.getClass().getClassLoader(),
                 new Class[] { ValueRange.class },
-                Proxy.getInvocationHandler(proxy));
+                Proxy.getInvocationHandler(valueRange));
     }
 
-    public static CountableValueRange getCountableValueRangeProxy(Object proxy) {
-        return (CountableValueRange) Proxy.newProxyInstance(proxy.getClass().getClassLoader(),
-                new Class[] { CountableValueRange.class },
-                Proxy.getInvocationHandler(proxy));
+    public static CountableValueRange getCountableValueRange(Object valueRange) {
+        if (valueRange instanceof CountableValueRange && !Proxy.isProxyClass(valueRange.getClass())) {
+            // Created by ValueRangeFactory in Python, so it is already a Java value range
+            return (CountableValueRange) valueRange;
+        }
+        // Implemented in Python; its values are copied into Java the first time it is used
+        return PythonCountableValueRange.of((OpaquePythonReference) valueRange);
     }
 
     /**
@@ -611,12 +790,21 @@ public class PythonWrapperGenerator {
      * @param className The simple name of the generated class
      * @param incrementalScoreCalculatorSupplier A supplier that returns a new instance of the incremental score calculator on
      *        each call
+     * @param constraintMatchAware true if the incremental score calculator supports constraint matches
+     * @param batchEvents true if the entity and variable events should be delivered to the incremental score calculator
+     *        in a single call before the score is calculated (see {@link BatchedIncrementalScoreCalculator})
      * @return never null
      */
     @SuppressWarnings("unused")
     public static Class<?> defineIncrementalScoreCalculatorClass(String className,
             Supplier<? extends IncrementalScoreCalculator> incrementalScoreCalculatorSupplier,
-            boolean constraintMatchAware) {
+            boolean constraintMatchAware, boolean batchEvents) {
+        if (batchEvents) {
+            Supplier<? extends IncrementalScoreCalculator> pythonIncrementalScoreCalculatorSupplier =
+                    incrementalScoreCalculatorSupplier;
+            incrementalScoreCalculatorSupplier =
+                    () -> BatchedIncrementalScoreCalculator.of(pythonIncrementalScoreCalculatorSupplier.get());
+        }
         if (constraintMatchAware) {
             return defineWrapperClass(className, ConstraintMatchAwareIncrementalScoreCalculator.class,
                     (Supplier<ConstraintMatchAwareIncrementalScoreCalculator>) incrementalScoreCalculatorSupplier);
@@ -654,11 +842,17 @@ public class PythonWrapperGenerator {
      * @param className The simple name of the generated class
      * @param variableListenerSupplier A supplier that returns a new instance of the variable listener on
      *        each call
+     * @param batchEvents true if the notifications should be coalesced before they are delivered to the variable listener
+     *        (see {@link BatchedVariableListener})
      * @return never null
      */
     @SuppressWarnings("unused")
     public static Class<?> defineVariableListenerClass(String className,
-            Supplier<? extends VariableListener> variableListenerSupplier) {
+            Supplier<? extends VariableListener> variableListenerSupplier, boolean batchEvents) {
+        if (batchEvents) {
+            Supplier<? extends VariableListener> pythonVariableListenerSupplier = variableListenerSupplier;
+            variableListenerSupplier = () -> new BatchedVariableListener<>(pythonVariableListenerSupplier.get());
+        }
         return defineWrapperClass(className, VariableListener.class, variableListenerSupplier);
     }
 
@@ -819,6 +1013,8 @@ public class PythonWrapperGenerator {
                     .setModifiers(Modifier.PUBLIC).getFieldDescriptor();
             FieldDescriptor pythonSetterField = classCreator.getFieldCreator(PYTHON_SETTER_FIELD_NAME, TriFunction.class)
                     .setModifiers(Modifier.PUBLIC).getFieldDescriptor();
+            classCreator.getFieldCreator(PLANNING_ID_INDEX_FIELD_NAME, PlanningIdIndex.class)
+                    .setModifiers(Modifier.PUBLIC);
             FieldDescriptor pythonLikeTypeField =
                     classCreator.getFieldCreator(PYTHON_LIKE_TYPE_FIELD_NAME, PythonLikeType.class)
                             .setModifiers(Modifier.PUBLIC | Modifier.STATIC).getFieldDescriptor();
@@ -990,6 +1186,14 @@ public class PythonWrapperGenerator {
                 MethodDescriptor.ofMethod(Collection.class, "contains", boolean.class, Object.class),
                 methodCreator.getMethodParam(0), methodCreator.getThis());
         methodCreator.ifTrue(alreadyHandled).trueBranch().returnValue(null);
+        if (generatedClassType == GeneratedClassType.PROBLEM_FACT) {
+            // A shared problem fact is only read from Python when it is created, and is used by other solver jobs
+            ResultHandle isShared = methodCreator.invokeStaticMethod(
+                    MethodDescriptor.ofMethod(SharedProblemFactCache.class, "isSharedWrapper", boolean.class,
+                            PythonObject.class),
+                    methodCreator.getThis());
+            methodCreator.ifTrue(isShared).trueBranch().returnValue(null);
+        }
         methodCreator.invokeInterfaceMethod(MethodDescriptor.ofMethod(Collection.class, "add", boolean.class, Object.class),
                 methodCreator.getMethodParam(0), methodCreator.getThis());
         methodCreator.invokeVirtualMethod(
@@ -1619,14 +1823,14 @@ public class PythonWrapperGenerator {
                         bytecodeCreator.writeInstanceField(fieldDescriptor, methodCreator.getThis(), outResultHandle);
                     } else if (CountableValueRange.class.isAssignableFrom(returnTypeClass)) {
                         ResultHandle proxy = methodCreator.invokeStaticMethod(
-                                MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getCountableValueRangeProxy",
+                                MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getCountableValueRange",
                                         CountableValueRange.class,
                                         Object.class),
                                 outResultHandle);
                         methodCreator.writeInstanceField(fieldDescriptor, methodCreator.getThis(), proxy);
                     } else if (ValueRange.class.isAssignableFrom(returnTypeClass)) {
                         ResultHandle proxy = methodCreator.invokeStaticMethod(
-                                MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getValueRangeProxy", ValueRange.class,
+                                MethodDescriptor.ofMethod(PythonWrapperGenerator.class, "getValueRange", ValueRange.class,
                                         Object.class),
                                 outResultHandle);
                         methodCreator.writeInstanceField(fieldDescriptor, methodCreator.getThis(), proxy);
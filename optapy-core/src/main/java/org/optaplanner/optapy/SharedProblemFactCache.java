@@ -0,0 +1,126 @@
+package org.optaplanner.optapy;
+
+import java.util.Map;
+
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.jpyinterpreter.util.WeakValueLongMap;
+
+/**
+ * A cache of problem fact wrappers, shared by the solver jobs of a SolverManager, so a problem fact that is in
+ * several problems (such as a road network or a list of timeslots) is only wrapped once.
+ * <p>
+ * Wrappers are keyed by the id of their Python object and the version of the cache. A shared wrapper does not
+ * belong to any solver job: its reference map is the map of its version (so the objects it refers to, including the
+ * items of its lists, are wrapped into that map instead of the reference map of a job), it does not write to its
+ * Python object, and it is read from its Python object only once, when it is created (readFromPythonObject skips
+ * it, and problem changes cannot change it). {@link #invalidate()} must be called after a shared problem fact is
+ * modified in Python; this starts a new version, and problems wrapped afterwards get new wrappers. Shared problem
+ * facts must not reference planning entities or planning solutions, since those are never shared.
+ * <p>
+ * A wrapper is only kept while a solver job uses it. It keeps its Python object alive, so its id cannot be
+ * reused by another Python object while it is in the cache.
+ */
+@SuppressWarnings("unused")
+public class SharedProblemFactCache {
+    /**
+     * The version of the cache used by the problem being wrapped on the current thread, if any.
+     */
+    private static final ThreadLocal<Version> wrappingVersion = new ThreadLocal<>();
+
+    /**
+     * The reference map of the shared wrappers of a version; its methods are synchronized, since the solver jobs
+     * using the wrappers can wrap the items of their lists at any time.
+     */
+    private static final class SharedWrapperMap extends WeakValueLongMap<Object> {
+    }
+
+    private static final class Version {
+        final long versionNumber;
+        final SharedWrapperMap pythonIdToWrapperMap = new SharedWrapperMap();
+
+        Version(long versionNumber) {
+            this.versionNumber = versionNumber;
+        }
+    }
+
+    private volatile Version currentVersion = new Version(0L);
+
+    public long getVersion() {
+        return currentVersion.versionNumber;
+    }
+
+    /**
+     * Discards every cached wrapper. Problems that are currently being wrapped keep using the previous version.
+     */
+    public synchronized void invalidate() {
+        currentVersion = new Version(currentVersion.versionNumber + 1);
+    }
+
+    /**
+     * Makes {@link PythonWrapperGenerator#wrap} use this cache on the current thread, until
+     * {@link #stopWrapping()} is called.
+     */
+    void startWrapping() {
+        wrappingVersion.set(currentVersion);
+    }
+
+    static void stopWrapping() {
+        wrappingVersion.remove();
+    }
+
+    private static boolean isShareable(Class<?> javaClass) {
+        return PythonObject.class.isAssignableFrom(javaClass) &&
+                !javaClass.isAnnotationPresent(PlanningEntity.class) &&
+                !javaClass.isAnnotationPresent(PlanningSolution.class);
+    }
+
+    /**
+     * Returns the shared wrapper of type javaClass for the Python object with the given id, or null if the current
+     * thread is not wrapping a problem with a cache, or the cache does not have one.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T getSharedWrapper(Class<T> javaClass, Number id) {
+        Version version = wrappingVersion.get();
+        if (version == null || !isShareable(javaClass)) {
+            return null;
+        }
+        Object out = version.pythonIdToWrapperMap.get(id.longValue());
+        if (out != null && out.getClass() == javaClass) {
+            return (T) out;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the reference map a new wrapper of type javaClass, wrapped into referenceMap, must be created with to be
+     * shared with the other problems using the cache, or null if it is not shared. It is shared if it is referenced by
+     * a shared wrapper (then referenceMap is the map of the shared wrapper), or if javaClass can be shared and the
+     * current thread is wrapping a problem with a cache.
+     */
+    static Map<Number, Object> getSharedWrapperMap(Class<?> javaClass, Map<Number, Object> referenceMap) {
+        if (referenceMap instanceof SharedWrapperMap) {
+            return referenceMap;
+        }
+        Version version = wrappingVersion.get();
+        if (version == null || !isShareable(javaClass)) {
+            return null;
+        }
+        return version.pythonIdToWrapperMap;
+    }
+
+    /**
+     * Returns true if wrapper is shared by the solver jobs of a SolverManager.
+     */
+    public static boolean isSharedWrapper(PythonObject wrapper) {
+        return isSharedWrapperMap(wrapper.get__optapy_reference_map());
+    }
+
+    /**
+     * Returns true if referenceMap is the reference map of shared wrappers, which can be used by several solver jobs
+     * at once.
+     */
+    static boolean isSharedWrapperMap(Map<Number, Object> referenceMap) {
+        return referenceMap instanceof SharedWrapperMap;
+    }
+}
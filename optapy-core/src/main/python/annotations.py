@@ -703,8 +703,8 @@ def easy_score_calculator(easy_score_calculator_function: Callable[[Solution_],
     return easy_score_calculator_function
 
 
-def incremental_score_calculator(incremental_score_calculator: Type['_IncrementalScoreCalculator']) -> \
-        Type['_IncrementalScoreCalculator']:
+def incremental_score_calculator(incremental_score_calculator: Type['_IncrementalScoreCalculator'] = None, /, *,
+                                 batch_events: bool = False) -> Type['_IncrementalScoreCalculator']:
     """Used for incremental python Score calculation. This is much faster than EasyScoreCalculator
     but requires much more code to implement too.
 
@@ -737,45 +737,100 @@ def incremental_score_calculator(incremental_score_calculator: Type['_Incrementa
     def resetWorkingSolution(self, workingSolution: Solution_, constraintMatchEnabled=False);
     (A default value must be specified in resetWorkingSolution for constraintMatchEnabled)
 
+    :param batch_events: Set to True to have the entity and variable events of a move delivered together,
+                         just before calculateScore (or getConstraintMatchTotals/getIndictmentMap) is called,
+                         instead of one at a time as they happen. The before/after methods are still called in
+                         the same order, but they can no longer observe the working solution at the time of the
+                         event, so they must only depend on the entity state after the move
+                         (for instance, by remembering what they inserted for an entity).
+                         This avoids calling from Java into Python for each event.
+                         Defaults to False
+
     :type incremental_score_calculator: '_IncrementalScoreCalculator'
+    :type batch_events: bool
     :rtype: Type
     """
     ensure_init()
-    from org.optaplanner.core.api.score.calculator import IncrementalScoreCalculator, \
-        ConstraintMatchAwareIncrementalScoreCalculator
-    constraint_match_aware = callable(getattr(incremental_score_calculator, 'getConstraintMatchTotals', None)) and \
-        callable(getattr(incremental_score_calculator, 'getIndictmentMap', None))
-    methods = ['resetWorkingSolution',
-               'beforeEntityAdded',
-               'afterEntityAdded',
-               'beforeVariableChanged',
-               'afterVariableChanged',
-               'beforeEntityRemoved',
-               'afterEntityRemoved',
-               'calculateScore']
-    base_interface = IncrementalScoreCalculator
-    if constraint_match_aware:
-        methods.extend(['getIndictmentMap', 'getConstraintMatchTotals'])
-        base_interface = ConstraintMatchAwareIncrementalScoreCalculator
-
-    missing_method_list = []
-    for method in methods:
-        if not callable(getattr(incremental_score_calculator, method, None)):
-            missing_method_list.append(method)
-    if len(missing_method_list) != 0:
-        raise ValueError(f'The following required methods are missing from @incremental_score_calculator class '
-                         f'{incremental_score_calculator}: {missing_method_list}')
-    for method in methods:
-        method_on_class = getattr(incremental_score_calculator, method, None)
-        setattr(incremental_score_calculator, method, JOverride()(method_on_class))
-
-    out = jpype.JImplements(base_interface)(incremental_score_calculator)
-    out.__optapy_java_class = _generate_incremental_score_calculator_class(out, constraint_match_aware)
-    return out
+
+    def incremental_score_calculator_wrapper(the_incremental_score_calculator):
+        from org.optaplanner.core.api.score.calculator import IncrementalScoreCalculator, \
+            ConstraintMatchAwareIncrementalScoreCalculator
+        from org.optaplanner.optapy import BatchedIncrementalScoreCalculator
+        constraint_match_aware = \
+            callable(getattr(the_incremental_score_calculator, 'getConstraintMatchTotals', None)) and \
+            callable(getattr(the_incremental_score_calculator, 'getIndictmentMap', None))
+        methods = ['resetWorkingSolution',
+                   'beforeEntityAdded',
+                   'afterEntityAdded',
+                   'beforeVariableChanged',
+                   'afterVariableChanged',
+                   'beforeEntityRemoved',
+                   'afterEntityRemoved',
+                   'calculateScore']
+        base_interface = IncrementalScoreCalculator
+        if constraint_match_aware:
+            methods.extend(['getIndictmentMap', 'getConstraintMatchTotals'])
+            base_interface = ConstraintMatchAwareIncrementalScoreCalculator
+
+        missing_method_list = []
+        for method in methods:
+            if not callable(getattr(the_incremental_score_calculator, method, None)):
+                missing_method_list.append(method)
+        if len(missing_method_list) != 0:
+            raise ValueError(f'The following required methods are missing from @incremental_score_calculator class '
+                             f'{the_incremental_score_calculator}: {missing_method_list}')
+        for method in methods:
+            method_on_class = getattr(the_incremental_score_calculator, method, None)
+            setattr(the_incremental_score_calculator, method, JOverride()(method_on_class))
+
+        if batch_events:
+            setattr(the_incremental_score_calculator, 'processEvents',
+                    JOverride()(_process_incremental_score_calculator_events))
+            out = jpype.JImplements(base_interface, BatchedIncrementalScoreCalculator.EventProcessor)(
+                the_incremental_score_calculator)
+        else:
+            out = jpype.JImplements(base_interface)(the_incremental_score_calculator)
+        out.__optapy_java_class = _generate_incremental_score_calculator_class(out, constraint_match_aware,
+                                                                               batch_events)
+        return out
+
+    if incremental_score_calculator:  # Called as @incremental_score_calculator
+        return incremental_score_calculator_wrapper(incremental_score_calculator)
+    else:  # Called as @incremental_score_calculator(batch_events=True)
+        return incremental_score_calculator_wrapper
+
+
+def _process_incremental_score_calculator_events(self, entities, events, variable_names, event_count):
+    """Calls the before/after methods of an incremental score calculator for each of the events buffered by
+    BatchedIncrementalScoreCalculator, in order"""
+    from org.optaplanner.optapy import BatchedIncrementalScoreCalculator
+    event_kind_bits = BatchedIncrementalScoreCalculator.EVENT_KIND_BITS
+    event_kind_mask = (1 << event_kind_bits) - 1
+    entity_event_methods = {
+        BatchedIncrementalScoreCalculator.BEFORE_ENTITY_ADDED: self.beforeEntityAdded,
+        BatchedIncrementalScoreCalculator.AFTER_ENTITY_ADDED: self.afterEntityAdded,
+        BatchedIncrementalScoreCalculator.BEFORE_ENTITY_REMOVED: self.beforeEntityRemoved,
+        BatchedIncrementalScoreCalculator.AFTER_ENTITY_REMOVED: self.afterEntityRemoved,
+    }
+    variable_event_methods = {
+        BatchedIncrementalScoreCalculator.BEFORE_VARIABLE_CHANGED: self.beforeVariableChanged,
+        BatchedIncrementalScoreCalculator.AFTER_VARIABLE_CHANGED: self.afterVariableChanged,
+    }
+    # Slicing copies the arrays in one call, instead of one call per element
+    entity_list = entities[0:event_count]
+    event_list = events[0:event_count]
+    variable_name_list = [str(variable_name) for variable_name in variable_names]
+    for entity, event in zip(entity_list, event_list):
+        kind = event & event_kind_mask
+        if kind in variable_event_methods:
+            variable_event_methods[kind](entity, variable_name_list[event >> event_kind_bits])
+        else:
+            entity_event_methods[kind](entity)
 
 
 def variable_listener(variable_listener_class: Type['_VariableListener'] = None, /, *,
-                      require_unique_entity_events: bool = False) -> Type['_VariableListener']:
+                      require_unique_entity_events: bool = False,
+                      batch_events: bool = False) -> Type['_VariableListener']:
     """Changes shadow variables when a genuine planning variable changes.
     Important: it must only change the shadow variable(s) for which it's configured!
     It should never change a genuine variable or a problem fact.
@@ -812,9 +867,16 @@ def variable_listener(variable_listener_class: Type['_VariableListener'] = None,
                                          When set to False, it's often easier to make the listener implementation
                                          correct and fast.
                                          Defaults to False
+    :param batch_events: Set to True to coalesce the notifications: the before methods of a move are called together,
+                         just before its first after method, and each after method is called once per entity
+                         until the next before method. The before methods see the entities after the move.
+                         This avoids calling from Java into Python for each duplicate notification, and
+                         updating the Python solution for each after method.
+                         Defaults to False
 
     :type variable_listener_class: '_VariableListener'
     :type require_unique_entity_events: bool
+    :type batch_events: bool
     :rtype: Type
     """
     ensure_init()
@@ -840,7 +902,7 @@ def variable_listener(variable_listener_class: Type['_VariableListener'] = None,
         for method in methods:
             method_on_class = getattr(the_variable_listener_class, method, None)
 
-            if method.startswith('after'):
+            if method.startswith('after') and not batch_events:
                 # Use method_on_class as a default argument to force early binding
                 # (Otherwise, it will be the same method for all wrappers)
                 def wrapper_method(self, score_director, entity, original_method=method_on_class):
@@ -885,8 +947,15 @@ def variable_listener(variable_listener_class: Type['_VariableListener'] = None,
             setattr(the_variable_listener_class, 'resetWorkingSolution',
                     JOverride()(method_on_class))
 
-        out = jpype.JImplements(base_interface)(the_variable_listener_class)
-        out.__optapy_java_class = _generate_variable_listener_class(out)
+        if batch_events:
+            from org.optaplanner.optapy import BatchedVariableListener
+            setattr(the_variable_listener_class, 'processBeforeEvents',
+                    JOverride()(_process_variable_listener_before_events))
+            out = jpype.JImplements(base_interface, BatchedVariableListener.EventProcessor)(
+                the_variable_listener_class)
+        else:
+            out = jpype.JImplements(base_interface)(the_variable_listener_class)
+        out.__optapy_java_class = _generate_variable_listener_class(out, batch_events)
         return out
 
     if variable_listener_class:  # Called as @variable_listener
@@ -895,6 +964,20 @@ def variable_listener(variable_listener_class: Type['_VariableListener'] = None,
         return variable_listener_wrapper
 
 
+def _process_variable_listener_before_events(self, score_director, entities, kinds, event_count):
+    """Calls the before methods of a variable listener for each of the notifications buffered by
+    BatchedVariableListener, in order"""
+    from org.optaplanner.optapy import BatchedVariableListener
+    before_methods = {
+        BatchedVariableListener.ENTITY_ADDED: self.beforeEntityAdded,
+        BatchedVariableListener.VARIABLE_CHANGED: self.beforeVariableChanged,
+        BatchedVariableListener.ENTITY_REMOVED: self.beforeEntityRemoved,
+    }
+    # Slicing copies the arrays in one call, instead of one call per element
+    for entity, kind in zip(entities[0:event_count], kinds[0:event_count]):
+        before_methods[kind](score_director, entity)
+
+
 def problem_change(problem_change_class: Type['_ProblemChange']) -> \
         Type['_ProblemChange']:
     """A ProblemChange represents a change in 1 or more planning entities or problem facts of a PlanningSolution.
@@ -904,6 +987,11 @@ def problem_change(problem_change_class: Type['_ProblemChange']) -> \
     Note that the Solver clones a PlanningSolution at will. Any change must be done on the problem facts and planning
     entities referenced by the PlanningSolution of the ProblemChangeDirector.
 
+    Every change must be done in the consumer passed to a method of the ProblemChangeDirector. The objects a consumer
+    changed are read again from Python right after it runs, and the collections of the PlanningSolution once doChange
+    returns, if an entity or problem fact was added or removed; changes done outside a consumer are not seen by the
+    Solver.
+
     The following methods must exist:
 
     def doChange(self, workingSolution: Solution_, problemChangeDirector: ProblemChangeDirector)
@@ -922,20 +1010,19 @@ def problem_change(problem_change_class: Type['_ProblemChange']) -> \
         run_id = id(problem_change_director)
         solution.forceUpdate()
 
-        reference_map = solution.get__optapy_reference_map()
-        python_setter = solution._optaplannerPythonSetter
-
         problem_change_director._set_instance_map(run_id, solution.get__optapy_reference_map())
         problem_change_director._set_update_function(run_id, solution._optaplannerPythonSetter)
-
-        class_doChange(self, solution, problem_change_director)
-
-        problem_change_director._unset_instance_map(run_id)
-        problem_change_director._unset_update_function(run_id)
-
-        reference_map.clear()
-        getattr(solution, "$setFields")(solution.get__optapy_Id(), id(solution.get__optapy_Id()), reference_map,
-                                        python_setter)
+        problem_change_director._set_working_solution(run_id, solution)
+
+        # The problem change director reads the objects each change touches again from Python,
+        # and the whole solution only if an entity or problem fact was added or removed
+        try:
+            class_doChange(self, solution, problem_change_director)
+            problem_change_director._refresh_working_solution(run_id)
+        finally:
+            problem_change_director._unset_instance_map(run_id)
+            problem_change_director._unset_update_function(run_id)
+            problem_change_director._unset_working_solution(run_id)
 
     setattr(problem_change_class, 'doChange', JOverride()(wrapper_doChange))
     out = jpype.JImplements(ProblemChange)(problem_change_class)
@@ -1,3 +1,4 @@
+import dataclasses
 import pathlib
 import threading
 
@@ -7,7 +8,7 @@ from typing import TypeVar, Generic, Callable, Union, TYPE_CHECKING
 from types import FunctionType
 from uuid import uuid1 as _uuid1
 from .optaplanner_java_interop import _setup_solver_run, _cleanup_solver_run, _unwrap_java_object, \
-    solver_run_id_to_refs as _solver_run_id_to_refs, get_class, \
+    solver_run_id_to_refs as _solver_run_id_to_refs, get_class, _get_python_object_attribute, \
     class_identifier_to_java_class_map as _class_identifier_to_java_class_map
 
 if TYPE_CHECKING:
@@ -33,14 +34,53 @@ def create_python_thread_for_solver_job(solver_job: '_SolverJob', problem_id, ex
     threading.Thread(target=await_best_solution_from_solver_job, args=(solver_job, problem_id, exception_handler)).start()
 
 
+@dataclasses.dataclass
+class BestSolutionChangeSet:
+    """
+    What changed between two consecutive best solutions. added_planning_ids and removed_planning_ids are the planning
+    ids of the planning entities that were added and removed (by problem changes), and variable_changes are
+    (planning_id, variable_name, new_value) tuples for the genuine and shadow variables that changed, which include
+    every variable of an added planning entity. A new_value that is a planning object with a planning id is given as
+    that planning id; other planning objects are given as is.
+    """
+    added_planning_ids: list
+    removed_planning_ids: list
+    variable_changes: list
+
+
+def _to_python_change_value(value):
+    """Converts a planning id or variable value from a BestSolutionChangeTracker.ChangeSet to Python. Planning objects
+    with a planning id were already replaced by their planning id, so only planning objects without one are
+    unwrapped."""
+    from org.optaplanner.optapy import PythonObject, PythonComparable  # noqa
+    from java.lang import String, Boolean, Number, Double, Float
+    from java.util import List
+    if isinstance(value, PythonObject):
+        return _unwrap_java_object(value)
+    elif isinstance(value, PythonComparable):
+        return value.reference
+    elif isinstance(value, List):
+        return [_to_python_change_value(item) for item in value]
+    elif isinstance(value, String):
+        return str(value)
+    elif isinstance(value, Boolean):
+        return bool(value)
+    elif isinstance(value, (Double, Float)):
+        return float(value)
+    elif isinstance(value, Number):
+        return int(value)
+    return value
+
+
 @JImplements('org.optaplanner.core.api.solver.SolverManager', deferred=True)
 class _PythonSolverManager(Generic[Solution_, ProblemId_]):
-    def __init__(self, solver_config: '_SolverConfig'):
-        from org.optaplanner.optapy import PythonSolver  # noqa
+    def __init__(self, solver_config: '_SolverConfig', share_problem_facts: bool = False):
+        from org.optaplanner.optapy import PythonSolver, SharedProblemFactCache  # noqa
         from org.optaplanner.core.api.solver import SolverManager
         self.delegate = SolverManager.create(solver_config)
         self.problem_id_to_solver_run_ref_list = dict()
         self.only_use_java_setters = PythonSolver.onlyUseJavaSetters
+        self.shared_problem_fact_cache = SharedProblemFactCache() if share_problem_facts else None
 
     def _optapy_debug_get_solver_runs_dicts(self):
         """
@@ -67,7 +107,8 @@ class _PythonSolverManager(Generic[Solution_, ProblemId_]):
             self.problem_id_to_solver_run_ref_list[the_problem_id] = [problem, problem]
             _setup_solver_run(solver_run_id, self.problem_id_to_solver_run_ref_list[the_problem_id])
             PythonSolver.onlyUseJavaSetters = self.only_use_java_setters
-            wrapped_problem = PythonSolver.wrapProblem(get_class(type(problem)), problem)
+            wrapped_problem = PythonSolver.wrapProblem(get_class(type(problem)), problem,
+                                                       self.shared_problem_fact_cache)
             return wrapped_problem
 
         def cleanup():
@@ -89,6 +130,14 @@ class _PythonSolverManager(Generic[Solution_, ProblemId_]):
             cleanup()
         return wrapped_final_best_solution_consumer, wrapped_exception_handler
 
+    def invalidateSharedProblemFacts(self):
+        """Discards the problem facts shared by the solver jobs, so problems solved after this call use the
+        current values of their problem facts. Call it after modifying a problem fact that was already used by a
+        solver job. Does nothing if the SolverManager does not share problem facts.
+        """
+        if self.shared_problem_fact_cache is not None:
+            self.shared_problem_fact_cache.invalidate()
+
     @JOverride
     def addProblemChange(self, problem_id, problem_change):
         self.delegate.addProblemChange(problem_id, problem_change)
@@ -113,15 +162,36 @@ class _PythonSolverManager(Generic[Solution_, ProblemId_]):
     def solveAndListen(self, problem_id: ProblemId_, problem: Union[Solution_, Callable[[ProblemId_], Solution_]],
                        best_solution_consumer: Callable[[Solution_], None],
                        final_best_solution_consumer: Callable[[Solution_], None] = None,
-                       exception_handler: Callable[[ProblemId_, JException], None] = None) -> \
+                       exception_handler: Callable[[ProblemId_, JException], None] = None,
+                       changes_only: bool = False) -> \
             '_SolverJob[Solution_, ProblemId_]':
+        """
+        If changes_only is True, best_solution_consumer is not given the best solution, but a BestSolutionChangeSet
+        with the planning entities that were added and removed, and the genuine and shadow variables that changed,
+        since the previous best solution (for the first best solution, every planning entity is added). Every planning
+        entity must have a planning id, and variable values that have a planning id are given as their planning id.
+        """
         problem_getter, cleanup = self._get_problem_getter_and_cleanup(problem_id, problem)
         wrapped_final_best_solution_consumer, wrapped_exception_handler = \
             self._wrap_final_best_solution_and_exception_handler(cleanup, final_best_solution_consumer,
                                                                  exception_handler)
 
-        def wrapped_best_solution_consumer(best_solution):
-            best_solution_consumer(_unwrap_java_object(best_solution))
+        if changes_only:
+            from org.optaplanner.optapy import BestSolutionChangeTracker  # noqa
+            change_tracker = BestSolutionChangeTracker()
+
+            def wrapped_best_solution_consumer(best_solution):
+                change_set = change_tracker.getChangeSet(best_solution)
+                best_solution_consumer(BestSolutionChangeSet(
+                    [_to_python_change_value(planning_id) for planning_id in change_set.addedPlanningIds],
+                    [_to_python_change_value(planning_id) for planning_id in change_set.removedPlanningIds],
+                    [(_to_python_change_value(planning_id), str(variable_name), _to_python_change_value(new_value))
+                     for planning_id, variable_name, new_value in zip(change_set.planningIds,
+                                                                      change_set.variableNames,
+                                                                      change_set.newValues)]))
+        else:
+            def wrapped_best_solution_consumer(best_solution):
+                best_solution_consumer(_unwrap_java_object(best_solution))
 
         solver_job = self.delegate.solveAndListen(problem_id, problem_getter, wrapped_best_solution_consumer,
                                                   wrapped_final_best_solution_consumer,
@@ -201,7 +271,7 @@ class _PythonScoreManager:
 
 def _wrap_object(object_to_wrap, instance_map, update_function):
     from org.optaplanner.optapy import PythonSolver, PythonWrapperGenerator  # noqa
-    maybe_object = instance_map.get(id(object_to_wrap))
+    maybe_object = instance_map.get(JLong(id(object_to_wrap)))
     if maybe_object is not None:
         return maybe_object
     if isinstance(object_to_wrap, int):
@@ -214,6 +284,77 @@ def _wrap_object(object_to_wrap, instance_map, update_function):
 
 _problem_change_director_to_instance_dict = dict()
 _problem_change_director_to_update_function = dict()
+_problem_change_director_to_working_solution = dict()
+_problem_change_directors_with_stale_working_solution = set()
+
+
+def _refreshing_consumer(consumer, run_id, refresh_solution=False, remove_from_instance_map=False):
+    """Wraps the consumer of a problem change, so only what it changed is read again from Python: the working object
+    it was given, right after it runs, or, if it added or removed an entity or problem fact, the working solution,
+    once the problem change is done (see _refresh_working_solution_if_stale)"""
+    def wrapped_consumer(working_object):
+        from org.optaplanner.optapy import PythonObject, PythonWrapperGenerator, PlanningIdIndex, \
+            SharedProblemFactCache  # noqa
+        # Adding or removing a shared problem fact only changes the working solution, which is not shared,
+        # but changing one would change it for every solver job
+        if not refresh_solution and isinstance(working_object, PythonObject) and \
+                SharedProblemFactCache.isSharedWrapper(working_object):
+            raise ValueError(f'The problem fact ({working_object}) is shared by the solver jobs of a SolverManager, '
+                             f'so a problem change cannot change it. Create the SolverManager with '
+                             f'share_problem_facts=False to change it.')
+        consumer(working_object)
+        if not isinstance(working_object, PythonObject):
+            return
+        working_solution = _problem_change_director_to_working_solution[run_id]
+        if remove_from_instance_map:
+            instance_map = _problem_change_director_to_instance_dict[run_id]
+            instance_map.remove(PythonWrapperGenerator.getPythonObjectId(working_object))
+            PlanningIdIndex.removeFromIndexOf(working_solution, working_object)
+        if refresh_solution:
+            # A problem change often adds or removes many objects, so the solution is only read again once
+            _problem_change_directors_with_stale_working_solution.add(run_id)
+            if not remove_from_instance_map:
+                PlanningIdIndex.addToIndexOf(working_solution, working_object)
+        else:
+            PythonWrapperGenerator.refreshFromPythonObject(working_object)
+    return wrapped_consumer
+
+
+def _refresh_working_solution_if_stale(run_id):
+    """Reads the working solution again from Python if a consumer of the problem change added or removed an entity
+    or problem fact"""
+    from org.optaplanner.optapy import PythonWrapperGenerator  # noqa
+    if run_id in _problem_change_directors_with_stale_working_solution:
+        _problem_change_directors_with_stale_working_solution.discard(run_id)
+        PythonWrapperGenerator.refreshFromPythonObject(_problem_change_director_to_working_solution[run_id])
+
+
+_python_class_to_planning_id_getter_name = dict()
+
+
+def _get_planning_id_getter_name(python_class):
+    """Returns the name of the @planning_id method of python_class, or None if it does not have one"""
+    try:
+        return _python_class_to_planning_id_getter_name[python_class]
+    except KeyError:
+        getter_name = next((attribute for attribute in dir(python_class)
+                            if hasattr(getattr(python_class, attribute, None), '__optaplannerPlanningId')), None)
+        _python_class_to_planning_id_getter_name[python_class] = getter_name
+        return getter_name
+
+
+def _look_up_by_planning_id(run_id, external_object):
+    """Returns the working object with the same class and planning id as external_object from the planning id index
+    of the working solution, or None if it is not in the index (in which case OptaPlanner looks it up)"""
+    from org.optaplanner.optapy import PythonObject, PlanningIdIndex  # noqa
+    working_solution = _problem_change_director_to_working_solution[run_id]
+    if isinstance(external_object, PythonObject):
+        return PlanningIdIndex.of(working_solution).lookUp(external_object)
+    planning_id_getter_name = _get_planning_id_getter_name(type(external_object))
+    if planning_id_getter_name is None:
+        return None
+    planning_id = _get_python_object_attribute(external_object, planning_id_getter_name)
+    return PlanningIdIndex.of(working_solution).lookUp(get_class(type(external_object)), planning_id)
 
 
 @JImplementationFor('org.optaplanner.core.api.solver.change.ProblemChangeDirector')
@@ -234,13 +375,26 @@ class _PythonProblemChangeDirector:
         global _problem_change_director_to_update_function
         del _problem_change_director_to_update_function[run_id]
 
+    def _set_working_solution(self, run_id, working_solution):
+        global _problem_change_director_to_working_solution
+        _problem_change_director_to_working_solution[run_id] = working_solution
+
+    def _unset_working_solution(self, run_id):
+        global _problem_change_director_to_working_solution
+        del _problem_change_director_to_working_solution[run_id]
+        _problem_change_directors_with_stale_working_solution.discard(run_id)
+
+    def _refresh_working_solution(self, run_id):
+        _refresh_working_solution_if_stale(run_id)
+
     @JOverride(sticky=True, rename='_java_addEntity')
     def addEntity(self, entity, entityConsumer):
         global _problem_change_director_to_instance_dict
         global _problem_change_director_to_update_function
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
-        self._java_addEntity(_wrap_object(entity, instance_map, update_function), entityConsumer)
+        self._java_addEntity(_wrap_object(entity, instance_map, update_function),
+                             _refreshing_consumer(entityConsumer, id(self), refresh_solution=True))
 
     @JOverride(sticky=True, rename='_java_addProblemFact')
     def addProblemFact(self, problemFact, problemFactConsumer):
@@ -248,7 +402,8 @@ class _PythonProblemChangeDirector:
         global _problem_change_director_to_update_function
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
-        self._java_addProblemFact(_wrap_object(problemFact, instance_map, update_function), problemFactConsumer)
+        self._java_addProblemFact(_wrap_object(problemFact, instance_map, update_function),
+                                  _refreshing_consumer(problemFactConsumer, id(self), refresh_solution=True))
 
     @JOverride(sticky=True, rename='_java_changeProblemProperty')
     def changeProblemProperty(self, problemFactOrEntity, problemFactOrEntityConsumer):
@@ -256,7 +411,8 @@ class _PythonProblemChangeDirector:
         global _problem_change_director_to_update_function
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
-        self._java_changeProblemProperty(_wrap_object(problemFactOrEntity, instance_map, update_function), problemFactOrEntityConsumer)
+        self._java_changeProblemProperty(_wrap_object(problemFactOrEntity, instance_map, update_function),
+                                         _refreshing_consumer(problemFactOrEntityConsumer, id(self)))
 
     @JOverride(sticky=True, rename='_java_changeVariable')
     def changeVariable(self, entity, variableName, entityConsumer):
@@ -264,12 +420,17 @@ class _PythonProblemChangeDirector:
         global _problem_change_director_to_update_function
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
-        self._java_changeVariable(_wrap_object(entity, instance_map, update_function), variableName, entityConsumer)
+        self._java_changeVariable(_wrap_object(entity, instance_map, update_function), variableName,
+                                  _refreshing_consumer(entityConsumer, id(self)))
 
     @JOverride(sticky=True, rename='_java_lookUpWorkingObject')
     def lookUpWorkingObject(self, externalObject):
         global _problem_change_director_to_instance_dict
         global _problem_change_director_to_update_function
+        working_object = _look_up_by_planning_id(id(self), externalObject)
+        if working_object is not None:
+            from java.util import Optional
+            return Optional.of(working_object)
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
         return self._java_lookUpWorkingObject(_wrap_object(externalObject, instance_map, update_function))
@@ -278,6 +439,9 @@ class _PythonProblemChangeDirector:
     def lookUpWorkingObjectOrFail(self, externalObject):
         global _problem_change_director_to_instance_dict
         global _problem_change_director_to_update_function
+        working_object = _look_up_by_planning_id(id(self), externalObject)
+        if working_object is not None:
+            return working_object
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
         return self._java_lookUpWorkingObjectOrFail(_wrap_object(externalObject, instance_map, update_function))
@@ -288,7 +452,9 @@ class _PythonProblemChangeDirector:
         global _problem_change_director_to_update_function
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
-        self._java_removeEntity(_wrap_object(entity, instance_map, update_function), entityConsumer)
+        self._java_removeEntity(_wrap_object(entity, instance_map, update_function),
+                                _refreshing_consumer(entityConsumer, id(self), refresh_solution=True,
+                                                     remove_from_instance_map=True))
 
     @JOverride(sticky=True, rename='_java_removeProblemFact')
     def removeProblemFact(self, problemFact, problemFactConsumer):
@@ -296,7 +462,9 @@ class _PythonProblemChangeDirector:
         global _problem_change_director_to_update_function
         instance_map = _problem_change_director_to_instance_dict[id(self)]
         update_function = _problem_change_director_to_update_function[id(self)]
-        self._java_removeProblemFact(_wrap_object(problemFact, instance_map, update_function), problemFactConsumer)
+        self._java_removeProblemFact(_wrap_object(problemFact, instance_map, update_function),
+                                     _refreshing_consumer(problemFactConsumer, id(self), refresh_solution=True,
+                                                          remove_from_instance_map=True))
 
 
 @JImplementationFor('org.optaplanner.core.api.score.director.ScoreDirector')
@@ -329,14 +497,18 @@ def solver_config_create_from_xml_file(solver_config_path: pathlib.Path) -> '_So
     return solver_config
 
 
-def solver_manager_create(solver_config: '_SolverConfig') -> '_SolverManager':
+def solver_manager_create(solver_config: '_SolverConfig', share_problem_facts: bool = False) -> '_SolverManager':
     """Creates a new SolverManager, which can be used to solve problems asynchronously (ex: Web requests).
 
     :param solver_config: The solver configuration used in the SolverManager
+    :param share_problem_facts: If True, problem facts that are in several problems (the same Python objects) are
+                                only converted to Java once, and shared by the solver jobs. Shared problem facts
+                                must not reference planning entities, and must not be modified while in use
+                                (call invalidateSharedProblemFacts() on the SolverManager after modifying one).
     :return: A SolverManager that can be used to solve problems asynchronously.
     :rtype: SolverManager
     """
-    return _PythonSolverManager(solver_config)
+    return _PythonSolverManager(solver_config, share_problem_facts)
 
 
 def score_manager_create(solver_builder: Union['_SolverFactory', '_SolverManager']) -> '_ScoreManager':
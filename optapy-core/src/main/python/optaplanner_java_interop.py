@@ -60,6 +60,7 @@ def _get_python_object_attribute(object_id, name):
     import java.lang.Object
     import java.util.Collection
     import org.optaplanner.core.api.score.Score
+    import org.optaplanner.core.api.domain.valuerange.ValueRange
     from org.optaplanner.optapy import PythonComparable
     the_object = object_id
     python_object_getter = getattr(the_object, str(name))
@@ -73,7 +74,8 @@ def _get_python_object_attribute(object_id, name):
         if python_object is None:
             return None
         elif isinstance(python_object, (str, bool, int, float, complex, java.util.Collection,
-                                        org.optaplanner.core.api.score.Score)):
+                                        org.optaplanner.core.api.score.Score,
+                                        org.optaplanner.core.api.domain.valuerange.ValueRange)):
             out = JObject(python_object, java.lang.Object)
             return out
         elif hasattr(python_object_getter, '__optaplannerPlanningId'):
@@ -301,6 +303,40 @@ def _slice_python_list(the_list: List, start: int, end: int):
     return the_list[start:end]
 
 
+def _get_python_list_contents(the_list: List):
+    """Returns every item of the_list in a single call; see PythonList.getPythonListContents"""
+    import org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference
+    if all(type(item) is int for item in the_list):
+        try:
+            return JArray(JLong)(the_list)
+        except OverflowError:
+            # An int does not fit in a Java long; it is read on its own
+            return None
+    if all(type(item) is float for item in the_list):
+        return JArray(JDouble)(the_list)
+    ids = JArray(JLong)([id(item) for item in the_list])
+    # Python objects are passed as an OpaquePythonReference, as in _get_python_array_to_id_array
+    items = [item if item is None or isinstance(item, (int, float, str, bool))
+             else JProxy(org.optaplanner.jpyinterpreter.types.wrappers.OpaquePythonReference, inst=item, convert=True)
+             for item in the_list]
+    java_classes = JArray(JObject)([None if item is None or isinstance(item, (int, float, str, bool))
+                                    else _get_python_object_java_class(item) for item in the_list])
+    try:
+        return JArray(JObject)([ids, JArray(JObject)(items), java_classes])
+    except OverflowError:
+        return None
+
+
+def _get_python_value_range_values(value_range):
+    """Returns every value of a countable value range implemented in Python in a single call; see
+    PythonCountableValueRange"""
+    iterator = value_range.createOriginalIterator()
+    values = []
+    while iterator.hasNext():
+        values.append(iterator.next())
+    return _to_java_list(values)
+
+
 def _compare_python_objects(a, b):
     from jpype import JInt
     if a < b:
@@ -347,7 +383,8 @@ def init(*args, path: List[str] = None, include_optaplanner_jars: bool = True, l
     import java.util.function.Function
     import java.util.function.BiFunction
     import org.optaplanner.core.api.function.TriFunction
-    from org.optaplanner.optapy import PythonWrapperGenerator, PythonPlanningSolutionCloner, PythonList, PythonComparable  # noqa
+    from org.optaplanner.optapy import PythonWrapperGenerator, PythonPlanningSolutionCloner, PythonList, \
+        PythonComparable, PythonCountableValueRange  # noqa
     PythonWrapperGenerator.setPythonObjectToId(JObject(PythonFunction(_get_python_object_id),
                                                        java.util.function.Function))
     PythonWrapperGenerator.setPythonObjectToString(JObject(PythonFunction(_get_python_object_str),
@@ -384,6 +421,10 @@ def init(*args, path: List[str] = None, include_optaplanner_jars: bool = True, l
                                                     java.util.function.BiFunction))
     PythonList.setSlicePythonList(JObject(PythonTriFunction(_slice_python_list),
                                           org.optaplanner.core.api.function.TriFunction))
+    PythonList.setGetPythonListContents(JObject(PythonFunction(_get_python_list_contents),
+                                                java.util.function.Function))
+    PythonCountableValueRange.setGetPythonValueRangeValues(JObject(PythonFunction(_get_python_value_range_values),
+                                                                   java.util.function.Function))
 
     PythonComparable.setPythonObjectCompareTo(JObject(PythonBiFunction(_compare_python_objects),
                                                       java.util.function.BiFunction))
@@ -1155,7 +1196,7 @@ def _generate_easy_score_calculator_class(easy_score_calculator: Callable[[Solut
 
 
 def _generate_incremental_score_calculator_class(incremental_score_calculator: Type['_IncrementalScoreCalculator'],
-                                                 constraint_match_aware: bool) -> JClass:
+                                                 constraint_match_aware: bool, batch_events: bool = False) -> JClass:
     from org.optaplanner.optapy import PythonWrapperGenerator  # noqa
     from java.util.function import Supplier
     ensure_init()
@@ -1164,12 +1205,13 @@ def _generate_incremental_score_calculator_class(incremental_score_calculator: T
     out = PythonWrapperGenerator.defineIncrementalScoreCalculatorClass(
         _compose_unique_class_name(class_identifier),
         JObject(PythonSupplier(lambda: incremental_score_calculator()),
-                Supplier), constraint_match_aware)
+                Supplier), constraint_match_aware, batch_events)
     class_identifier_to_java_class_map[class_identifier] = out
     return out
 
 
-def _generate_variable_listener_class(variable_listener: Type['_VariableListener']) -> JClass:
+def _generate_variable_listener_class(variable_listener: Type['_VariableListener'],
+                                      batch_events: bool = False) -> JClass:
     from org.optaplanner.optapy import PythonWrapperGenerator  # noqa
     from java.util.function import Supplier
     ensure_init()
@@ -1178,6 +1220,6 @@ def _generate_variable_listener_class(variable_listener: Type['_VariableListener
     out = PythonWrapperGenerator.defineVariableListenerClass(
         _compose_unique_class_name(class_identifier),
         JObject(PythonSupplier(lambda: variable_listener()),
-                Supplier))
+                Supplier), batch_events)
     class_identifier_to_java_class_map[class_identifier] = out
     return out
@@ -0,0 +1,101 @@
+package org.optaplanner.optapy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.jpyinterpreter.util.LongObjectHashMap;
+import org.optaplanner.jpyinterpreter.util.WeakValueLongMap;
+
+public class MirrorWithExtrasLongMapTest {
+
+    @Test
+    public void testGet() {
+        Map<Number, String> baseMap = Map.of(1L, "1", 2L, "2");
+        MirrorWithExtrasLongMap<String> mirrorMap = new MirrorWithExtrasLongMap<>(baseMap);
+
+        assertThat(mirrorMap.get(1L)).isEqualTo("1");
+        assertThat(mirrorMap.get((Object) 2L)).isEqualTo("2");
+        assertThat(mirrorMap.get(3L)).isNull();
+        assertThat(mirrorMap.get("1")).isNull();
+    }
+
+    @Test
+    public void testPut() {
+        WeakValueLongMap<String> baseMap = new WeakValueLongMap<>();
+        String a = "1";
+        String b = "2";
+        baseMap.put(1L, a);
+        baseMap.put(2L, b);
+        MirrorWithExtrasLongMap<String> mirrorMap = new MirrorWithExtrasLongMap<>(baseMap);
+
+        mirrorMap.put(3L, "3");
+
+        assertThat(baseMap.containsKey(3L)).isFalse();
+        assertThat(mirrorMap.get(1L)).isEqualTo("1");
+        assertThat(mirrorMap.get(2L)).isEqualTo("2");
+        assertThat(mirrorMap.get(3L)).isEqualTo("3");
+        assertThat(mirrorMap.containsKey(3L)).isTrue();
+        assertThat(mirrorMap.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testInvalidPut() {
+        Map<Number, String> baseMap = Map.of(1L, "1", 2L, "2");
+        MirrorWithExtrasLongMap<String> mirrorMap = new MirrorWithExtrasLongMap<>(baseMap);
+
+        assertThatCode(() -> mirrorMap.put(1L, "3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> mirrorMap.putAll(Map.of(3L, "3", 1L, "3"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2"));
+    }
+
+    @Test
+    public void testPutAllFromLongObjectHashMap() {
+        Map<Number, String> baseMap = Map.of(1L, "1");
+        MirrorWithExtrasLongMap<String> mirrorMap = new MirrorWithExtrasLongMap<>(baseMap);
+        LongObjectHashMap<String> extraMap = new LongObjectHashMap<>();
+        extraMap.put(2L, "2");
+        extraMap.put(3L, "3");
+
+        mirrorMap.putAll(extraMap);
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2", 3L, "3"));
+
+        LongObjectHashMap<String> invalidExtraMap = new LongObjectHashMap<>();
+        invalidExtraMap.put(4L, "4");
+        invalidExtraMap.put(1L, "4");
+        assertThatCode(() -> mirrorMap.putAll(invalidExtraMap)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1", 2L, "2", 3L, "3"));
+    }
+
+    @Test
+    public void testContainsValueAndIsEmpty() {
+        MirrorWithExtrasLongMap<String> mirrorMap = new MirrorWithExtrasLongMap<>(Map.of(1L, "1"));
+        assertThat(mirrorMap.isEmpty()).isFalse();
+        assertThat(mirrorMap.containsValue("1")).isTrue();
+        assertThat(mirrorMap.containsValue("2")).isFalse();
+        mirrorMap.put(2L, "2");
+        assertThat(mirrorMap.containsValue("2")).isTrue();
+
+        MirrorWithExtrasLongMap<String> emptyMirrorMap = new MirrorWithExtrasLongMap<>(Map.of());
+        assertThat(emptyMirrorMap.isEmpty()).isTrue();
+        emptyMirrorMap.put(1L, "1");
+        assertThat(emptyMirrorMap.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        Map<Number, String> baseMap = Map.of(1L, "1");
+        MirrorWithExtrasLongMap<String> mirrorMap = new MirrorWithExtrasLongMap<>(baseMap);
+        mirrorMap.putAll(Map.of(2L, "2", 3L, "3"));
+
+        // Only the extra entries can be removed
+        assertThat(mirrorMap.remove(1L)).isNull();
+        assertThat(mirrorMap.remove(2L)).isEqualTo("2");
+        assertThat(mirrorMap.entrySet()).containsExactlyInAnyOrder(Map.entry(1L, "1"), Map.entry(3L, "3"));
+
+        mirrorMap.clear();
+        assertThat(mirrorMap).isEqualTo(Map.of(1L, "1"));
+    }
+}
@@ -1,3 +1,4 @@
+import pytest
 import optapy
 import optapy.constraint
 import optapy.score
@@ -5,8 +6,10 @@ import optapy.config
 from optapy.types import ScoreDirector
 
 
-def test_custom_shadow_variable():
-    @optapy.variable_listener
+@pytest.mark.parametrize('batch_events', [False, True])
+def test_custom_shadow_variable(batch_events):
+    before_variable_changed_entity_list = []
+
     class MyVariableListener:
         def afterVariableChanged(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
             score_director.beforeVariableChanged(entity, 'value_squared')
@@ -17,7 +20,7 @@ def test_custom_shadow_variable():
             score_director.afterVariableChanged(entity, 'value_squared')
 
         def beforeVariableChanged(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
-            pass
+            before_variable_changed_entity_list.append(entity)
 
         def beforeEntityAdded(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
             pass
@@ -31,6 +34,8 @@ def test_custom_shadow_variable():
         def afterEntityRemoved(self, score_director: ScoreDirector, entity: 'MyPlanningEntity'):
             pass
 
+    MyVariableListener = optapy.variable_listener(MyVariableListener, batch_events=batch_events)
+
     @optapy.planning_entity
     class MyPlanningEntity:
         value: int
@@ -110,6 +115,80 @@ def test_custom_shadow_variable():
     assert solution.score.getScore() == 1
     assert solution.entity_list[0].value == 2
     assert solution.entity_list[0].value_squared == 4
+    assert len(before_variable_changed_entity_list) > 0
+
+
+def test_batched_variable_listener_coalesces_events():
+    from jpype import JImplements, JOverride, JProxy
+    from java.lang import Object
+    from org.optaplanner.core.api.domain.variable import VariableListener
+    from org.optaplanner.optapy import BatchedVariableListener
+    event_list = []
+
+    @JImplements(VariableListener, BatchedVariableListener.EventProcessor)
+    class RecordingVariableListener:
+        @JOverride
+        def processBeforeEvents(self, score_director, entities, kinds, event_count):
+            event_list.append(('before', list(zip(entities[0:event_count], kinds[0:event_count]))))
+
+        @JOverride
+        def beforeVariableChanged(self, score_director, entity):
+            event_list.append(('beforeVariableChanged', entity))
+
+        @JOverride
+        def afterVariableChanged(self, score_director, entity):
+            event_list.append(('afterVariableChanged', entity))
+
+        @JOverride
+        def beforeEntityAdded(self, score_director, entity):
+            event_list.append(('beforeEntityAdded', entity))
+
+        @JOverride
+        def afterEntityAdded(self, score_director, entity):
+            event_list.append(('afterEntityAdded', entity))
+
+        @JOverride
+        def beforeEntityRemoved(self, score_director, entity):
+            event_list.append(('beforeEntityRemoved', entity))
+
+        @JOverride
+        def afterEntityRemoved(self, score_director, entity):
+            event_list.append(('afterEntityRemoved', entity))
+
+    score_director = JProxy('org.optaplanner.core.api.score.director.ScoreDirector',
+                            dict={'getWorkingSolution': lambda: None})
+    listener = BatchedVariableListener(RecordingVariableListener())
+    a = Object()
+    b = Object()
+
+    # Duplicate before notifications are dropped, and the rest are delivered together before the first after
+    listener.beforeVariableChanged(score_director, a)
+    listener.beforeVariableChanged(score_director, a)
+    listener.beforeVariableChanged(score_director, b)
+    listener.beforeEntityAdded(score_director, a)
+    listener.afterVariableChanged(score_director, a)
+    # Duplicate after notifications are dropped too
+    listener.afterVariableChanged(score_director, a)
+    listener.afterVariableChanged(score_director, b)
+    listener.afterEntityAdded(score_director, a)
+    listener.afterEntityAdded(score_director, a)
+    assert event_list == [
+        ('before', [(a, BatchedVariableListener.VARIABLE_CHANGED), (b, BatchedVariableListener.VARIABLE_CHANGED),
+                    (a, BatchedVariableListener.ENTITY_ADDED)]),
+        ('afterVariableChanged', a),
+        ('afterVariableChanged', b),
+        ('afterEntityAdded', a),
+    ]
+
+    # The next trigger gets its own before notifications, and its after notifications are no longer duplicates
+    event_list.clear()
+    listener.beforeVariableChanged(score_director, a)
+    listener.afterVariableChanged(score_director, a)
+    listener.afterVariableChanged(score_director, a)
+    assert event_list == [
+        ('before', [(a, BatchedVariableListener.VARIABLE_CHANGED)]),
+        ('afterVariableChanged', a),
+    ]
 
 
 def test_custom_shadow_variable_with_variable_listener_ref():
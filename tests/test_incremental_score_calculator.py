@@ -329,6 +329,95 @@ def test_constraint_match_enabled_incremental_score_calculator():
     assert indictment_map.get(bad_solution.queen_list[3]).getConstraintMatchCount() == 2
 
 
+def test_batched_events_incremental_score_calculator():
+    @optapy.incremental_score_calculator(batch_events=True)
+    class IncrementalScoreCalculator:
+        score: int
+        inserted_row_map: dict
+        row_count_map: dict
+        ascending_diagonal_count_map: dict
+        descending_diagonal_count_map: dict
+
+        def resetWorkingSolution(self, working_solution: Solution):
+            self.inserted_row_map = dict()
+            self.row_count_map = dict()
+            self.ascending_diagonal_count_map = dict()
+            self.descending_diagonal_count_map = dict()
+            self.score = 0
+            for queen in working_solution.queen_list:
+                self.insert(queen)
+
+        def beforeEntityAdded(self, entity: any):
+            pass
+
+        def afterEntityAdded(self, entity: any):
+            self.insert(entity)
+
+        def beforeVariableChanged(self, entity: any, variableName: str):
+            assert variableName == 'row'
+            self.retract(entity)
+
+        def afterVariableChanged(self, entity: any, variableName: str):
+            assert variableName == 'row'
+            self.insert(entity)
+
+        def beforeEntityRemoved(self, entity: any):
+            self.retract(entity)
+
+        def afterEntityRemoved(self, entity: any):
+            pass
+
+        @staticmethod
+        def add(count_map, key, amount):
+            # Returns the number of other queens that conflict with the added or removed queen
+            count = count_map.get(key, 0)
+            count_map[key] = count + amount
+            return count if amount > 0 else count - 1
+
+        def insert(self, queen: Queen):
+            # The events are delivered after the move, so remember the row to retract it later
+            row = queen.row
+            if row is not None:
+                self.inserted_row_map[queen.code] = row
+                self.score -= self.add(self.row_count_map, row, 1)
+                self.score -= self.add(self.ascending_diagonal_count_map, queen.column + row, 1)
+                self.score -= self.add(self.descending_diagonal_count_map, queen.column - row, 1)
+
+        def retract(self, queen: Queen):
+            row = self.inserted_row_map.pop(queen.code, None)
+            if row is not None:
+                self.score += self.add(self.row_count_map, row, -1)
+                self.score += self.add(self.ascending_diagonal_count_map, queen.column + row, -1)
+                self.score += self.add(self.descending_diagonal_count_map, queen.column - row, -1)
+
+        def calculateScore(self) -> optapy.score.SimpleScore:
+            return optapy.score.SimpleScore.of(self.score)
+
+    solver_config = optapy.config.solver.SolverConfig()
+    termination_config = optapy.config.solver.termination.TerminationConfig()
+    termination_config.setBestScoreLimit('0')
+    solver_config.withSolutionClass(Solution) \
+        .withEntityClasses(Queen) \
+        .withScoreDirectorFactory(optapy.config.score.director.ScoreDirectorFactoryConfig() \
+                                  .withIncrementalScoreCalculatorClass(IncrementalScoreCalculator)) \
+        .withTerminationConfig(termination_config)
+    problem: Solution = Solution(4,
+                                 [Queen('A', 0), Queen('B', 1), Queen('C', 2), Queen('D', 3)],
+                                 [0, 1, 2, 3],
+                                 [0, 1, 2, 3])
+    solver = optapy.solver_factory_create(solver_config).buildSolver()
+    solution = solver.solve(problem)
+    assert solution.get_score().getScore() == 0
+    for i in range(4):
+        for j in range(i + 1, 4):
+            left_queen = solution.queen_list[i]
+            right_queen = solution.queen_list[j]
+            assert left_queen.row is not None and right_queen.row is not None
+            assert left_queen.row != right_queen.row
+            assert left_queen.getAscendingDiagonalIndex() != right_queen.getAscendingDiagonalIndex()
+            assert left_queen.getDescendingDiagonalIndex() != right_queen.getDescendingDiagonalIndex()
+
+
 def test_error_message_for_missing_methods():
     with pytest.raises(ValueError, match=(
             f"The following required methods are missing from @incremental_score_calculator class "
@@ -0,0 +1,319 @@
+import optapy
+import optapy.types
+import optapy.score
+import optapy.config
+import optapy.constraint
+from threading import Event, Lock
+
+problem_change_lock = Lock()
+solving_started = Event()
+
+
+def wait_for_problem_change(entity):
+    solving_started.set()
+    problem_change_lock.acquire()
+    problem_change_lock.release()
+    return False
+
+
+@optapy.problem_fact
+class Value:
+    def __init__(self, value):
+        self.value = value
+
+    @optapy.planning_id
+    def get_id(self):
+        return self.value
+
+    def __str__(self):
+        return f'Value({self.value})'
+
+
+@optapy.problem_fact
+class Tag:
+    """A problem fact without a planning id"""
+    def __init__(self, name):
+        self.name = name
+
+
+@optapy.planning_entity
+class Entity:
+    def __init__(self, code, possible_values, value=None):
+        self.code = code
+        self.possible_values = possible_values
+        self.value = value
+
+    @optapy.planning_id
+    def get_id(self):
+        return self.code
+
+    @optapy.planning_variable(Value, value_range_provider_refs=['possible_values'])
+    def get_value(self):
+        return self.value
+
+    def set_value(self, value):
+        self.value = value
+
+    @optapy.value_range_provider(range_id='possible_values')
+    def get_possible_values(self):
+        return self.possible_values
+
+    def __str__(self):
+        return f'Entity(code={self.code}, value={self.value})'
+
+
+@optapy.constraint_provider
+def my_constraints(constraint_factory: optapy.constraint.ConstraintFactory):
+    return [
+        constraint_factory.for_each(Entity)
+            .filter(wait_for_problem_change)
+            .reward('Wait for problem change', optapy.score.SimpleScore.ONE),
+        constraint_factory.for_each(Entity)
+            .reward('Maximize Value', optapy.score.SimpleScore.ONE, lambda entity: entity.value.value),
+    ]
+
+
+@optapy.planning_solution
+class Solution:
+    def __init__(self, entity_list, value_list, score=None):
+        self.entity_list = entity_list
+        self.value_list = value_list
+        self.score = score
+
+    @optapy.planning_entity_collection_property(Entity)
+    def get_entity_list(self):
+        return self.entity_list
+
+    @optapy.problem_fact_collection_property(Value)
+    def get_value_list(self):
+        return self.value_list
+
+    @optapy.planning_score(optapy.score.SimpleScore)
+    def get_score(self) -> optapy.score.SimpleScore:
+        return self.score
+
+    def set_score(self, score):
+        self.score = score
+
+
+def solve_with_problem_change(problem, problem_change, best_score_limit, share_problem_facts=False):
+    """Solves problem, doing problem_change once the solver started solving"""
+    solver_config = optapy.config.solver.SolverConfig() \
+        .withSolutionClass(Solution) \
+        .withEntityClasses(Entity) \
+        .withConstraintProviderClass(my_constraints) \
+        .withTerminationConfig(optapy.config.solver.termination.TerminationConfig()
+                               .withBestScoreLimit(best_score_limit))
+    with optapy.solver_manager_create(solver_config, share_problem_facts=share_problem_facts) as solver_manager:
+        solving_started.clear()
+        problem_change_lock.acquire()
+        try:
+            solver_job = solver_manager.solve(1, problem)
+            solving_started.wait()
+            solver_manager.addProblemChange(1, problem_change)
+        finally:
+            problem_change_lock.release()
+        return solver_job.getFinalBestSolution()
+
+
+def call_java_getter(working_object, getter_name):
+    """Calls the getter of the Java wrapper of working_object, which returns what the solver sees, instead of
+    getting the attribute of the Python object"""
+    return working_object.getClass().getMethod(getter_name).invoke(working_object)
+
+
+def test_change_problem_property():
+    changed_values = []
+
+    @optapy.problem_change
+    class ReplacePossibleValuesProblemChange:
+        def doChange(self, solution: Solution, problem_change_director: optapy.types.ProblemChangeDirector):
+            entity = solution.entity_list[0]
+            problem_change_director.changeProblemProperty(
+                entity, lambda working_entity: setattr(entity, 'possible_values', [Value(7), Value(8)]))
+            working_entity = problem_change_director.lookUpWorkingObjectOrFail(entity)
+            changed_values.extend(value.value for value in call_java_getter(working_entity, 'get_possible_values'))
+
+    values = [Value(1), Value(2)]
+    solution = solve_with_problem_change(Solution([Entity('A', values)], values),
+                                         ReplacePossibleValuesProblemChange(), '8')
+    assert changed_values == [7, 8]
+    assert solution.entity_list[0].value.value == 8
+
+
+def test_change_variable():
+    changed_values = []
+
+    @optapy.problem_change
+    class AssignValueProblemChange:
+        def doChange(self, solution: Solution, problem_change_director: optapy.types.ProblemChangeDirector):
+            entity = solution.entity_list[0]
+            problem_change_director.changeVariable(
+                entity, 'value', lambda working_entity: setattr(entity, 'value', entity.possible_values[0]))
+            working_entity = problem_change_director.lookUpWorkingObjectOrFail(entity)
+            changed_values.append(call_java_getter(working_entity, 'get_value').value)
+
+    values = [Value(1), Value(2)]
+    solution = solve_with_problem_change(Solution([Entity('A', values)], values), AssignValueProblemChange(), '2')
+    assert changed_values == [1]
+    assert solution.entity_list[0].value.value == 2
+
+
+def test_consumer_mutating_list():
+    changed_values = []
+
+    @optapy.problem_change
+    class AddPossibleValueProblemChange:
+        def doChange(self, solution: Solution, problem_change_director: optapy.types.ProblemChangeDirector):
+            entity = solution.entity_list[0]
+            # The list is changed in place, so its id (and the id it was wrapped under) stays the same
+            problem_change_director.changeProblemProperty(
+                entity, lambda working_entity: entity.possible_values.append(Value(9)))
+            working_entity = problem_change_director.lookUpWorkingObjectOrFail(entity)
+            changed_values.extend(value.value for value in call_java_getter(working_entity, 'get_possible_values'))
+
+    entity_values = [Value(1), Value(2)]
+    solution = solve_with_problem_change(Solution([Entity('A', entity_values)], [Value(1), Value(2)]),
+                                         AddPossibleValueProblemChange(), '9')
+    assert changed_values == [1, 2, 9]
+    assert solution.entity_list[0].value.value == 9
+
+
+def test_look_up_working_object():
+    from java.lang import IllegalArgumentException, System
+    from org.optaplanner.optapy import PlanningIdIndex
+    observed = dict()
+
+    def is_same(a, b):
+        return a is not None and b is not None and System.identityHashCode(a) == System.identityHashCode(b)
+
+    @optapy.problem_change
+    class ReplaceEntityProblemChange:
+        def doChange(self, solution: Solution, problem_change_director: optapy.types.ProblemChangeDirector):
+            index = PlanningIdIndex.of(solution)
+            working_entity_list = call_java_getter(solution, 'get_entity_list')
+            working_value_list = call_java_getter(solution, 'get_value_list')
+
+            # External objects are matched to the working objects of the solution by their planning id
+            observed['entity'] = \
+                is_same(problem_change_director.lookUpWorkingObjectOrFail(Entity('A', [])), working_entity_list.get(0))
+            observed['value'] = \
+                is_same(problem_change_director.lookUpWorkingObject(Value(1)).get(), working_value_list.get(0))
+            observed['indexed entity'] = \
+                is_same(index.lookUp(optapy.get_class(Entity), 'A'), working_entity_list.get(0))
+
+            entity = solution.entity_list[0]
+            problem_change_director.removeEntity(entity, lambda working_entity: solution.entity_list.remove(entity))
+            observed['removed entity'] = problem_change_director.lookUpWorkingObject(Entity('A', [])).isPresent()
+            observed['indexed removed entity'] = index.lookUp(optapy.get_class(Entity), 'A')
+
+            added_entity = Entity('B', solution.value_list)
+            added_working_entities = []
+
+            def add_entity(working_entity):
+                added_working_entities.append(working_entity)
+                solution.entity_list.append(added_entity)
+
+            problem_change_director.addEntity(added_entity, add_entity)
+            # The entity lists of the working solution are only read again once doChange returns,
+            # but the added entity can be looked up right away
+            observed['added entity'] = is_same(problem_change_director.lookUpWorkingObjectOrFail(Entity('B', [])),
+                                               added_working_entities[0])
+            observed['indexed added entity'] = \
+                is_same(index.lookUp(optapy.get_class(Entity), 'B'), added_working_entities[0])
+
+            # An object without a planning id is looked up by OptaPlanner, which cannot look it up
+            try:
+                problem_change_director.lookUpWorkingObject(Tag('tag'))
+                observed['tag'] = 'found'
+            except IllegalArgumentException:
+                observed['tag'] = 'not looked up'
+
+    values = [Value(1), Value(2)]
+    solution = solve_with_problem_change(Solution([Entity('A', values)], values), ReplaceEntityProblemChange(), '2')
+    assert observed == {
+        'entity': True,
+        'value': True,
+        'indexed entity': True,
+        'removed entity': False,
+        'indexed removed entity': None,
+        'added entity': True,
+        'indexed added entity': True,
+        'tag': 'not looked up',
+    }
+    assert [entity.code for entity in solution.entity_list] == ['B']
+
+
+def test_best_solution_change_sets():
+    @optapy.problem_change
+    class ReplaceEntityProblemChange:
+        def doChange(self, solution: Solution, problem_change_director: optapy.types.ProblemChangeDirector):
+            entity = solution.entity_list[0]
+            problem_change_director.removeEntity(entity, lambda working_entity: solution.entity_list.remove(entity))
+            # Only reachable after the problem change, so the solver cannot terminate before it
+            added_entity = Entity('C', [Value(2), Value(3)])
+            problem_change_director.addEntity(added_entity,
+                                              lambda working_entity: solution.entity_list.append(added_entity))
+
+    solver_config = optapy.config.solver.SolverConfig() \
+        .withSolutionClass(Solution) \
+        .withEntityClasses(Entity) \
+        .withConstraintProviderClass(my_constraints) \
+        .withTerminationConfig(optapy.config.solver.termination.TerminationConfig().withBestScoreLimit('5'))
+    values = [Value(1), Value(2)]
+    change_set_list = []
+    with optapy.solver_manager_create(solver_config) as solver_manager:
+        solving_started.clear()
+        problem_change_lock.acquire()
+        try:
+            solver_job = solver_manager.solveAndListen(1, Solution([Entity('A', values), Entity('B', values)], values),
+                                                       change_set_list.append, changes_only=True)
+            solving_started.wait()
+            solver_manager.addProblemChange(1, ReplaceEntityProblemChange())
+        finally:
+            problem_change_lock.release()
+        solver_job.getFinalBestSolution()
+
+    assert len(change_set_list) >= 1
+    # The first change set adds every entity
+    assert set(change_set_list[0].added_planning_ids) == {'A', 'B'}
+    assert change_set_list[0].removed_planning_ids == []
+
+    planning_id_to_value = dict()
+    for change_set in change_set_list:
+        for planning_id in change_set.removed_planning_ids:
+            del planning_id_to_value[planning_id]
+        for planning_id in change_set.added_planning_ids:
+            assert planning_id not in planning_id_to_value
+            planning_id_to_value[planning_id] = None
+        for planning_id, variable_name, new_value in change_set.variable_changes:
+            assert planning_id in planning_id_to_value
+            assert variable_name == 'value'
+            # Value has a planning id, so the new value is its planning id
+            planning_id_to_value[planning_id] = new_value
+    assert planning_id_to_value == {'B': 2, 'C': 3}
+
+
+def test_remove_shared_problem_fact():
+    from org.optaplanner.optapy import SharedProblemFactCache
+    observed = dict()
+
+    @optapy.problem_change
+    class RemoveValueProblemChange:
+        def doChange(self, solution: Solution, problem_change_director: optapy.types.ProblemChangeDirector):
+            value = solution.value_list[2]
+            observed['shared'] = \
+                SharedProblemFactCache.isSharedWrapper(problem_change_director.lookUpWorkingObjectOrFail(value))
+            # Removing a shared problem fact does not change it, so it is allowed
+            problem_change_director.removeProblemFact(value, lambda working_value: solution.value_list.remove(value))
+            observed['removed value'] = problem_change_director.lookUpWorkingObject(Value(3)).isPresent()
+
+    values = [Value(1), Value(2)]
+    solution = solve_with_problem_change(Solution([Entity('A', values)], values + [Value(3)]),
+                                         RemoveValueProblemChange(), '2', share_problem_facts=True)
+    assert observed == {
+        'shared': True,
+        'removed value': False,
+    }
+    assert [value.value for value in solution.value_list] == [1, 2]
+    assert solution.entity_list[0].value.value == 2
@@ -0,0 +1,175 @@
+import optapy
+import optapy.types
+
+
+@optapy.problem_fact
+class Value:
+    def __init__(self, code):
+        self.code = code
+
+
+def wrap_list(the_list, reference_map=None, python_setter=None):
+    from jpype import JLong, JProxy
+    from java.util import HashMap
+    from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    optapy.get_class(Value)
+    if reference_map is None:
+        reference_map = HashMap()
+    if python_setter is None:
+        python_setter = PythonWrapperGenerator.pythonObjectIdAndAttributeSetter
+    return PythonWrapperGenerator.wrapCollection(JProxy(OpaquePythonReference, inst=the_list, convert=True),
+                                                 JLong(id(the_list)), reference_map, python_setter)
+
+
+def get_none_python_setter():
+    """The setter of the wrappers that are not written back to Python, as used when every constraint is
+    translated"""
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    field = PythonWrapperGenerator.class_.getDeclaredField('NONE_PYTHON_SETTER')
+    field.setAccessible(True)
+    return field.get(None)
+
+
+def is_wrapper_of(wrapper, value):
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    return PythonWrapperGenerator.getPythonObjectId(wrapper) == id(value)
+
+
+def test_partial_access():
+    from jpype import JLong
+    from java.util import HashMap
+    value_list = [Value('A'), Value('B'), Value('C')]
+    reference_map = HashMap()
+    wrapped_list = wrap_list(value_list, reference_map)
+
+    assert wrapped_list.size() == 3
+    second = wrapped_list.get(1)
+    assert is_wrapper_of(second, value_list[1])
+    assert wrapped_list.get(1).equals(second)
+
+    # Only the accessed item is wrapped
+    assert reference_map.containsKey(JLong(id(value_list[1])))
+    assert not reference_map.containsKey(JLong(id(value_list[0])))
+    assert not reference_map.containsKey(JLong(id(value_list[2])))
+
+
+def test_iteration_after_partial_access():
+    value_list = [Value('A'), Value('B'), Value('C')]
+    wrapped_list = wrap_list(value_list)
+    second = wrapped_list.get(1)
+
+    item_list = [item for item in wrapped_list]
+    assert len(item_list) == 3
+    for item, value in zip(item_list, value_list):
+        assert is_wrapper_of(item, value)
+    assert item_list[1].equals(second)
+
+    int_list = [1, 2, 3]
+    wrapped_int_list = wrap_list(int_list)
+    assert wrapped_int_list.get(2) == 3
+    assert [item for item in wrapped_int_list] == int_list
+
+
+def test_contains_and_remove():
+    value_list = [Value('A'), Value('B'), Value('C')]
+    wrapped_list = wrap_list(value_list)
+    first = wrapped_list.get(0)
+
+    other_value_list = [Value('D')]
+    other = wrap_list(other_value_list).get(0)
+    assert wrapped_list.contains(first)
+    assert not wrapped_list.contains(other)
+
+    # The items that were not accessed yet are read, and stay at the right index after the removal
+    assert wrapped_list.remove(first)
+    assert wrapped_list.size() == 2
+    assert [value.code for value in value_list] == ['B', 'C']
+    assert is_wrapper_of(wrapped_list.get(0), value_list[0])
+    assert is_wrapper_of(wrapped_list.get(1), value_list[1])
+    assert [item for item in wrapped_list.getDelegate()] == [item for item in wrapped_list]
+
+
+def test_structural_change_before_unread_items():
+    from jpype import JInt
+    value_list = [Value('A'), Value('B'), Value('C')]
+    wrapped_list = wrap_list(value_list, python_setter=get_none_python_setter())
+
+    # The Python list is not changed, so the items after the removed one must not be read from it afterwards
+    assert wrapped_list.remove(JInt(0)) is not None
+    assert len(value_list) == 3
+    assert wrapped_list.size() == 2
+    assert is_wrapper_of(wrapped_list.get(0), value_list[1])
+    assert is_wrapper_of(wrapped_list.get(1), value_list[2])
+
+    other_value_list = [Value('D'), Value('E')]
+    wrapped_list = wrap_list(other_value_list, python_setter=get_none_python_setter())
+    inserted = wrap_list([Value('F')]).get(0)
+    wrapped_list.add(JInt(0), inserted)
+    assert len(other_value_list) == 2
+    assert wrapped_list.get(0).equals(inserted)
+    assert is_wrapper_of(wrapped_list.get(1), other_value_list[0])
+    assert is_wrapper_of(wrapped_list.get(2), other_value_list[1])
+
+
+def test_force_update():
+    value_list = [Value('A'), Value('B'), Value('C')]
+    original_value_list = list(value_list)
+    wrapped_list = wrap_list(value_list)
+    wrapped_list.get(1)
+
+    # The items that were not accessed yet are written back too
+    wrapped_list.forceUpdate()
+    assert len(value_list) == 3
+    for value, original_value in zip(value_list, original_value_list):
+        assert value is original_value
+
+    int_list = [1, 2, 3]
+    wrapped_int_list = wrap_list(int_list)
+    wrapped_int_list.get(0)
+    wrapped_int_list.forceUpdate()
+    assert int_list == [1, 2, 3]
+
+
+def wrap_array(the_list, element_class):
+    from jpype import JLong, JProxy
+    from java.util import HashMap
+    from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    return PythonWrapperGenerator.wrap(PythonWrapperGenerator.getArrayClass(element_class),
+                                       JProxy(OpaquePythonReference, inst=the_list, convert=True),
+                                       JLong(id(the_list)), HashMap(),
+                                       PythonWrapperGenerator.pythonObjectIdAndAttributeSetter)
+
+
+def test_bulk_read_of_array():
+    from java.lang import Double, Integer, Long, String
+    value_list = [Value('A'), None, Value('B')]
+    wrapped_array = wrap_array(value_list, optapy.get_class(Value))
+    assert len(wrapped_array) == 3
+    assert is_wrapper_of(wrapped_array[0], value_list[0])
+    assert wrapped_array[1] is None
+    assert is_wrapper_of(wrapped_array[2], value_list[2])
+
+    assert list(wrap_array([1, 2, 3], Long)) == [1, 2, 3]
+    assert list(wrap_array([1, 2, 3], Integer)) == [1, 2, 3]
+    assert list(wrap_array([1.5, 2.5], Double)) == [1.5, 2.5]
+    # ints in a float array are converted to floats
+    assert list(wrap_array([1, 2], Double)) == [1.0, 2.0]
+    assert list(wrap_array(['a', 'b'], String)) == ['a', 'b']
+
+
+def test_bulk_read_of_list():
+    from jpype import JLong
+    from java.util import HashMap
+    value_list = [Value('A'), Value('B'), Value('C')]
+    reference_map = HashMap()
+    wrapped_list = wrap_list(value_list, reference_map)
+    # Reading every item reads the items that were not accessed yet in a single call
+    item_list = [item for item in wrapped_list]
+    for item, value in zip(item_list, value_list):
+        assert is_wrapper_of(item, value)
+        assert reference_map.get(JLong(id(value))).equals(item)
+
+    assert [item for item in wrap_list([1, 2, 3])] == [1, 2, 3]
+    assert [item for item in wrap_list([1.5, 2.5])] == [1.5, 2.5]
@@ -204,9 +204,118 @@ def test_solve():
         solver_job = solver_manager.solveAndListen(1, get_problem, on_best_solution_changed, on_best_solution_changed)
         assert_problem_change_solver_run(solver_manager, solver_job)
         assert len(solution_list) == 2
+
+    with optapy.solver_manager_create(solver_config, share_problem_facts=True) as solver_manager:
+        lock.acquire()
+        solver_job = solver_manager.solve(1, get_problem)
+        assert_solver_run(solver_manager, solver_job)
+
+        # The problem facts wrapped by the previous job are reused
+        lock.acquire()
+        solver_job = solver_manager.solve(1, get_problem)
+        assert_solver_run(solver_manager, solver_job)
+
+        solver_manager.invalidateSharedProblemFacts()
+        lock.acquire()
+        solver_job = solver_manager.solve(1, get_problem)
+        assert_solver_run(solver_manager, solver_job)
     time.sleep(1)  # ensure the thread factory close
 
 
+def test_share_problem_facts():
+    from jpype import JLong
+    from java.lang import System
+    from org.optaplanner.optapy import PythonSolver, SharedProblemFactCache
+
+    @optapy.problem_fact
+    class Value:
+        def __init__(self, value):
+            self.value = value
+
+    @optapy.planning_entity
+    class Entity:
+        def __init__(self, code, value=None):
+            self.code = code
+            self.value = value
+
+        @optapy.planning_variable(Value, value_range_provider_refs=['value_range'])
+        def get_value(self):
+            return self.value
+
+        def set_value(self, value):
+            self.value = value
+
+    @optapy.constraint_provider
+    def my_constraints(constraint_factory: optapy.constraint.ConstraintFactory):
+        return [
+            constraint_factory.for_each(Entity)
+                .reward('Maximize Value', optapy.score.SimpleScore.ONE, lambda entity: entity.value.value),
+        ]
+
+    @optapy.planning_solution
+    class Solution:
+        def __init__(self, entity_list, value_range, score=None):
+            self.entity_list = entity_list
+            self.value_range = value_range
+            self.score = score
+
+        @optapy.planning_entity_collection_property(Entity)
+        def get_entity_list(self):
+            return self.entity_list
+
+        @optapy.problem_fact_collection_property(Value)
+        @optapy.value_range_provider(range_id='value_range')
+        def get_value_range(self):
+            return self.value_range
+
+        @optapy.planning_score(optapy.score.SimpleScore)
+        def get_score(self) -> optapy.score.SimpleScore:
+            return self.score
+
+        def set_score(self, score):
+            self.score = score
+
+    solver_config = optapy.config.solver.SolverConfig() \
+        .withSolutionClass(Solution) \
+        .withEntityClasses(Entity) \
+        .withConstraintProviderClass(my_constraints) \
+        .withTerminationConfig(optapy.config.solver.termination.TerminationConfig().withBestScoreLimit('3'))
+
+    value_range = [Value(1), Value(2), Value(3)]
+    entity = Entity('A')
+
+    def wrap_problem(solver_manager):
+        problem = Solution([entity], value_range)
+        wrapped_problem = PythonSolver.wrapProblem(optapy.get_class(Solution), problem,
+                                                   solver_manager.shared_problem_fact_cache)
+        reference_map = wrapped_problem.get__optapy_reference_map()
+        return reference_map.get(JLong(id(value_range[0]))), reference_map.get(JLong(id(entity)))
+
+    def is_same(a, b):
+        return System.identityHashCode(a) == System.identityHashCode(b)
+
+    with optapy.solver_manager_create(solver_config, share_problem_facts=True) as solver_manager:
+        first_value, first_entity = wrap_problem(solver_manager)
+        second_value, second_entity = wrap_problem(solver_manager)
+
+        # Problem facts are wrapped once, and their wrappers are not part of any job; entities are never shared
+        assert SharedProblemFactCache.isSharedWrapper(first_value)
+        assert not SharedProblemFactCache.isSharedWrapper(first_entity)
+        assert is_same(first_value, second_value)
+        assert not is_same(first_entity, second_entity)
+        assert is_same(first_value.get__optapy_reference_map(), second_value.get__optapy_reference_map())
+        assert not is_same(first_value.get__optapy_reference_map(), first_entity.get__optapy_reference_map())
+
+        # Problems wrapped after the cache is invalidated get new wrappers
+        solver_manager.invalidateSharedProblemFacts()
+        third_value, _ = wrap_problem(solver_manager)
+        assert SharedProblemFactCache.isSharedWrapper(third_value)
+        assert not is_same(first_value, third_value)
+
+        solver_job = solver_manager.solve(1, Solution([Entity('B')], value_range))
+        assert solver_job.getFinalBestSolution().get_score().getScore() == 3
+
+
 @pytest.mark.filterwarnings("ignore:.*Exception in thread.*:pytest.PytestUnhandledThreadExceptionWarning")
 def test_error():
     @optapy.problem_fact
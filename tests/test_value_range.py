@@ -0,0 +1,121 @@
+import optapy
+import optapy.types
+
+
+class PythonValueRange:
+    """A countable value range implemented in Python, that counts how many times its values are iterated"""
+    def __init__(self, values):
+        self.values = values
+        self.iteration_count = 0
+
+    def getSize(self):
+        return len(self.values)
+
+    def get(self, index):
+        return self.values[index]
+
+    def isEmpty(self):
+        return len(self.values) == 0
+
+    def contains(self, value):
+        return value in self.values
+
+    def createOriginalIterator(self):
+        self.iteration_count += 1
+        return to_java_list(self.values).iterator()
+
+    def createRandomIterator(self, random):
+        return to_java_list([self.values[random.nextInt(len(self.values))]]).iterator()
+
+
+def to_java_list(values, value_type=None):
+    from jpype import JObject
+    from java.util import ArrayList
+    out = ArrayList()
+    for value in values:
+        out.add(JObject(value, value_type) if value_type is not None else value)
+    return out
+
+
+def to_reference(python_object):
+    from jpype import JProxy
+    from org.optaplanner.jpyinterpreter.types.wrappers import OpaquePythonReference
+    return JProxy(OpaquePythonReference, inst=python_object, convert=True)
+
+
+def is_same(a, b):
+    from java.lang import System
+    return System.identityHashCode(a) == System.identityHashCode(b)
+
+
+def test_get_value_range():
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    java_value_range = optapy.types.ValueRangeFactory.createIntValueRange(0, 10)
+    assert is_same(PythonWrapperGenerator.getValueRange(java_value_range), java_value_range)
+
+    python_value_range = PythonValueRange(['a', 'b'])
+    value_range = PythonWrapperGenerator.getValueRange(to_reference(python_value_range))
+    assert value_range.contains('a')
+    assert not value_range.contains('c')
+    assert not value_range.isEmpty()
+
+
+def test_get_countable_value_range():
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    java_value_range = optapy.types.ValueRangeFactory.createIntValueRange(0, 10)
+    assert is_same(PythonWrapperGenerator.getCountableValueRange(java_value_range), java_value_range)
+
+    python_value_range = PythonValueRange(['a', 'b', 'c'])
+    value_range = PythonWrapperGenerator.getCountableValueRange(to_reference(python_value_range))
+    # The values are only copied when the range is used
+    assert python_value_range.iteration_count == 0
+    assert value_range.getSize() == 3
+    assert value_range.get(1) == 'b'
+    assert value_range.contains('c')
+    assert [value for value in value_range.createOriginalIterator()] == ['a', 'b', 'c']
+    assert python_value_range.iteration_count == 1
+
+    # Reading the range again (as when the fields of its wrapper are read again) does not copy it again
+    same_value_range = PythonWrapperGenerator.getCountableValueRange(to_reference(python_value_range))
+    assert is_same(same_value_range, value_range)
+    assert same_value_range.getSize() == 3
+    assert python_value_range.iteration_count == 1
+
+
+def test_get_countable_value_range_too_big_to_copy():
+    from org.optaplanner.optapy import PythonWrapperGenerator
+    python_value_range = PythonValueRange(list(range(0, 20_000, 2)) + [1])
+    value_range = PythonWrapperGenerator.getCountableValueRange(to_reference(python_value_range))
+    assert value_range.getSize() == 10_001
+    assert value_range.get(10_000) == 1
+    assert python_value_range.iteration_count == 0
+
+
+def test_get_numeric_value_range():
+    from java.lang import Integer, Long
+    from org.optaplanner.core.impl.domain.valuerange.buildin.primint import IntValueRange
+    from org.optaplanner.core.impl.domain.valuerange.buildin.primlong import LongValueRange
+    from org.optaplanner.optapy import PythonCountableValueRange, PythonWrapperGenerator
+
+    int_value_range = PythonCountableValueRange.getNumericValueRange(to_java_list([0, 2, 4], Integer))
+    assert isinstance(int_value_range, IntValueRange)
+    assert [value for value in int_value_range.createOriginalIterator()] == [0, 2, 4]
+
+    long_value_range = PythonCountableValueRange.getNumericValueRange(to_java_list([1, 2, 3], Long))
+    assert isinstance(long_value_range, LongValueRange)
+    assert [value for value in long_value_range.createOriginalIterator()] == [1, 2, 3]
+
+    # Not an ascending arithmetic progression of a single type
+    assert PythonCountableValueRange.getNumericValueRange(to_java_list([1, 2, 4], Long)) is None
+    assert PythonCountableValueRange.getNumericValueRange(to_java_list([3, 2, 1], Long)) is None
+    assert PythonCountableValueRange.getNumericValueRange(to_java_list([1], Long)) is None
+    mixed_list = to_java_list([1], Integer)
+    mixed_list.addAll(to_java_list([2], Long))
+    assert PythonCountableValueRange.getNumericValueRange(mixed_list) is None
+
+    # A Python range of ints becomes a long value range that computes its values
+    python_value_range = PythonValueRange([5, 10, 15])
+    value_range = PythonWrapperGenerator.getCountableValueRange(to_reference(python_value_range))
+    assert isinstance(value_range.getMaterializedValueRange(), LongValueRange)
+    assert value_range.contains(10)
+    assert not value_range.contains(11)